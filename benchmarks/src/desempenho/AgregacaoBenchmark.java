@@ -0,0 +1,83 @@
+package desempenho;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.AgregacaoCarteira;
+import calculo.PrecificadorCarteira;
+import calculo.TotaisCarteira;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+/**
+ * Estatísticas agrupadas de um milhão de financiamentos: {@link AgregacaoCarteira} com os quatro
+ * agrupamentos sobre a carteira colunar e sobre a lista, comparada com os totais simples do
+ * {@link PrecificadorCarteira} e com um {@code groupingBy} de streams que agrupa apenas por tipo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AgregacaoBenchmark {
+
+    @Param({"1000000"})
+    int quantidade;
+
+    private List<Financiamento> lista;
+    private CarteiraColunar colunar;
+    private PrecificadorCarteira precificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = DadosCarteira.gerar(quantidade, 42);
+        colunar = new CarteiraColunar(quantidade);
+        lista.forEach(colunar::adicionar);
+        precificador = new PrecificadorCarteira();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        precificador.close();
+    }
+
+    @Benchmark
+    public AgregacaoCarteira agregarColunar() {
+        return precificador.agregar(colunar);
+    }
+
+    @Benchmark
+    public AgregacaoCarteira agregarLista() {
+        return precificador.agregar(lista, AgregacaoCarteira.LARGURA_FAIXA_PADRAO);
+    }
+
+    @Benchmark
+    public TotaisCarteira totaisColunar() {
+        return precificador.precificar(colunar);
+    }
+
+    @Benchmark
+    public Map<TipoImovel, DoubleSummaryStatistics> streamPorTipo() {
+        return lista.stream().collect(Collectors.groupingBy(Financiamento::getTipoImovel,
+                Collectors.summarizingDouble(Financiamento::calcularTotalPagamento)));
+    }
+}
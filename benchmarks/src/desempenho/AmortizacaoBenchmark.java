@@ -0,0 +1,87 @@
+package desempenho;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.EconomiaAmortizacao;
+import calculo.ModalidadeAmortizacao;
+import calculo.PlanoAmortizacao;
+import calculo.PrecificadorCarteira;
+import calculo.SistemaAmortizacao;
+import calculo.TabelaAmortizacao;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+
+/**
+ * Simulação mês a mês de amortizações extraordinárias (R$ 20 mil no mês 12 e R$ 5 mil por ano a
+ * partir do mês 24) em 100 mil financiamentos: {@link PrecificadorCarteira} sobre a carteira colunar
+ * e sobre a lista, reaproveitando uma {@link TabelaAmortizacao} por bloco, comparado com uma tabela
+ * nova por financiamento, percorrida com um {@link calculo.LinhaAmortizacao}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AmortizacaoBenchmark {
+
+    @Param({"100000"})
+    int quantidade;
+
+    @Param({"REDUZIR_PRAZO", "REDUZIR_PARCELA"})
+    ModalidadeAmortizacao modalidade;
+
+    private List<Financiamento> lista;
+    private CarteiraColunar colunar;
+    private PlanoAmortizacao plano;
+    private PrecificadorCarteira precificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = DadosCarteira.gerar(quantidade, 5);
+        colunar = new CarteiraColunar(quantidade);
+        lista.forEach(colunar::adicionar);
+        plano = new PlanoAmortizacao(12, 20000, 24, 12, 5000, modalidade);
+        precificador = new PrecificadorCarteira();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        precificador.close();
+    }
+
+    @Benchmark
+    public EconomiaAmortizacao colunar() {
+        return precificador.simularAmortizacao(colunar, SistemaAmortizacao.PRICE, plano);
+    }
+
+    @Benchmark
+    public EconomiaAmortizacao lista() {
+        return precificador.simularAmortizacao(lista, SistemaAmortizacao.PRICE, plano);
+    }
+
+    @Benchmark
+    public double tabelaPorFinanciamento() {
+        double[] juros = new double[1];
+        for (Financiamento financiamento : lista) {
+            TabelaAmortizacao.de(financiamento, SistemaAmortizacao.PRICE, plano)
+                    .percorrer((mes, parcela, jurosMes, amortizacao, saldo) -> juros[0] += jurosMes);
+        }
+        return juros[0];
+    }
+}
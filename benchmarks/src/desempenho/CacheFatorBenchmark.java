@@ -0,0 +1,73 @@
+package desempenho;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Apartamento;
+import modelo.CacheFatorAnuidade;
+
+/**
+ * Parcela Price de 100 mil contratos com poucas dezenas de combinações de taxa e prazo,
+ * com o {@link CacheFatorAnuidade} compartilhado ligado e desligado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheFatorBenchmark {
+
+    @Param({"true", "false"})
+    boolean cache;
+
+    @Param("100000")
+    int quantidade;
+
+    private double[] valores;
+    private int[] prazos;
+    private double[] taxas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        valores = new double[quantidade];
+        prazos = new int[quantidade];
+        taxas = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            valores[i] = 100_000 + aleatorio.nextInt(4_900_000);
+            prazos[i] = 10 + 5 * aleatorio.nextInt(6);
+            taxas[i] = 6 + aleatorio.nextInt(8) * 0.5;
+        }
+        CacheFatorAnuidade.compartilhado().limpar();
+        CacheFatorAnuidade.compartilhado().setHabilitado(cache);
+    }
+
+    @TearDown(Level.Trial)
+    public void restaurar() {
+        CacheFatorAnuidade.compartilhado().setHabilitado(true);
+    }
+
+    @Benchmark
+    public double precificar() {
+        double soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += Apartamento.calcularParcelaPrice(valores[i], prazos[i], taxas[i]);
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,93 @@
+package desempenho;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.AgregacaoCarteira;
+import calculo.PrecificadorCarteira;
+import calculo.TotaisCarteira;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+
+/**
+ * Totais de uma carteira inteira: o laço que o {@code Main} fazia sobre a lista, a agregação
+ * incremental com suporte a remoção usada pelo {@code Main} e o precificador por blocos sobre a lista e sobre a carteira colunar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CarteiraBenchmark {
+
+    @Param({"100000"})
+    int quantidade;
+
+    private List<Financiamento> lista;
+    private CarteiraColunar colunar;
+    private PrecificadorCarteira precificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = DadosCarteira.gerar(quantidade, 42);
+        colunar = new CarteiraColunar(quantidade);
+        lista.forEach(colunar::adicionar);
+        precificador = new PrecificadorCarteira();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        precificador.close();
+    }
+
+    @Benchmark
+    public double lacoDoMain() {
+        double valorTotalDeImoveisLista = 0;
+        double valorTotalDosFinanciamentos = 0;
+        for (int i = 0; i < lista.size(); i++) {
+            Financiamento financiamento = lista.get(i);
+            valorTotalDeImoveisLista += financiamento.getValorImovel();
+            valorTotalDosFinanciamentos += financiamento.calcularTotalPagamento();
+        }
+        return valorTotalDeImoveisLista + valorTotalDosFinanciamentos;
+    }
+
+    @Benchmark
+    public long agregacaoIncremental() {
+        AgregacaoCarteira agregacao = new AgregacaoCarteira(AgregacaoCarteira.LARGURA_FAIXA_PADRAO, true);
+        for (Financiamento financiamento : lista) {
+            agregacao.adicionar(financiamento);
+        }
+        return agregacao.getQuantidade();
+    }
+
+    @Benchmark
+    public TotaisCarteira precificadorLista() {
+        return precificador.precificar(lista);
+    }
+
+    @Benchmark
+    public TotaisCarteira reprecificarLista() {
+        return precificador.reprecificar(lista, 6.5);
+    }
+
+    @Benchmark
+    public TotaisCarteira reprecificarColunar() {
+        return precificador.reprecificar(colunar, 6.5);
+    }
+}
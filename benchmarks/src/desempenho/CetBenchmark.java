@@ -0,0 +1,93 @@
+package desempenho;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.CustoEfetivoTotal;
+import calculo.PrecificadorCarteira;
+import calculo.ResumoCet;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+/**
+ * CET de 1 milhão de financiamentos ({@link CustoEfetivoTotal}): o {@link PrecificadorCarteira} com
+ * todos os processadores e com uma thread, que parte das taxas já calculadas no bloco, e um laço
+ * que calcula cada contrato sem estimativa inicial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CetBenchmark {
+
+    @Param({"1000000"})
+    int quantidade;
+
+    private CarteiraColunar carteira;
+    private byte[] tipos;
+    private double[] valores;
+    private int[] prazos;
+    private double[] taxas;
+    private double[] cet;
+    private PrecificadorCarteira paralelo;
+    private PrecificadorCarteira sequencial;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Financiamento> lista = DadosCarteira.gerar(quantidade, 17);
+        carteira = new CarteiraColunar(quantidade);
+        lista.forEach(carteira::adicionar);
+        tipos = Arrays.copyOf(carteira.colunaTipos(), quantidade);
+        valores = Arrays.copyOf(carteira.colunaValoresImovel(), quantidade);
+        prazos = Arrays.copyOf(carteira.colunaPrazosFinanciamento(), quantidade);
+        taxas = Arrays.copyOf(carteira.colunaTaxasJurosAnual(), quantidade);
+        cet = new double[quantidade];
+        paralelo = new PrecificadorCarteira();
+        sequencial = new PrecificadorCarteira(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        paralelo.close();
+        sequencial.close();
+    }
+
+    @Benchmark
+    public ResumoCet carteiraParalela() {
+        return paralelo.calcularCet(carteira, cet);
+    }
+
+    @Benchmark
+    public ResumoCet carteiraSequencial() {
+        return sequencial.calcularCet(carteira, cet);
+    }
+
+    @Benchmark
+    public double[] semEstimativas() {
+        CustoEfetivoTotal calculo = new CustoEfetivoTotal();
+        TipoImovel[] todosTipos = TipoImovel.values();
+        for (int i = 0; i < quantidade; i++) {
+            double parcela = todosTipos[tipos[i]].calcularParcela(valores[i], prazos[i], taxas[i]);
+            cet[i] = CustoEfetivoTotal.anualizar(calculo.taxaMensal(valores[i], parcela, prazos[i] * 12, Double.NaN));
+        }
+        return cet;
+    }
+}
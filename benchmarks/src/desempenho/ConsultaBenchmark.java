@@ -0,0 +1,71 @@
+package desempenho;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.CarteiraIndexada;
+import calculo.ConsultaCarteira;
+import modelo.CarteiraColunar;
+
+/**
+ * Consultas sobre um milhão de financiamentos com a {@link CarteiraIndexada}, comparadas com a
+ * varredura de todas as posições com {@link ConsultaCarteira#aceita(CarteiraColunar, int)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ConsultaBenchmark {
+
+    @Param({"1000000"})
+    int quantidade;
+
+    @Param({"zona=Comercial valor>1000000", "andar>10 vagas>=2", "valor>=4990000"})
+    String filtros;
+
+    private CarteiraColunar carteira;
+    private CarteiraIndexada indexada;
+    private ConsultaCarteira consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        carteira = new CarteiraColunar(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            carteira.adicionar(DadosCarteira.gerarFinanciamento(aleatorio, i % 3));
+        }
+        indexada = new CarteiraIndexada(carteira);
+        consulta = ConsultaCarteira.deTexto(filtros.split(" "));
+    }
+
+    @Benchmark
+    public int indexada() {
+        return indexada.contar(consulta);
+    }
+
+    @Benchmark
+    public int varredura() {
+        int quantidade = 0;
+        for (int i = 0; i < carteira.tamanho(); i++) {
+            if (consulta.aceita(carteira, i)) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+}
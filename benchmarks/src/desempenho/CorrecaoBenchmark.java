@@ -0,0 +1,104 @@
+package desempenho;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.CarteiraCorrigida;
+import calculo.CorrecaoMensal;
+import calculo.Indexador;
+import calculo.PrecificadorCarteira;
+import calculo.SerieIndice;
+import calculo.SistemaAmortizacao;
+import calculo.TabelaAmortizacao;
+import modelo.CarteiraColunar;
+
+/**
+ * Chegada de uma nova competência de IPCA para 100 mil contratos com 60 meses de histórico:
+ * {@link CarteiraCorrigida} avança um mês a partir dos saldos da competência anterior, comparado com
+ * recalcular a tabela corrigida de cada contrato desde o primeiro mês.
+ * <p>Cada invocação altera o estado, que é reconstruído antes de cada iteração; por isso cada
+ * iteração mede uma única invocação ({@link Mode#SingleShotTime}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CorrecaoBenchmark {
+
+    private static final int HISTORICO = 60;
+
+    @Param({"100000"})
+    int quantidade;
+
+    private CarteiraColunar colunar;
+    private SerieIndice serie;
+    private CarteiraCorrigida corrigida;
+    private PrecificadorCarteira precificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        colunar = new CarteiraColunar(quantidade);
+        DadosCarteira.gerar(quantidade, 17).forEach(colunar::adicionar);
+        SplittableRandom aleatorio = new SplittableRandom(17);
+        serie = new SerieIndice(Indexador.IPCA);
+        for (int c = 0; c < HISTORICO + 1; c++) {
+            serie.adicionar(aleatorio.nextDouble(-0.002, 0.012));
+        }
+        precificador = new PrecificadorCarteira();
+    }
+
+    /**
+     * Reconstrói o estado com o histórico aplicado; a invocação acrescenta a competência seguinte.
+     */
+    @Setup(Level.Iteration)
+    public void aplicarHistorico() {
+        corrigida = new CarteiraCorrigida(colunar, SistemaAmortizacao.PRICE, Indexador.IPCA);
+        for (int c = 0; c < HISTORICO; c++) {
+            precificador.corrigir(corrigida, Indexador.IPCA, c, serie.getVariacao(c));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        precificador.close();
+    }
+
+    @Benchmark
+    public CorrecaoMensal incremental() {
+        int competencia = corrigida.getProximaCompetencia(Indexador.IPCA);
+        return precificador.corrigir(corrigida, Indexador.IPCA, competencia, serie.getVariacao(competencia));
+    }
+
+    @Benchmark
+    public double recalculoCompleto() {
+        TabelaAmortizacao tabela = new TabelaAmortizacao(0, 0, 1, SistemaAmortizacao.PRICE, null, serie, 0);
+        double[] valores = colunar.colunaValoresImovel();
+        double[] taxas = colunar.colunaTaxasJurosAnual();
+        int[] prazos = colunar.colunaPrazosFinanciamento();
+        double saldo = 0;
+        for (int i = 0; i < colunar.tamanho(); i++) {
+            tabela.redefinir(valores[i], TabelaAmortizacao.taxaMensal(taxas[i]), prazos[i] * 12, 0);
+            while (tabela.getMes() <= HISTORICO && tabela.avancar()) {
+                // Percorre o histórico e o mês novo
+            }
+            saldo += tabela.getSaldoDevedor();
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,53 @@
+package desempenho;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * Gera carteiras sintéticas e reproduzíveis para os benchmarks, com parâmetros dentro
+ * das faixas aceitas por {@link util.InterfaceUsuario}.
+ */
+final class DadosCarteira {
+
+    private DadosCarteira() {
+    }
+
+    /**
+     * Cria uma carteira com tipos de imóvel alternados.
+     *
+     * @param quantidade A quantidade de financiamentos.
+     * @param semente A semente do gerador aleatório.
+     * @return A lista de financiamentos.
+     */
+    static List<Financiamento> gerar(int quantidade, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        List<Financiamento> carteira = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            carteira.add(gerarFinanciamento(aleatorio, i % 3));
+        }
+        return carteira;
+    }
+
+    /**
+     * Cria um financiamento aleatório do tipo informado (0 apartamento, 1 casa, 2 terreno).
+     */
+    static Financiamento gerarFinanciamento(SplittableRandom aleatorio, int tipo) {
+        double valor = 100_000 + aleatorio.nextInt(4_900_000);
+        int prazo = 5 + aleatorio.nextInt(31);
+        double taxa = 2 + aleatorio.nextInt(33) * 0.25;
+        switch (tipo) {
+            case 0:
+                return new Apartamento(valor, prazo, taxa, aleatorio.nextInt(4), aleatorio.nextInt(30));
+            case 1:
+                return new Casa(valor, prazo, taxa, 21 + aleatorio.nextInt(400), 50 + aleatorio.nextInt(9950));
+            default:
+                return new Terreno(valor, prazo, taxa, aleatorio.nextBoolean() ? "Residencial" : "Comercial");
+        }
+    }
+}
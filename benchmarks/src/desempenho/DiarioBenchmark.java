@@ -0,0 +1,103 @@
+package desempenho;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Financiamento;
+import util.DiarioSessao;
+import util.DiarioSessao.PoliticaSincronizacao;
+
+/**
+ * Diário da sessão ({@link DiarioSessao}): uma sessão de 10 mil financiamentos registrados um a um,
+ * da abertura ao fechamento, em cada política de sincronização, e a recuperação de um diário de
+ * um milhão de financiamentos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DiarioBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Sessao {
+
+        @Param({"SEMPRE", "INTERVALO", "NUNCA"})
+        PoliticaSincronizacao politica;
+
+        List<Financiamento> lista;
+        Path arquivo;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            lista = DadosCarteira.gerar(10_000, 5);
+            arquivo = Files.createTempFile("diario-sessao", ".diario");
+        }
+
+        @Setup(Level.Invocation)
+        public void esvaziar() throws IOException {
+            Files.deleteIfExists(arquivo);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws IOException {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recuperacao {
+
+        Path arquivo;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            arquivo = Files.createTempFile("diario-recuperacao", ".diario");
+            Files.delete(arquivo);
+            try (DiarioSessao diario = DiarioSessao.abrir(arquivo, PoliticaSincronizacao.NUNCA)) {
+                for (Financiamento financiamento : DadosCarteira.gerar(1_000_000, 13)) {
+                    diario.registrar(financiamento);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws IOException {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @Benchmark
+    public long registrar(Sessao sessao) throws IOException {
+        try (DiarioSessao diario = DiarioSessao.abrir(sessao.arquivo, sessao.politica)) {
+            for (Financiamento financiamento : sessao.lista) {
+                diario.registrar(financiamento);
+            }
+            return diario.getRegistrados();
+        }
+    }
+
+    @Benchmark
+    public int recuperar(Recuperacao recuperacao) throws IOException {
+        try (DiarioSessao diario = DiarioSessao.abrir(recuperacao.arquivo, PoliticaSincronizacao.NUNCA)) {
+            return diario.getRecuperados().size();
+        }
+    }
+}
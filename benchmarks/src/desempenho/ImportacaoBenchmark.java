@@ -0,0 +1,97 @@
+package desempenho;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Apartamento;
+import modelo.CarteiraColunar;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+import util.ConversorRegistro;
+import util.ImportadorCarteira;
+import util.ValidadorFinanciamento;
+
+/**
+ * Importação de um CSV de um milhão de financiamentos, já em memória: {@link ImportadorCarteira}
+ * em uma thread, comparado com a leitura linha a linha com {@link ConversorRegistro} e
+ * {@link ValidadorFinanciamento}, o caminho usado antes pelo {@code --consulta}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ImportacaoBenchmark {
+
+    @Param({"1000000"})
+    int quantidade;
+
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Financiamento> lista = DadosCarteira.gerar(quantidade, 11);
+        StringBuilder texto = new StringBuilder(quantidade * 48);
+        texto.append("tipo,valorImovel,prazoFinanciamento,taxaJurosAnual,atributo1,atributo2\n");
+        for (Financiamento financiamento : lista) {
+            texto.append(financiamento.getTipoImovel().getDescricao()).append(',')
+                    .append(financiamento.getValorImovel()).append(',')
+                    .append(financiamento.getPrazoFinanciamento()).append(',')
+                    .append(financiamento.getTaxaJurosAnual()).append(',');
+            if (financiamento instanceof Apartamento) {
+                Apartamento apartamento = (Apartamento) financiamento;
+                texto.append(apartamento.getVagasGaragem()).append(',').append(apartamento.getAndar());
+            } else if (financiamento instanceof Casa) {
+                Casa casa = (Casa) financiamento;
+                texto.append(casa.getAreaConstruida()).append(',').append(casa.getAreaTerreno());
+            } else {
+                texto.append(((Terreno) financiamento).getZona());
+            }
+            texto.append('\n');
+        }
+        csv = texto.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CarteiraColunar importador() throws IOException {
+        return new ImportadorCarteira(1, ImportadorCarteira.LIMITE_REJEICOES_PADRAO)
+                .importar(new ByteArrayInputStream(csv), false);
+    }
+
+    @Benchmark
+    public CarteiraColunar linhaALinha() throws IOException {
+        CarteiraColunar carteira = new CarteiraColunar();
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            leitor.readLine();
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                Financiamento financiamento = ConversorRegistro.deCsv(linha);
+                if (ValidadorFinanciamento.validar(financiamento) == null) {
+                    carteira.adicionar(financiamento);
+                }
+            }
+        }
+        return carteira;
+    }
+}
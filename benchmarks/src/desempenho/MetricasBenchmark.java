@@ -0,0 +1,81 @@
+package desempenho;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Financiamento;
+import util.EscritorRelatorio;
+import util.FormatoRelatorio;
+import util.Metricas;
+
+/**
+ * Custo das {@link Metricas} nos pontos mais frequentes: criação e cálculo de financiamentos
+ * (um registro por cálculo) e gravação de um relatório CSV (um registro por linha), com as
+ * métricas ligadas e desligadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+
+    @Param({"true", "false"})
+    boolean metricas;
+
+    @Param("20000")
+    int quantidade;
+
+    private List<Financiamento> lista;
+    private long semente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = DadosCarteira.gerar(quantidade, 7);
+        Metricas.setHabilitado(metricas);
+    }
+
+    @TearDown(Level.Trial)
+    public void restaurar() {
+        Metricas.setHabilitado(false);
+        Metricas.limpar();
+    }
+
+    @Benchmark
+    public double precificar() {
+        SplittableRandom aleatorio = new SplittableRandom(semente++);
+        double soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += DadosCarteira.gerarFinanciamento(aleatorio, i % 3).calcularTotalPagamento();
+        }
+        return soma;
+    }
+
+    @Benchmark
+    public long gravarCsv() throws IOException {
+        try (EscritorRelatorio escritor = new EscritorRelatorio(Writer.nullWriter(), FormatoRelatorio.CSV)) {
+            for (Financiamento financiamento : lista) {
+                escritor.escrever(financiamento);
+            }
+            return escritor.getQuantidade();
+        }
+    }
+}
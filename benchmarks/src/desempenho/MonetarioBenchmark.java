@@ -0,0 +1,71 @@
+package desempenho;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.ModoMonetario;
+import calculo.PrecificacaoCentavos;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+
+/**
+ * Parcelas de uma carteira colunar em {@code double}, em centavos inteiros e em {@code BigDecimal}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonetarioBenchmark {
+
+    @Param({"10000"})
+    int quantidade;
+
+    private CarteiraColunar colunar;
+    private double[] parcelasDouble;
+    private long[] parcelasCentavos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Financiamento> lista = DadosCarteira.gerar(quantidade, 42);
+        colunar = new CarteiraColunar(quantidade);
+        lista.forEach(colunar::adicionar);
+        parcelasDouble = new double[quantidade];
+        parcelasCentavos = new long[quantidade];
+    }
+
+    @Benchmark
+    public double[] pontoFlutuante() {
+        colunar.calcularParcelas(0, quantidade, parcelasDouble);
+        return parcelasDouble;
+    }
+
+    @Benchmark
+    public long[] centavos() {
+        PrecificacaoCentavos.calcularParcelas(colunar, 0, quantidade, parcelasCentavos);
+        return parcelasCentavos;
+    }
+
+    @Benchmark
+    public long[] decimal() {
+        for (int i = 0; i < quantidade; i++) {
+            parcelasCentavos[i] = ModoMonetario.DECIMAL.calcular(colunar.getTipo(i), colunar.getValorImovel(i),
+                    colunar.getPrazoFinanciamento(i), colunar.getTaxaJurosAnual(i)).getParcelaCentavos();
+        }
+        return parcelasCentavos;
+    }
+}
@@ -0,0 +1,70 @@
+package desempenho;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.CenarioRisco;
+import calculo.PrecificadorCarteira;
+import calculo.ResultadoMonteCarlo;
+import calculo.SimulacaoMonteCarlo;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+
+/**
+ * Caminhos de Monte Carlo ({@link SimulacaoMonteCarlo}) de uma carteira de 100 mil financiamentos
+ * com o {@link CenarioRisco#padrao()}: um bloco de caminhos na thread do benchmark, que mede o
+ * custo por contrato e caminho, e 64 caminhos com o {@link PrecificadorCarteira} usando todos os
+ * processadores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MonteCarloBenchmark {
+
+    @Param({"100000"})
+    int quantidade;
+
+    private SimulacaoMonteCarlo simulacao;
+    private PrecificadorCarteira precificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Financiamento> lista = DadosCarteira.gerar(quantidade, 17);
+        CarteiraColunar carteira = new CarteiraColunar(quantidade);
+        lista.forEach(carteira::adicionar);
+        simulacao = new SimulacaoMonteCarlo(carteira, CenarioRisco.padrao(), 42);
+        precificador = new PrecificadorCarteira();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        precificador.close();
+    }
+
+    @Benchmark
+    public ResultadoMonteCarlo blocoSequencial() {
+        return simulacao.simular(0, PrecificadorCarteira.CAMINHOS_POR_BLOCO);
+    }
+
+    @Benchmark
+    public ResultadoMonteCarlo caminhosParalelos() {
+        return precificador.simularMonteCarlo(simulacao, 0, 64);
+    }
+}
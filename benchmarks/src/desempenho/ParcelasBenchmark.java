@@ -0,0 +1,98 @@
+package desempenho;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculo.ParcelasEmLote;
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+
+/**
+ * Parcelas de 1 milhão de financiamentos com {@link ParcelasEmLote}: a implementação vetorial
+ * ({@code jdk.incubator.vector}) e a escalar, na carteira com tipos alternados e em uma coluna só de
+ * apartamentos (tabela Price) e só de casas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ParcelasBenchmark {
+
+    @Param({"1000000"})
+    int quantidade;
+
+    private byte[] tipos;
+    private double[] valores;
+    private int[] prazos;
+    private double[] taxas;
+    private double[] parcelas;
+    private ParcelasEmLote vetorial;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Financiamento> lista = DadosCarteira.gerar(quantidade, 17);
+        CarteiraColunar carteira = new CarteiraColunar(quantidade);
+        lista.forEach(carteira::adicionar);
+        tipos = Arrays.copyOf(carteira.colunaTipos(), quantidade);
+        valores = Arrays.copyOf(carteira.colunaValoresImovel(), quantidade);
+        prazos = Arrays.copyOf(carteira.colunaPrazosFinanciamento(), quantidade);
+        taxas = Arrays.copyOf(carteira.colunaTaxasJurosAnual(), quantidade);
+        parcelas = new double[quantidade];
+        vetorial = ParcelasEmLote.obter();
+        if (!vetorial.isVetorial()) {
+            throw new IllegalStateException("API de vetores indisponível: " + vetorial);
+        }
+    }
+
+    @Benchmark
+    public double[] vetorialMisto() {
+        vetorial.calcular(tipos, valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+
+    @Benchmark
+    public double[] escalarMisto() {
+        ParcelasEmLote.escalar().calcular(tipos, valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+
+    @Benchmark
+    public double[] vetorialPrice() {
+        vetorial.calcularPrice(valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+
+    @Benchmark
+    public double[] escalarPrice() {
+        ParcelasEmLote.escalar().calcularPrice(valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+
+    @Benchmark
+    public double[] vetorialCasa() {
+        vetorial.calcularCasa(valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+
+    @Benchmark
+    public double[] escalarCasa() {
+        ParcelasEmLote.escalar().calcularCasa(valores, prazos, taxas, parcelas, 0, quantidade);
+        return parcelas;
+    }
+}
@@ -0,0 +1,73 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * Custo de precificar um único financiamento de cada tipo: criação do objeto e primeiro
+ * cálculo da parcela (sem o cache do resultado), consulta já em cache, e as fórmulas estáticas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrecificacaoBenchmark {
+
+    // Campos não finais para o JIT não tratar os parâmetros como constantes
+    double valor = 450_000;
+    int prazo = 25;
+    double taxa = 7.5;
+
+    private final Financiamento emCache = new Apartamento(450_000, 25, 7.5, 1, 3);
+
+    @Benchmark
+    public double apartamento() {
+        return new Apartamento(valor, prazo, taxa, 1, 3).calcularValorPagamentoMensal();
+    }
+
+    @Benchmark
+    public double casa() {
+        return new Casa(valor, prazo, taxa, 120, 300).calcularValorPagamentoMensal();
+    }
+
+    @Benchmark
+    public double terreno() {
+        return new Terreno(valor, prazo, taxa, "Residencial").calcularValorPagamentoMensal();
+    }
+
+    @Benchmark
+    public double formulaBase() {
+        return Financiamento.calcularParcelaBase(valor, prazo, taxa);
+    }
+
+    @Benchmark
+    public double formulaPrice() {
+        return Apartamento.calcularParcelaPrice(valor, prazo, taxa);
+    }
+
+    @Benchmark
+    public double formulaCasa() {
+        return Casa.calcularParcelaCasa(valor, prazo, taxa);
+    }
+
+    @Benchmark
+    public double resultadoEmCache() {
+        return emCache.calcularValorPagamentoMensal();
+    }
+}
@@ -0,0 +1,100 @@
+package desempenho;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import modelo.Financiamento;
+import util.EscritorRelatorio;
+import util.FormatoRelatorio;
+import util.LeitorRelatorio;
+
+/**
+ * Geração e leitura do relatório "Financiamentos.txt": formatação com {@code toString()},
+ * gravação com o {@link EscritorRelatorio}, cópia para a saída (o antigo {@code lerCaracteres})
+ * e conversão do texto de volta em financiamentos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelatorioBenchmark {
+
+    private static final OutputStream DESCARTE = OutputStream.nullOutputStream();
+
+    @Param({"20000"})
+    int quantidade;
+
+    private List<Financiamento> lista;
+    private Path arquivoGravado;
+    private Path arquivoLido;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        lista = DadosCarteira.gerar(quantidade, 7);
+        arquivoGravado = Files.createTempFile("relatorio-gravado", ".txt");
+        arquivoLido = Files.createTempFile("relatorio-lido", ".txt");
+        gravar(arquivoLido, FormatoRelatorio.TEXTO);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        Files.deleteIfExists(arquivoGravado);
+        Files.deleteIfExists(arquivoLido);
+    }
+
+    @Benchmark
+    public void formatarToString(Blackhole blackhole) {
+        for (Financiamento financiamento : lista) {
+            blackhole.consume(financiamento.toString());
+        }
+    }
+
+    @Benchmark
+    public void gravarTexto() throws IOException {
+        gravar(arquivoGravado, FormatoRelatorio.TEXTO);
+    }
+
+    @Benchmark
+    public void gravarCsv() throws IOException {
+        gravar(arquivoGravado, FormatoRelatorio.CSV);
+    }
+
+    @Benchmark
+    public void copiarParaSaida() throws IOException {
+        LeitorRelatorio.copiar(arquivoLido, DESCARTE);
+    }
+
+    @Benchmark
+    public long converterRelatorio(Blackhole blackhole) throws IOException {
+        return LeitorRelatorio.lerFinanciamentos(arquivoLido, blackhole::consume);
+    }
+
+    private void gravar(Path arquivo, FormatoRelatorio formato) throws IOException {
+        try (EscritorRelatorio escritor = new EscritorRelatorio(arquivo, formato)) {
+            for (Financiamento financiamento : lista) {
+                escritor.escrever(financiamento);
+            }
+        }
+    }
+}
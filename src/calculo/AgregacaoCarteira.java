@@ -0,0 +1,634 @@
+package calculo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import modelo.Financiamento;
+import modelo.Terreno;
+import modelo.TipoImovel;
+
+/**
+ * Acumulador de estatísticas agrupadas de uma carteira de financiamentos, calculadas em uma
+ * única passada: para cada grupo, a quantidade e a soma, a média, o menor e o maior valor do
+ * imóvel, da parcela mensal e do total pago. Cada financiamento é incluído ao mesmo tempo nos
+ * grupos de todos os {@link Agrupamento}s: tipo de imóvel, zona (apenas terrenos), prazo e faixa
+ * de taxa de juros. O total geral não é acumulado à parte: é a combinação dos grupos por tipo.
+ * <p>Os grupos ficam em arrays indexados pela chave do grupo (o tipo, o código da zona, o prazo
+ * em anos ou o número da faixa de taxa), sem objetos por financiamento, de modo que incluir um
+ * financiamento custa algumas somas e comparações, e a memória depende apenas da quantidade de
+ * grupos. Prazos e faixas acima de {@link #LIMITE_CHAVE} ficam no último grupo, e valores
+ * negativos, no primeiro.
+ * <p>Criado com suporte a remoção ({@link #AgregacaoCarteira(double, boolean)}), o acumulador também
+ * aceita {@link #remover(Financiamento)}. O acumulador guarda então as ocorrências de cada
+ * financiamento incluído (as chaves e as medidas, não o objeto), e a quantidade e as somas dos
+ * grupos continuam atualizadas em tempo constante. Quando a remoção retira o menor ou o maior valor
+ * de um grupo, o grupo é marcado, e os extremos dos grupos marcados são recalculados pelas
+ * ocorrências na próxima consulta. Sem remoção, nenhuma ocorrência é guardada; é o modo usado nas
+ * carteiras grandes.
+ * <p>Como os {@link TotaisCarteira}, cada thread usa o seu próprio acumulador, e os parciais
+ * são combinados com {@link #combinar(AgregacaoCarteira)} (veja
+ * {@link PrecificadorCarteira#agregar(modelo.CarteiraColunar)}). A classe não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class AgregacaoCarteira {
+
+    /**
+     * Maior chave de grupo por prazo e por faixa de taxa; valores acima dela ficam no último grupo.
+     */
+    public static final int LIMITE_CHAVE = 100;
+
+    /**
+     * Largura padrão das faixas de taxa de juros, em pontos percentuais.
+     */
+    public static final double LARGURA_FAIXA_PADRAO = 1.0;
+
+    /**
+     * Posições de cada medida no array de estatísticas de um grupo: soma, mínimo e máximo.
+     */
+    static final int CAMPOS_MEDIDA = 3;
+    private static final int CAMPOS_GRUPO = CAMPOS_MEDIDA * 3;
+
+    /**
+     * Formas de agrupar os financiamentos.
+     */
+    public enum Agrupamento {
+        TIPO("Por tipo de imóvel"),
+        ZONA("Por zona (terrenos)"),
+        PRAZO("Por prazo"),
+        FAIXA_TAXA("Por faixa de taxa de juros");
+
+        private final String descricao;
+
+        Agrupamento(String descricao) {
+            this.descricao = descricao;
+        }
+
+        /**
+         * Retorna o título do agrupamento no relatório.
+         *
+         * @return A descrição do agrupamento.
+         */
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    /**
+     * Valores resumidos em cada grupo.
+     */
+    public enum Medida {
+        VALOR_IMOVEL("Valor do imóvel"),
+        PARCELA("Parcela"),
+        TOTAL("Total pago");
+
+        private final String descricao;
+
+        Medida(String descricao) {
+            this.descricao = descricao;
+        }
+
+        /**
+         * Retorna o nome da medida no relatório.
+         *
+         * @return A descrição da medida.
+         */
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    private final double larguraFaixa;
+    private final Map<Ocorrencia, Integer> ocorrencias;
+    private boolean extremosDesatualizados;
+    private final Grupos[] grupos = new Grupos[Agrupamento.values().length];
+    private final List<String> zonas = new ArrayList<>();
+    private final Map<String, Integer> codigosZonas = new HashMap<>();
+
+    /**
+     * Cria um acumulador vazio com faixas de taxa de {@link #LARGURA_FAIXA_PADRAO} ponto percentual.
+     */
+    public AgregacaoCarteira() {
+        this(LARGURA_FAIXA_PADRAO);
+    }
+
+    /**
+     * Cria um acumulador vazio.
+     *
+     * @param larguraFaixa A largura das faixas de taxa de juros, em pontos percentuais; a faixa
+     *                     {@code k} reúne as taxas de {@code k * larguraFaixa} (inclusive) a
+     *                     {@code (k + 1) * larguraFaixa} (exclusive).
+     * @throws IllegalArgumentException Se a largura não for positiva.
+     */
+    public AgregacaoCarteira(double larguraFaixa) {
+        this(larguraFaixa, false);
+    }
+
+    /**
+     * Cria um acumulador vazio, opcionalmente com suporte a {@link #remover(Financiamento)}.
+     *
+     * @param larguraFaixa A largura das faixas de taxa de juros, em pontos percentuais.
+     * @param comRemocao {@code true} para guardar as ocorrências dos financiamentos e permitir remoções.
+     * @throws IllegalArgumentException Se a largura não for positiva.
+     */
+    public AgregacaoCarteira(double larguraFaixa, boolean comRemocao) {
+        if (!(larguraFaixa > 0) || Double.isInfinite(larguraFaixa)) {
+            throw new IllegalArgumentException("Largura da faixa de taxa deve ser positiva: " + larguraFaixa);
+        }
+        this.larguraFaixa = larguraFaixa;
+        this.ocorrencias = comRemocao ? new HashMap<>() : null;
+        grupos[Agrupamento.TIPO.ordinal()] = new Grupos(TipoImovel.values().length);
+        grupos[Agrupamento.ZONA.ordinal()] = new Grupos(4);
+        grupos[Agrupamento.PRAZO.ordinal()] = new Grupos(36);
+        grupos[Agrupamento.FAIXA_TAXA.ordinal()] = new Grupos(16);
+    }
+
+    /**
+     * Retorna a largura das faixas de taxa de juros.
+     *
+     * @return A largura, em pontos percentuais.
+     */
+    public double getLarguraFaixa() {
+        return larguraFaixa;
+    }
+
+    /**
+     * Acumula um financiamento, com a parcela e o total já calculados pelo próprio financiamento.
+     *
+     * @param financiamento O financiamento.
+     */
+    public void adicionar(Financiamento financiamento) {
+        String zona = financiamento instanceof Terreno ? ((Terreno) financiamento).getZona() : null;
+        adicionar(financiamento.getTipoImovel(), zona, financiamento.getPrazoFinanciamento(),
+                financiamento.getTaxaJurosAnual(), financiamento.getValorImovel(),
+                financiamento.calcularValorPagamentoMensal(), financiamento.calcularTotalPagamento());
+    }
+
+    /**
+     * Acumula um financiamento já calculado.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param zona A zona, para terrenos; ignorada nos demais tipos.
+     * @param prazoFinanciamento O prazo em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param valorImovel O valor do imóvel.
+     * @param parcela O valor da parcela mensal.
+     * @param total O valor total a ser pago.
+     */
+    public void adicionar(TipoImovel tipo, String zona, int prazoFinanciamento, double taxaJurosAnual,
+                          double valorImovel, double parcela, double total) {
+        int codigoZona = tipo == TipoImovel.TERRENO ? codigoZona(zona) : -1;
+        adicionar(tipo, codigoZona, prazoFinanciamento, taxaJurosAnual, valorImovel, parcela, total);
+    }
+
+    /**
+     * Acumula um financiamento cuja zona já foi convertida em código por {@link #codigoZona(String)}.
+     *
+     * @param codigoZona O código da zona, ou {@code -1} se o financiamento não for um terreno.
+     */
+    void adicionar(TipoImovel tipo, int codigoZona, int prazoFinanciamento, double taxaJurosAnual,
+                   double valorImovel, double parcela, double total) {
+        if (ocorrencias != null) {
+            ocorrencias.merge(new Ocorrencia(tipo.ordinal(), codigoZona, prazoFinanciamento, taxaJurosAnual,
+                    valorImovel, parcela, total), 1, Integer::sum);
+        }
+        grupos[Agrupamento.TIPO.ordinal()].adicionar(tipo.ordinal(), valorImovel, parcela, total);
+        if (codigoZona >= 0) {
+            grupos[Agrupamento.ZONA.ordinal()].adicionar(codigoZona, valorImovel, parcela, total);
+        }
+        grupos[Agrupamento.PRAZO.ordinal()].adicionar(limitar(prazoFinanciamento), valorImovel, parcela, total);
+        grupos[Agrupamento.FAIXA_TAXA.ordinal()].adicionar(faixa(taxaJurosAnual), valorImovel, parcela, total);
+    }
+
+    /**
+     * Remove um financiamento acumulado anteriormente, com a parcela e o total calculados pelo
+     * próprio financiamento.
+     *
+     * @param financiamento O financiamento.
+     * @throws IllegalStateException Se o acumulador não foi criado com suporte a remoção.
+     * @throws IllegalArgumentException Se o financiamento não consta no acumulador.
+     */
+    public void remover(Financiamento financiamento) {
+        if (ocorrencias == null) {
+            throw new IllegalStateException("Agregação criada sem suporte a remoção.");
+        }
+        int codigoZona = -1;
+        if (financiamento instanceof Terreno) {
+            String zona = ((Terreno) financiamento).getZona();
+            codigoZona = codigosZonas.getOrDefault(zona == null ? "" : zona, -2);
+        }
+        Ocorrencia ocorrencia = new Ocorrencia(financiamento.getTipoImovel().ordinal(), codigoZona,
+                financiamento.getPrazoFinanciamento(), financiamento.getTaxaJurosAnual(),
+                financiamento.getValorImovel(), financiamento.calcularValorPagamentoMensal(),
+                financiamento.calcularTotalPagamento());
+        Integer vezes = ocorrencias.get(ocorrencia);
+        if (vezes == null) {
+            throw new IllegalArgumentException("Financiamento não consta na agregação da carteira.");
+        }
+        if (vezes == 1) {
+            ocorrencias.remove(ocorrencia);
+        } else {
+            ocorrencias.put(ocorrencia, vezes - 1);
+        }
+        int[] chaves = chaves(ocorrencia);
+        for (Agrupamento agrupamento : Agrupamento.values()) {
+            int chave = chaves[agrupamento.ordinal()];
+            if (chave >= 0) {
+                extremosDesatualizados |= grupos[agrupamento.ordinal()].remover(chave, ocorrencia.valorImovel,
+                        ocorrencia.parcela, ocorrencia.total);
+            }
+        }
+    }
+
+    /**
+     * Retorna a chave da ocorrência em cada agrupamento, na ordem de {@link Agrupamento}; {@code -1}
+     * se a ocorrência não pertence ao agrupamento (a zona, para quem não é terreno).
+     */
+    private int[] chaves(Ocorrencia ocorrencia) {
+        return new int[]{ocorrencia.tipo, ocorrencia.codigoZona, limitar(ocorrencia.prazo), faixa(ocorrencia.taxa)};
+    }
+
+    /**
+     * Recalcula, pelas ocorrências guardadas, o menor e o maior valor dos grupos cujo extremo foi removido.
+     */
+    private void atualizarExtremos() {
+        if (!extremosDesatualizados) {
+            return;
+        }
+        for (Grupos grupo : grupos) {
+            grupo.reiniciarExtremosDesatualizados();
+        }
+        for (Ocorrencia ocorrencia : ocorrencias.keySet()) {
+            int[] chaves = chaves(ocorrencia);
+            for (Agrupamento agrupamento : Agrupamento.values()) {
+                int chave = chaves[agrupamento.ordinal()];
+                if (chave >= 0) {
+                    grupos[agrupamento.ordinal()].recalcularExtremos(chave, ocorrencia.valorImovel,
+                            ocorrencia.parcela, ocorrencia.total);
+                }
+            }
+        }
+        for (Grupos grupo : grupos) {
+            grupo.marcarAtualizados();
+        }
+        extremosDesatualizados = false;
+    }
+
+    /**
+     * Retorna o código de uma zona neste acumulador, registrando-a se for nova.
+     * Zonas nulas são tratadas como zona vazia.
+     */
+    int codigoZona(String zona) {
+        String nome = zona == null ? "" : zona;
+        Integer codigo = codigosZonas.get(nome);
+        if (codigo == null) {
+            codigo = zonas.size();
+            zonas.add(nome);
+            codigosZonas.put(nome, codigo);
+        }
+        return codigo;
+    }
+
+    private int faixa(double taxaJurosAnual) {
+        double faixa = Math.floor(taxaJurosAnual / larguraFaixa);
+        return faixa >= LIMITE_CHAVE ? LIMITE_CHAVE : faixa > 0 ? (int) faixa : 0;
+    }
+
+    private static int limitar(int chave) {
+        return Math.max(0, Math.min(chave, LIMITE_CHAVE));
+    }
+
+    /**
+     * Soma a este acumulador os grupos de outro acumulador. As zonas são combinadas pelo nome.
+     *
+     * @param outro O acumulador a ser combinado.
+     * @throws IllegalArgumentException Se os acumuladores tiverem larguras de faixa diferentes, ou se
+     *                                  este acumulador tiver suporte a remoção e o outro não.
+     */
+    public void combinar(AgregacaoCarteira outro) {
+        if (Double.compare(larguraFaixa, outro.larguraFaixa) != 0) {
+            throw new IllegalArgumentException("Larguras de faixa diferentes: " + larguraFaixa
+                    + " e " + outro.larguraFaixa);
+        }
+        if (ocorrencias != null && outro.ocorrencias == null) {
+            throw new IllegalArgumentException("Uma agregação sem suporte a remoção não pode ser combinada"
+                    + " em uma agregação com remoção.");
+        }
+        outro.atualizarExtremos();
+        if (ocorrencias != null) {
+            for (Map.Entry<Ocorrencia, Integer> entrada : outro.ocorrencias.entrySet()) {
+                Ocorrencia origem = entrada.getKey();
+                int zona = origem.codigoZona < 0 ? origem.codigoZona : codigoZona(outro.zonas.get(origem.codigoZona));
+                ocorrencias.merge(new Ocorrencia(origem.tipo, zona, origem.prazo, origem.taxa, origem.valorImovel,
+                        origem.parcela, origem.total), entrada.getValue(), Integer::sum);
+            }
+        }
+        for (Agrupamento agrupamento : Agrupamento.values()) {
+            Grupos destino = grupos[agrupamento.ordinal()];
+            Grupos origem = outro.grupos[agrupamento.ordinal()];
+            for (int chave = 0; chave < origem.tamanho; chave++) {
+                int chaveDestino = agrupamento == Agrupamento.ZONA ? codigoZona(outro.zonas.get(chave)) : chave;
+                destino.combinar(origem, chave, chaveDestino);
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade total de financiamentos acumulados.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public long getQuantidade() {
+        long quantidade = 0;
+        Grupos porTipo = grupos[Agrupamento.TIPO.ordinal()];
+        for (int chave = 0; chave < porTipo.tamanho; chave++) {
+            quantidade += porTipo.quantidades[chave];
+        }
+        return quantidade;
+    }
+
+    /**
+     * Retorna as estatísticas de todos os financiamentos acumulados.
+     *
+     * @return O grupo com todos os financiamentos, rotulado "Geral".
+     */
+    public EstatisticaGrupo getGeral() {
+        atualizarExtremos();
+        Grupos geral = new Grupos(1);
+        Grupos porTipo = grupos[Agrupamento.TIPO.ordinal()];
+        for (int chave = 0; chave < porTipo.tamanho; chave++) {
+            geral.combinar(porTipo, chave, 0);
+        }
+        return geral.estatistica(0, "Geral");
+    }
+
+    /**
+     * Retorna as estatísticas dos financiamentos de um tipo de imóvel.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return O grupo do tipo, vazio se nenhum financiamento do tipo foi acumulado.
+     */
+    public EstatisticaGrupo getGrupo(TipoImovel tipo) {
+        atualizarExtremos();
+        return grupos[Agrupamento.TIPO.ordinal()].estatistica(tipo.ordinal(), tipo.getDescricao());
+    }
+
+    /**
+     * Retorna os grupos não vazios de um agrupamento, em ordem crescente de chave (tipo na ordem
+     * de {@link TipoImovel}, zonas na ordem em que apareceram, prazos e faixas do menor para o maior).
+     *
+     * @param agrupamento O agrupamento.
+     * @return Os grupos com pelo menos um financiamento.
+     */
+    public List<EstatisticaGrupo> getGrupos(Agrupamento agrupamento) {
+        atualizarExtremos();
+        Grupos origem = grupos[agrupamento.ordinal()];
+        List<EstatisticaGrupo> resultado = new ArrayList<>();
+        for (int chave = 0; chave < origem.tamanho; chave++) {
+            if (origem.quantidades[chave] > 0) {
+                resultado.add(origem.estatistica(chave, rotulo(agrupamento, chave)));
+            }
+        }
+        return resultado;
+    }
+
+    private String rotulo(Agrupamento agrupamento, int chave) {
+        switch (agrupamento) {
+            case TIPO:
+                return TipoImovel.values()[chave].getDescricao();
+            case ZONA:
+                return zonas.get(chave);
+            case PRAZO:
+                return chave == LIMITE_CHAVE ? chave + " anos ou mais" : chave + " anos";
+            default:
+                return chave == LIMITE_CHAVE ? String.format("%.2f%% ou mais", chave * larguraFaixa)
+                        : String.format("%.2f%% a %.2f%%", chave * larguraFaixa, (chave + 1) * larguraFaixa);
+        }
+    }
+
+    /**
+     * Anexa o relatório completo ao texto: o total geral e, para cada agrupamento, um grupo por linha.
+     *
+     * @param destino O texto de destino.
+     * @return O próprio {@code destino}.
+     */
+    public StringBuilder anexarRelatorio(StringBuilder destino) {
+        destino.append(getGeral()).append('\n');
+        for (Agrupamento agrupamento : Agrupamento.values()) {
+            List<EstatisticaGrupo> lista = getGrupos(agrupamento);
+            if (lista.isEmpty()) {
+                continue;
+            }
+            destino.append(agrupamento.getDescricao()).append(":\n");
+            for (EstatisticaGrupo grupo : lista) {
+                destino.append("  ").append(grupo).append('\n');
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Retorna o relatório completo em texto.
+     *
+     * @return O relatório, como em {@link #anexarRelatorio(StringBuilder)}.
+     */
+    public String relatorio() {
+        return anexarRelatorio(new StringBuilder(4096)).toString();
+    }
+
+    /**
+     * Um financiamento incluído em um acumulador com suporte a remoção: as chaves e as medidas.
+     */
+    private static final class Ocorrencia {
+        private final int tipo;
+        private final int codigoZona;
+        private final int prazo;
+        private final double taxa;
+        private final double valorImovel;
+        private final double parcela;
+        private final double total;
+
+        Ocorrencia(int tipo, int codigoZona, int prazo, double taxa, double valorImovel, double parcela, double total) {
+            this.tipo = tipo;
+            this.codigoZona = codigoZona;
+            this.prazo = prazo;
+            this.taxa = taxa;
+            this.valorImovel = valorImovel;
+            this.parcela = parcela;
+            this.total = total;
+        }
+
+        @Override
+        public boolean equals(Object objeto) {
+            if (!(objeto instanceof Ocorrencia)) {
+                return false;
+            }
+            Ocorrencia outra = (Ocorrencia) objeto;
+            return tipo == outra.tipo && codigoZona == outra.codigoZona && prazo == outra.prazo
+                    && Double.compare(taxa, outra.taxa) == 0 && Double.compare(valorImovel, outra.valorImovel) == 0
+                    && Double.compare(parcela, outra.parcela) == 0 && Double.compare(total, outra.total) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 31 * (31 * tipo + codigoZona) + prazo;
+            hash = 31 * hash + Double.hashCode(taxa);
+            hash = 31 * hash + Double.hashCode(valorImovel);
+            hash = 31 * hash + Double.hashCode(parcela);
+            return 31 * hash + Double.hashCode(total);
+        }
+    }
+
+    /**
+     * Grupos de um agrupamento: a quantidade de cada grupo e, em um único array, a soma, o mínimo
+     * e o máximo de cada medida, {@link #CAMPOS_GRUPO} posições por grupo; e quais grupos tiveram
+     * um extremo removido.
+     */
+    private static final class Grupos {
+        private long[] quantidades;
+        private double[] estatisticas;
+        private boolean[] desatualizados;
+        private int tamanho;
+
+        Grupos(int capacidade) {
+            quantidades = new long[capacidade];
+            estatisticas = new double[capacidade * CAMPOS_GRUPO];
+            desatualizados = new boolean[capacidade];
+            preencherVazios(0, capacidade);
+        }
+
+        void adicionar(int chave, double valorImovel, double parcela, double total) {
+            if (chave >= tamanho) {
+                garantir(chave);
+            }
+            quantidades[chave]++;
+            int base = chave * CAMPOS_GRUPO;
+            acumular(base, valorImovel);
+            acumular(base + CAMPOS_MEDIDA, parcela);
+            acumular(base + 2 * CAMPOS_MEDIDA, total);
+        }
+
+        private void acumular(int i, double valor) {
+            estatisticas[i] += valor;
+            acumularExtremos(i, valor);
+        }
+
+        private void acumularExtremos(int i, double valor) {
+            if (valor < estatisticas[i + 1]) {
+                estatisticas[i + 1] = valor;
+            }
+            if (valor > estatisticas[i + 2]) {
+                estatisticas[i + 2] = valor;
+            }
+        }
+
+        /**
+         * Retira um financiamento da quantidade e das somas do grupo. Um grupo que fica vazio volta
+         * ao estado inicial, sem resíduo nas somas.
+         *
+         * @return {@code true} se um dos valores removidos era o menor ou o maior do grupo, que
+         *         precisa então ter os extremos recalculados.
+         */
+        boolean remover(int chave, double valorImovel, double parcela, double total) {
+            quantidades[chave]--;
+            int base = chave * CAMPOS_GRUPO;
+            if (quantidades[chave] == 0) {
+                preencherVazios(chave, chave + 1);
+                for (int campo = 0; campo < CAMPOS_GRUPO; campo += CAMPOS_MEDIDA) {
+                    estatisticas[base + campo] = 0;
+                }
+                desatualizados[chave] = false;
+                return false;
+            }
+            boolean extremo = descontar(base, valorImovel) | descontar(base + CAMPOS_MEDIDA, parcela)
+                    | descontar(base + 2 * CAMPOS_MEDIDA, total);
+            desatualizados[chave] |= extremo;
+            return extremo;
+        }
+
+        private boolean descontar(int i, double valor) {
+            estatisticas[i] -= valor;
+            return valor == estatisticas[i + 1] || valor == estatisticas[i + 2];
+        }
+
+        void reiniciarExtremosDesatualizados() {
+            for (int chave = 0; chave < tamanho; chave++) {
+                if (desatualizados[chave]) {
+                    int base = chave * CAMPOS_GRUPO;
+                    for (int campo = 0; campo < CAMPOS_GRUPO; campo += CAMPOS_MEDIDA) {
+                        estatisticas[base + campo + 1] = Double.POSITIVE_INFINITY;
+                        estatisticas[base + campo + 2] = Double.NEGATIVE_INFINITY;
+                    }
+                }
+            }
+        }
+
+        void recalcularExtremos(int chave, double valorImovel, double parcela, double total) {
+            if (!desatualizados[chave]) {
+                return;
+            }
+            int base = chave * CAMPOS_GRUPO;
+            acumularExtremos(base, valorImovel);
+            acumularExtremos(base + CAMPOS_MEDIDA, parcela);
+            acumularExtremos(base + 2 * CAMPOS_MEDIDA, total);
+        }
+
+        void marcarAtualizados() {
+            Arrays.fill(desatualizados, false);
+        }
+
+        void combinar(Grupos outro, int chaveOrigem, int chaveDestino) {
+            if (outro.quantidades[chaveOrigem] == 0) {
+                return;
+            }
+            if (chaveDestino >= tamanho) {
+                garantir(chaveDestino);
+            }
+            quantidades[chaveDestino] += outro.quantidades[chaveOrigem];
+            int origem = chaveOrigem * CAMPOS_GRUPO;
+            int destino = chaveDestino * CAMPOS_GRUPO;
+            for (int campo = 0; campo < CAMPOS_GRUPO; campo += CAMPOS_MEDIDA) {
+                estatisticas[destino + campo] += outro.estatisticas[origem + campo];
+                estatisticas[destino + campo + 1] = Math.min(estatisticas[destino + campo + 1],
+                        outro.estatisticas[origem + campo + 1]);
+                estatisticas[destino + campo + 2] = Math.max(estatisticas[destino + campo + 2],
+                        outro.estatisticas[origem + campo + 2]);
+            }
+        }
+
+        /**
+         * Garante espaço para a chave informada e a inclui no intervalo de chaves usadas.
+         */
+        private void garantir(int chave) {
+            if (chave >= quantidades.length) {
+                int capacidadeAnterior = quantidades.length;
+                int capacidade = Math.max(chave + 1, capacidadeAnterior * 2);
+                quantidades = Arrays.copyOf(quantidades, capacidade);
+                estatisticas = Arrays.copyOf(estatisticas, capacidade * CAMPOS_GRUPO);
+                desatualizados = Arrays.copyOf(desatualizados, capacidade);
+                preencherVazios(capacidadeAnterior, capacidade);
+            }
+            tamanho = chave + 1;
+        }
+
+        private void preencherVazios(int inicio, int fim) {
+            for (int chave = inicio; chave < fim; chave++) {
+                int base = chave * CAMPOS_GRUPO;
+                for (int campo = 0; campo < CAMPOS_GRUPO; campo += CAMPOS_MEDIDA) {
+                    estatisticas[base + campo + 1] = Double.POSITIVE_INFINITY;
+                    estatisticas[base + campo + 2] = Double.NEGATIVE_INFINITY;
+                }
+            }
+        }
+
+        EstatisticaGrupo estatistica(int chave, String rotulo) {
+            if (chave >= tamanho) {
+                return new EstatisticaGrupo(rotulo, 0, new double[CAMPOS_GRUPO], 0);
+            }
+            return new EstatisticaGrupo(rotulo, quantidades[chave], estatisticas, chave * CAMPOS_GRUPO);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package calculo;
+
+import java.util.stream.IntStream;
+
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+/**
+ * Calcula quanto um financiamento ou uma carteira pagaria em cada combinação de taxa de juros
+ * e prazo, mantendo o valor e o tipo de cada imóvel.
+ * <p>Com taxa e prazo fixados, a parcela de todos os tipos de imóvel é proporcional ao valor do
+ * imóvel (inclusive o acréscimo e o desconto da casa, que dependem apenas da taxa e do prazo
+ * quando comparados aos juros). Por isso a carteira é percorrida uma única vez para somar os
+ * valores por tipo, e cada célula da grade multiplica essas somas por um fator por tipo.
+ * <p>Na linha de cada taxa, a potência {@code (1 + taxaMensal)^meses} da tabela Price é obtida
+ * multiplicando a potência do prazo anterior por {@code (1 + taxaMensal)^12}, em vez de chamar
+ * {@link Math#pow(double, double)} em cada célula. As linhas são calculadas em paralelo.
+ * <p>Os resultados coincidem com a soma de {@link Financiamento#calcularValorPagamentoMensal()}
+ * de cada financiamento até a precisão de arredondamento do {@code double}.
+ *
+ * @version 1.0
+ */
+public class AnaliseSensibilidade {
+
+    private static final int TIPOS = TipoImovel.values().length;
+
+    private final double[] taxas;
+    private final int[] prazos;
+
+    /**
+     * Cria a análise para os eixos informados.
+     *
+     * @param taxas As taxas de juros anuais (linhas da grade), na mesma unidade dos financiamentos.
+     * @param prazos Os prazos em anos (colunas da grade), em ordem estritamente crescente.
+     * @throws IllegalArgumentException Se algum eixo estiver vazio ou os prazos não forem crescentes e positivos.
+     */
+    public AnaliseSensibilidade(double[] taxas, int[] prazos) {
+        if (taxas.length == 0 || prazos.length == 0) {
+            throw new IllegalArgumentException("Os eixos de taxa e prazo não podem ser vazios.");
+        }
+        for (int j = 0; j < prazos.length; j++) {
+            if (prazos[j] <= 0 || (j > 0 && prazos[j] <= prazos[j - 1])) {
+                throw new IllegalArgumentException("Os prazos devem ser positivos e crescentes.");
+            }
+        }
+        this.taxas = taxas.clone();
+        this.prazos = prazos.clone();
+    }
+
+    /**
+     * Cria um eixo de taxas de {@code inicio} a {@code fim}, inclusive, com o passo informado.
+     *
+     * @param inicio A primeira taxa.
+     * @param fim A última taxa.
+     * @param passo O incremento entre taxas.
+     * @return O eixo de taxas.
+     */
+    public static double[] eixoTaxas(double inicio, double fim, double passo) {
+        int quantidade = (int) Math.floor((fim - inicio) / passo + 1e-9) + 1;
+        double[] eixo = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            eixo[i] = inicio + i * passo;
+        }
+        return eixo;
+    }
+
+    /**
+     * Cria um eixo de prazos anuais de {@code inicio} a {@code fim}, inclusive.
+     *
+     * @param inicio O primeiro prazo em anos.
+     * @param fim O último prazo em anos.
+     * @return O eixo de prazos.
+     */
+    public static int[] eixoPrazos(int inicio, int fim) {
+        return IntStream.rangeClosed(inicio, fim).toArray();
+    }
+
+    /**
+     * Calcula a grade de um único financiamento.
+     *
+     * @param financiamento O financiamento.
+     * @return A grade de parcelas e totais.
+     */
+    public GradeSensibilidade calcular(Financiamento financiamento) {
+        double[] valoresPorTipo = new double[TIPOS];
+        valoresPorTipo[financiamento.getTipoImovel().ordinal()] = financiamento.getValorImovel();
+        return calcular(valoresPorTipo);
+    }
+
+    /**
+     * Calcula a grade de uma carteira, somando as parcelas e os totais de todos os financiamentos.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @return A grade de parcelas e totais da carteira.
+     */
+    public GradeSensibilidade calcular(Iterable<? extends Financiamento> carteira) {
+        double[] valoresPorTipo = new double[TIPOS];
+        for (Financiamento financiamento : carteira) {
+            valoresPorTipo[financiamento.getTipoImovel().ordinal()] += financiamento.getValorImovel();
+        }
+        return calcular(valoresPorTipo);
+    }
+
+    /**
+     * Calcula a grade de uma carteira colunar, somando as parcelas e os totais de todos os financiamentos.
+     *
+     * @param carteira A carteira colunar.
+     * @return A grade de parcelas e totais da carteira.
+     */
+    public GradeSensibilidade calcular(CarteiraColunar carteira) {
+        double[] valoresPorTipo = new double[TIPOS];
+        byte[] tipos = carteira.colunaTipos();
+        double[] valores = carteira.colunaValoresImovel();
+        for (int i = 0; i < carteira.tamanho(); i++) {
+            valoresPorTipo[tipos[i]] += valores[i];
+        }
+        return calcular(valoresPorTipo);
+    }
+
+    private GradeSensibilidade calcular(double[] valoresPorTipo) {
+        double[][] parcelas = new double[taxas.length][prazos.length];
+        double[][] totais = new double[taxas.length][prazos.length];
+        IntStream.range(0, taxas.length).parallel()
+                .forEach(linha -> calcularLinha(taxas[linha], valoresPorTipo, parcelas[linha], totais[linha]));
+        return new GradeSensibilidade(taxas.clone(), prazos.clone(), parcelas, totais);
+    }
+
+    private void calcularLinha(double taxa, double[] valoresPorTipo, double[] parcelas, double[] totais) {
+        double valorApartamentos = valoresPorTipo[TipoImovel.APARTAMENTO.ordinal()];
+        double valorCasas = valoresPorTipo[TipoImovel.CASA.ordinal()];
+        double valorTerrenos = valoresPorTipo[TipoImovel.TERRENO.ordinal()];
+
+        // Mesmas taxas mensais das fórmulas de Apartamento, Financiamento e Casa
+        double taxaMensalPrice = taxa / 12;
+        double taxaMensalCasa = taxa / 12 / 100;
+        double potenciaAnual = Math.pow(1 + taxaMensalPrice, 12);
+        double potencia = 1;
+        int anos = 0;
+
+        for (int coluna = 0; coluna < prazos.length; coluna++) {
+            int prazo = prazos[coluna];
+            while (anos < prazo) {
+                potencia *= potenciaAnual;
+                anos++;
+            }
+
+            double fatorApartamento = taxaMensalPrice * potencia / (potencia - 1);
+            double fatorBase = (1.0 / (prazo * 12)) * (1 + (taxa / 12));
+            double acrescimo = 0.02 / prazo;
+            double desconto = 0.01 / prazo;
+            if (acrescimo > taxaMensalCasa) {
+                acrescimo = 0;
+            }
+            if (desconto > taxaMensalCasa) {
+                desconto = taxaMensalCasa;
+            }
+            double fatorCasa = fatorBase + acrescimo - desconto;
+            double fatorTerreno = fatorBase * 1.02;
+
+            double parcela = valorApartamentos * fatorApartamento + valorCasas * fatorCasa + valorTerrenos * fatorTerreno;
+            parcelas[coluna] = parcela;
+            totais[coluna] = parcela * prazo * 12;
+        }
+    }
+}
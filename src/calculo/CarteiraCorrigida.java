@@ -0,0 +1,289 @@
+package calculo;
+
+import java.util.Arrays;
+
+import modelo.CarteiraColunar;
+
+/**
+ * Estado mês a mês de uma carteira de contratos indexados, para a reprecificação incremental: quando
+ * a variação de uma nova competência de um índice é divulgada, apenas os contratos desse índice
+ * ainda em aberto avançam um mês, a partir do saldo devedor da competência anterior, em vez de
+ * recalcular as tabelas inteiras desde o primeiro mês.
+ * <p>O estado de cada contrato fica em colunas de tipos primitivos: saldo devedor, parcela (Price) ou
+ * amortização (SAC) vigente, taxa mensal, prazo, meses pagos, competência inicial e índice. Cada
+ * índice tem a lista das posições dos seus contratos, em ordem crescente, e os contratos quitados
+ * são retirados da lista de tempos em tempos. O cálculo de um mês é o mesmo da
+ * {@link TabelaAmortizacao} com uma {@link SerieIndice} e sem amortizações extraordinárias, com
+ * resultados idênticos.
+ * <p>As competências de cada índice devem ser aplicadas em ordem, sem lacunas, com
+ * {@link #corrigir(Indexador, int, double)} ou em paralelo com
+ * {@link PrecificadorCarteira#corrigir(CarteiraCorrigida, Indexador, int, double)}. Contratos
+ * {@link Indexador#PREFIXADO} também avançam por competência, com variação zero. A classe não é
+ * sincronizada.
+ *
+ * @version 1.0
+ */
+public class CarteiraCorrigida {
+
+    private static final Indexador[] INDEXADORES = Indexador.values();
+
+    private final SistemaAmortizacao sistema;
+    private final int tamanho;
+    private final double[] saldos;
+    private final double[] vigentes;
+    private final double[] taxasMensais;
+    private final int[] meses;
+    private final int[] mesesPagos;
+    private final int[] competenciasIniciais;
+    private final byte[] indexadores;
+
+    private final int[][] contratos = new int[INDEXADORES.length][];
+    private final int[] quantidades = new int[INDEXADORES.length];
+    private final int[] quitadosNaLista = new int[INDEXADORES.length];
+    private final int[] proximasCompetencias = new int[INDEXADORES.length];
+
+    /**
+     * Cria o estado de uma carteira em que todos os contratos têm o mesmo índice e começam na competência 0.
+     *
+     * @param carteira A carteira colunar: valor do imóvel (valor financiado), taxa anual e prazo de cada contrato.
+     * @param sistema O sistema de amortização dos contratos.
+     * @param indexador O índice de todos os contratos.
+     */
+    public CarteiraCorrigida(CarteiraColunar carteira, SistemaAmortizacao sistema, Indexador indexador) {
+        this(carteira, sistema, preencher(carteira.tamanho(), (byte) indexador.ordinal()), new int[carteira.tamanho()]);
+    }
+
+    /**
+     * Cria o estado de uma carteira com o índice e a competência inicial de cada contrato.
+     *
+     * @param carteira A carteira colunar: valor do imóvel (valor financiado), taxa anual e prazo de cada contrato.
+     * @param sistema O sistema de amortização dos contratos.
+     * @param indexadores O código ({@link Indexador#ordinal()}) do índice de cada contrato.
+     * @param competenciasIniciais A competência do primeiro mês de cada contrato, a partir de 0.
+     * @throws IllegalArgumentException Se os arrays tiverem tamanho diferente da carteira ou algum
+     *                                  código de índice ou competência for inválido.
+     */
+    public CarteiraCorrigida(CarteiraColunar carteira, SistemaAmortizacao sistema, byte[] indexadores,
+                             int[] competenciasIniciais) {
+        tamanho = carteira.tamanho();
+        if (indexadores.length != tamanho || competenciasIniciais.length != tamanho) {
+            throw new IllegalArgumentException("Índices e competências devem ter um valor por contrato: " + tamanho);
+        }
+        this.sistema = sistema;
+        this.indexadores = indexadores.clone();
+        this.competenciasIniciais = competenciasIniciais.clone();
+        saldos = Arrays.copyOf(carteira.colunaValoresImovel(), tamanho);
+        vigentes = new double[tamanho];
+        taxasMensais = new double[tamanho];
+        meses = new int[tamanho];
+        mesesPagos = new int[tamanho];
+
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        for (int i = 0; i < tamanho; i++) {
+            int indice = this.indexadores[i];
+            if (indice < 0 || indice >= INDEXADORES.length || this.competenciasIniciais[i] < 0) {
+                throw new IllegalArgumentException("Índice ou competência inválidos no contrato " + i);
+            }
+            taxasMensais[i] = TabelaAmortizacao.taxaMensal(taxas[i]);
+            meses[i] = prazos[i] * 12;
+            vigentes[i] = sistema == SistemaAmortizacao.PRICE
+                    ? TabelaAmortizacao.calcularParcelaPrice(saldos[i], taxasMensais[i], meses[i])
+                    : saldos[i] / meses[i];
+            quantidades[indice]++;
+        }
+        for (int k = 0; k < INDEXADORES.length; k++) {
+            contratos[k] = new int[quantidades[k]];
+            quantidades[k] = 0;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            contratos[this.indexadores[i]][quantidades[this.indexadores[i]]++] = i;
+        }
+    }
+
+    private static byte[] preencher(int tamanho, byte valor) {
+        byte[] valores = new byte[tamanho];
+        Arrays.fill(valores, valor);
+        return valores;
+    }
+
+    /**
+     * Aplica uma competência de um índice a todos os contratos desse índice, na thread chamadora.
+     *
+     * @param indexador O índice.
+     * @param competencia A competência, que deve ser a seguinte à última aplicada ao índice.
+     * @param variacao A variação do índice na competência, como fração.
+     * @return Os totais da competência.
+     * @throws IllegalArgumentException Se a competência estiver fora de ordem.
+     */
+    public CorrecaoMensal corrigir(Indexador indexador, int competencia, double variacao) {
+        verificarCompetencia(indexador, competencia);
+        CorrecaoMensal resumo = new CorrecaoMensal(indexador, competencia, variacao);
+        corrigir(indexador.ordinal(), 0, getQuantidade(indexador), competencia, variacao, resumo);
+        concluirCompetencia(indexador);
+        return resumo;
+    }
+
+    /**
+     * Verifica se a competência é a próxima do índice.
+     */
+    void verificarCompetencia(Indexador indexador, int competencia) {
+        if (competencia != proximasCompetencias[indexador.ordinal()]) {
+            throw new IllegalArgumentException("Competência " + competencia + " de " + indexador.getDescricao()
+                    + " fora de ordem; a próxima é " + proximasCompetencias[indexador.ordinal()]);
+        }
+    }
+
+    /**
+     * Avança um mês nos contratos das posições {@code inicio} a {@code fim} (exclusive) da lista do índice.
+     * Sem criar objetos; contratos de listas disjuntas podem ser corrigidos em paralelo.
+     */
+    void corrigir(int indice, int inicio, int fim, int competencia, double variacao, CorrecaoMensal resumo) {
+        int[] lista = contratos[indice];
+        boolean price = sistema == SistemaAmortizacao.PRICE;
+        double fator = 1 + variacao;
+        int quitados = 0;
+        for (int p = inicio; p < fim; p++) {
+            int i = lista[p];
+            int mes = mesesPagos[i] + 1;
+            double saldo = saldos[i];
+            if (mes > meses[i] || (mes > 1 && saldo == 0) || competenciasIniciais[i] + mes - 1 != competencia) {
+                continue; // Quitado ou ainda não iniciado
+            }
+            double corrigido = saldo * fator;
+            double vigente = vigentes[i] * fator;
+            double juros = corrigido * taxasMensais[i];
+            double amortizacao = price ? vigente - juros : vigente;
+            if (mes == meses[i] || amortizacao >= corrigido - TabelaAmortizacao.SALDO_RESIDUAL) {
+                amortizacao = corrigido;
+            }
+            double novoSaldo = corrigido - amortizacao;
+            if (mes == meses[i] || novoSaldo < TabelaAmortizacao.SALDO_RESIDUAL) {
+                novoSaldo = 0;
+                quitados++;
+            }
+            saldos[i] = novoSaldo;
+            vigentes[i] = vigente;
+            mesesPagos[i] = mes;
+            resumo.adicionar(corrigido - saldo, juros, amortizacao, novoSaldo);
+        }
+        if (quitados > 0) {
+            synchronized (quitadosNaLista) {
+                quitadosNaLista[indice] += quitados;
+            }
+        }
+    }
+
+    /**
+     * Marca a competência do índice como aplicada e, se mais de um oitavo da lista do índice estiver
+     * quitado, retira os contratos quitados da lista.
+     */
+    void concluirCompetencia(Indexador indexador) {
+        int indice = indexador.ordinal();
+        proximasCompetencias[indice]++;
+        if (quitadosNaLista[indice] > quantidades[indice] / 8) {
+            int[] lista = contratos[indice];
+            int abertos = 0;
+            for (int p = 0; p < quantidades[indice]; p++) {
+                int i = lista[p];
+                if (mesesPagos[i] < meses[i] && (mesesPagos[i] == 0 || saldos[i] != 0)) {
+                    lista[abertos++] = i;
+                }
+            }
+            quantidades[indice] = abertos;
+            quitadosNaLista[indice] = 0;
+        }
+    }
+
+    /**
+     * Retorna a quantidade de contratos.
+     *
+     * @return A quantidade de contratos, inclusive os quitados.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna o sistema de amortização dos contratos.
+     *
+     * @return O sistema de amortização.
+     */
+    public SistemaAmortizacao getSistema() {
+        return sistema;
+    }
+
+    /**
+     * Retorna a quantidade de contratos de um índice ainda na lista de atualização. Contratos quitados
+     * podem continuar na lista até a próxima limpeza.
+     *
+     * @param indexador O índice.
+     * @return A quantidade de contratos na lista do índice.
+     */
+    public int getQuantidade(Indexador indexador) {
+        return quantidades[indexador.ordinal()];
+    }
+
+    /**
+     * Retorna a próxima competência a ser aplicada a um índice.
+     *
+     * @param indexador O índice.
+     * @return A competência, a partir de 0.
+     */
+    public int getProximaCompetencia(Indexador indexador) {
+        return proximasCompetencias[indexador.ordinal()];
+    }
+
+    /**
+     * Retorna o índice de um contrato.
+     *
+     * @param i A posição do contrato.
+     * @return O indexador.
+     */
+    public Indexador getIndexador(int i) {
+        return INDEXADORES[indexadores[i]];
+    }
+
+    /**
+     * Retorna o saldo devedor de um contrato após a última competência aplicada.
+     *
+     * @param i A posição do contrato.
+     * @return O saldo devedor.
+     */
+    public double getSaldoDevedor(int i) {
+        return saldos[i];
+    }
+
+    /**
+     * Retorna a parcela (Price) ou a amortização (SAC) do último mês, já corrigida.
+     *
+     * @param i A posição do contrato.
+     * @return O valor vigente.
+     */
+    public double getValorVigente(int i) {
+        return vigentes[i];
+    }
+
+    /**
+     * Retorna a quantidade de meses pagos de um contrato.
+     *
+     * @param i A posição do contrato.
+     * @return Os meses pagos.
+     */
+    public int getMesesPagos(int i) {
+        return mesesPagos[i];
+    }
+
+    /**
+     * Retorna a soma dos saldos devedores de todos os contratos.
+     *
+     * @return O saldo devedor da carteira.
+     */
+    public double getSaldoDevedorTotal() {
+        double total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += saldos[i];
+        }
+        return total;
+    }
+}
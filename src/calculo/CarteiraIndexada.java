@@ -0,0 +1,341 @@
+package calculo;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import modelo.CarteiraColunar;
+import modelo.TipoImovel;
+
+/**
+ * Índices secundários sobre uma {@link CarteiraColunar} para executar {@link ConsultaCarteira}s
+ * sem percorrer a carteira inteira.
+ * <p>São mantidos um {@link BitSet} por tipo de imóvel e por zona de terreno, e, para cada
+ * {@link ConsultaCarteira.Campo}, as posições ordenadas pelo valor do campo (apenas dos
+ * financiamentos do tipo que tem o campo). Um intervalo de um campo vira, por busca binária,
+ * uma faixa contígua dessas posições, cujo tamanho é conhecido antes de qualquer leitura.
+ * <p>Para cada consulta, a restrição com menos candidatos (um tipo, uma zona ou a faixa de um
+ * campo) é escolhida como ponto de partida, e apenas os seus candidatos são conferidos contra as
+ * demais restrições, direto nas colunas. O custo é proporcional ao tamanho da restrição mais
+ * seletiva, e não ao da carteira.
+ * <p>Os índices são construídos uma vez, no construtor, com ordenação radix em tempo linear, e
+ * cobrem os financiamentos presentes naquele momento; a carteira não deve ser alterada depois.
+ * As consultas podem ser feitas por várias threads ao mesmo tempo.
+ *
+ * @version 1.0
+ */
+public class CarteiraIndexada {
+
+    private static final TipoImovel[] TIPOS = TipoImovel.values();
+    private static final ConsultaCarteira.Campo[] CAMPOS = ConsultaCarteira.Campo.values();
+
+    private final CarteiraColunar carteira;
+    private final int tamanho;
+    private final BitSet[] porTipo = new BitSet[TIPOS.length];
+    private final int[] quantidadePorTipo = new int[TIPOS.length];
+    private final BitSet[] porZona;
+    private final int[] quantidadePorZona;
+    private final IndiceOrdenado[] porCampo = new IndiceOrdenado[CAMPOS.length];
+
+    /**
+     * Constrói os índices da carteira.
+     *
+     * @param carteira A carteira, que não deve mais receber financiamentos.
+     */
+    public CarteiraIndexada(CarteiraColunar carteira) {
+        this.carteira = carteira;
+        this.tamanho = carteira.tamanho();
+        List<String> zonas = carteira.getDicionarioZonas();
+        this.porZona = new BitSet[zonas.size()];
+        this.quantidadePorZona = new int[zonas.size()];
+        for (int t = 0; t < TIPOS.length; t++) {
+            porTipo[t] = new BitSet(tamanho);
+        }
+        for (int z = 0; z < porZona.length; z++) {
+            porZona[z] = new BitSet(tamanho);
+        }
+
+        byte[] tipos = carteira.colunaTipos();
+        byte[] codigosZona = carteira.colunaZonas();
+        int terreno = TipoImovel.TERRENO.ordinal();
+        for (int i = 0; i < tamanho; i++) {
+            porTipo[tipos[i]].set(i);
+            quantidadePorTipo[tipos[i]]++;
+            if (tipos[i] == terreno) {
+                porZona[codigosZona[i]].set(i);
+                quantidadePorZona[codigosZona[i]]++;
+            }
+        }
+        for (ConsultaCarteira.Campo campo : CAMPOS) {
+            porCampo[campo.ordinal()] = new IndiceOrdenado(carteira, campo, tamanho,
+                    campo.getTipo() == null ? tamanho : quantidadePorTipo[campo.getTipo().ordinal()]);
+        }
+    }
+
+    /**
+     * Retorna a carteira indexada.
+     *
+     * @return A carteira.
+     */
+    public CarteiraColunar getCarteira() {
+        return carteira;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos cobertos pelos índices.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Seleciona as posições dos financiamentos que satisfazem a consulta.
+     *
+     * @param consulta A consulta.
+     * @return Um novo conjunto com as posições selecionadas.
+     */
+    public BitSet selecionar(ConsultaCarteira consulta) {
+        BitSet selecionados = new BitSet(tamanho);
+        EnumSet<TipoImovel> tipos = consulta.tiposPossiveis();
+        if (tipos.isEmpty()) {
+            return selecionados;
+        }
+
+        // Candidatos pelo tipo ou pela zona
+        BitSet zona = null;
+        long candidatos = 0;
+        if (consulta.getZona() != null) {
+            int codigo = carteira.getDicionarioZonas().indexOf(consulta.getZona());
+            if (codigo < 0) {
+                return selecionados;
+            }
+            zona = porZona[codigo];
+            candidatos = quantidadePorZona[codigo];
+        } else {
+            for (TipoImovel tipo : tipos) {
+                candidatos += quantidadePorTipo[tipo.ordinal()];
+            }
+        }
+
+        // Faixa mais estreita entre os campos restritos
+        ConsultaCarteira.Campo melhor = null;
+        int inicioMelhor = 0;
+        int fimMelhor = 0;
+        boolean restringeCampo = false;
+        for (ConsultaCarteira.Campo campo : CAMPOS) {
+            if (!consulta.restringe(campo)) {
+                continue;
+            }
+            restringeCampo = true;
+            IndiceOrdenado indice = porCampo[campo.ordinal()];
+            int inicio = indice.primeiro(consulta.getMinimo(campo));
+            int fim = indice.depoisDoUltimo(consulta.getMaximo(campo));
+            if (fim <= inicio) {
+                return selecionados;
+            }
+            if (fim - inicio < candidatos) {
+                candidatos = fim - inicio;
+                melhor = campo;
+                inicioMelhor = inicio;
+                fimMelhor = fim;
+            }
+        }
+
+        if (melhor != null) {
+            int[] posicoes = porCampo[melhor.ordinal()].posicoes;
+            for (int k = inicioMelhor; k < fimMelhor; k++) {
+                int i = posicoes[k];
+                if (consulta.aceita(carteira, i)) {
+                    selecionados.set(i);
+                }
+            }
+        } else if (zona != null) {
+            copiarOuFiltrar(zona, consulta, restringeCampo, selecionados);
+        } else {
+            for (TipoImovel tipo : tipos) {
+                copiarOuFiltrar(porTipo[tipo.ordinal()], consulta, restringeCampo, selecionados);
+            }
+        }
+        return selecionados;
+    }
+
+    private void copiarOuFiltrar(BitSet candidatos, ConsultaCarteira consulta, boolean filtrar, BitSet destino) {
+        if (!filtrar) {
+            destino.or(candidatos);
+            return;
+        }
+        for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+            if (consulta.aceita(carteira, i)) {
+                destino.set(i);
+            }
+        }
+    }
+
+    /**
+     * Retorna as posições dos financiamentos que satisfazem a consulta, em ordem crescente.
+     *
+     * @param consulta A consulta.
+     * @return As posições selecionadas.
+     */
+    public int[] buscar(ConsultaCarteira consulta) {
+        return selecionar(consulta).stream().toArray();
+    }
+
+    /**
+     * Conta os financiamentos que satisfazem a consulta.
+     *
+     * @param consulta A consulta.
+     * @return A quantidade de financiamentos.
+     */
+    public int contar(ConsultaCarteira consulta) {
+        return selecionar(consulta).cardinality();
+    }
+
+    /**
+     * Calcula os totais dos financiamentos que satisfazem a consulta.
+     *
+     * @param consulta A consulta.
+     * @return Os totais da seleção.
+     */
+    public TotaisCarteira totalizar(ConsultaCarteira consulta) {
+        TotaisCarteira totais = new TotaisCarteira();
+        BitSet selecionados = selecionar(consulta);
+        for (int i = selecionados.nextSetBit(0); i >= 0; i = selecionados.nextSetBit(i + 1)) {
+            adicionar(totais, i);
+        }
+        return totais;
+    }
+
+    /**
+     * Calcula os totais dos financiamentos que satisfazem a consulta, separados por tipo de imóvel.
+     *
+     * @param consulta A consulta.
+     * @return Os totais de cada tipo com ao menos um financiamento selecionado.
+     */
+    public Map<TipoImovel, TotaisCarteira> totalizarPorTipo(ConsultaCarteira consulta) {
+        Map<TipoImovel, TotaisCarteira> totais = new EnumMap<>(TipoImovel.class);
+        BitSet selecionados = selecionar(consulta);
+        for (int i = selecionados.nextSetBit(0); i >= 0; i = selecionados.nextSetBit(i + 1)) {
+            adicionar(totais.computeIfAbsent(carteira.getTipo(i), tipo -> new TotaisCarteira()), i);
+        }
+        return totais;
+    }
+
+    private void adicionar(TotaisCarteira totais, int i) {
+        TipoImovel tipo = carteira.getTipo(i);
+        int prazo = carteira.getPrazoFinanciamento(i);
+        double parcela = tipo.calcularParcela(carteira.getValorImovel(i), prazo, carteira.getTaxaJurosAnual(i));
+        totais.adicionar(tipo, carteira.getValorImovel(i), parcela, tipo.calcularTotal(parcela, prazo));
+    }
+
+    /**
+     * Posições dos financiamentos que têm um campo, ordenadas pelo valor do campo.
+     */
+    private static final class IndiceOrdenado {
+        final int[] posicoes;
+        final double[] valores;
+
+        IndiceOrdenado(CarteiraColunar carteira, ConsultaCarteira.Campo campo, int tamanho, int quantidade) {
+            long[] chaves = new long[quantidade];
+            int[] posicoes = new int[quantidade];
+            int n = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (campo.getTipo() == null || carteira.getTipo(i) == campo.getTipo()) {
+                    chaves[n] = chaveOrdenavel(campo.ler(carteira, i));
+                    posicoes[n++] = i;
+                }
+            }
+            ordenar(chaves, posicoes);
+            this.posicoes = posicoes;
+            this.valores = new double[quantidade];
+            for (int k = 0; k < quantidade; k++) {
+                valores[k] = valorDaChave(chaves[k]);
+            }
+        }
+
+        /**
+         * Retorna a primeira posição com valor maior ou igual ao mínimo.
+         */
+        int primeiro(double minimo) {
+            int baixo = 0;
+            int alto = valores.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (valores[meio] < minimo) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        /**
+         * Retorna a primeira posição com valor maior que o máximo.
+         */
+        int depoisDoUltimo(double maximo) {
+            int baixo = 0;
+            int alto = valores.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (valores[meio] <= maximo) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    /**
+     * Converte um {@code double} em um {@code long} cuja ordem sem sinal é a ordem numérica.
+     */
+    static long chaveOrdenavel(double valor) {
+        long bits = Double.doubleToLongBits(valor == 0 ? 0.0 : valor);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    static double valorDaChave(long chave) {
+        return Double.longBitsToDouble(chave < 0 ? chave ^ Long.MIN_VALUE : ~chave);
+    }
+
+    /**
+     * Ordena as chaves (sem sinal) e as posições correspondentes com radix LSD estável em
+     * dígitos de 16 bits, pulando os dígitos iguais em todas as chaves.
+     */
+    static void ordenar(long[] chaves, int[] posicoes) {
+        int n = chaves.length;
+        long[] chavesAux = new long[n];
+        int[] posicoesAux = new int[n];
+        int[] contagem = new int[1 << 16];
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 16) {
+            Arrays.fill(contagem, 0);
+            for (int k = 0; k < n; k++) {
+                contagem[(int) (chaves[k] >>> deslocamento) & 0xFFFF]++;
+            }
+            if (n == 0 || contagem[(int) (chaves[0] >>> deslocamento) & 0xFFFF] == n) {
+                continue;
+            }
+            int soma = 0;
+            for (int d = 0; d < contagem.length; d++) {
+                int c = contagem[d];
+                contagem[d] = soma;
+                soma += c;
+            }
+            for (int k = 0; k < n; k++) {
+                int d = (int) (chaves[k] >>> deslocamento) & 0xFFFF;
+                int destino = contagem[d]++;
+                chavesAux[destino] = chaves[k];
+                posicoesAux[destino] = posicoes[k];
+            }
+            System.arraycopy(chavesAux, 0, chaves, 0, n);
+            System.arraycopy(posicoesAux, 0, posicoes, 0, n);
+        }
+    }
+}
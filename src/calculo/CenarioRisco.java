@@ -0,0 +1,158 @@
+package calculo;
+
+/**
+ * Parâmetros da {@link SimulacaoMonteCarlo}: o modelo da taxa de juros de mercado e as taxas de
+ * inadimplência e de quitação antecipada dos contratos.
+ * <p>A taxa de mercado segue um processo de Vasicek em passos mensais:
+ * {@code r(t) = r(t-1) + reversao * (taxaLongoPrazo - r(t-1)) / 12 + volatilidade * sqrt(1/12) * Z},
+ * com {@code Z} normal padrão e a taxa limitada a zero. Cada contrato fica inadimplente com
+ * probabilidade mensal constante, equivalente a {@code inadimplenciaAnual} em um ano, e é quitado
+ * antecipadamente com intensidade anual {@code -ln(1 - prePagamentoAnual)} mais
+ * {@code sensibilidadePrePagamento} por ponto percentual em que a taxa do contrato supera a taxa
+ * de mercado do mês (o incentivo para refinanciar). Na inadimplência, recupera-se a fração
+ * {@code recuperacao} do saldo devedor.
+ * <p>As taxas são anuais, em porcentagem, como a taxa dos financiamentos; as probabilidades e a
+ * recuperação são frações. A classe é imutável.
+ *
+ * @version 1.0
+ */
+public final class CenarioRisco {
+
+    private final double taxaInicial;
+    private final double taxaLongoPrazo;
+    private final double reversao;
+    private final double volatilidade;
+    private final double inadimplenciaAnual;
+    private final double prePagamentoAnual;
+    private final double sensibilidadePrePagamento;
+    private final double recuperacao;
+
+    /**
+     * Cria um cenário.
+     *
+     * @param taxaInicial A taxa de mercado no mês 0, em % ao ano.
+     * @param taxaLongoPrazo A taxa para a qual o mercado converge, em % ao ano.
+     * @param reversao A velocidade de convergência, por ano.
+     * @param volatilidade O desvio padrão da taxa em um ano, em pontos percentuais.
+     * @param inadimplenciaAnual A probabilidade de um contrato ficar inadimplente em um ano.
+     * @param prePagamentoAnual A probabilidade de quitação antecipada em um ano, sem incentivo.
+     * @param sensibilidadePrePagamento A intensidade anual adicional de quitação por ponto percentual de incentivo.
+     * @param recuperacao A fração do saldo devedor recuperada na inadimplência.
+     * @throws IllegalArgumentException Se alguma taxa, velocidade ou volatilidade for negativa, ou se
+     *                                  alguma probabilidade ou a recuperação não estiver entre 0 e 1
+     *                                  (as probabilidades anuais devem ser menores que 1).
+     */
+    public CenarioRisco(double taxaInicial, double taxaLongoPrazo, double reversao, double volatilidade,
+                        double inadimplenciaAnual, double prePagamentoAnual, double sensibilidadePrePagamento,
+                        double recuperacao) {
+        if (!(taxaInicial >= 0) || !(taxaLongoPrazo >= 0) || !(reversao >= 0) || !(volatilidade >= 0)
+                || !(sensibilidadePrePagamento >= 0)) {
+            throw new IllegalArgumentException("Taxas, reversão, volatilidade e sensibilidade não podem ser negativas.");
+        }
+        if (!(inadimplenciaAnual >= 0 && inadimplenciaAnual < 1) || !(prePagamentoAnual >= 0 && prePagamentoAnual < 1)) {
+            throw new IllegalArgumentException("As probabilidades anuais devem estar entre 0 (inclusive) e 1.");
+        }
+        if (!(recuperacao >= 0 && recuperacao <= 1)) {
+            throw new IllegalArgumentException("A recuperação deve estar entre 0 e 1: " + recuperacao);
+        }
+        this.taxaInicial = taxaInicial;
+        this.taxaLongoPrazo = taxaLongoPrazo;
+        this.reversao = reversao;
+        this.volatilidade = volatilidade;
+        this.inadimplenciaAnual = inadimplenciaAnual;
+        this.prePagamentoAnual = prePagamentoAnual;
+        this.sensibilidadePrePagamento = sensibilidadePrePagamento;
+        this.recuperacao = recuperacao;
+    }
+
+    /**
+     * Retorna um cenário de referência: taxa de 10,5% convergindo para 9% ao ano, volatilidade de
+     * 1,5 ponto, 2% de inadimplência e 5% de quitação antecipada ao ano, 3% de quitação adicional
+     * por ponto de incentivo e 60% de recuperação.
+     *
+     * @return O cenário.
+     */
+    public static CenarioRisco padrao() {
+        return new CenarioRisco(10.5, 9, 0.3, 1.5, 0.02, 0.05, 0.03, 0.6);
+    }
+
+    /**
+     * Retorna a taxa de mercado no mês 0.
+     *
+     * @return A taxa, em % ao ano.
+     */
+    public double getTaxaInicial() {
+        return taxaInicial;
+    }
+
+    /**
+     * Retorna a taxa para a qual o mercado converge.
+     *
+     * @return A taxa, em % ao ano.
+     */
+    public double getTaxaLongoPrazo() {
+        return taxaLongoPrazo;
+    }
+
+    /**
+     * Retorna a velocidade de convergência da taxa.
+     *
+     * @return A velocidade, por ano.
+     */
+    public double getReversao() {
+        return reversao;
+    }
+
+    /**
+     * Retorna o desvio padrão da taxa em um ano.
+     *
+     * @return A volatilidade, em pontos percentuais.
+     */
+    public double getVolatilidade() {
+        return volatilidade;
+    }
+
+    /**
+     * Retorna a probabilidade anual de inadimplência.
+     *
+     * @return A probabilidade.
+     */
+    public double getInadimplenciaAnual() {
+        return inadimplenciaAnual;
+    }
+
+    /**
+     * Retorna a probabilidade anual de quitação antecipada sem incentivo.
+     *
+     * @return A probabilidade.
+     */
+    public double getPrePagamentoAnual() {
+        return prePagamentoAnual;
+    }
+
+    /**
+     * Retorna a intensidade anual adicional de quitação por ponto percentual de incentivo.
+     *
+     * @return A sensibilidade.
+     */
+    public double getSensibilidadePrePagamento() {
+        return sensibilidadePrePagamento;
+    }
+
+    /**
+     * Retorna a fração do saldo devedor recuperada na inadimplência.
+     *
+     * @return A recuperação.
+     */
+    public double getRecuperacao() {
+        return recuperacao;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("taxa %.2f%% -> %.2f%% (reversão %.2f, volatilidade %.2f), inadimplência %.2f%%,"
+                        + " quitação antecipada %.2f%% + %.2f%% por ponto, recuperação %.0f%%",
+                taxaInicial, taxaLongoPrazo, reversao, volatilidade, inadimplenciaAnual * 100,
+                prePagamentoAnual * 100, sensibilidadePrePagamento * 100, recuperacao * 100);
+    }
+}
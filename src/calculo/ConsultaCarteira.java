@@ -0,0 +1,374 @@
+package calculo;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import modelo.CarteiraColunar;
+import modelo.TipoImovel;
+
+/**
+ * Filtro sobre uma carteira de financiamentos, executado por {@link CarteiraIndexada}.
+ * <p>Uma consulta combina, com "e", restrições de tipo de imóvel, de zona do terreno e de
+ * intervalos fechados de {@link Campo}s numéricos. Restringir um campo próprio de um tipo
+ * (andar, vagas, áreas da casa) ou a zona limita a consulta a esse tipo:
+ * <pre>
+ * new ConsultaCarteira().zona("Comercial").minimo(Campo.VALOR, 1_000_000)
+ * new ConsultaCarteira().minimo(Campo.ANDAR, 11).minimo(Campo.VAGAS, 2)
+ * </pre>
+ * <p>A consulta pode ser alterada e reaproveitada; não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class ConsultaCarteira {
+
+    /**
+     * Campos numéricos que podem ser filtrados por intervalo.
+     */
+    public enum Campo {
+        VALOR("valor", null),
+        PRAZO("prazo", null),
+        ANDAR("andar", TipoImovel.APARTAMENTO),
+        VAGAS("vagas", TipoImovel.APARTAMENTO),
+        AREA_CONSTRUIDA("areaConstruida", TipoImovel.CASA),
+        AREA_TERRENO("areaTerreno", TipoImovel.CASA);
+
+        private final String nome;
+        private final TipoImovel tipo;
+
+        Campo(String nome, TipoImovel tipo) {
+            this.nome = nome;
+            this.tipo = tipo;
+        }
+
+        /**
+         * Retorna o nome do campo nos filtros de texto.
+         *
+         * @return O nome do campo, como {@code areaConstruida}.
+         */
+        public String getNome() {
+            return nome;
+        }
+
+        /**
+         * Retorna o tipo de imóvel que tem este campo.
+         *
+         * @return O tipo de imóvel, ou {@code null} se todos os tipos tiverem o campo.
+         */
+        public TipoImovel getTipo() {
+            return tipo;
+        }
+
+        /**
+         * Lê o valor do campo em uma posição da carteira.
+         *
+         * @param carteira A carteira.
+         * @param i A posição do financiamento.
+         * @return O valor do campo.
+         */
+        public double ler(CarteiraColunar carteira, int i) {
+            switch (this) {
+                case VALOR:
+                    return carteira.getValorImovel(i);
+                case PRAZO:
+                    return carteira.getPrazoFinanciamento(i);
+                case ANDAR:
+                    return carteira.getAndar(i);
+                case VAGAS:
+                    return carteira.getVagasGaragem(i);
+                case AREA_CONSTRUIDA:
+                    return carteira.getAreaConstruida(i);
+                default:
+                    return carteira.getAreaTerreno(i);
+            }
+        }
+
+        static Campo porNome(String nome) {
+            for (Campo campo : values()) {
+                if (campo.nome.equalsIgnoreCase(nome)) {
+                    return campo;
+                }
+            }
+            throw new IllegalArgumentException("Campo desconhecido: " + nome);
+        }
+    }
+
+    private static final Campo[] CAMPOS = Campo.values();
+
+    private final EnumSet<TipoImovel> tipos = EnumSet.noneOf(TipoImovel.class);
+    private String zona;
+    private final double[] minimos = new double[CAMPOS.length];
+    private final double[] maximos = new double[CAMPOS.length];
+
+    /**
+     * Cria uma consulta sem restrições, que seleciona a carteira inteira.
+     */
+    public ConsultaCarteira() {
+        Arrays.fill(minimos, Double.NEGATIVE_INFINITY);
+        Arrays.fill(maximos, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Restringe a consulta aos tipos de imóvel informados. Chamadas sucessivas acrescentam tipos.
+     *
+     * @param tipos Os tipos aceitos.
+     * @return Esta consulta.
+     */
+    public ConsultaCarteira tipo(TipoImovel... tipos) {
+        this.tipos.addAll(Arrays.asList(tipos));
+        return this;
+    }
+
+    /**
+     * Restringe a consulta aos terrenos da zona informada.
+     *
+     * @param zona A zona, comparada exatamente.
+     * @return Esta consulta.
+     */
+    public ConsultaCarteira zona(String zona) {
+        this.zona = zona;
+        return this;
+    }
+
+    /**
+     * Restringe um campo ao intervalo fechado {@code [minimo, maximo]}, em conjunto com as
+     * restrições anteriores do mesmo campo.
+     *
+     * @param campo O campo.
+     * @param minimo O menor valor aceito.
+     * @param maximo O maior valor aceito.
+     * @return Esta consulta.
+     */
+    public ConsultaCarteira entre(Campo campo, double minimo, double maximo) {
+        minimos[campo.ordinal()] = Math.max(minimos[campo.ordinal()], minimo);
+        maximos[campo.ordinal()] = Math.min(maximos[campo.ordinal()], maximo);
+        return this;
+    }
+
+    /**
+     * Restringe um campo aos valores maiores ou iguais ao informado.
+     *
+     * @param campo O campo.
+     * @param minimo O menor valor aceito.
+     * @return Esta consulta.
+     */
+    public ConsultaCarteira minimo(Campo campo, double minimo) {
+        return entre(campo, minimo, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Restringe um campo aos valores menores ou iguais ao informado.
+     *
+     * @param campo O campo.
+     * @param maximo O maior valor aceito.
+     * @return Esta consulta.
+     */
+    public ConsultaCarteira maximo(Campo campo, double maximo) {
+        return entre(campo, Double.NEGATIVE_INFINITY, maximo);
+    }
+
+    /**
+     * Cria uma consulta a partir de filtros de texto no formato {@code campo operador valor},
+     * com os operadores {@code =}, {@code >=}, {@code <=}, {@code >} e {@code <}. Os campos são
+     * {@code tipo} (apenas {@code =}, com tipos separados por vírgula), {@code zona} (apenas {@code =})
+     * e os nomes de {@link Campo}, como {@code valor>1000000} ou {@code andar>=11}.
+     *
+     * @param filtros Os filtros.
+     * @return A consulta com todos os filtros.
+     * @throws IllegalArgumentException Se algum filtro for inválido.
+     */
+    public static ConsultaCarteira deTexto(String... filtros) {
+        ConsultaCarteira consulta = new ConsultaCarteira();
+        for (String filtro : filtros) {
+            int posicao = 0;
+            while (posicao < filtro.length() && "<>=".indexOf(filtro.charAt(posicao)) < 0) {
+                posicao++;
+            }
+            int fimOperador = posicao;
+            while (fimOperador < filtro.length() && "<>=".indexOf(filtro.charAt(fimOperador)) >= 0) {
+                fimOperador++;
+            }
+            String nome = filtro.substring(0, posicao).trim();
+            String operador = filtro.substring(posicao, fimOperador);
+            String valor = filtro.substring(fimOperador).trim();
+            if (nome.isEmpty() || valor.isEmpty()) {
+                throw new IllegalArgumentException("Filtro inválido: " + filtro);
+            }
+            if (nome.equalsIgnoreCase("tipo") || nome.equalsIgnoreCase("zona")) {
+                if (!operador.equals("=")) {
+                    throw new IllegalArgumentException("Use '=' para " + nome + ": " + filtro);
+                }
+                if (nome.equalsIgnoreCase("zona")) {
+                    consulta.zona(valor);
+                } else {
+                    for (String tipo : valor.split(",")) {
+                        consulta.tipo(lerTipo(tipo.trim()));
+                    }
+                }
+                continue;
+            }
+            Campo campo = Campo.porNome(nome);
+            double numero;
+            try {
+                numero = Double.parseDouble(valor.replace(',', '.'));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido em " + filtro);
+            }
+            switch (operador) {
+                case "=":
+                    consulta.entre(campo, numero, numero);
+                    break;
+                case ">=":
+                    consulta.minimo(campo, numero);
+                    break;
+                case "<=":
+                    consulta.maximo(campo, numero);
+                    break;
+                case ">":
+                    consulta.minimo(campo, Math.nextUp(numero));
+                    break;
+                case "<":
+                    consulta.maximo(campo, Math.nextDown(numero));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Operador inválido em " + filtro);
+            }
+        }
+        return consulta;
+    }
+
+    private static TipoImovel lerTipo(String texto) {
+        for (TipoImovel tipo : TipoImovel.values()) {
+            if (tipo.getDescricao().equalsIgnoreCase(texto) || tipo.name().equalsIgnoreCase(texto)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de imóvel desconhecido: " + texto);
+    }
+
+    /**
+     * Retorna os tipos de imóvel que podem satisfazer a consulta, considerando os tipos informados,
+     * a zona e os campos restritos.
+     *
+     * @return Os tipos possíveis; vazio se nenhum financiamento puder satisfazer a consulta.
+     */
+    public EnumSet<TipoImovel> tiposPossiveis() {
+        EnumSet<TipoImovel> possiveis = tipos.isEmpty() ? EnumSet.allOf(TipoImovel.class) : EnumSet.copyOf(tipos);
+        if (zona != null) {
+            possiveis.retainAll(EnumSet.of(TipoImovel.TERRENO));
+        }
+        for (Campo campo : CAMPOS) {
+            if (restringe(campo) && campo.tipo != null) {
+                possiveis.retainAll(EnumSet.of(campo.tipo));
+            }
+        }
+        return possiveis;
+    }
+
+    /**
+     * Retorna a zona exigida.
+     *
+     * @return A zona, ou {@code null} se a consulta não restringir a zona.
+     */
+    public String getZona() {
+        return zona;
+    }
+
+    /**
+     * Indica se a consulta restringe o campo informado.
+     *
+     * @param campo O campo.
+     * @return {@code true} se algum limite do campo tiver sido informado.
+     */
+    public boolean restringe(Campo campo) {
+        return minimos[campo.ordinal()] != Double.NEGATIVE_INFINITY || maximos[campo.ordinal()] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Retorna o menor valor aceito de um campo.
+     *
+     * @param campo O campo.
+     * @return O limite inferior, ou {@link Double#NEGATIVE_INFINITY}.
+     */
+    public double getMinimo(Campo campo) {
+        return minimos[campo.ordinal()];
+    }
+
+    /**
+     * Retorna o maior valor aceito de um campo.
+     *
+     * @param campo O campo.
+     * @return O limite superior, ou {@link Double#POSITIVE_INFINITY}.
+     */
+    public double getMaximo(Campo campo) {
+        return maximos[campo.ordinal()];
+    }
+
+    /**
+     * Verifica se o financiamento de uma posição satisfaz a consulta, lendo diretamente as colunas.
+     *
+     * @param carteira A carteira.
+     * @param i A posição do financiamento.
+     * @return {@code true} se o financiamento satisfizer todas as restrições.
+     */
+    public boolean aceita(CarteiraColunar carteira, int i) {
+        TipoImovel tipo = carteira.getTipo(i);
+        if (!tipos.isEmpty() && !tipos.contains(tipo)) {
+            return false;
+        }
+        if (zona != null && !zona.equals(carteira.getZona(i))) {
+            return false;
+        }
+        for (Campo campo : CAMPOS) {
+            if (restringe(campo)) {
+                if (campo.tipo != null && campo.tipo != tipo) {
+                    return false;
+                }
+                double valor = campo.ler(carteira, i);
+                if (valor < minimos[campo.ordinal()] || valor > maximos[campo.ordinal()]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a consulta em texto, no formato aceito por {@link #deTexto(String...)}.
+     *
+     * @return Os filtros separados por espaço, ou uma string vazia se não houver restrições.
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        if (!tipos.isEmpty()) {
+            texto.append("tipo=");
+            for (TipoImovel tipo : tipos) {
+                texto.append(tipo.getDescricao()).append(',');
+            }
+            texto.setLength(texto.length() - 1);
+        }
+        if (zona != null) {
+            texto.append(texto.length() > 0 ? " " : "").append("zona=").append(zona);
+        }
+        for (Campo campo : CAMPOS) {
+            double minimo = minimos[campo.ordinal()];
+            double maximo = maximos[campo.ordinal()];
+            if (minimo == maximo) {
+                texto.append(texto.length() > 0 ? " " : "").append(campo.nome).append('=').append(formatar(minimo));
+                continue;
+            }
+            if (minimo != Double.NEGATIVE_INFINITY) {
+                texto.append(texto.length() > 0 ? " " : "").append(campo.nome).append(">=").append(formatar(minimo));
+            }
+            if (maximo != Double.POSITIVE_INFINITY) {
+                texto.append(texto.length() > 0 ? " " : "").append(campo.nome).append("<=").append(formatar(maximo));
+            }
+        }
+        return texto.toString();
+    }
+
+    private static String formatar(double valor) {
+        return valor == Math.rint(valor) && Math.abs(valor) < 1e15
+                ? Long.toString((long) valor) : Double.toString(valor);
+    }
+}
@@ -0,0 +1,166 @@
+package calculo;
+
+/**
+ * Acumulador de uma competência da {@link CarteiraCorrigida}: quantidade de contratos atualizados e
+ * quitados e a soma da correção monetária, dos juros, das amortizações e dos saldos devedores
+ * resultantes.
+ * <p>Cada thread usa o seu próprio acumulador, e os acumuladores parciais são combinados com
+ * {@link #combinar(CorrecaoMensal)}. A classe não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class CorrecaoMensal {
+
+    private final Indexador indexador;
+    private final int competencia;
+    private final double variacao;
+    private long contratos;
+    private long quitados;
+    private double correcao;
+    private double juros;
+    private double amortizacao;
+    private double saldoDevedor;
+
+    /**
+     * Cria um acumulador vazio.
+     *
+     * @param indexador O índice da competência.
+     * @param competencia A competência, a partir de 0.
+     * @param variacao A variação do índice na competência, como fração.
+     */
+    public CorrecaoMensal(Indexador indexador, int competencia, double variacao) {
+        this.indexador = indexador;
+        this.competencia = competencia;
+        this.variacao = variacao;
+    }
+
+    /**
+     * Acumula o mês de um contrato.
+     *
+     * @param correcao A correção monetária do saldo.
+     * @param juros Os juros do mês.
+     * @param amortizacao A amortização do mês.
+     * @param saldoDevedor O saldo devedor depois do pagamento.
+     */
+    public void adicionar(double correcao, double juros, double amortizacao, double saldoDevedor) {
+        contratos++;
+        if (saldoDevedor == 0) {
+            quitados++;
+        }
+        this.correcao += correcao;
+        this.juros += juros;
+        this.amortizacao += amortizacao;
+        this.saldoDevedor += saldoDevedor;
+    }
+
+    /**
+     * Soma a este acumulador os valores de outro acumulador da mesma competência.
+     *
+     * @param outro O acumulador a ser combinado.
+     */
+    public void combinar(CorrecaoMensal outro) {
+        contratos += outro.contratos;
+        quitados += outro.quitados;
+        correcao += outro.correcao;
+        juros += outro.juros;
+        amortizacao += outro.amortizacao;
+        saldoDevedor += outro.saldoDevedor;
+    }
+
+    /**
+     * Retorna o índice da competência.
+     *
+     * @return O indexador.
+     */
+    public Indexador getIndexador() {
+        return indexador;
+    }
+
+    /**
+     * Retorna a competência.
+     *
+     * @return A competência, a partir de 0.
+     */
+    public int getCompetencia() {
+        return competencia;
+    }
+
+    /**
+     * Retorna a variação do índice na competência.
+     *
+     * @return A variação como fração.
+     */
+    public double getVariacao() {
+        return variacao;
+    }
+
+    /**
+     * Retorna a quantidade de contratos atualizados na competência.
+     *
+     * @return A quantidade de contratos.
+     */
+    public long getContratos() {
+        return contratos;
+    }
+
+    /**
+     * Retorna a quantidade de contratos quitados na competência.
+     *
+     * @return A quantidade de contratos quitados.
+     */
+    public long getQuitados() {
+        return quitados;
+    }
+
+    /**
+     * Retorna a soma das correções monetárias.
+     *
+     * @return A correção total.
+     */
+    public double getCorrecao() {
+        return correcao;
+    }
+
+    /**
+     * Retorna a soma dos juros.
+     *
+     * @return Os juros da competência.
+     */
+    public double getJuros() {
+        return juros;
+    }
+
+    /**
+     * Retorna a soma das amortizações.
+     *
+     * @return O total amortizado na competência.
+     */
+    public double getAmortizacao() {
+        return amortizacao;
+    }
+
+    /**
+     * Retorna a soma das parcelas pagas.
+     *
+     * @return A soma de juros e amortizações.
+     */
+    public double getParcelas() {
+        return juros + amortizacao;
+    }
+
+    /**
+     * Retorna a soma dos saldos devedores depois dos pagamentos da competência.
+     *
+     * @return O saldo devedor dos contratos atualizados.
+     */
+    public double getSaldoDevedor() {
+        return saldoDevedor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d (%.4f%%): %d contratos, %d quitados | correção R$ %.2f, juros R$ %.2f,"
+                        + " amortização R$ %.2f, saldo devedor R$ %.2f", indexador.getDescricao(), competencia,
+                variacao * 100, contratos, quitados, correcao, juros, amortizacao, saldoDevedor);
+    }
+}
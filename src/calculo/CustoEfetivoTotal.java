@@ -0,0 +1,326 @@
+package calculo;
+
+import java.util.Arrays;
+
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+/**
+ * Cálculo do Custo Efetivo Total (CET): a taxa interna de retorno dos fluxos de caixa de um
+ * contrato, anualizada.
+ * <p>Os fluxos de um financiamento são o valor do imóvel, entregue no mês 0, e a parcela do seu
+ * tipo ({@link TipoImovel#calcularParcela}) em cada mês do prazo. A taxa mensal {@code i} que zera o
+ * valor presente desses fluxos é o CET mensal, e o CET anual é {@code (1 + i)^12 - 1}. Como o
+ * acréscimo e o desconto da casa e o aumento de 2% do terreno mudam a parcela, o CET difere da
+ * taxa de juros informada no contrato.
+ * <p>A taxa é encontrada pelo método de Newton-Raphson dentro de um intervalo que contém a raiz:
+ * a cada passo, o intervalo é reduzido pelo sinal do valor presente, e o passo de Newton que sair
+ * dele é substituído pela bissecção, o que garante a convergência. Para parcelas constantes, em vez
+ * do valor presente é zerada a diferença {@code parcela / valor - 1 / anuidade(i)}, calculada em
+ * forma fechada, com uma potência por passo: o inverso do fator de anuidade é quase linear na
+ * taxa, e o método de Newton converge em poucos passos mesmo longe da raiz. Partindo de uma
+ * estimativa próxima, como a taxa de um contrato parecido já calculado, os passos diminuem; é assim que {@link PrecificadorCarteira#calcularCet(modelo.CarteiraColunar)}
+ * calcula carteiras inteiras.
+ * <p>Cada instância conta os passos e as bissecções dos cálculos feitos com ela. Os contadores não são
+ * sincronizados: uma instância não deve ser compartilhada entre threads.
+ *
+ * @version 1.0
+ */
+public final class CustoEfetivoTotal {
+
+    /**
+     * Variação da taxa mensal, relativa a {@code 1 + taxa}, abaixo da qual o cálculo termina.
+     */
+    public static final double TOLERANCIA = 1e-12;
+
+    private static final int MAXIMO_PASSOS = 200;
+
+    /**
+     * Taxa abaixo da qual o fator de anuidade é calculado pela sua série, sem divisão por {@code i}.
+     */
+    private static final double TAXA_MINIMA = 1e-8;
+
+    private long solucoes;
+    private long passos;
+    private long bisseccoes;
+
+    /**
+     * Calcula o CET anual de um financiamento.
+     *
+     * @param financiamento O financiamento.
+     * @return O CET, em % ao ano.
+     */
+    public static double calcular(Financiamento financiamento) {
+        return calcular(financiamento.getTipoImovel(), financiamento.getValorImovel(),
+                financiamento.getPrazoFinanciamento(), financiamento.getTaxaJurosAnual());
+    }
+
+    /**
+     * Calcula o CET anual de um financiamento com os parâmetros informados.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O CET, em % ao ano.
+     */
+    public static double calcular(TipoImovel tipo, double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        double parcela = tipo.calcularParcela(valorImovel, prazoFinanciamento, taxaJurosAnual);
+        return anualizar(new CustoEfetivoTotal().taxaMensal(valorImovel, parcela, prazoFinanciamento * 12, Double.NaN));
+    }
+
+    /**
+     * Retorna os fluxos de caixa de um financiamento, do ponto de vista de quem financia: o valor do
+     * imóvel, negativo, no mês 0, e a parcela em cada mês do prazo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return Um array com {@code prazoFinanciamento * 12 + 1} fluxos, um por mês.
+     */
+    public static double[] fluxosDeCaixa(TipoImovel tipo, double valorImovel, int prazoFinanciamento,
+                                         double taxaJurosAnual) {
+        double[] fluxos = new double[prazoFinanciamento * 12 + 1];
+        Arrays.fill(fluxos, tipo.calcularParcela(valorImovel, prazoFinanciamento, taxaJurosAnual));
+        fluxos[0] = -valorImovel;
+        return fluxos;
+    }
+
+    /**
+     * Converte uma taxa mensal em taxa anual equivalente, com capitalização mensal.
+     *
+     * @param taxaMensal A taxa mensal, como fração.
+     * @return A taxa anual, em %.
+     */
+    public static double anualizar(double taxaMensal) {
+        return Math.expm1(12 * Math.log1p(taxaMensal)) * 100;
+    }
+
+    /**
+     * Calcula a taxa interna de retorno mensal de fluxos de caixa quaisquer.
+     *
+     * @param fluxos O fluxo de cada mês, a partir do mês 0: o primeiro negativo (o valor entregue)
+     *               e pelo menos um dos seguintes positivo.
+     * @param estimativa Uma estimativa da taxa mensal, como fração, ou {@code NaN} se não houver.
+     * @return A taxa mensal, como fração.
+     * @throws IllegalArgumentException Se o primeiro fluxo não for negativo ou nenhum dos seguintes for positivo.
+     */
+    public double taxaInternaRetorno(double[] fluxos, double estimativa) {
+        boolean recebe = false;
+        for (int t = 1; t < fluxos.length; t++) {
+            recebe |= fluxos[t] > 0;
+        }
+        if (fluxos.length < 2 || !(fluxos[0] < 0) || !recebe) {
+            throw new IllegalArgumentException("Os fluxos devem começar com um valor negativo seguido de recebimentos.");
+        }
+        Funcao funcao = new ValorPresente(fluxos);
+        // O valor presente tende ao primeiro fluxo (negativo) com taxas altas e cresce sem limite perto
+        // de -100%; a raiz fica do lado de 0 indicado pelo sinal da soma dos fluxos
+        double inferior = 0;
+        double superior = 0;
+        double soma = avaliar(funcao, 0);
+        if (soma == 0) {
+            return 0;
+        } else if (soma > 0) {
+            superior = 0.1;
+            while (avaliar(funcao, superior) >= 0) {
+                superior *= 2;
+            }
+        } else {
+            inferior = -0.5;
+            while (avaliar(funcao, inferior) <= 0) {
+                inferior = (inferior - 1) / 2;
+            }
+        }
+        // Sem estimativa, parte de 0: como o valor presente é convexo, a partir do primeiro passo de Newton
+        // a taxa fica à esquerda da raiz e se aproxima dela sem ultrapassá-la
+        return resolver(funcao, inferior, superior, Double.isNaN(estimativa) ? 0 : estimativa);
+    }
+
+    /**
+     * Calcula a taxa mensal de um contrato de parcelas constantes: a taxa em que o valor presente das
+     * parcelas é igual ao valor financiado. Dá o mesmo resultado de {@link #taxaInternaRetorno(double[], double)}
+     * com os fluxos {@code -valorFinanciado, parcela, ..., parcela}, sem percorrê-los.
+     *
+     * @param valorFinanciado O valor financiado, entregue no mês 0.
+     * @param parcela A parcela paga do mês 1 ao mês {@code meses}.
+     * @param meses A quantidade de parcelas.
+     * @param estimativa Uma estimativa da taxa mensal, como fração, ou {@code NaN} se não houver.
+     * @return A taxa mensal, como fração.
+     * @throws IllegalArgumentException Se o valor, a parcela ou a quantidade de parcelas não forem positivos.
+     */
+    public double taxaMensal(double valorFinanciado, double parcela, int meses, double estimativa) {
+        if (!(valorFinanciado > 0) || !(parcela > 0) || meses < 1) {
+            throw new IllegalArgumentException("Valor, parcela e prazo devem ser positivos: "
+                    + valorFinanciado + ", " + parcela + ", " + meses);
+        }
+        Funcao funcao = new ParcelasConstantes(valorFinanciado, parcela, meses);
+        double excedente = parcela * meses - valorFinanciado;
+        if (excedente == 0) {
+            solucoes++;
+            return 0;
+        }
+        double inferior;
+        double superior;
+        if (excedente > 0) {
+            // A anuidade é menor que 1 / i, então a raiz fica entre 0 e parcela / valorFinanciado. Com taxas
+            // altas, a raiz fica muito perto desse limite, e o intervalo é dobrado para não forçar bissecções
+            inferior = 0;
+            superior = 2 * parcela / valorFinanciado;
+        } else {
+            superior = 0;
+            inferior = -0.5;
+            while (avaliar(funcao, inferior) <= 0) {
+                inferior = (inferior - 1) / 2;
+            }
+        }
+        if (Double.isNaN(estimativa)) {
+            // Aproximação de juros simples, boa para taxas baixas, limitada ao intervalo
+            estimativa = Math.min(parcela / valorFinanciado, 2 * excedente / (valorFinanciado * (meses + 1)));
+        }
+        return resolver(funcao, inferior, superior, estimativa);
+    }
+
+    /**
+     * Retorna a quantidade de taxas calculadas por esta instância.
+     *
+     * @return A quantidade de taxas.
+     */
+    public long getSolucoes() {
+        return solucoes;
+    }
+
+    /**
+     * Retorna a quantidade de avaliações do valor presente feitas por esta instância.
+     *
+     * @return A quantidade de passos.
+     */
+    public long getPassos() {
+        return passos;
+    }
+
+    /**
+     * Retorna quantos passos de Newton foram substituídos pela bissecção.
+     *
+     * @return A quantidade de bissecções.
+     */
+    public long getBisseccoes() {
+        return bisseccoes;
+    }
+
+    /**
+     * Newton-Raphson protegido por bissecção no intervalo {@code [inferior, superior]}, com a função
+     * avaliada positiva no limite inferior e negativa no superior.
+     */
+    private double resolver(Funcao funcao, double inferior, double superior, double estimativa) {
+        solucoes++;
+        double taxa = estimativa >= inferior && estimativa <= superior ? estimativa : (inferior + superior) / 2;
+        for (int passo = 0; passo < MAXIMO_PASSOS; passo++) {
+            double valor = avaliar(funcao, taxa);
+            if (valor == 0) {
+                return taxa;
+            }
+            if (valor > 0) {
+                inferior = taxa;
+            } else {
+                superior = taxa;
+            }
+            double tolerancia = TOLERANCIA * (1 + Math.abs(taxa));
+            double proxima = taxa - valor / funcao.derivada;
+            // Na raiz, o passo de Newton pode ser menor que a precisão da taxa e não sair do limite do intervalo
+            if (Math.abs(proxima - taxa) <= tolerancia) {
+                return proxima;
+            }
+            if (!(proxima > inferior && proxima < superior)) {
+                proxima = inferior + (superior - inferior) / 2;
+                bisseccoes++;
+                if (superior - inferior <= tolerancia) {
+                    return proxima;
+                }
+            }
+            taxa = proxima;
+        }
+        return taxa;
+    }
+
+    /**
+     * Avalia a função na taxa mensal informada, contando o passo.
+     */
+    private double avaliar(Funcao funcao, double taxa) {
+        passos++;
+        return funcao.avaliar(taxa);
+    }
+
+    /**
+     * Função cuja raiz é procurada, criada a cada cálculo: o valor presente líquido dos fluxos ou, para
+     * parcelas constantes, {@code parcela / valor - 1 / anuidade}. Ambas são decrescentes perto da raiz.
+     */
+    private abstract static class Funcao {
+
+        /**
+         * A derivada da função na última taxa avaliada.
+         */
+        double derivada;
+
+        /**
+         * Avalia a função e a sua derivada na taxa mensal informada.
+         *
+         * @return O valor da função.
+         */
+        abstract double avaliar(double taxa);
+    }
+
+    private static final class ValorPresente extends Funcao {
+
+        private final double[] fluxos;
+
+        ValorPresente(double[] fluxos) {
+            this.fluxos = fluxos;
+        }
+
+        @Override
+        double avaliar(double taxa) {
+            double desconto = 1 / (1 + taxa);
+            double fator = 1;
+            double valor = 0;
+            double variacao = 0;
+            for (int t = 0; t < fluxos.length; t++) {
+                valor += fluxos[t] * fator;
+                variacao -= t * fluxos[t] * fator * desconto;
+                fator *= desconto;
+            }
+            derivada = variacao;
+            return valor;
+        }
+    }
+
+    private static final class ParcelasConstantes extends Funcao {
+
+        private final double valorFinanciado;
+        private final double parcela;
+        private final int meses;
+
+        ParcelasConstantes(double valorFinanciado, double parcela, int meses) {
+            this.valorFinanciado = valorFinanciado;
+            this.parcela = parcela;
+            this.meses = meses;
+        }
+
+        @Override
+        double avaliar(double taxa) {
+            double anuidade;
+            double variacaoAnuidade;
+            if (Math.abs(taxa) < TAXA_MINIMA) {
+                anuidade = meses - meses * (meses + 1.0) / 2 * taxa;
+                variacaoAnuidade = -meses * (meses + 1.0) / 2;
+            } else {
+                double descontoFinal = Math.exp(-meses * Math.log1p(taxa));
+                anuidade = (1 - descontoFinal) / taxa;
+                variacaoAnuidade = (meses * descontoFinal / (1 + taxa) - anuidade) / taxa;
+            }
+            derivada = variacaoAnuidade / (anuidade * anuidade);
+            return parcela / valorFinanciado - 1 / anuidade;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package calculo;
+
+/**
+ * Acumulador do resultado de amortizações extraordinárias em uma carteira: juros e prazos do
+ * contrato original comparados com os da {@link TabelaAmortizacao} com o {@link PlanoAmortizacao}.
+ * <p>Os juros do contrato original são calculados em forma fechada
+ * ({@link TabelaAmortizacao#calcularJurosTotais(double, double, int, SistemaAmortizacao)}); apenas a
+ * tabela com o plano é percorrida mês a mês. Cada thread usa o seu próprio acumulador, e os
+ * acumuladores parciais são combinados com {@link #combinar(EconomiaAmortizacao)}. A classe não é
+ * sincronizada.
+ *
+ * @version 1.0
+ */
+public class EconomiaAmortizacao {
+
+    private long quantidade;
+    private long quitadosAntes;
+    private long mesesContratados;
+    private long mesesPagos;
+    private double valorFinanciado;
+    private double jurosContratados;
+    private double jurosPagos;
+    private double amortizacaoExtra;
+    private double somaParcelasMediasContratadas;
+    private double somaParcelasMediasPagas;
+
+    /**
+     * Percorre a tabela desde o primeiro mês até a quitação e acumula o financiamento. Não cria objetos.
+     *
+     * @param tabela A tabela com o plano de amortizações; é reiniciada antes de ser percorrida.
+     * @throws IllegalArgumentException Se a tabela for indexada, sem juros contratados em forma fechada.
+     */
+    public void adicionar(TabelaAmortizacao tabela) {
+        if (tabela.getSerie() != null) {
+            throw new IllegalArgumentException("A simulação de amortizações exige um contrato prefixado.");
+        }
+        tabela.reiniciar();
+        double juros = tabela.avancarAteQuitar();
+        adicionar(tabela.getSaldoInicial(), tabela.getMeses(), tabela.getMes(),
+                TabelaAmortizacao.calcularJurosTotais(tabela.getSaldoInicial(), tabela.getTaxaMensal(),
+                        tabela.getMeses(), tabela.getSistema()), juros, tabela.getAmortizacaoExtraAcumulada());
+    }
+
+    /**
+     * Acumula um financiamento já simulado.
+     *
+     * @param valorFinanciado O valor financiado.
+     * @param mesesContratados O prazo do contrato em meses.
+     * @param mesesPagos A quantidade de meses até a quitação com as amortizações.
+     * @param jurosContratados O total de juros do contrato sem amortizações extraordinárias.
+     * @param jurosPagos O total de juros com as amortizações.
+     * @param amortizacaoExtra A soma das amortizações extraordinárias pagas.
+     */
+    public void adicionar(double valorFinanciado, int mesesContratados, int mesesPagos, double jurosContratados,
+                          double jurosPagos, double amortizacaoExtra) {
+        quantidade++;
+        if (mesesPagos < mesesContratados) {
+            quitadosAntes++;
+        }
+        this.mesesContratados += mesesContratados;
+        this.mesesPagos += mesesPagos;
+        this.valorFinanciado += valorFinanciado;
+        this.jurosContratados += jurosContratados;
+        this.jurosPagos += jurosPagos;
+        this.amortizacaoExtra += amortizacaoExtra;
+        somaParcelasMediasContratadas += (valorFinanciado + jurosContratados) / mesesContratados;
+        if (mesesPagos > 0) {
+            somaParcelasMediasPagas += (valorFinanciado - amortizacaoExtra + jurosPagos) / mesesPagos;
+        }
+    }
+
+    /**
+     * Soma a este acumulador os valores de outro acumulador.
+     *
+     * @param outro O acumulador a ser combinado.
+     */
+    public void combinar(EconomiaAmortizacao outro) {
+        quantidade += outro.quantidade;
+        quitadosAntes += outro.quitadosAntes;
+        mesesContratados += outro.mesesContratados;
+        mesesPagos += outro.mesesPagos;
+        valorFinanciado += outro.valorFinanciado;
+        jurosContratados += outro.jurosContratados;
+        jurosPagos += outro.jurosPagos;
+        amortizacaoExtra += outro.amortizacaoExtra;
+        somaParcelasMediasContratadas += outro.somaParcelasMediasContratadas;
+        somaParcelasMediasPagas += outro.somaParcelasMediasPagas;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos acumulados.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos quitados antes do prazo do contrato.
+     *
+     * @return A quantidade de financiamentos com prazo reduzido.
+     */
+    public long getQuitadosAntes() {
+        return quitadosAntes;
+    }
+
+    /**
+     * Retorna a soma dos valores financiados.
+     *
+     * @return O valor financiado total.
+     */
+    public double getValorFinanciado() {
+        return valorFinanciado;
+    }
+
+    /**
+     * Retorna o total de juros dos contratos sem amortizações extraordinárias.
+     *
+     * @return Os juros contratados.
+     */
+    public double getJurosContratados() {
+        return jurosContratados;
+    }
+
+    /**
+     * Retorna o total de juros pagos com as amortizações extraordinárias.
+     *
+     * @return Os juros pagos.
+     */
+    public double getJurosPagos() {
+        return jurosPagos;
+    }
+
+    /**
+     * Retorna os juros economizados com as amortizações extraordinárias.
+     *
+     * @return A diferença entre os juros contratados e os pagos.
+     */
+    public double getEconomiaJuros() {
+        return jurosContratados - jurosPagos;
+    }
+
+    /**
+     * Retorna a soma das amortizações extraordinárias pagas, já limitadas ao saldo devedor.
+     *
+     * @return O total amortizado além das parcelas.
+     */
+    public double getAmortizacaoExtra() {
+        return amortizacaoExtra;
+    }
+
+    /**
+     * Retorna o prazo médio dos contratos.
+     *
+     * @return O prazo médio em meses, ou {@code 0} se nada foi acumulado.
+     */
+    public double getPrazoMedioContratado() {
+        return quantidade == 0 ? 0 : (double) mesesContratados / quantidade;
+    }
+
+    /**
+     * Retorna o prazo médio até a quitação com as amortizações extraordinárias.
+     *
+     * @return O prazo médio em meses, ou {@code 0} se nada foi acumulado.
+     */
+    public double getPrazoMedioPago() {
+        return quantidade == 0 ? 0 : (double) mesesPagos / quantidade;
+    }
+
+    /**
+     * Retorna a média, entre os financiamentos, da parcela média de cada contrato (o total das
+     * parcelas dividido pelo prazo).
+     *
+     * @return A parcela média, ou {@code 0} se nada foi acumulado.
+     */
+    public double getParcelaMediaContratada() {
+        return quantidade == 0 ? 0 : somaParcelasMediasContratadas / quantidade;
+    }
+
+    /**
+     * Retorna a média, entre os financiamentos, da parcela média paga com as amortizações
+     * extraordinárias (sem contar as amortizações), até a quitação.
+     *
+     * @return A parcela média, ou {@code 0} se nada foi acumulado.
+     */
+    public double getParcelaMediaPaga() {
+        return quantidade == 0 ? 0 : somaParcelasMediasPagas / quantidade;
+    }
+
+    /**
+     * Anexa o relatório da simulação ao destino.
+     *
+     * @param destino O destino do texto.
+     * @return O próprio destino.
+     */
+    public StringBuilder anexarRelatorio(StringBuilder destino) {
+        double percentual = jurosContratados == 0 ? 0 : getEconomiaJuros() / jurosContratados * 100;
+        destino.append(String.format("Financiamentos: %d (quitados antes do prazo: %d)\n", quantidade, quitadosAntes));
+        destino.append(String.format("Valor financiado: R$ %.2f | amortizações extraordinárias: R$ %.2f\n",
+                valorFinanciado, amortizacaoExtra));
+        destino.append(String.format("Juros: R$ %.2f sem amortizações, R$ %.2f com amortizações"
+                + " (economia de R$ %.2f, %.1f%%)\n", jurosContratados, jurosPagos, getEconomiaJuros(), percentual));
+        destino.append(String.format("Prazo médio: %.1f meses -> %.1f meses\n",
+                getPrazoMedioContratado(), getPrazoMedioPago()));
+        destino.append(String.format("Parcela média: R$ %.2f -> R$ %.2f\n",
+                getParcelaMediaContratada(), getParcelaMediaPaga()));
+        return destino;
+    }
+
+    /**
+     * Retorna o relatório da simulação em texto.
+     *
+     * @return O relatório, como em {@link #anexarRelatorio(StringBuilder)}.
+     */
+    public String relatorio() {
+        return anexarRelatorio(new StringBuilder(512)).toString();
+    }
+}
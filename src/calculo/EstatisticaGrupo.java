@@ -0,0 +1,105 @@
+package calculo;
+
+import calculo.AgregacaoCarteira.Medida;
+
+/**
+ * Estatísticas de um grupo de financiamentos em uma {@link AgregacaoCarteira}: quantidade e,
+ * para o valor do imóvel, a parcela mensal e o total pago, a soma, a média, o menor e o maior valor.
+ * <p>É uma cópia dos valores no momento em que foi obtida; não muda quando a agregação recebe
+ * novos financiamentos.
+ *
+ * @version 1.0
+ */
+public final class EstatisticaGrupo {
+
+    private final String rotulo;
+    private final long quantidade;
+    private final double[] somas = new double[Medida.values().length];
+    private final double[] minimos = new double[Medida.values().length];
+    private final double[] maximos = new double[Medida.values().length];
+
+    EstatisticaGrupo(String rotulo, long quantidade, double[] estatisticas, int inicio) {
+        this.rotulo = rotulo;
+        this.quantidade = quantidade;
+        for (Medida medida : Medida.values()) {
+            int base = inicio + medida.ordinal() * AgregacaoCarteira.CAMPOS_MEDIDA;
+            somas[medida.ordinal()] = estatisticas[base];
+            minimos[medida.ordinal()] = quantidade == 0 ? 0 : estatisticas[base + 1];
+            maximos[medida.ordinal()] = quantidade == 0 ? 0 : estatisticas[base + 2];
+        }
+    }
+
+    /**
+     * Retorna o nome do grupo, como exibido no relatório.
+     *
+     * @return O rótulo, como "Casa", "Comercial", "30 anos" ou "7,00% a 8,00%".
+     */
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos do grupo.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna a soma de uma medida no grupo.
+     *
+     * @param medida A medida.
+     * @return A soma, ou {@code 0} se o grupo estiver vazio.
+     */
+    public double getSoma(Medida medida) {
+        return somas[medida.ordinal()];
+    }
+
+    /**
+     * Retorna a média de uma medida no grupo.
+     *
+     * @param medida A medida.
+     * @return A média, ou {@code 0} se o grupo estiver vazio.
+     */
+    public double getMedia(Medida medida) {
+        return quantidade == 0 ? 0 : somas[medida.ordinal()] / quantidade;
+    }
+
+    /**
+     * Retorna o menor valor de uma medida no grupo.
+     *
+     * @param medida A medida.
+     * @return O menor valor, ou {@code 0} se o grupo estiver vazio.
+     */
+    public double getMinimo(Medida medida) {
+        return minimos[medida.ordinal()];
+    }
+
+    /**
+     * Retorna o maior valor de uma medida no grupo.
+     *
+     * @param medida A medida.
+     * @return O maior valor, ou {@code 0} se o grupo estiver vazio.
+     */
+    public double getMaximo(Medida medida) {
+        return maximos[medida.ordinal()];
+    }
+
+    /**
+     * Retorna o grupo em texto: o rótulo, a quantidade e as estatísticas de cada medida.
+     *
+     * @return O texto do grupo.
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(256);
+        texto.append(rotulo).append(": ").append(quantidade);
+        for (Medida medida : Medida.values()) {
+            texto.append(String.format(" | %s: soma R$ %.2f, média R$ %.2f, mín R$ %.2f, máx R$ %.2f",
+                    medida.getDescricao(), getSoma(medida), getMedia(medida), getMinimo(medida), getMaximo(medida)));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package calculo;
+
+/**
+ * Resultado de uma {@link AnaliseSensibilidade}: a soma das parcelas mensais e a soma dos
+ * valores totais pagos para cada combinação de taxa (linha) e prazo (coluna).
+ *
+ * @version 1.0
+ */
+public final class GradeSensibilidade {
+
+    private final double[] taxas;
+    private final int[] prazos;
+    private final double[][] parcelas;
+    private final double[][] totais;
+
+    GradeSensibilidade(double[] taxas, int[] prazos, double[][] parcelas, double[][] totais) {
+        this.taxas = taxas;
+        this.prazos = prazos;
+        this.parcelas = parcelas;
+        this.totais = totais;
+    }
+
+    /**
+     * Retorna a quantidade de taxas (linhas) da grade.
+     *
+     * @return A quantidade de linhas.
+     */
+    public int getQuantidadeTaxas() {
+        return taxas.length;
+    }
+
+    /**
+     * Retorna a quantidade de prazos (colunas) da grade.
+     *
+     * @return A quantidade de colunas.
+     */
+    public int getQuantidadePrazos() {
+        return prazos.length;
+    }
+
+    /**
+     * Retorna a taxa de juros anual de uma linha.
+     *
+     * @param linha A linha da grade.
+     * @return A taxa de juros anual.
+     */
+    public double getTaxa(int linha) {
+        return taxas[linha];
+    }
+
+    /**
+     * Retorna o prazo em anos de uma coluna.
+     *
+     * @param coluna A coluna da grade.
+     * @return O prazo em anos.
+     */
+    public int getPrazo(int coluna) {
+        return prazos[coluna];
+    }
+
+    /**
+     * Retorna a soma das parcelas mensais na combinação de taxa e prazo.
+     *
+     * @param linha A linha (taxa).
+     * @param coluna A coluna (prazo).
+     * @return A soma das parcelas mensais.
+     */
+    public double getParcela(int linha, int coluna) {
+        return parcelas[linha][coluna];
+    }
+
+    /**
+     * Retorna a soma dos valores totais pagos na combinação de taxa e prazo.
+     *
+     * @param linha A linha (taxa).
+     * @param coluna A coluna (prazo).
+     * @return A soma dos valores totais.
+     */
+    public double getTotal(int linha, int coluna) {
+        return totais[linha][coluna];
+    }
+}
@@ -0,0 +1,38 @@
+package calculo;
+
+/**
+ * Índices de correção monetária do saldo devedor de um contrato.
+ *
+ * @version 1.0
+ */
+public enum Indexador {
+    /**
+     * Sem correção: apenas a taxa de juros do contrato.
+     */
+    PREFIXADO("Prefixado"),
+
+    /**
+     * Taxa Referencial, divulgada mensalmente pelo Banco Central.
+     */
+    TR("TR"),
+
+    /**
+     * Índice Nacional de Preços ao Consumidor Amplo, divulgado mensalmente pelo IBGE.
+     */
+    IPCA("IPCA");
+
+    private final String descricao;
+
+    Indexador(String descricao) {
+        this.descricao = descricao;
+    }
+
+    /**
+     * Retorna o nome do índice, como exibido ao usuário.
+     *
+     * @return A descrição do índice.
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+}
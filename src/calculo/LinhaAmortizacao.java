@@ -0,0 +1,21 @@
+package calculo;
+
+/**
+ * Recebe as linhas de uma {@link TabelaAmortizacao}, uma por mês, como valores primitivos.
+ *
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LinhaAmortizacao {
+
+    /**
+     * Recebe a linha de um mês da tabela.
+     *
+     * @param mes O número do mês, a partir de 1.
+     * @param parcela O valor pago no mês.
+     * @param juros A parte da parcela correspondente aos juros.
+     * @param amortizacao A parte da parcela que amortiza o saldo devedor.
+     * @param saldoDevedor O saldo devedor após o pagamento.
+     */
+    void aceitar(int mes, double parcela, double juros, double amortizacao, double saldoDevedor);
+}
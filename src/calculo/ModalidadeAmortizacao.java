@@ -0,0 +1,18 @@
+package calculo;
+
+/**
+ * Efeito de uma amortização extraordinária sobre as parcelas seguintes de uma {@link TabelaAmortizacao}.
+ *
+ * @version 1.0
+ */
+public enum ModalidadeAmortizacao {
+    /**
+     * Mantém a parcela (Price) ou a amortização mensal (SAC) e quita o saldo em menos meses.
+     */
+    REDUZIR_PRAZO,
+
+    /**
+     * Mantém o prazo e recalcula a parcela (Price) ou a amortização mensal (SAC) sobre o novo saldo.
+     */
+    REDUZIR_PARCELA
+}
@@ -0,0 +1,87 @@
+package calculo;
+
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.ResultadoPagamento;
+import modelo.TipoImovel;
+
+/**
+ * Forma de calcular os valores monetários de um financiamento.
+ * <p>{@link #DECIMAL} e {@link #CENTAVOS} seguem as mesmas convenções de arredondamento
+ * (descritas em {@link PrecificacaoDecimal}) e produzem exatamente os mesmos centavos; o total
+ * é sempre a parcela em centavos vezes o número de meses, de modo que os totais de uma carteira
+ * fecham com as parcelas centavo a centavo. {@link #PONTO_FLUTUANTE} apenas arredonda para
+ * centavos os resultados em {@code double} das classes de {@code modelo}.
+ *
+ * @version 1.0
+ */
+public enum ModoMonetario {
+    /**
+     * Resultados em {@code double} de {@link Financiamento}, arredondados para centavos no final.
+     */
+    PONTO_FLUTUANTE,
+    /**
+     * Cálculo exato em {@link java.math.BigDecimal}, para auditoria ({@link PrecificacaoDecimal}).
+     */
+    DECIMAL,
+    /**
+     * Cálculo em centavos inteiros, sem criar objetos, para processamento em massa ({@link PrecificacaoCentavos}).
+     */
+    CENTAVOS;
+
+    /**
+     * Calcula os valores de um financiamento neste modo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel em reais.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return Os valores em centavos.
+     */
+    public ValoresMonetarios calcular(TipoImovel tipo, double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        switch (this) {
+            case DECIMAL:
+                return PrecificacaoDecimal.calcular(tipo, valorImovel, prazoFinanciamento, taxaJurosAnual);
+            case CENTAVOS:
+                return PrecificacaoCentavos.calcular(tipo, valorImovel, prazoFinanciamento, taxaJurosAnual);
+            default:
+                if (tipo == TipoImovel.CASA) {
+                    ResultadoPagamento resultado = Casa.calcularResultado(valorImovel, prazoFinanciamento,
+                            taxaJurosAnual, null);
+                    return new ValoresMonetarios(PrecificacaoCentavos.centavos(resultado.getValorParcela()),
+                            PrecificacaoCentavos.centavos(resultado.getValorTotal()),
+                            PrecificacaoCentavos.centavos(resultado.getValorAcrescimo()),
+                            PrecificacaoCentavos.centavos(resultado.getValorDesconto()));
+                }
+                double parcela = tipo.calcularParcela(valorImovel, prazoFinanciamento, taxaJurosAnual);
+                return new ValoresMonetarios(PrecificacaoCentavos.centavos(parcela),
+                        PrecificacaoCentavos.centavos(tipo.calcularTotal(parcela, prazoFinanciamento)), 0, 0);
+        }
+    }
+
+    /**
+     * Calcula os valores de um financiamento neste modo.
+     *
+     * @param financiamento O financiamento.
+     * @return Os valores em centavos.
+     */
+    public ValoresMonetarios calcular(Financiamento financiamento) {
+        return calcular(financiamento.getTipoImovel(), financiamento.getValorImovel(),
+                financiamento.getPrazoFinanciamento(), financiamento.getTaxaJurosAnual());
+    }
+
+    /**
+     * Soma os totais de uma carteira neste modo.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @return A soma dos totais em centavos.
+     * @throws ArithmeticException Se a soma não couber em um {@code long}.
+     */
+    public long somarTotais(Iterable<? extends Financiamento> carteira) {
+        long soma = 0;
+        for (Financiamento financiamento : carteira) {
+            soma = Math.addExact(soma, calcular(financiamento).getTotalCentavos());
+        }
+        return soma;
+    }
+}
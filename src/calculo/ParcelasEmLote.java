@@ -0,0 +1,158 @@
+package calculo;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+import modelo.TipoImovel;
+
+/**
+ * Cálculo da parcela mensal de muitos financiamentos de uma vez, sobre colunas de valor do imóvel,
+ * prazo e taxa, com as fórmulas de {@link Financiamento#calcularParcelaBase(double, int, double)},
+ * {@link Apartamento#calcularParcelaPrice(double, int, double)},
+ * {@link Terreno#calcularParcelaTerreno(double, int, double)} e
+ * {@link Casa#calcularParcelaCasa(double, int, double)}.
+ * <p>{@link #obter()} retorna a implementação com a API de vetores do JDK ({@code jdk.incubator.vector}),
+ * que calcula várias parcelas por instrução, quando o módulo foi incluído na execução
+ * ({@code --add-modules jdk.incubator.vector}) e o processador tem registros de pelo menos dois
+ * {@code double}; caso contrário, ou com {@code -Dfinanciamentos.vetorial=false}, retorna a
+ * implementação escalar, que chama as fórmulas de {@code modelo} e dá resultados idênticos a elas.
+ * A classe vetorial é carregada por reflexão, para que o programa funcione sem o módulo.
+ * <p>Na implementação vetorial, as parcelas de casas e terrenos e a fórmula base usam as mesmas
+ * operações, na mesma ordem, das fórmulas escalares e também são idênticas. A potência da tabela
+ * Price é calculada pela biblioteca matemática vetorial, cujo erro é de até 1 ulp, em vez de
+ * {@link Math#pow(double, double)}; a parcela Price fica dentro de {@link #TOLERANCIA_RELATIVA}
+ * da escalar.
+ * <p>As implementações não têm estado e podem ser usadas por várias threads.
+ *
+ * @version 1.0
+ */
+public abstract class ParcelasEmLote {
+
+    /**
+     * Diferença relativa máxima entre as parcelas da implementação vetorial e as das fórmulas escalares.
+     */
+    public static final double TOLERANCIA_RELATIVA = 1e-12;
+
+    private static final ParcelasEmLote ESCALAR = new ParcelasEmLoteEscalar();
+    private static final ParcelasEmLote PADRAO = carregar();
+
+    /**
+     * Retorna a implementação vetorial, se disponível, ou a escalar.
+     *
+     * @return A implementação usada por padrão.
+     */
+    public static ParcelasEmLote obter() {
+        return PADRAO;
+    }
+
+    /**
+     * Retorna a implementação escalar, com resultados idênticos às fórmulas de {@code modelo}.
+     *
+     * @return A implementação escalar.
+     */
+    public static ParcelasEmLote escalar() {
+        return ESCALAR;
+    }
+
+    private static ParcelasEmLote carregar() {
+        if (!Boolean.parseBoolean(System.getProperty("financiamentos.vetorial", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ESCALAR;
+        }
+        try {
+            ParcelasEmLote vetorial = (ParcelasEmLote) Class.forName("calculo.ParcelasEmLoteVetorial")
+                    .getDeclaredConstructor().newInstance();
+            return vetorial.getLargura() >= 2 ? vetorial : ESCALAR;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ESCALAR;
+        }
+    }
+
+    /**
+     * Indica se a implementação usa a API de vetores.
+     *
+     * @return {@code true} para a implementação vetorial.
+     */
+    public boolean isVetorial() {
+        return getLargura() > 1;
+    }
+
+    /**
+     * Retorna a quantidade de parcelas calculadas por operação.
+     *
+     * @return A quantidade de {@code double} por vetor, ou {@code 1} na implementação escalar.
+     */
+    public abstract int getLargura();
+
+    /**
+     * Calcula a parcela de financiamentos de tipos variados, com a fórmula de cada tipo.
+     *
+     * @param tipos O código ({@link TipoImovel#ordinal()}) do tipo de cada financiamento.
+     * @param valores Os valores dos imóveis.
+     * @param prazos Os prazos, em anos.
+     * @param taxas As taxas de juros anuais.
+     * @param destino O array que recebe as parcelas, nas mesmas posições.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     */
+    public abstract void calcular(byte[] tipos, double[] valores, int[] prazos, double[] taxas, double[] destino,
+                                  int inicio, int fim);
+
+    /**
+     * Calcula a parcela pela fórmula base de {@link Financiamento}.
+     *
+     * @param valores Os valores dos imóveis.
+     * @param prazos Os prazos, em anos.
+     * @param taxas As taxas de juros anuais.
+     * @param destino O array que recebe as parcelas, nas mesmas posições.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     */
+    public abstract void calcularBase(double[] valores, int[] prazos, double[] taxas, double[] destino,
+                                      int inicio, int fim);
+
+    /**
+     * Calcula a parcela pela tabela Price, como em {@link Apartamento}.
+     *
+     * @param valores Os valores dos imóveis.
+     * @param prazos Os prazos, em anos.
+     * @param taxas As taxas de juros anuais.
+     * @param destino O array que recebe as parcelas, nas mesmas posições.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     */
+    public abstract void calcularPrice(double[] valores, int[] prazos, double[] taxas, double[] destino,
+                                       int inicio, int fim);
+
+    /**
+     * Calcula a parcela de terrenos: a fórmula base com o aumento de 2%.
+     *
+     * @param valores Os valores dos imóveis.
+     * @param prazos Os prazos, em anos.
+     * @param taxas As taxas de juros anuais.
+     * @param destino O array que recebe as parcelas, nas mesmas posições.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     */
+    public abstract void calcularTerreno(double[] valores, int[] prazos, double[] taxas, double[] destino,
+                                         int inicio, int fim);
+
+    /**
+     * Calcula a parcela de casas: a fórmula base com o acréscimo e o desconto limitados aos juros mensais.
+     *
+     * @param valores Os valores dos imóveis.
+     * @param prazos Os prazos, em anos.
+     * @param taxas As taxas de juros anuais.
+     * @param destino O array que recebe as parcelas, nas mesmas posições.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     */
+    public abstract void calcularCasa(double[] valores, int[] prazos, double[] taxas, double[] destino,
+                                      int inicio, int fim);
+
+    @Override
+    public String toString() {
+        return isVetorial() ? "vetorial (" + getLargura() + " parcelas por operação)" : "escalar";
+    }
+}
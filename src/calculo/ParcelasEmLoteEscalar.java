@@ -0,0 +1,60 @@
+package calculo;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+import modelo.TipoImovel;
+
+/**
+ * Implementação escalar de {@link ParcelasEmLote}: uma chamada das fórmulas de {@code modelo} por
+ * financiamento, com resultados idênticos a elas. A parcela Price consulta o
+ * {@link modelo.CacheFatorAnuidade} compartilhado, como {@link Apartamento}.
+ *
+ * @version 1.0
+ */
+final class ParcelasEmLoteEscalar extends ParcelasEmLote {
+
+    private static final TipoImovel[] TIPOS = TipoImovel.values();
+
+    @Override
+    public int getLargura() {
+        return 1;
+    }
+
+    @Override
+    public void calcular(byte[] tipos, double[] valores, int[] prazos, double[] taxas, double[] destino,
+                         int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = TIPOS[tipos[i]].calcularParcela(valores[i], prazos[i], taxas[i]);
+        }
+    }
+
+    @Override
+    public void calcularBase(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = Financiamento.calcularParcelaBase(valores[i], prazos[i], taxas[i]);
+        }
+    }
+
+    @Override
+    public void calcularPrice(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = Apartamento.calcularParcelaPrice(valores[i], prazos[i], taxas[i]);
+        }
+    }
+
+    @Override
+    public void calcularTerreno(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = Terreno.calcularParcelaTerreno(valores[i], prazos[i], taxas[i]);
+        }
+    }
+
+    @Override
+    public void calcularCasa(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = Casa.calcularParcelaCasa(valores[i], prazos[i], taxas[i]);
+        }
+    }
+}
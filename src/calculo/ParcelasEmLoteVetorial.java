@@ -0,0 +1,144 @@
+package calculo;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import modelo.Casa;
+import modelo.TipoImovel;
+
+/**
+ * Implementação de {@link ParcelasEmLote} com a API de vetores do JDK, na maior largura preferida
+ * pelo processador. Só é carregada por {@link ParcelasEmLote#obter()} quando o módulo
+ * {@code jdk.incubator.vector} está presente; as posições que não completam um vetor são calculadas
+ * pela implementação escalar.
+ * <p>Na carteira com tipos variados, todas as fórmulas baratas são calculadas em todas as posições
+ * do vetor e combinadas pelo tipo de cada posição; a potência da tabela Price só é calculada nos
+ * vetores que têm algum apartamento.
+ *
+ * @version 1.0
+ */
+final class ParcelasEmLoteVetorial extends ParcelasEmLote {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LARGURA = DOUBLES.length();
+    private static final VectorSpecies<Integer> INTEIROS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LARGURA * Integer.SIZE));
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(Math.max(64, LARGURA * Byte.SIZE)));
+
+    private static final byte APARTAMENTO = (byte) TipoImovel.APARTAMENTO.ordinal();
+    private static final byte CASA = (byte) TipoImovel.CASA.ordinal();
+
+    @Override
+    public int getLargura() {
+        return LARGURA;
+    }
+
+    @Override
+    public void calcular(byte[] tipos, double[] valores, int[] prazos, double[] taxas, double[] destino,
+                         int inicio, int fim) {
+        int i = inicio;
+        // O menor vetor de bytes tem 8 posições, mais do que o vetor de double em processadores de 256 bits
+        for (int limite = fim - Math.max(LARGURA, BYTES.length()); i <= limite; i += LARGURA) {
+            DoubleVector tipo = (DoubleVector) ByteVector.fromArray(BYTES, tipos, i)
+                    .convertShape(VectorOperators.B2D, DOUBLES, 0);
+            VectorMask<Double> apartamentos = tipo.eq(APARTAMENTO);
+            VectorMask<Double> casas = tipo.eq(CASA);
+            DoubleVector valor = DoubleVector.fromArray(DOUBLES, valores, i);
+            DoubleVector anos = anos(prazos, i);
+            DoubleVector taxa = DoubleVector.fromArray(DOUBLES, taxas, i);
+            DoubleVector base = base(valor, anos, taxa);
+            DoubleVector parcela = base.mul(1.02);
+            if (casas.anyTrue()) {
+                parcela = parcela.blend(casa(base, valor, anos, taxa), casas);
+            }
+            if (apartamentos.anyTrue()) {
+                parcela = parcela.blend(price(valor, anos, taxa), apartamentos);
+            }
+            parcela.intoArray(destino, i);
+        }
+        ParcelasEmLote.escalar().calcular(tipos, valores, prazos, taxas, destino, i, fim);
+    }
+
+    @Override
+    public void calcularBase(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        int i = inicio;
+        for (int limite = fim - LARGURA; i <= limite; i += LARGURA) {
+            base(DoubleVector.fromArray(DOUBLES, valores, i), anos(prazos, i), DoubleVector.fromArray(DOUBLES, taxas, i))
+                    .intoArray(destino, i);
+        }
+        ParcelasEmLote.escalar().calcularBase(valores, prazos, taxas, destino, i, fim);
+    }
+
+    @Override
+    public void calcularPrice(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        int i = inicio;
+        for (int limite = fim - LARGURA; i <= limite; i += LARGURA) {
+            price(DoubleVector.fromArray(DOUBLES, valores, i), anos(prazos, i), DoubleVector.fromArray(DOUBLES, taxas, i))
+                    .intoArray(destino, i);
+        }
+        ParcelasEmLote.escalar().calcularPrice(valores, prazos, taxas, destino, i, fim);
+    }
+
+    @Override
+    public void calcularTerreno(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        int i = inicio;
+        for (int limite = fim - LARGURA; i <= limite; i += LARGURA) {
+            base(DoubleVector.fromArray(DOUBLES, valores, i), anos(prazos, i), DoubleVector.fromArray(DOUBLES, taxas, i))
+                    .mul(1.02).intoArray(destino, i);
+        }
+        ParcelasEmLote.escalar().calcularTerreno(valores, prazos, taxas, destino, i, fim);
+    }
+
+    @Override
+    public void calcularCasa(double[] valores, int[] prazos, double[] taxas, double[] destino, int inicio, int fim) {
+        int i = inicio;
+        for (int limite = fim - LARGURA; i <= limite; i += LARGURA) {
+            DoubleVector valor = DoubleVector.fromArray(DOUBLES, valores, i);
+            DoubleVector anos = anos(prazos, i);
+            DoubleVector taxa = DoubleVector.fromArray(DOUBLES, taxas, i);
+            casa(base(valor, anos, taxa), valor, anos, taxa).intoArray(destino, i);
+        }
+        ParcelasEmLote.escalar().calcularCasa(valores, prazos, taxas, destino, i, fim);
+    }
+
+    private static DoubleVector anos(int[] prazos, int i) {
+        return (DoubleVector) IntVector.fromArray(INTEIROS, prazos, i).convertShape(VectorOperators.I2D, DOUBLES, 0);
+    }
+
+    /**
+     * (valor / (prazo * 12)) * (1 + taxa / 12), como em {@code Financiamento.calcularParcelaBase}.
+     */
+    private static DoubleVector base(DoubleVector valor, DoubleVector anos, DoubleVector taxa) {
+        return valor.div(anos.mul(12)).mul(taxa.div(12).add(1));
+    }
+
+    /**
+     * valor * (taxaMensal * fator) / (fator - 1), com fator = (1 + taxaMensal)^meses, como em
+     * {@code Apartamento.calcularParcelaPrice}.
+     */
+    private static DoubleVector price(DoubleVector valor, DoubleVector anos, DoubleVector taxa) {
+        DoubleVector taxaMensal = taxa.div(12);
+        DoubleVector fator = taxaMensal.add(1).lanewise(VectorOperators.POW, anos.mul(12));
+        return valor.mul(taxaMensal.mul(fator)).div(fator.sub(1));
+    }
+
+    /**
+     * base + acréscimo - desconto, com o acréscimo zerado e o desconto limitado quando passam dos
+     * juros mensais: as regras de {@link Casa#calcularResultado(double, int, double, java.util.List)},
+     * por faixa.
+     */
+    private static DoubleVector casa(DoubleVector base, DoubleVector valor, DoubleVector anos, DoubleVector taxa) {
+        DoubleVector jurosMensais = valor.mul(taxa.div(12).div(100));
+        DoubleVector acrescimo = valor.mul(Casa.PERCENTUAL_ACRESCIMO).div(anos);
+        DoubleVector desconto = valor.mul(Casa.PERCENTUAL_DESCONTO).div(anos);
+        acrescimo = acrescimo.blend(0, acrescimo.compare(VectorOperators.GT, jurosMensais));
+        desconto = desconto.blend(jurosMensais, desconto.compare(VectorOperators.GT, jurosMensais));
+        return base.add(acrescimo).sub(desconto);
+    }
+}
@@ -0,0 +1,140 @@
+package calculo;
+
+/**
+ * Plano de amortizações extraordinárias de um financiamento: um pagamento único em um mês,
+ * pagamentos recorrentes a cada {@code intervalo} meses, ou ambos, todos com a mesma
+ * {@link ModalidadeAmortizacao}.
+ * <p>Os pagamentos são feitos depois da parcela do mês e limitados ao saldo devedor restante.
+ * Como o plano é imutável e não depende do financiamento, uma mesma instância pode ser aplicada a
+ * todos os financiamentos de uma carteira, por várias threads.
+ *
+ * @version 1.0
+ */
+public final class PlanoAmortizacao {
+
+    private final int mesUnico;
+    private final double valorUnico;
+    private final int inicioRecorrente;
+    private final int intervaloRecorrente;
+    private final double valorRecorrente;
+    private final ModalidadeAmortizacao modalidade;
+
+    /**
+     * Cria um plano com pagamento único e pagamentos recorrentes.
+     *
+     * @param mesUnico O mês do pagamento único, a partir de 1.
+     * @param valorUnico O valor do pagamento único; {@code 0} para nenhum.
+     * @param inicioRecorrente O mês do primeiro pagamento recorrente, a partir de 1.
+     * @param intervaloRecorrente A quantidade de meses entre os pagamentos recorrentes.
+     * @param valorRecorrente O valor de cada pagamento recorrente; {@code 0} para nenhum.
+     * @param modalidade O efeito dos pagamentos sobre as parcelas seguintes.
+     * @throws IllegalArgumentException Se algum mês ou o intervalo não for positivo, ou algum valor for negativo.
+     */
+    public PlanoAmortizacao(int mesUnico, double valorUnico, int inicioRecorrente, int intervaloRecorrente,
+                            double valorRecorrente, ModalidadeAmortizacao modalidade) {
+        if (mesUnico < 1 || inicioRecorrente < 1 || intervaloRecorrente < 1) {
+            throw new IllegalArgumentException("Os meses e o intervalo das amortizações devem ser positivos.");
+        }
+        if (!(valorUnico >= 0) || !(valorRecorrente >= 0)) {
+            throw new IllegalArgumentException("Os valores das amortizações não podem ser negativos.");
+        }
+        if (modalidade == null) {
+            throw new IllegalArgumentException("A modalidade da amortização é obrigatória.");
+        }
+        this.mesUnico = mesUnico;
+        this.valorUnico = valorUnico;
+        this.inicioRecorrente = inicioRecorrente;
+        this.intervaloRecorrente = intervaloRecorrente;
+        this.valorRecorrente = valorRecorrente;
+        this.modalidade = modalidade;
+    }
+
+    /**
+     * Cria um plano com um único pagamento.
+     *
+     * @param mes O mês do pagamento, a partir de 1.
+     * @param valor O valor do pagamento.
+     * @param modalidade O efeito do pagamento sobre as parcelas seguintes.
+     * @return O plano.
+     */
+    public static PlanoAmortizacao unica(int mes, double valor, ModalidadeAmortizacao modalidade) {
+        return new PlanoAmortizacao(mes, valor, 1, 1, 0, modalidade);
+    }
+
+    /**
+     * Cria um plano com pagamentos recorrentes.
+     *
+     * @param inicio O mês do primeiro pagamento, a partir de 1.
+     * @param intervalo A quantidade de meses entre os pagamentos (1 para mensal, 12 para anual).
+     * @param valor O valor de cada pagamento.
+     * @param modalidade O efeito dos pagamentos sobre as parcelas seguintes.
+     * @return O plano.
+     */
+    public static PlanoAmortizacao recorrente(int inicio, int intervalo, double valor,
+                                              ModalidadeAmortizacao modalidade) {
+        return new PlanoAmortizacao(1, 0, inicio, intervalo, valor, modalidade);
+    }
+
+    /**
+     * Retorna o valor previsto para um mês, antes do limite do saldo devedor.
+     *
+     * @param mes O número do mês, a partir de 1.
+     * @return A soma dos pagamentos previstos para o mês, ou {@code 0} se não houver nenhum.
+     */
+    public double valorNoMes(int mes) {
+        double valor = mes == mesUnico ? valorUnico : 0;
+        if (mes >= inicioRecorrente && (mes - inicioRecorrente) % intervaloRecorrente == 0) {
+            valor += valorRecorrente;
+        }
+        return valor;
+    }
+
+    /**
+     * Retorna o próximo mês com algum pagamento previsto, para que a tabela não consulte o plano
+     * em todos os meses.
+     *
+     * @param mes O mês atual ({@code 0} antes do primeiro mês).
+     * @return O primeiro mês depois de {@code mes} com pagamento, ou {@link Integer#MAX_VALUE} se não houver.
+     */
+    public int proximoMes(int mes) {
+        int proximo = valorUnico > 0 && mesUnico > mes ? mesUnico : Integer.MAX_VALUE;
+        if (valorRecorrente > 0) {
+            int recorrente = inicioRecorrente;
+            if (recorrente <= mes) {
+                long passos = (mes - inicioRecorrente) / intervaloRecorrente + 1L;
+                recorrente = (int) Math.min(Integer.MAX_VALUE, inicioRecorrente + passos * intervaloRecorrente);
+            }
+            proximo = Math.min(proximo, recorrente);
+        }
+        return proximo;
+    }
+
+    /**
+     * Retorna o efeito dos pagamentos sobre as parcelas seguintes.
+     *
+     * @return A modalidade.
+     */
+    public ModalidadeAmortizacao getModalidade() {
+        return modalidade;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(128);
+        if (valorUnico > 0) {
+            texto.append(String.format("R$ %.2f no mês %d", valorUnico, mesUnico));
+        }
+        if (valorRecorrente > 0) {
+            if (texto.length() > 0) {
+                texto.append(" e ");
+            }
+            texto.append(String.format("R$ %.2f a cada %d meses a partir do mês %d",
+                    valorRecorrente, intervaloRecorrente, inicioRecorrente));
+        }
+        if (texto.length() == 0) {
+            texto.append("sem amortizações");
+        }
+        return texto.append(modalidade == ModalidadeAmortizacao.REDUZIR_PRAZO ? ", reduzindo o prazo"
+                : ", reduzindo a parcela").toString();
+    }
+}
@@ -0,0 +1,346 @@
+package calculo;
+
+import modelo.CacheFatorAnuidade;
+import modelo.CarteiraColunar;
+import modelo.TipoImovel;
+
+/**
+ * Cálculo rápido, em centavos inteiros ({@code long}), dos valores de um financiamento, para
+ * processamento em massa. Produz exatamente os mesmos centavos que {@link PrecificacaoDecimal}.
+ * <p>O acréscimo e o desconto da casa são frações de inteiros e são arredondados com divisão inteira.
+ * Os demais valores são calculados em {@code double}, já em centavos, e arredondados para o inteiro
+ * mais próximo; o erro do {@code double} é muito menor que {@link #TOLERANCIA_RELATIVA} vezes o valor,
+ * então o arredondamento só pode divergir do exato quando a fração está próxima de meio centavo.
+ * Nesses casos, se a taxa tiver poucos dígitos binários (como 7,5 ou 8,25), a fórmula é refeita
+ * como fração de inteiros {@code long}; só quando isso não basta o valor é recalculado por
+ * {@link PrecificacaoDecimal}, o único caminho que cria objetos.
+ *
+ * @version 1.0
+ */
+public final class PrecificacaoCentavos {
+
+    /**
+     * Distância relativa de meio centavo abaixo da qual o arredondamento em {@code double} não é usado.
+     */
+    public static final double TOLERANCIA_RELATIVA = 1e-12;
+
+    private static final double TOLERANCIA_ABSOLUTA = 1e-6;
+    private static final long AMBIGUO = Long.MIN_VALUE;
+
+    /**
+     * Maior expoente {@code s} tentado ao escrever a taxa como {@code m / 2^s}.
+     */
+    private static final int MAXIMO_BITS_FRACAO = 16;
+
+    private PrecificacaoCentavos() {
+    }
+
+    /**
+     * Converte um valor em reais para centavos, com o mesmo resultado de {@link PrecificacaoDecimal#centavos(double)}.
+     *
+     * @param reais O valor em reais.
+     * @return O valor em centavos.
+     */
+    public static long centavos(double reais) {
+        long centavos = arredondar(reais * 100);
+        return centavos != AMBIGUO ? centavos : PrecificacaoDecimal.centavos(reais);
+    }
+
+    /**
+     * Calcula a parcela mensal de um financiamento do tipo informado.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela mensal em centavos.
+     */
+    public static long parcela(TipoImovel tipo, long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        switch (tipo) {
+            case APARTAMENTO:
+                return parcelaPrice(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+            case CASA:
+                return parcelaBase(valorCentavos, prazoFinanciamento, taxaJurosAnual)
+                        + acrescimo(valorCentavos, prazoFinanciamento, taxaJurosAnual)
+                        - desconto(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+            default:
+                return parcelaTerreno(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+        }
+    }
+
+    /**
+     * Calcula o valor total pago ao longo do prazo.
+     *
+     * @param parcelaCentavos A parcela mensal em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @return O valor total em centavos.
+     * @throws ArithmeticException Se o total não couber em um {@code long}.
+     */
+    public static long total(long parcelaCentavos, int prazoFinanciamento) {
+        return Math.multiplyExact(parcelaCentavos, (long) prazoFinanciamento * 12);
+    }
+
+    /**
+     * Calcula a parcela base, como {@link PrecificacaoDecimal#parcelaBase(long, int, double)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela base em centavos.
+     */
+    public static long parcelaBase(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        long centavos = arredondar(base(valorCentavos, prazoFinanciamento, taxaJurosAnual));
+        if (centavos == AMBIGUO) {
+            centavos = fracaoBase(valorCentavos, prazoFinanciamento, taxaJurosAnual, 1, 1);
+        }
+        return centavos != AMBIGUO ? centavos
+                : PrecificacaoDecimal.parcelaBase(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+    }
+
+    /**
+     * Calcula a parcela do terreno, como {@link PrecificacaoDecimal#parcelaTerreno(long, int, double)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela do terreno em centavos.
+     */
+    public static long parcelaTerreno(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        long centavos = arredondar(base(valorCentavos, prazoFinanciamento, taxaJurosAnual) * 1.02);
+        if (centavos == AMBIGUO) {
+            centavos = fracaoBase(valorCentavos, prazoFinanciamento, taxaJurosAnual, 102, 100);
+        }
+        return centavos != AMBIGUO ? centavos
+                : PrecificacaoDecimal.parcelaTerreno(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+    }
+
+    /**
+     * Calcula a parcela pela tabela Price, como {@link PrecificacaoDecimal#parcelaPrice(long, int, double)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela em centavos.
+     */
+    public static long parcelaPrice(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        int meses = prazoFinanciamento * 12;
+        if (taxaJurosAnual == 0) {
+            return arredondar(valorCentavos, meses);
+        }
+        double taxaMensal = taxaJurosAnual / 12;
+        double fator = CacheFatorAnuidade.compartilhado().fator(taxaMensal, meses);
+        if (!(fator - 1 > 0.5)) {
+            // Com (1 + i)^n perto de 1, o erro relativo de fator / (fator - 1), cerca de n * 1e-16 / (fator - 1),
+            // poderia passar da tolerância
+            return PrecificacaoDecimal.parcelaPrice(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+        }
+        double parcela = valorCentavos * (taxaMensal * fator) / (fator - 1);
+        long centavos = arredondar(parcela);
+        if (centavos == AMBIGUO && taxaJurosAnual > 0 && valorCentavos > 0) {
+            // A parcela é valor * i vezes fator / (fator - 1) > 1, portanto estritamente maior que valor * i:
+            // se valor * i já alcança o meio centavo, a parcela arredonda para cima.
+            int bits = bitsFracao(taxaJurosAnual);
+            if (bits >= 0) {
+                long m = (long) Math.scalb(taxaJurosAnual, bits);
+                long piso = (long) Math.floor(parcela);
+                try {
+                    long dobroJuros = Math.multiplyExact(2 * valorCentavos, m);
+                    long dobroMeio = Math.multiplyExact(2 * piso + 1, 12L << bits);
+                    if (dobroJuros >= dobroMeio) {
+                        centavos = piso + 1;
+                    }
+                } catch (ArithmeticException e) {
+                    // Fora do alcance de long: resolvido pelo cálculo decimal
+                }
+            }
+        }
+        return centavos != AMBIGUO ? centavos
+                : PrecificacaoDecimal.parcelaPrice(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+    }
+
+    /**
+     * Calcula o acréscimo mensal da casa, como {@link PrecificacaoDecimal#acrescimo(long, int, double)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O acréscimo em centavos.
+     */
+    public static long acrescimo(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        if (compararTaxaVezesPrazo(taxaJurosAnual, prazoFinanciamento, 24) < 0) {
+            return 0;
+        }
+        return arredondar(valorCentavos, 50L * prazoFinanciamento);
+    }
+
+    /**
+     * Calcula o desconto mensal da casa, como {@link PrecificacaoDecimal#desconto(long, int, double)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O desconto em centavos.
+     */
+    public static long desconto(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        if (compararTaxaVezesPrazo(taxaJurosAnual, prazoFinanciamento, 12) >= 0) {
+            return arredondar(valorCentavos, 100L * prazoFinanciamento);
+        }
+        long centavos = arredondar(valorCentavos * taxaJurosAnual / 1200);
+        if (centavos == AMBIGUO) {
+            int bits = bitsFracao(taxaJurosAnual);
+            if (bits >= 0) {
+                try {
+                    centavos = arredondar(Math.multiplyExact(valorCentavos, (long) Math.scalb(taxaJurosAnual, bits)),
+                            1200L << bits);
+                } catch (ArithmeticException e) {
+                    // Fora do alcance de long: resolvido pelo cálculo decimal
+                }
+            }
+        }
+        return centavos != AMBIGUO ? centavos
+                : PrecificacaoDecimal.desconto(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+    }
+
+    /**
+     * Calcula a parcela, o total, o acréscimo e o desconto de um financiamento.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel em reais.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return Os valores em centavos.
+     */
+    public static ValoresMonetarios calcular(TipoImovel tipo, double valorImovel, int prazoFinanciamento,
+                                             double taxaJurosAnual) {
+        long valor = centavos(valorImovel);
+        long parcela = parcela(tipo, valor, prazoFinanciamento, taxaJurosAnual);
+        if (tipo != TipoImovel.CASA) {
+            return new ValoresMonetarios(parcela, total(parcela, prazoFinanciamento), 0, 0);
+        }
+        return new ValoresMonetarios(parcela, total(parcela, prazoFinanciamento),
+                acrescimo(valor, prazoFinanciamento, taxaJurosAnual), desconto(valor, prazoFinanciamento, taxaJurosAnual));
+    }
+
+    /**
+     * Calcula as parcelas em centavos de um intervalo de posições de uma carteira colunar.
+     *
+     * @param carteira A carteira.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     * @param destino O array que recebe as parcelas, nas mesmas posições da carteira.
+     */
+    public static void calcularParcelas(CarteiraColunar carteira, int inicio, int fim, long[] destino) {
+        byte[] tipos = carteira.colunaTipos();
+        double[] valores = carteira.colunaValoresImovel();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        TipoImovel[] tiposImovel = TipoImovel.values();
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = parcela(tiposImovel[tipos[i]], centavos(valores[i]), prazos[i], taxas[i]);
+        }
+    }
+
+    /**
+     * Soma os totais em centavos de um intervalo de posições de uma carteira colunar.
+     *
+     * @param carteira A carteira.
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     * @return A soma dos totais em centavos.
+     * @throws ArithmeticException Se a soma não couber em um {@code long}.
+     */
+    public static long somarTotais(CarteiraColunar carteira, int inicio, int fim) {
+        byte[] tipos = carteira.colunaTipos();
+        double[] valores = carteira.colunaValoresImovel();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        TipoImovel[] tiposImovel = TipoImovel.values();
+        long soma = 0;
+        for (int i = inicio; i < fim; i++) {
+            long parcela = parcela(tiposImovel[tipos[i]], centavos(valores[i]), prazos[i], taxas[i]);
+            soma = Math.addExact(soma, total(parcela, prazos[i]));
+        }
+        return soma;
+    }
+
+    private static double base(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        return ((double) valorCentavos / (prazoFinanciamento * 12)) * (1 + (taxaJurosAnual / 12));
+    }
+
+    /**
+     * Arredonda {@code valor * (12 + taxa) * multiplicador / (144 * prazo * divisor)} como fração de
+     * inteiros, ou retorna {@link #AMBIGUO} se a taxa não for uma fração binária curta ou a conta
+     * não couber em {@code long}.
+     */
+    private static long fracaoBase(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual,
+                                   int multiplicador, int divisor) {
+        int bits = bitsFracao(taxaJurosAnual);
+        if (bits < 0) {
+            return AMBIGUO;
+        }
+        try {
+            long fatorTaxa = (12L << bits) + (long) Math.scalb(taxaJurosAnual, bits);
+            long numerador = Math.multiplyExact(Math.multiplyExact(valorCentavos, fatorTaxa), multiplicador);
+            long denominador = Math.multiplyExact(144L * prazoFinanciamento * divisor, 1L << bits);
+            return arredondar(numerador, denominador);
+        } catch (ArithmeticException e) {
+            return AMBIGUO;
+        }
+    }
+
+    /**
+     * Compara {@code taxa * prazo} com um limite inteiro. O sinal de {@link Math#fma(double, double, double)}
+     * é exato para o valor binário da taxa, que coincide com o decimal quando a taxa é uma fração binária
+     * curta ou o produto está longe do limite; fora disso, a comparação é feita em decimal.
+     */
+    private static int compararTaxaVezesPrazo(double taxaJurosAnual, int prazoFinanciamento, int limite) {
+        double diferenca = Math.fma(taxaJurosAnual, prazoFinanciamento, -limite);
+        if (Math.abs(diferenca) > 1e-9 * limite || bitsFracao(taxaJurosAnual) >= 0) {
+            return diferenca == 0 ? 0 : (diferenca < 0 ? -1 : 1);
+        }
+        return PrecificacaoDecimal.compararTaxaVezesPrazo(taxaJurosAnual, prazoFinanciamento, limite);
+    }
+
+    /**
+     * Retorna o menor {@code s} tal que {@code taxa * 2^s} é inteiro, ou {@code -1} se for maior que
+     * {@link #MAXIMO_BITS_FRACAO}. Com {@code s} pequeno, o valor binário e o decimal da taxa coincidem.
+     */
+    private static int bitsFracao(double taxa) {
+        double escalado = taxa;
+        for (int bits = 0; bits <= MAXIMO_BITS_FRACAO; bits++) {
+            if (escalado == Math.rint(escalado) && Math.abs(escalado) < 0x1p40) {
+                return bits;
+            }
+            escalado *= 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Arredonda a fração {@code numerador / denominador} para o inteiro mais próximo, com
+     * empates para o par, como {@link java.math.RoundingMode#HALF_EVEN}.
+     */
+    private static long arredondar(long numerador, long denominador) {
+        long quociente = Math.floorDiv(numerador, denominador);
+        long resto = Math.floorMod(numerador, denominador);
+        long excesso = resto - (denominador - resto);
+        if (excesso > 0 || (excesso == 0 && (quociente & 1) != 0)) {
+            quociente++;
+        }
+        return quociente;
+    }
+
+    /**
+     * Arredonda um valor em centavos para o inteiro mais próximo, ou retorna {@link #AMBIGUO}
+     * se ele estiver perto demais de meio centavo para que o arredondamento seja garantido.
+     */
+    private static long arredondar(double centavos) {
+        double piso = Math.floor(centavos);
+        double fracao = centavos - piso;
+        if (Math.abs(fracao - 0.5) <= TOLERANCIA_RELATIVA * Math.abs(centavos) + TOLERANCIA_ABSOLUTA
+                || !(Math.abs(centavos) < 0x1p53)) {
+            return AMBIGUO;
+        }
+        return (long) (fracao < 0.5 ? piso : piso + 1);
+    }
+}
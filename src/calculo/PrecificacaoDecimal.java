@@ -0,0 +1,217 @@
+package calculo;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import modelo.TipoImovel;
+
+/**
+ * Cálculo exato, em {@link BigDecimal}, dos valores de um financiamento em centavos, para auditoria.
+ * <p>As regras são as mesmas das classes de {@code modelo}, com estas convenções:
+ * <ul>
+ *     <li>o valor do imóvel e a taxa de juros são lidos pela sua representação decimal
+ *     ({@link BigDecimal#valueOf(double)}), e o valor é arredondado para centavos na entrada;</li>
+ *     <li>a parcela base, a parcela do terreno, a parcela Price, o acréscimo e o desconto são o
+ *     valor matemático exato da fórmula arredondado para centavos com {@link RoundingMode#HALF_EVEN},
+ *     sem arredondamentos intermediários (a tabela Price é calculada com frações de {@link BigInteger});</li>
+ *     <li>a parcela da casa é a parcela base mais o acréscimo menos o desconto, já em centavos,
+ *     e o total é a parcela em centavos vezes o número de meses.</li>
+ * </ul>
+ * <p>A decisão de rejeitar o acréscimo ou limitar o desconto da casa não depende do valor do imóvel:
+ * o acréscimo ({@code 2% do valor / prazo}) supera os juros mensais ({@code valor * taxa / 1200})
+ * quando {@code taxa * prazo < 24}, e o desconto ({@code 1%}) quando {@code taxa * prazo < 12}.
+ * <p>{@link PrecificacaoCentavos} produz exatamente os mesmos centavos sem criar objetos.
+ *
+ * @version 1.0
+ */
+public final class PrecificacaoDecimal {
+
+    private static final BigDecimal DOZE = BigDecimal.valueOf(12);
+    private static final BigDecimal CENTO_E_DOIS = BigDecimal.valueOf(102);
+
+    private PrecificacaoDecimal() {
+    }
+
+    /**
+     * Converte um valor em reais para centavos, a partir da sua representação decimal
+     * ({@link BigDecimal#valueOf(double)}), com arredondamento {@link RoundingMode#HALF_EVEN}.
+     *
+     * @param reais O valor em reais.
+     * @return O valor em centavos.
+     * @throws ArithmeticException Se o valor não couber em um {@code long}.
+     */
+    public static long centavos(double reais) {
+        return BigDecimal.valueOf(reais).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte um valor em centavos para reais, com duas casas decimais.
+     *
+     * @param centavos O valor em centavos.
+     * @return O valor em reais.
+     */
+    public static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Calcula a parcela mensal de um financiamento do tipo informado.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela mensal em centavos.
+     */
+    public static long parcela(TipoImovel tipo, long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        switch (tipo) {
+            case APARTAMENTO:
+                return parcelaPrice(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+            case CASA:
+                return parcelaBase(valorCentavos, prazoFinanciamento, taxaJurosAnual)
+                        + acrescimo(valorCentavos, prazoFinanciamento, taxaJurosAnual)
+                        - desconto(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+            default:
+                return parcelaTerreno(valorCentavos, prazoFinanciamento, taxaJurosAnual);
+        }
+    }
+
+    /**
+     * Calcula o valor total pago ao longo do prazo.
+     *
+     * @param parcelaCentavos A parcela mensal em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @return O valor total em centavos.
+     * @throws ArithmeticException Se o total não couber em um {@code long}.
+     */
+    public static long total(long parcelaCentavos, int prazoFinanciamento) {
+        return Math.multiplyExact(parcelaCentavos, (long) prazoFinanciamento * 12);
+    }
+
+    /**
+     * Calcula a parcela base ({@link modelo.Financiamento#calcularParcelaBase(double, int, double)}),
+     * {@code valor * (12 + taxa) / (144 * prazo)}.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela base em centavos.
+     */
+    public static long parcelaBase(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        return dividir(BigDecimal.valueOf(valorCentavos).multiply(DOZE.add(taxa(taxaJurosAnual))),
+                BigDecimal.valueOf(144L * prazoFinanciamento));
+    }
+
+    /**
+     * Calcula a parcela do terreno ({@link modelo.Terreno#calcularParcelaTerreno(double, int, double)}),
+     * a parcela base com 2% de acréscimo.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela do terreno em centavos.
+     */
+    public static long parcelaTerreno(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        return dividir(BigDecimal.valueOf(valorCentavos).multiply(DOZE.add(taxa(taxaJurosAnual))).multiply(CENTO_E_DOIS),
+                BigDecimal.valueOf(14400L * prazoFinanciamento));
+    }
+
+    /**
+     * Calcula a parcela pela tabela Price ({@link modelo.Apartamento#calcularParcelaPrice(double, int, double)}).
+     * Com a taxa mensal {@code i = taxa / 12} e {@code n} meses, a parcela é
+     * {@code valor * i * (1 + i)^n / ((1 + i)^n - 1)}, calculada como fração exata;
+     * com taxa zero, é o valor dividido pelo número de meses.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return A parcela em centavos.
+     */
+    public static long parcelaPrice(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        int meses = prazoFinanciamento * 12;
+        BigDecimal taxa = taxa(taxaJurosAnual);
+        if (taxa.signum() == 0) {
+            return dividir(BigDecimal.valueOf(valorCentavos), BigDecimal.valueOf(meses));
+        }
+        // taxa = u / 10^escala, então 1 + i = (c + u) / c com c = 12 * 10^escala
+        if (taxa.scale() < 0) {
+            taxa = taxa.setScale(0);
+        }
+        BigInteger u = taxa.unscaledValue();
+        BigInteger c = BigInteger.valueOf(12).multiply(BigInteger.TEN.pow(taxa.scale()));
+        BigInteger potencia = c.add(u).pow(meses);
+        BigInteger numerador = BigInteger.valueOf(valorCentavos).multiply(u).multiply(potencia);
+        BigInteger denominador = c.multiply(potencia.subtract(c.pow(meses)));
+        return dividir(new BigDecimal(numerador), new BigDecimal(denominador));
+    }
+
+    /**
+     * Calcula o acréscimo mensal da casa, {@code 2% do valor / prazo}, que é zerado quando supera
+     * os juros mensais.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O acréscimo em centavos.
+     */
+    public static long acrescimo(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        if (compararTaxaVezesPrazo(taxaJurosAnual, prazoFinanciamento, 24) < 0) {
+            return 0;
+        }
+        return dividir(BigDecimal.valueOf(valorCentavos), BigDecimal.valueOf(50L * prazoFinanciamento));
+    }
+
+    /**
+     * Calcula o desconto mensal da casa, {@code 1% do valor / prazo}, que é limitado aos juros
+     * mensais ({@code valor * taxa / 1200}) quando os supera.
+     *
+     * @param valorCentavos O valor do imóvel em centavos.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O desconto em centavos.
+     */
+    public static long desconto(long valorCentavos, int prazoFinanciamento, double taxaJurosAnual) {
+        if (compararTaxaVezesPrazo(taxaJurosAnual, prazoFinanciamento, 12) < 0) {
+            return dividir(BigDecimal.valueOf(valorCentavos).multiply(taxa(taxaJurosAnual)), BigDecimal.valueOf(1200));
+        }
+        return dividir(BigDecimal.valueOf(valorCentavos), BigDecimal.valueOf(100L * prazoFinanciamento));
+    }
+
+    /**
+     * Calcula a parcela, o total, o acréscimo e o desconto de um financiamento.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel em reais.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return Os valores em centavos.
+     */
+    public static ValoresMonetarios calcular(TipoImovel tipo, double valorImovel, int prazoFinanciamento,
+                                             double taxaJurosAnual) {
+        long valor = centavos(valorImovel);
+        long parcela = parcela(tipo, valor, prazoFinanciamento, taxaJurosAnual);
+        if (tipo != TipoImovel.CASA) {
+            return new ValoresMonetarios(parcela, total(parcela, prazoFinanciamento), 0, 0);
+        }
+        return new ValoresMonetarios(parcela, total(parcela, prazoFinanciamento),
+                acrescimo(valor, prazoFinanciamento, taxaJurosAnual), desconto(valor, prazoFinanciamento, taxaJurosAnual));
+    }
+
+    /**
+     * Compara {@code taxa * prazo} com um limite, com a taxa na sua representação decimal.
+     *
+     * @return Negativo, zero ou positivo, conforme o produto seja menor, igual ou maior que o limite.
+     */
+    static int compararTaxaVezesPrazo(double taxaJurosAnual, int prazoFinanciamento, int limite) {
+        return taxa(taxaJurosAnual).multiply(BigDecimal.valueOf(prazoFinanciamento)).compareTo(BigDecimal.valueOf(limite));
+    }
+
+    private static BigDecimal taxa(double taxaJurosAnual) {
+        return BigDecimal.valueOf(taxaJurosAnual);
+    }
+
+    private static long dividir(BigDecimal numerador, BigDecimal denominador) {
+        return numerador.divide(denominador, 0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+}
@@ -0,0 +1,560 @@
+package calculo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+import util.Metricas;
+
+/**
+ * Calcula os totais de uma carteira de financiamentos em paralelo.
+ * <p>A carteira é dividida em blocos de tamanho fixo ({@link #TAMANHO_BLOCO}); cada bloco é
+ * somado sequencialmente em um {@link TotaisCarteira} próprio, por uma thread de um
+ * {@link ForkJoinPool} com o paralelismo configurado, e os totais dos blocos são combinados
+ * na ordem dos blocos. Como a divisão não depende do número de threads, o resultado é
+ * exatamente o mesmo para qualquer paralelismo, inclusive o sequencial ({@code paralelismo = 1}).
+ * <p>Além dos totais com os parâmetros de cada financiamento, permite recalcular a carteira
+ * inteira com uma nova taxa de juros, sem criar novos objetos {@link Financiamento}.
+ * As mesmas operações estão disponíveis para a {@link CarteiraColunar}, que é percorrida
+ * diretamente nas suas colunas.
+ * <p>Da mesma forma, {@link #agregar(CarteiraColunar)} calcula as estatísticas agrupadas por tipo,
+ * zona, prazo e faixa de taxa ({@link AgregacaoCarteira}), com um acumulador por bloco, e
+ * {@link #simularAmortizacao(CarteiraColunar, SistemaAmortizacao, PlanoAmortizacao)} percorre mês a mês
+ * a tabela de cada financiamento com amortizações extraordinárias ({@link EconomiaAmortizacao}), com
+ * uma única {@link TabelaAmortizacao} reposicionada em cada financiamento do bloco.
+ * <p>Para contratos indexados, {@link #corrigir(CarteiraCorrigida, Indexador, int, double)} aplica uma
+ * nova competência do índice aos contratos desse índice em uma {@link CarteiraCorrigida}, um mês por
+ * contrato, com um {@link CorrecaoMensal} por bloco.
+ * <p>{@link #calcularParcelas(CarteiraColunar)} calcula apenas as parcelas de todos os financiamentos,
+ * bloco a bloco, com {@link ParcelasEmLote}, que usa a API de vetores do JDK quando disponível.
+ * <p>{@link #calcularCet(CarteiraColunar, double[])} calcula o Custo Efetivo Total de cada contrato
+ * ({@link CustoEfetivoTotal}); dentro de um bloco, cada cálculo parte da taxa do último contrato com
+ * o mesmo tipo, prazo e taxa de juros.
+ * <p>{@link #simularMonteCarlo(SimulacaoMonteCarlo, int, int)} divide os caminhos de uma
+ * {@link SimulacaoMonteCarlo} em blocos de {@link #CAMINHOS_POR_BLOCO} caminhos, e os acumula no
+ * {@link ResultadoMonteCarlo} na ordem dos caminhos.
+ * <p>Com as {@link Metricas} habilitadas, o tempo de cada bloco é registrado em {@code carteira.bloco}.
+ *
+ * @version 1.0
+ */
+public class PrecificadorCarteira implements AutoCloseable {
+
+    /**
+     * Quantidade de financiamentos somados sequencialmente por tarefa.
+     */
+    public static final int TAMANHO_BLOCO = 4096;
+
+    /**
+     * Quantidade de caminhos de Monte Carlo simulados sequencialmente por tarefa.
+     */
+    public static final int CAMINHOS_POR_BLOCO = 8;
+
+    /**
+     * Posições da tabela de estimativas iniciais do CET de cada bloco (potência de dois).
+     */
+    private static final int ESTIMATIVAS_POR_BLOCO = 1024;
+
+    private final int paralelismo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Cria um precificador que usa todos os processadores disponíveis.
+     */
+    public PrecificadorCarteira() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria um precificador com o paralelismo informado.
+     *
+     * @param paralelismo A quantidade de threads; {@code 1} calcula na própria thread chamadora.
+     * @throws IllegalArgumentException Se o paralelismo for menor que 1.
+     */
+    public PrecificadorCarteira(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("Paralelismo deve ser maior que zero: " + paralelismo);
+        }
+        this.paralelismo = paralelismo;
+        this.pool = paralelismo > 1 ? new ForkJoinPool(paralelismo) : null;
+    }
+
+    /**
+     * Retorna a quantidade de threads usadas no cálculo.
+     *
+     * @return O paralelismo configurado.
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Calcula os totais da carteira com os parâmetros de cada financiamento.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @return Os totais da carteira.
+     */
+    public TotaisCarteira precificar(List<? extends Financiamento> carteira) {
+        Financiamento[] itens = carteira.toArray(new Financiamento[0]);
+        return calcular(itens.length, bloco -> somarBloco(itens, bloco, Double.NaN));
+    }
+
+    /**
+     * Calcula os totais de uma carteira colunar com os parâmetros de cada financiamento.
+     *
+     * @param carteira A carteira colunar.
+     * @return Os totais da carteira.
+     */
+    public TotaisCarteira precificar(CarteiraColunar carteira) {
+        return calcular(carteira.tamanho(), bloco -> somarBloco(carteira, bloco, Double.NaN));
+    }
+
+    /**
+     * Calcula os totais da carteira como se todos os financiamentos tivessem a taxa informada,
+     * mantendo o valor, o prazo e as regras de cada tipo de imóvel.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @param taxaJurosAnual A nova taxa de juros anual.
+     * @return Os totais da carteira recalculada.
+     */
+    public TotaisCarteira reprecificar(List<? extends Financiamento> carteira, double taxaJurosAnual) {
+        Financiamento[] itens = carteira.toArray(new Financiamento[0]);
+        return calcular(itens.length, bloco -> somarBloco(itens, bloco, taxaJurosAnual));
+    }
+
+    /**
+     * Calcula os totais de uma carteira colunar como se todos os financiamentos tivessem a taxa informada.
+     *
+     * @param carteira A carteira colunar.
+     * @param taxaJurosAnual A nova taxa de juros anual.
+     * @return Os totais da carteira recalculada.
+     */
+    public TotaisCarteira reprecificar(CarteiraColunar carteira, double taxaJurosAnual) {
+        return calcular(carteira.tamanho(), bloco -> somarBloco(carteira, bloco, taxaJurosAnual));
+    }
+
+    /**
+     * Calcula as estatísticas agrupadas da carteira com os parâmetros de cada financiamento.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @param larguraFaixa A largura das faixas de taxa de juros, em pontos percentuais.
+     * @return As estatísticas agrupadas.
+     */
+    public AgregacaoCarteira agregar(List<? extends Financiamento> carteira, double larguraFaixa) {
+        Financiamento[] itens = carteira.toArray(new Financiamento[0]);
+        return calcular(itens.length, bloco -> agregarBloco(itens, bloco, larguraFaixa),
+                new AgregacaoCarteira(larguraFaixa), AgregacaoCarteira::combinar);
+    }
+
+    /**
+     * Calcula as estatísticas agrupadas de uma carteira colunar, com faixas de taxa de
+     * {@link AgregacaoCarteira#LARGURA_FAIXA_PADRAO} ponto percentual.
+     *
+     * @param carteira A carteira colunar.
+     * @return As estatísticas agrupadas.
+     */
+    public AgregacaoCarteira agregar(CarteiraColunar carteira) {
+        return agregar(carteira, AgregacaoCarteira.LARGURA_FAIXA_PADRAO);
+    }
+
+    /**
+     * Calcula as estatísticas agrupadas de uma carteira colunar.
+     *
+     * @param carteira A carteira colunar.
+     * @param larguraFaixa A largura das faixas de taxa de juros, em pontos percentuais.
+     * @return As estatísticas agrupadas.
+     */
+    public AgregacaoCarteira agregar(CarteiraColunar carteira, double larguraFaixa) {
+        return calcular(carteira.tamanho(), bloco -> agregarBloco(carteira, bloco, larguraFaixa),
+                new AgregacaoCarteira(larguraFaixa), AgregacaoCarteira::combinar);
+    }
+
+    /**
+     * Simula um plano de amortizações extraordinárias em todos os financiamentos da carteira,
+     * financiando o valor de cada imóvel com a taxa e o prazo do financiamento.
+     *
+     * @param carteira Os financiamentos da carteira.
+     * @param sistema O sistema de amortização dos contratos.
+     * @param plano As amortizações extraordinárias aplicadas a cada financiamento.
+     * @return Os juros e prazos com e sem as amortizações.
+     */
+    public EconomiaAmortizacao simularAmortizacao(List<? extends Financiamento> carteira, SistemaAmortizacao sistema,
+                                                  PlanoAmortizacao plano) {
+        Financiamento[] itens = carteira.toArray(new Financiamento[0]);
+        return calcular(itens.length, bloco -> simularBloco(itens, bloco, sistema, plano),
+                new EconomiaAmortizacao(), EconomiaAmortizacao::combinar);
+    }
+
+    /**
+     * Simula um plano de amortizações extraordinárias em todos os financiamentos de uma carteira colunar.
+     *
+     * @param carteira A carteira colunar.
+     * @param sistema O sistema de amortização dos contratos.
+     * @param plano As amortizações extraordinárias aplicadas a cada financiamento.
+     * @return Os juros e prazos com e sem as amortizações.
+     */
+    public EconomiaAmortizacao simularAmortizacao(CarteiraColunar carteira, SistemaAmortizacao sistema,
+                                                  PlanoAmortizacao plano) {
+        return calcular(carteira.tamanho(), bloco -> simularBloco(carteira, bloco, sistema, plano),
+                new EconomiaAmortizacao(), EconomiaAmortizacao::combinar);
+    }
+
+    /**
+     * Aplica uma competência de um índice, em paralelo, a todos os contratos desse índice ainda em aberto.
+     *
+     * @param carteira O estado dos contratos indexados.
+     * @param indexador O índice.
+     * @param competencia A competência, que deve ser a seguinte à última aplicada ao índice.
+     * @param variacao A variação do índice na competência, como fração.
+     * @return Os totais da competência.
+     * @throws IllegalArgumentException Se a competência estiver fora de ordem.
+     */
+    public CorrecaoMensal corrigir(CarteiraCorrigida carteira, Indexador indexador, int competencia,
+                                   double variacao) {
+        carteira.verificarCompetencia(indexador, competencia);
+        int quantidade = carteira.getQuantidade(indexador);
+        CorrecaoMensal resumo = calcular(quantidade, bloco -> {
+            CorrecaoMensal parcial = new CorrecaoMensal(indexador, competencia, variacao);
+            carteira.corrigir(indexador.ordinal(), bloco * TAMANHO_BLOCO,
+                    Math.min(quantidade, (bloco + 1) * TAMANHO_BLOCO), competencia, variacao, parcial);
+            return parcial;
+        }, new CorrecaoMensal(indexador, competencia, variacao), CorrecaoMensal::combinar);
+        carteira.concluirCompetencia(indexador);
+        return resumo;
+    }
+
+    /**
+     * Aplica, em ordem, todas as competências da série ainda não aplicadas aos contratos do seu índice.
+     *
+     * @param carteira O estado dos contratos indexados.
+     * @param serie A série do índice.
+     * @return Os totais de cada competência aplicada, em ordem.
+     */
+    public List<CorrecaoMensal> corrigir(CarteiraCorrigida carteira, SerieIndice serie) {
+        List<CorrecaoMensal> resumos = new ArrayList<>();
+        Indexador indexador = serie.getIndexador();
+        for (int c = carteira.getProximaCompetencia(indexador); c < serie.tamanho(); c++) {
+            resumos.add(corrigir(carteira, indexador, c, serie.getVariacao(c)));
+        }
+        return resumos;
+    }
+
+    /**
+     * Calcula, em paralelo, a parcela mensal de cada financiamento da carteira com {@link ParcelasEmLote#obter()}.
+     * Com a implementação vetorial, as parcelas Price podem diferir das de
+     * {@link CarteiraColunar#calcularParcelas()} até {@link ParcelasEmLote#TOLERANCIA_RELATIVA}.
+     *
+     * @param carteira A carteira colunar.
+     * @return Um array com a parcela de cada posição.
+     */
+    public double[] calcularParcelas(CarteiraColunar carteira) {
+        return calcularParcelas(carteira, ParcelasEmLote.obter());
+    }
+
+    /**
+     * Calcula, em paralelo, a parcela mensal de cada financiamento da carteira com a implementação informada.
+     *
+     * @param carteira A carteira colunar.
+     * @param parcelasEmLote A implementação do cálculo.
+     * @return Um array com a parcela de cada posição.
+     */
+    public double[] calcularParcelas(CarteiraColunar carteira, ParcelasEmLote parcelasEmLote) {
+        int quantidade = carteira.tamanho();
+        double[] parcelas = new double[quantidade];
+        byte[] tipos = carteira.colunaTipos();
+        double[] valores = carteira.colunaValoresImovel();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        // Cada bloco escreve na sua faixa do array; não há acumuladores a combinar
+        return calcular(quantidade, bloco -> {
+            parcelasEmLote.calcular(tipos, valores, prazos, taxas, parcelas, bloco * TAMANHO_BLOCO,
+                    Math.min(quantidade, (bloco + 1) * TAMANHO_BLOCO));
+            return parcelas;
+        }, parcelas, (resultado, parcial) -> { });
+    }
+
+    /**
+     * Calcula, em paralelo, o CET anual de cada financiamento da carteira.
+     *
+     * @param carteira A carteira colunar.
+     * @return Um array com o CET de cada posição, em % ao ano.
+     */
+    public double[] calcularCet(CarteiraColunar carteira) {
+        double[] cet = new double[carteira.tamanho()];
+        calcularCet(carteira, cet);
+        return cet;
+    }
+
+    /**
+     * Calcula, em paralelo, o CET anual de cada financiamento da carteira e o resumo por tipo de imóvel.
+     *
+     * @param carteira A carteira colunar.
+     * @param destino O array que recebe o CET de cada posição, em % ao ano, com pelo menos
+     *                {@code carteira.tamanho()} posições.
+     * @return O resumo por tipo de imóvel.
+     */
+    public ResumoCet calcularCet(CarteiraColunar carteira, double[] destino) {
+        if (destino.length < carteira.tamanho()) {
+            throw new IllegalArgumentException("Destino menor que a carteira: " + destino.length);
+        }
+        return calcular(carteira.tamanho(), bloco -> cetBloco(carteira, bloco, destino),
+                new ResumoCet(), ResumoCet::combinar);
+    }
+
+    /**
+     * Simula, em paralelo, os caminhos de {@code primeiroCaminho} a {@code primeiroCaminho + caminhos}
+     * (exclusive). Como cada caminho tem a sua própria semente, o resultado é o mesmo para qualquer
+     * paralelismo, e faixas de caminhos simuladas separadamente podem ser combinadas com
+     * {@link ResultadoMonteCarlo#combinar(ResultadoMonteCarlo)}.
+     *
+     * @param simulacao A simulação.
+     * @param primeiroCaminho O número do primeiro caminho.
+     * @param caminhos A quantidade de caminhos.
+     * @return A distribuição dos caminhos simulados.
+     * @throws IllegalArgumentException Se o primeiro caminho ou a quantidade forem negativos.
+     */
+    public ResultadoMonteCarlo simularMonteCarlo(SimulacaoMonteCarlo simulacao, int primeiroCaminho, int caminhos) {
+        if (primeiroCaminho < 0 || caminhos < 0 || primeiroCaminho > Integer.MAX_VALUE - caminhos) {
+            throw new IllegalArgumentException("Intervalo de caminhos inválido: " + primeiroCaminho + " + " + caminhos);
+        }
+        int fim = primeiroCaminho + caminhos;
+        int blocos = (int) (((long) caminhos + CAMINHOS_POR_BLOCO - 1) / CAMINHOS_POR_BLOCO);
+        // Cada bloco devolve apenas os valores dos seus caminhos; os histogramas são preenchidos na combinação
+        return calcularBlocos(blocos, bloco -> {
+            int inicio = primeiroCaminho + bloco * CAMINHOS_POR_BLOCO;
+            int fimBloco = Math.min(fim, inicio + CAMINHOS_POR_BLOCO);
+            double[] saida = new double[(fimBloco - inicio) * SimulacaoMonteCarlo.VALORES_POR_CAMINHO];
+            simulacao.simular(inicio, fimBloco, saida);
+            return saida;
+        }, new ResultadoMonteCarlo(), (resultado, saida) -> simulacao.registrar(saida, resultado));
+    }
+
+    /**
+     * Encerra as threads do precificador.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private TotaisCarteira calcular(int quantidade, SomaBloco<TotaisCarteira> bloco) {
+        return calcular(quantidade, bloco, new TotaisCarteira(), TotaisCarteira::combinar);
+    }
+
+    /**
+     * Calcula os acumuladores de todos os blocos e os combina em {@code resultado}, na ordem dos blocos.
+     */
+    private <T> T calcular(int quantidade, SomaBloco<T> bloco, T resultado, BiConsumer<T, T> combinar) {
+        SomaBloco<T> soma = Metricas.isHabilitado() ? medir(quantidade, bloco) : bloco;
+        return calcularBlocos((quantidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO, soma, resultado, combinar);
+    }
+
+    /**
+     * Calcula os parciais dos blocos de {@code 0} a {@code blocos} (exclusive) e os combina em
+     * {@code resultado}, na ordem dos blocos.
+     */
+    private <R, P> R calcularBlocos(int blocos, SomaBloco<P> soma, R resultado, BiConsumer<R, P> combinar) {
+        Object[] parciais = new Object[blocos];
+        if (pool == null || blocos <= 1) {
+            for (int b = 0; b < blocos; b++) {
+                parciais[b] = soma.somar(b);
+            }
+        } else {
+            pool.invoke(new TarefaBlocos(soma, parciais, 0, blocos));
+        }
+
+        for (Object parcial : parciais) {
+            @SuppressWarnings("unchecked")
+            P acumulador = (P) parcial;
+            combinar.accept(resultado, acumulador);
+        }
+        return resultado;
+    }
+
+    private static <T> SomaBloco<T> medir(int quantidade, SomaBloco<T> soma) {
+        return bloco -> {
+            long inicio = Metricas.iniciar();
+            T totais = soma.somar(bloco);
+            Metricas.registrarBlocoCarteira(Math.min(quantidade - bloco * TAMANHO_BLOCO, TAMANHO_BLOCO), inicio);
+            return totais;
+        };
+    }
+
+    private static TotaisCarteira somarBloco(Financiamento[] itens, int bloco, double novaTaxa) {
+        TotaisCarteira totais = new TotaisCarteira();
+        int fim = Math.min(itens.length, (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            Financiamento financiamento = itens[i];
+            if (Double.isNaN(novaTaxa)) {
+                totais.adicionar(financiamento.getTipoImovel(), financiamento.getValorImovel(),
+                        financiamento.calcularValorPagamentoMensal(), financiamento.calcularTotalPagamento());
+            } else {
+                double parcela = financiamento.getTipoImovel().calcularParcela(
+                        financiamento.getValorImovel(), financiamento.getPrazoFinanciamento(), novaTaxa);
+                totais.adicionar(financiamento.getTipoImovel(), financiamento.getValorImovel(), parcela,
+                        financiamento.getTipoImovel().calcularTotal(parcela, financiamento.getPrazoFinanciamento()));
+            }
+        }
+        return totais;
+    }
+
+    private static TotaisCarteira somarBloco(CarteiraColunar carteira, int bloco, double novaTaxa) {
+        TotaisCarteira totais = new TotaisCarteira();
+        int fim = Math.min(carteira.tamanho(), (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            TipoImovel tipo = carteira.getTipo(i);
+            int prazo = carteira.getPrazoFinanciamento(i);
+            double taxa = Double.isNaN(novaTaxa) ? carteira.getTaxaJurosAnual(i) : novaTaxa;
+            double parcela = tipo.calcularParcela(carteira.getValorImovel(i), prazo, taxa);
+            totais.adicionar(tipo, carteira.getValorImovel(i), parcela, tipo.calcularTotal(parcela, prazo));
+        }
+        return totais;
+    }
+
+    private static AgregacaoCarteira agregarBloco(Financiamento[] itens, int bloco, double larguraFaixa) {
+        AgregacaoCarteira agregacao = new AgregacaoCarteira(larguraFaixa);
+        int fim = Math.min(itens.length, (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            agregacao.adicionar(itens[i]);
+        }
+        return agregacao;
+    }
+
+    private static AgregacaoCarteira agregarBloco(CarteiraColunar carteira, int bloco, double larguraFaixa) {
+        AgregacaoCarteira agregacao = new AgregacaoCarteira(larguraFaixa);
+        List<String> dicionario = carteira.getDicionarioZonas();
+        int[] codigosZonas = new int[dicionario.size()];
+        for (int z = 0; z < codigosZonas.length; z++) {
+            codigosZonas[z] = agregacao.codigoZona(dicionario.get(z));
+        }
+        byte[] tipos = carteira.colunaTipos();
+        byte[] zonas = carteira.colunaZonas();
+        double[] valores = carteira.colunaValoresImovel();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        TipoImovel[] todosTipos = TipoImovel.values();
+        int fim = Math.min(carteira.tamanho(), (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            TipoImovel tipo = todosTipos[tipos[i]];
+            int prazo = prazos[i];
+            double parcela = tipo.calcularParcela(valores[i], prazo, taxas[i]);
+            int codigoZona = tipo == TipoImovel.TERRENO ? codigosZonas[zonas[i] & 0xFF] : -1;
+            agregacao.adicionar(tipo, codigoZona, prazo, taxas[i], valores[i], parcela,
+                    tipo.calcularTotal(parcela, prazo));
+        }
+        return agregacao;
+    }
+
+    private static EconomiaAmortizacao simularBloco(Financiamento[] itens, int bloco, SistemaAmortizacao sistema,
+                                                    PlanoAmortizacao plano) {
+        EconomiaAmortizacao economia = new EconomiaAmortizacao();
+        TabelaAmortizacao tabela = new TabelaAmortizacao(0, 0, 1, sistema, plano);
+        int fim = Math.min(itens.length, (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            Financiamento financiamento = itens[i];
+            tabela.redefinir(financiamento.getValorImovel(),
+                    TabelaAmortizacao.taxaMensal(financiamento.getTaxaJurosAnual()),
+                    financiamento.getPrazoFinanciamento() * 12);
+            economia.adicionar(tabela);
+        }
+        return economia;
+    }
+
+    private static EconomiaAmortizacao simularBloco(CarteiraColunar carteira, int bloco, SistemaAmortizacao sistema,
+                                                    PlanoAmortizacao plano) {
+        EconomiaAmortizacao economia = new EconomiaAmortizacao();
+        TabelaAmortizacao tabela = new TabelaAmortizacao(0, 0, 1, sistema, plano);
+        double[] valores = carteira.colunaValoresImovel();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        int fim = Math.min(carteira.tamanho(), (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            tabela.redefinir(valores[i], TabelaAmortizacao.taxaMensal(taxas[i]), prazos[i] * 12);
+            economia.adicionar(tabela);
+        }
+        return economia;
+    }
+
+    private static ResumoCet cetBloco(CarteiraColunar carteira, int bloco, double[] destino) {
+        ResumoCet resumo = new ResumoCet();
+        CustoEfetivoTotal cet = new CustoEfetivoTotal();
+        byte[] tipos = carteira.colunaTipos();
+        double[] valores = carteira.colunaValoresImovel();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        TipoImovel[] todosTipos = TipoImovel.values();
+        // Última taxa mensal calculada para cada tipo, prazo e taxa do contrato (a taxa mensal não depende
+        // do valor do imóvel), em uma tabela de endereçamento direto; sem estimativa, o cálculo parte da
+        // aproximação de juros simples
+        int[] chavesEstimativas = new int[ESTIMATIVAS_POR_BLOCO];
+        double[] taxasEstimativas = new double[ESTIMATIVAS_POR_BLOCO];
+        double[] estimativas = new double[ESTIMATIVAS_POR_BLOCO];
+        Arrays.fill(chavesEstimativas, -1);
+        int fim = Math.min(carteira.tamanho(), (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            TipoImovel tipo = todosTipos[tipos[i]];
+            int prazo = prazos[i];
+            double taxa = taxas[i];
+            int chave = prazo * todosTipos.length + tipos[i];
+            int espalhado = (Double.hashCode(taxa) * 31 + chave) * 0x9E3779B9;
+            int posicao = (espalhado ^ (espalhado >>> 16)) & (ESTIMATIVAS_POR_BLOCO - 1);
+            boolean conhecida = chavesEstimativas[posicao] == chave && taxasEstimativas[posicao] == taxa;
+            double parcela = tipo.calcularParcela(valores[i], prazo, taxa);
+            double taxaMensal = cet.taxaMensal(valores[i], parcela, prazo * 12,
+                    conhecida ? estimativas[posicao] : Double.NaN);
+            chavesEstimativas[posicao] = chave;
+            taxasEstimativas[posicao] = taxa;
+            estimativas[posicao] = taxaMensal;
+            destino[i] = CustoEfetivoTotal.anualizar(taxaMensal);
+            resumo.adicionar(tipo, taxa, destino[i]);
+        }
+        resumo.adicionarPassos(cet.getPassos(), cet.getBisseccoes());
+        return resumo;
+    }
+
+    /**
+     * Calcula o acumulador de um bloco da carteira.
+     */
+    @FunctionalInterface
+    private interface SomaBloco<T> {
+        T somar(int bloco);
+    }
+
+    /**
+     * Tarefa que divide um intervalo de blocos ao meio até restar um único bloco.
+     */
+    private static final class TarefaBlocos extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SomaBloco<?> soma;
+        private final transient Object[] parciais;
+        private final int inicio;
+        private final int fim;
+
+        TarefaBlocos(SomaBloco<?> soma, Object[] parciais, int inicio, int fim) {
+            this.soma = soma;
+            this.parciais = parciais;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio == 1) {
+                parciais[inicio] = soma.somar(inicio);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new TarefaBlocos(soma, parciais, inicio, meio),
+                    new TarefaBlocos(soma, parciais, meio, fim));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package calculo;
+
+/**
+ * Acumulador dos caminhos de uma {@link SimulacaoMonteCarlo}: a distribuição do total recebido
+ * pela carteira e do seu valor presente, descontado pela taxa de mercado de cada caminho, e as
+ * quantidades de contratos inadimplentes e quitados antecipadamente.
+ * <p>Resultados de faixas de caminhos simuladas separadamente (em janelas de processamento
+ * diferentes, por exemplo) são combinados com {@link #combinar(ResultadoMonteCarlo)}; as
+ * distribuições combinadas são as mesmas de uma simulação única com todos os caminhos. A classe
+ * não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class ResultadoMonteCarlo {
+
+    private static final double[] PERCENTIS = {0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99};
+
+    private final HistogramaValores totais = new HistogramaValores();
+    private final HistogramaValores valoresPresentes = new HistogramaValores();
+    private long contratos;
+    private long inadimplentes;
+    private long antecipados;
+
+    /**
+     * Acumula um caminho.
+     *
+     * @param total O total recebido da carteira no caminho.
+     * @param valorPresente O valor presente dos recebimentos no caminho.
+     * @param contratos A quantidade de contratos da carteira.
+     * @param inadimplentes A quantidade de contratos inadimplentes no caminho.
+     * @param antecipados A quantidade de contratos quitados antes do prazo no caminho.
+     */
+    public void adicionar(double total, double valorPresente, long contratos, long inadimplentes, long antecipados) {
+        totais.registrar(total);
+        valoresPresentes.registrar(valorPresente);
+        this.contratos += contratos;
+        this.inadimplentes += inadimplentes;
+        this.antecipados += antecipados;
+    }
+
+    /**
+     * Soma a este acumulador os caminhos de outro acumulador.
+     *
+     * @param outro O acumulador a ser combinado.
+     */
+    public void combinar(ResultadoMonteCarlo outro) {
+        totais.combinar(outro.totais);
+        valoresPresentes.combinar(outro.valoresPresentes);
+        contratos += outro.contratos;
+        inadimplentes += outro.inadimplentes;
+        antecipados += outro.antecipados;
+    }
+
+    /**
+     * Retorna a quantidade de caminhos acumulados.
+     *
+     * @return A quantidade de caminhos.
+     */
+    public long getCaminhos() {
+        return totais.getQuantidade();
+    }
+
+    /**
+     * Retorna a distribuição do total recebido por caminho.
+     *
+     * @return O histograma dos totais.
+     */
+    public HistogramaValores getTotais() {
+        return totais;
+    }
+
+    /**
+     * Retorna a distribuição do valor presente dos recebimentos por caminho.
+     *
+     * @return O histograma dos valores presentes.
+     */
+    public HistogramaValores getValoresPresentes() {
+        return valoresPresentes;
+    }
+
+    /**
+     * Retorna a fração dos contratos que ficaram inadimplentes, em todos os caminhos.
+     *
+     * @return A fração, ou {@code 0} se nada foi acumulado.
+     */
+    public double getFracaoInadimplentes() {
+        return contratos == 0 ? 0 : (double) inadimplentes / contratos;
+    }
+
+    /**
+     * Retorna a fração dos contratos quitados antes do prazo, em todos os caminhos.
+     *
+     * @return A fração, ou {@code 0} se nada foi acumulado.
+     */
+    public double getFracaoAntecipados() {
+        return contratos == 0 ? 0 : (double) antecipados / contratos;
+    }
+
+    /**
+     * Anexa o relatório da simulação ao destino.
+     *
+     * @param destino O destino do texto.
+     * @return O próprio destino.
+     */
+    public StringBuilder anexarRelatorio(StringBuilder destino) {
+        destino.append(String.format("Caminhos: %d | inadimplentes: %.2f%% | quitados antes do prazo: %.2f%%\n",
+                getCaminhos(), getFracaoInadimplentes() * 100, getFracaoAntecipados() * 100));
+        anexarDistribuicao(destino, "Total recebido", totais);
+        anexarDistribuicao(destino, "Valor presente", valoresPresentes);
+        return destino;
+    }
+
+    private static void anexarDistribuicao(StringBuilder destino, String nome, HistogramaValores histograma) {
+        destino.append(String.format("%s: média R$ %.2f (mínimo R$ %.2f, máximo R$ %.2f)\n", nome,
+                histograma.getMedia(), histograma.getMinimo(), histograma.getMaximo()));
+        for (double fracao : PERCENTIS) {
+            destino.append(String.format("  P%-2d R$ %.2f\n", Math.round(fracao * 100), histograma.percentil(fracao)));
+        }
+    }
+
+    /**
+     * Retorna o relatório da simulação em texto.
+     *
+     * @return O relatório, como em {@link #anexarRelatorio(StringBuilder)}.
+     */
+    public String relatorio() {
+        return anexarRelatorio(new StringBuilder(1024)).toString();
+    }
+}
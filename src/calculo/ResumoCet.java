@@ -0,0 +1,190 @@
+package calculo;
+
+import java.util.Arrays;
+
+import modelo.TipoImovel;
+
+/**
+ * Acumulador do Custo Efetivo Total ({@link CustoEfetivoTotal}) de uma carteira: por tipo de imóvel,
+ * a quantidade de contratos, a taxa de juros média informada nos contratos e o menor, o maior e o
+ * CET médio; e, para a carteira, os passos e bissecções usados nos cálculos.
+ * <p>Cada thread usa o seu próprio acumulador, e os acumuladores parciais são combinados com
+ * {@link #combinar(ResumoCet)}. A classe não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class ResumoCet {
+
+    private final long[] quantidades = new long[TipoImovel.values().length];
+    private final double[] somasTaxas = new double[TipoImovel.values().length];
+    private final double[] somasCet = new double[TipoImovel.values().length];
+    private final double[] menoresCet = new double[TipoImovel.values().length];
+    private final double[] maioresCet = new double[TipoImovel.values().length];
+    private long passos;
+    private long bisseccoes;
+
+    /**
+     * Cria um acumulador vazio.
+     */
+    public ResumoCet() {
+        Arrays.fill(menoresCet, Double.POSITIVE_INFINITY);
+        Arrays.fill(maioresCet, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Acumula um contrato.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param taxaJurosAnual A taxa de juros anual informada no contrato.
+     * @param cet O CET anual do contrato, em %.
+     */
+    public void adicionar(TipoImovel tipo, double taxaJurosAnual, double cet) {
+        int t = tipo.ordinal();
+        quantidades[t]++;
+        somasTaxas[t] += taxaJurosAnual;
+        somasCet[t] += cet;
+        menoresCet[t] = Math.min(menoresCet[t], cet);
+        maioresCet[t] = Math.max(maioresCet[t], cet);
+    }
+
+    /**
+     * Acumula os passos e as bissecções de um cálculo.
+     *
+     * @param passos As avaliações do valor presente.
+     * @param bisseccoes Os passos de Newton substituídos pela bissecção.
+     */
+    public void adicionarPassos(long passos, long bisseccoes) {
+        this.passos += passos;
+        this.bisseccoes += bisseccoes;
+    }
+
+    /**
+     * Soma a este acumulador os valores de outro acumulador.
+     *
+     * @param outro O acumulador a ser combinado.
+     */
+    public void combinar(ResumoCet outro) {
+        for (int t = 0; t < quantidades.length; t++) {
+            quantidades[t] += outro.quantidades[t];
+            somasTaxas[t] += outro.somasTaxas[t];
+            somasCet[t] += outro.somasCet[t];
+            menoresCet[t] = Math.min(menoresCet[t], outro.menoresCet[t]);
+            maioresCet[t] = Math.max(maioresCet[t], outro.maioresCet[t]);
+        }
+        passos += outro.passos;
+        bisseccoes += outro.bisseccoes;
+    }
+
+    /**
+     * Retorna a quantidade de contratos acumulados.
+     *
+     * @return A quantidade de contratos.
+     */
+    public long getQuantidade() {
+        long total = 0;
+        for (long quantidade : quantidades) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    /**
+     * Retorna a quantidade de contratos de um tipo de imóvel.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return A quantidade de contratos.
+     */
+    public long getQuantidade(TipoImovel tipo) {
+        return quantidades[tipo.ordinal()];
+    }
+
+    /**
+     * Retorna a média da taxa de juros informada nos contratos de um tipo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return A taxa média, em % ao ano, ou {@code 0} se não houver contratos do tipo.
+     */
+    public double getTaxaMedia(TipoImovel tipo) {
+        long quantidade = quantidades[tipo.ordinal()];
+        return quantidade == 0 ? 0 : somasTaxas[tipo.ordinal()] / quantidade;
+    }
+
+    /**
+     * Retorna o CET médio dos contratos de um tipo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return O CET médio, em % ao ano, ou {@code 0} se não houver contratos do tipo.
+     */
+    public double getCetMedio(TipoImovel tipo) {
+        long quantidade = quantidades[tipo.ordinal()];
+        return quantidade == 0 ? 0 : somasCet[tipo.ordinal()] / quantidade;
+    }
+
+    /**
+     * Retorna o menor CET dos contratos de um tipo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return O menor CET, em % ao ano, ou {@code 0} se não houver contratos do tipo.
+     */
+    public double getMenorCet(TipoImovel tipo) {
+        return quantidades[tipo.ordinal()] == 0 ? 0 : menoresCet[tipo.ordinal()];
+    }
+
+    /**
+     * Retorna o maior CET dos contratos de um tipo.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return O maior CET, em % ao ano, ou {@code 0} se não houver contratos do tipo.
+     */
+    public double getMaiorCet(TipoImovel tipo) {
+        return quantidades[tipo.ordinal()] == 0 ? 0 : maioresCet[tipo.ordinal()];
+    }
+
+    /**
+     * Retorna a média de avaliações do valor presente por contrato.
+     *
+     * @return A média de passos, ou {@code 0} se nada foi acumulado.
+     */
+    public double getPassosPorContrato() {
+        long quantidade = getQuantidade();
+        return quantidade == 0 ? 0 : (double) passos / quantidade;
+    }
+
+    /**
+     * Retorna a quantidade de passos de Newton substituídos pela bissecção.
+     *
+     * @return A quantidade de bissecções.
+     */
+    public long getBisseccoes() {
+        return bisseccoes;
+    }
+
+    /**
+     * Anexa o relatório ao destino: uma linha por tipo de imóvel com contratos e os passos do cálculo.
+     *
+     * @param destino O destino do texto.
+     * @return O próprio destino.
+     */
+    public StringBuilder anexarRelatorio(StringBuilder destino) {
+        for (TipoImovel tipo : TipoImovel.values()) {
+            if (quantidades[tipo.ordinal()] == 0) {
+                continue;
+            }
+            destino.append(String.format("%s: %d contratos | taxa média %.2f%% a.a. | CET médio %.2f%% a.a."
+                            + " (mínimo %.2f%%, máximo %.2f%%)\n", tipo.getDescricao(), getQuantidade(tipo),
+                    getTaxaMedia(tipo), getCetMedio(tipo), getMenorCet(tipo), getMaiorCet(tipo)));
+        }
+        destino.append(String.format("Cálculo: %.2f passos por contrato, %d bissecções\n",
+                getPassosPorContrato(), bisseccoes));
+        return destino;
+    }
+
+    /**
+     * Retorna o relatório em texto.
+     *
+     * @return O relatório, como em {@link #anexarRelatorio(StringBuilder)}.
+     */
+    public String relatorio() {
+        return anexarRelatorio(new StringBuilder(512)).toString();
+    }
+}
@@ -0,0 +1,146 @@
+package calculo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Série mensal de variações de um {@link Indexador}, guardada como frações em um {@code double[]}
+ * (0,0045 para 0,45% no mês). A competência 0 é o primeiro valor da série; cada novo mês é
+ * acrescentado ao final com {@link #adicionar(double)}.
+ * <p>A classe não é sincronizada; não acrescente valores enquanto a série é lida por outras threads.
+ *
+ * @version 1.0
+ */
+public final class SerieIndice {
+
+    private final Indexador indexador;
+    private double[] variacoes;
+    private int tamanho;
+
+    /**
+     * Cria uma série vazia.
+     *
+     * @param indexador O índice da série.
+     */
+    public SerieIndice(Indexador indexador) {
+        this(indexador, new double[0]);
+    }
+
+    /**
+     * Cria uma série com as variações informadas.
+     *
+     * @param indexador O índice da série.
+     * @param variacoes As variações mensais, como frações, a partir da competência 0.
+     */
+    public SerieIndice(Indexador indexador, double[] variacoes) {
+        this.indexador = indexador;
+        this.variacoes = Arrays.copyOf(variacoes, Math.max(variacoes.length, 16));
+        this.tamanho = variacoes.length;
+    }
+
+    /**
+     * Carrega uma série de um arquivo texto com uma variação percentual por linha, na ordem das
+     * competências. Se a linha tiver mais de um campo separado por vírgula ou ponto e vírgula (como
+     * {@code 2024-01;0,42}), é usado o último; vírgula decimal é aceita quando o separador é ponto e
+     * vírgula. Linhas vazias, iniciadas por {@code #} ou sem número (cabeçalho) são ignoradas.
+     *
+     * @param arquivo O arquivo da série.
+     * @param indexador O índice da série.
+     * @return A série, com as variações convertidas de percentual para fração.
+     * @throws IOException Se ocorrer erro na leitura.
+     * @throws IllegalArgumentException Se alguma linha tiver um valor que não seja número.
+     */
+    public static SerieIndice carregar(Path arquivo, Indexador indexador) throws IOException {
+        SerieIndice serie = new SerieIndice(indexador);
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                boolean pontoEVirgula = linha.indexOf(';') >= 0;
+                int separador = pontoEVirgula ? linha.lastIndexOf(';') : linha.lastIndexOf(',');
+                String valor = linha.substring(separador + 1).trim();
+                if (pontoEVirgula) {
+                    valor = valor.replace(',', '.');
+                }
+                if (valor.isEmpty() || !(Character.isDigit(valor.charAt(valor.length() - 1)))) {
+                    if (serie.tamanho == 0) {
+                        continue; // Cabeçalho
+                    }
+                    throw new IllegalArgumentException("Linha " + numero + " da série sem valor: " + linha);
+                }
+                try {
+                    serie.adicionar(Double.parseDouble(valor) / 100);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Linha " + numero + " da série com valor inválido: " + linha);
+                }
+            }
+        }
+        return serie;
+    }
+
+    /**
+     * Acrescenta a variação de uma nova competência ao final da série.
+     *
+     * @param variacao A variação do mês, como fração.
+     * @return A competência do valor acrescentado.
+     */
+    public int adicionar(double variacao) {
+        if (tamanho == variacoes.length) {
+            variacoes = Arrays.copyOf(variacoes, variacoes.length * 2);
+        }
+        variacoes[tamanho] = variacao;
+        return tamanho++;
+    }
+
+    /**
+     * Retorna o índice da série.
+     *
+     * @return O indexador.
+     */
+    public Indexador getIndexador() {
+        return indexador;
+    }
+
+    /**
+     * Retorna a quantidade de competências da série.
+     *
+     * @return A quantidade de meses com variação conhecida.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna a variação de uma competência. Competências ainda não divulgadas não têm correção.
+     *
+     * @param competencia A competência, a partir de 0.
+     * @return A variação como fração, ou {@code 0} se a competência estiver fora da série.
+     */
+    public double getVariacao(int competencia) {
+        return competencia >= 0 && competencia < tamanho ? variacoes[competencia] : 0;
+    }
+
+    /**
+     * Retorna o fator de correção acumulado entre duas competências.
+     *
+     * @param inicio A primeira competência, inclusive.
+     * @param fim A última competência, exclusive.
+     * @return O produto de {@code 1 + variação} das competências do intervalo.
+     */
+    public double fatorAcumulado(int inicio, int fim) {
+        double fator = 1;
+        for (int c = inicio; c < fim; c++) {
+            fator *= 1 + getVariacao(c);
+        }
+        return fator;
+    }
+}
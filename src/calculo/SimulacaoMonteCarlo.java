@@ -0,0 +1,265 @@
+package calculo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import modelo.CarteiraColunar;
+
+/**
+ * Simulação de Monte Carlo dos recebimentos de uma carteira sob caminhos aleatórios da taxa de
+ * juros de mercado, inadimplência e quitação antecipada ({@link CenarioRisco}).
+ * <p>Cada contrato paga a parcela do seu tipo de imóvel ({@link modelo.TipoImovel#calcularParcela})
+ * todos os meses até o fim do prazo, a inadimplência ou a quitação antecipada, o que vier primeiro.
+ * O saldo devedor após {@code k} meses é o valor financiado proporcional aos meses restantes; na
+ * quitação antecipada o contrato paga a parcela do mês e esse saldo, e na inadimplência a fração
+ * recuperada do saldo, no mês em que deixa de pagar.
+ * <p>Em vez de sortear os eventos mês a mês, cada caminho sorteia a taxa de mercado de todos os
+ * meses e calcula, para cada taxa de contrato presente na carteira (arredondada a 0,01 ponto), a
+ * probabilidade de o contrato não ter sido quitado até cada mês. Cada contrato sorteia então
+ * apenas dois números uniformes, e o mês da inadimplência e o da quitação são os primeiros meses
+ * em que a respectiva probabilidade de sobrevivência fica abaixo do número sorteado, encontrados
+ * por busca binária (sem logaritmos por contrato). Os recebimentos do contrato e o seu valor
+ * presente saem em forma fechada, pelas somas acumuladas dos fatores de desconto do caminho.
+ * <p>Cada caminho usa o seu próprio {@link SplittableRandom}, com semente derivada da semente da
+ * simulação e do número do caminho: o resultado de um caminho não depende de quais outros caminhos
+ * foram simulados, nem da thread ou da ordem. Os caminhos são simulados em paralelo por
+ * {@link PrecificadorCarteira#simularMonteCarlo(SimulacaoMonteCarlo, int, int)}. A classe é imutável.
+ *
+ * @version 1.0
+ */
+public final class SimulacaoMonteCarlo {
+
+    /**
+     * Quantidade de valores gravados por caminho em {@link #simular(int, int, double[])}.
+     */
+    static final int VALORES_POR_CAMINHO = 4;
+
+    private static final long PROPORCAO_AUREA = 0x9E3779B97F4A7C15L;
+
+    private final CenarioRisco cenario;
+    private final long semente;
+    private final int tamanho;
+    private final double[] valores;
+    private final double[] parcelas;
+    private final int[] meses;
+    private final int[] classes;
+    private final double[] taxasClasses;
+    private final int mesesMaximo;
+
+    private final double passoReversao;
+    private final double desvioMensal;
+    private final double[] sobrevivenciaInadimplencia;
+    private final double intensidadeBase;
+
+    /**
+     * Prepara a simulação de uma carteira: as parcelas, os prazos em meses e as classes de taxa de cada contrato.
+     *
+     * @param carteira A carteira colunar.
+     * @param cenario Os parâmetros de taxa, inadimplência e quitação.
+     * @param semente A semente da simulação.
+     */
+    public SimulacaoMonteCarlo(CarteiraColunar carteira, CenarioRisco cenario, long semente) {
+        this.cenario = cenario;
+        this.semente = semente;
+        tamanho = carteira.tamanho();
+        valores = Arrays.copyOf(carteira.colunaValoresImovel(), tamanho);
+        parcelas = carteira.calcularParcelas();
+        meses = new int[tamanho];
+        classes = new int[tamanho];
+
+        Map<Long, Integer> indices = new HashMap<>();
+        double[] taxasPorClasse = new double[16];
+        int maximo = 0;
+        int[] prazos = carteira.colunaPrazosFinanciamento();
+        double[] taxas = carteira.colunaTaxasJurosAnual();
+        for (int i = 0; i < tamanho; i++) {
+            meses[i] = prazos[i] * 12;
+            maximo = Math.max(maximo, meses[i]);
+            long codigo = Math.round(taxas[i] * 100);
+            Integer classe = indices.get(codigo);
+            if (classe == null) {
+                classe = indices.size();
+                indices.put(codigo, classe);
+                if (classe == taxasPorClasse.length) {
+                    taxasPorClasse = Arrays.copyOf(taxasPorClasse, classe * 2);
+                }
+                taxasPorClasse[classe] = codigo / 100.0;
+            }
+            classes[i] = classe;
+        }
+        taxasClasses = Arrays.copyOf(taxasPorClasse, indices.size());
+        mesesMaximo = maximo;
+
+        passoReversao = cenario.getReversao() / 12;
+        desvioMensal = cenario.getVolatilidade() * Math.sqrt(1.0 / 12);
+        sobrevivenciaInadimplencia = new double[mesesMaximo + 1];
+        double logSobrevivenciaMensal = Math.log1p(-cenario.getInadimplenciaAnual()) / 12;
+        for (int t = 0; t <= mesesMaximo; t++) {
+            sobrevivenciaInadimplencia[t] = Math.exp(t * logSobrevivenciaMensal);
+        }
+        intensidadeBase = -Math.log1p(-cenario.getPrePagamentoAnual());
+    }
+
+    /**
+     * Retorna a quantidade de contratos da carteira.
+     *
+     * @return A quantidade de contratos.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna o cenário da simulação.
+     *
+     * @return O cenário.
+     */
+    public CenarioRisco getCenario() {
+        return cenario;
+    }
+
+    /**
+     * Retorna a semente da simulação.
+     *
+     * @return A semente.
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * Simula um intervalo de caminhos na thread chamadora.
+     *
+     * @param primeiro O número do primeiro caminho (inclusivo).
+     * @param fim O número do último caminho (exclusivo).
+     * @return O resultado dos caminhos.
+     */
+    public ResultadoMonteCarlo simular(int primeiro, int fim) {
+        double[] saida = new double[(fim - primeiro) * VALORES_POR_CAMINHO];
+        simular(primeiro, fim, saida);
+        ResultadoMonteCarlo resultado = new ResultadoMonteCarlo();
+        registrar(saida, resultado);
+        return resultado;
+    }
+
+    /**
+     * Acumula no resultado os caminhos gravados por {@link #simular(int, int, double[])}, na ordem.
+     */
+    void registrar(double[] saida, ResultadoMonteCarlo resultado) {
+        for (int c = 0; c < saida.length; c += VALORES_POR_CAMINHO) {
+            resultado.adicionar(saida[c], saida[c + 1], tamanho, (long) saida[c + 2], (long) saida[c + 3]);
+        }
+    }
+
+    /**
+     * Simula os caminhos de {@code primeiro} a {@code fim} (exclusive) e grava, para cada um, o total
+     * recebido, o valor presente e as quantidades de inadimplentes e de quitados antes do prazo, a
+     * partir da posição 0 da saída. Aloca os arrays de trabalho uma vez por chamada.
+     */
+    void simular(int primeiro, int fim, double[] saida) {
+        int largura = mesesMaximo + 1;
+        double[] taxasMercado = new double[largura];
+        double[] descontos = new double[largura];
+        double[] descontosAcumulados = new double[largura];
+        double[] sobrevivenciaQuitacao = new double[taxasClasses.length * largura];
+        double recuperacao = cenario.getRecuperacao();
+        for (int caminho = primeiro, posicao = 0; caminho < fim; caminho++, posicao += VALORES_POR_CAMINHO) {
+            SplittableRandom aleatorio = new SplittableRandom(sementeCaminho(semente, caminho));
+            sortearTaxas(aleatorio, taxasMercado, descontos, descontosAcumulados);
+            calcularSobrevivenciaQuitacao(taxasMercado, sobrevivenciaQuitacao, largura);
+
+            double total = 0;
+            double valorPresente = 0;
+            int inadimplentes = 0;
+            int antecipados = 0;
+            for (int i = 0; i < tamanho; i++) {
+                int prazo = meses[i];
+                int mesInadimplencia = primeiroMes(sobrevivenciaInadimplencia, 0, prazo, aleatorio.nextDouble());
+                int mesQuitacao = primeiroMes(sobrevivenciaQuitacao, classes[i] * largura, prazo,
+                        aleatorio.nextDouble());
+
+                // O mês final é o do primeiro evento; quem chega ao fim do prazo não tem saldo
+                int mesFinal = Math.min(prazo, Math.min(mesInadimplencia, mesQuitacao));
+                boolean inadimplente = mesInadimplencia == mesFinal;
+                int pagos = inadimplente ? mesFinal - 1 : mesFinal;
+                double saldo = (inadimplente ? recuperacao : 1) * (valores[i] * (prazo - pagos) / prazo);
+                inadimplentes += inadimplente ? 1 : 0;
+                antecipados += !inadimplente && mesFinal < prazo ? 1 : 0;
+                total += parcelas[i] * pagos + saldo;
+                valorPresente += parcelas[i] * descontosAcumulados[pagos] + saldo * descontos[mesFinal];
+            }
+            saida[posicao] = total;
+            saida[posicao + 1] = valorPresente;
+            saida[posicao + 2] = inadimplentes;
+            saida[posicao + 3] = antecipados;
+        }
+    }
+
+    /**
+     * Sorteia a taxa de mercado de cada mês e calcula os fatores de desconto mensais e as suas somas acumuladas.
+     */
+    private void sortearTaxas(SplittableRandom aleatorio, double[] taxasMercado, double[] descontos,
+                              double[] descontosAcumulados) {
+        double taxa = cenario.getTaxaInicial();
+        double longoPrazo = cenario.getTaxaLongoPrazo();
+        taxasMercado[0] = taxa;
+        descontos[0] = 1;
+        descontosAcumulados[0] = 0;
+        for (int t = 1; t < taxasMercado.length; t++) {
+            taxa = Math.max(0, taxa + passoReversao * (longoPrazo - taxa) + desvioMensal * aleatorio.nextGaussian());
+            taxasMercado[t] = taxa;
+            descontos[t] = descontos[t - 1] / (1 + taxa / 1200);
+            descontosAcumulados[t] = descontosAcumulados[t - 1] + descontos[t];
+        }
+    }
+
+    /**
+     * Calcula, para cada classe de taxa, a probabilidade de o contrato não ter sido quitado até cada
+     * mês: a exponencial da intensidade de quitação acumulada, com sinal trocado.
+     */
+    private void calcularSobrevivenciaQuitacao(double[] taxasMercado, double[] sobrevivencia, int largura) {
+        double sensibilidade = cenario.getSensibilidadePrePagamento();
+        for (int k = 0; k < taxasClasses.length; k++) {
+            int base = k * largura;
+            double taxaContrato = taxasClasses[k];
+            double acumulada = 0;
+            sobrevivencia[base] = 1;
+            for (int t = 1; t < largura; t++) {
+                acumulada += (intensidadeBase + sensibilidade * Math.max(0, taxaContrato - taxasMercado[t])) / 12;
+                sobrevivencia[base + t] = Math.exp(-acumulada);
+            }
+        }
+    }
+
+    /**
+     * Retorna o primeiro mês até o prazo em que a probabilidade de sobrevivência (decrescente, a partir
+     * de {@code base}) fica menor ou igual ao número sorteado, ou {@link Integer#MAX_VALUE} se não ficar.
+     */
+    private static int primeiroMes(double[] sobrevivencia, int base, int prazo, double sorteio) {
+        if (sobrevivencia[base + prazo] > sorteio) {
+            return Integer.MAX_VALUE;
+        }
+        // Busca sem desvios dependentes do sorteio, que seriam mal previstos em metade dos passos
+        int inicio = base + 1;
+        int restantes = prazo;
+        while (restantes > 1) {
+            int metade = restantes >>> 1;
+            inicio = sobrevivencia[inicio + metade - 1] > sorteio ? inicio + metade : inicio;
+            restantes -= metade;
+        }
+        return inicio - base;
+    }
+
+    /**
+     * Deriva a semente de um caminho: a saída de número {@code caminho} de um {@link SplittableRandom}
+     * criado com a semente da simulação, sem gerar as anteriores.
+     */
+    static long sementeCaminho(long semente, long caminho) {
+        long z = semente + (caminho + 1) * PROPORCAO_AUREA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package calculo;
+
+/**
+ * Sistemas de amortização suportados pela {@link TabelaAmortizacao}.
+ *
+ * @version 1.0
+ */
+public enum SistemaAmortizacao {
+    /**
+     * Sistema Francês (tabela Price): parcelas constantes, amortização crescente.
+     */
+    PRICE,
+
+    /**
+     * Sistema de Amortização Constante: amortização constante, parcelas decrescentes.
+     */
+    SAC
+}
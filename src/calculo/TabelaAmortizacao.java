@@ -0,0 +1,525 @@
+package calculo;
+
+import java.io.IOException;
+
+import modelo.CacheFatorAnuidade;
+import modelo.Financiamento;
+
+/**
+ * Tabela de amortização mês a mês de um financiamento, pelo sistema Price ou SAC.
+ * <p>As linhas não são armazenadas: a tabela funciona como um cursor, calculando cada mês
+ * a partir do saldo do mês anterior em {@link #avancar()} e expondo os valores do mês atual
+ * em campos primitivos. Assim, uma tabela de 420 meses pode ser exportada sem criar um objeto
+ * por linha. Para percorrer a tabela novamente, use {@link #reiniciar()}.
+ * <p>A taxa anual do financiamento é interpretada em percentual (como informada em
+ * {@link util.InterfaceUsuario} e usada nos juros da {@link modelo.Casa}), com taxa mensal
+ * igual a {@code taxaJurosAnual / 12 / 100}.
+ * <p>Com um {@link PlanoAmortizacao}, os pagamentos extraordinários de cada mês são abatidos do
+ * saldo depois da parcela e, conforme a {@link ModalidadeAmortizacao}, a tabela termina antes do
+ * prazo ou recalcula as parcelas seguintes. Para simular muitos financiamentos sem criar objetos,
+ * uma mesma tabela pode ser reposicionada em outro saldo com {@link #redefinir(double, double, int)}.
+ * <p>Com uma {@link SerieIndice}, o contrato é indexado: no início de cada mês o saldo devedor é
+ * corrigido pela variação da competência do mês, antes do cálculo dos juros, e a parcela (Price) ou
+ * a amortização (SAC) vigente é corrigida pelo mesmo fator, o que equivale a recalculá-la sobre o
+ * saldo corrigido e os meses restantes.
+ * <p>Instâncias não são seguras para uso por várias threads; crie uma tabela por thread.
+ *
+ * @version 1.0
+ */
+public final class TabelaAmortizacao {
+
+    /**
+     * Saldo devedor, em reais, abaixo do qual o financiamento é considerado quitado (meio centavo).
+     * Evita um mês a mais só com o resíduo de arredondamento depois de uma amortização extraordinária.
+     */
+    public static final double SALDO_RESIDUAL = 0.005;
+
+    private final SistemaAmortizacao sistema;
+    private final PlanoAmortizacao plano;
+    private final SerieIndice serie;
+
+    private double saldoInicial;
+    private double taxaMensal;
+    private int meses;
+    private int competenciaInicial;
+    private double parcelaPrice;
+    private double amortizacaoSac;
+
+    private int mes;
+    private double parcela;
+    private double juros;
+    private double amortizacao;
+    private double amortizacaoExtra;
+    private double amortizacaoExtraAcumulada;
+    private double correcao;
+    private double saldoDevedor;
+    private double parcelaVigente;
+    private double amortizacaoVigente;
+    private int proximoMesExtra;
+
+    /**
+     * Cria a tabela de amortização de um saldo.
+     *
+     * @param saldoInicial O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração (0,005 para 0,5% ao mês).
+     * @param meses A quantidade de parcelas.
+     * @param sistema O sistema de amortização.
+     * @throws IllegalArgumentException Se a quantidade de meses não for positiva.
+     */
+    public TabelaAmortizacao(double saldoInicial, double taxaMensal, int meses, SistemaAmortizacao sistema) {
+        this(saldoInicial, taxaMensal, meses, sistema, null);
+    }
+
+    /**
+     * Cria a tabela de amortização de um saldo com amortizações extraordinárias.
+     *
+     * @param saldoInicial O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração (0,005 para 0,5% ao mês).
+     * @param meses A quantidade de parcelas do contrato.
+     * @param sistema O sistema de amortização.
+     * @param plano As amortizações extraordinárias, ou {@code null} para nenhuma.
+     * @throws IllegalArgumentException Se a quantidade de meses não for positiva.
+     */
+    public TabelaAmortizacao(double saldoInicial, double taxaMensal, int meses, SistemaAmortizacao sistema,
+                             PlanoAmortizacao plano) {
+        this(saldoInicial, taxaMensal, meses, sistema, plano, null, 0);
+    }
+
+    /**
+     * Cria a tabela de amortização de um contrato indexado.
+     *
+     * @param saldoInicial O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração, além da correção.
+     * @param meses A quantidade de parcelas do contrato.
+     * @param sistema O sistema de amortização.
+     * @param plano As amortizações extraordinárias, ou {@code null} para nenhuma.
+     * @param serie A série do índice de correção, ou {@code null} para um contrato prefixado.
+     * @param competenciaInicial A competência da série usada no primeiro mês.
+     * @throws IllegalArgumentException Se a quantidade de meses não for positiva.
+     */
+    public TabelaAmortizacao(double saldoInicial, double taxaMensal, int meses, SistemaAmortizacao sistema,
+                             PlanoAmortizacao plano, SerieIndice serie, int competenciaInicial) {
+        this.sistema = sistema;
+        this.plano = plano;
+        this.serie = serie;
+        redefinir(saldoInicial, taxaMensal, meses, competenciaInicial);
+    }
+
+    /**
+     * Cria a tabela de amortização de um financiamento.
+     *
+     * @param financiamento O financiamento.
+     * @param sistema O sistema de amortização.
+     * @return A tabela posicionada antes do primeiro mês.
+     */
+    public static TabelaAmortizacao de(Financiamento financiamento, SistemaAmortizacao sistema) {
+        return de(financiamento, sistema, null);
+    }
+
+    /**
+     * Cria a tabela de amortização de um financiamento com amortizações extraordinárias.
+     *
+     * @param financiamento O financiamento.
+     * @param sistema O sistema de amortização.
+     * @param plano As amortizações extraordinárias, ou {@code null} para nenhuma.
+     * @return A tabela posicionada antes do primeiro mês.
+     */
+    public static TabelaAmortizacao de(Financiamento financiamento, SistemaAmortizacao sistema,
+                                       PlanoAmortizacao plano) {
+        return new TabelaAmortizacao(financiamento.getValorImovel(), taxaMensal(financiamento.getTaxaJurosAnual()),
+                financiamento.getPrazoFinanciamento() * 12, sistema, plano);
+    }
+
+    /**
+     * Converte uma taxa anual em percentual na taxa mensal usada pela tabela.
+     *
+     * @param taxaJurosAnual A taxa de juros anual em percentual.
+     * @return A taxa mensal como fração.
+     */
+    public static double taxaMensal(double taxaJurosAnual) {
+        return taxaJurosAnual / 12 / 100;
+    }
+
+    /**
+     * Calcula a parcela constante do sistema Price.
+     *
+     * @param saldo O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração.
+     * @param meses A quantidade de parcelas.
+     * @return O valor da parcela.
+     */
+    public static double calcularParcelaPrice(double saldo, double taxaMensal, int meses) {
+        if (taxaMensal == 0) {
+            return saldo / meses;
+        }
+        double fator = CacheFatorAnuidade.compartilhado().fator(taxaMensal, meses);
+        return saldo * taxaMensal * fator / (fator - 1);
+    }
+
+    /**
+     * Calcula o total de juros da tabela sem amortizações extraordinárias, sem percorrer os meses:
+     * {@code parcela * meses - saldo} no Price e {@code saldo * taxa * (meses + 1) / 2} no SAC.
+     *
+     * @param saldo O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração.
+     * @param meses A quantidade de parcelas.
+     * @param sistema O sistema de amortização.
+     * @return O total de juros, igual à soma dos juros da tabela até a precisão do {@code double}.
+     */
+    public static double calcularJurosTotais(double saldo, double taxaMensal, int meses, SistemaAmortizacao sistema) {
+        if (sistema == SistemaAmortizacao.PRICE) {
+            return calcularParcelaPrice(saldo, taxaMensal, meses) * meses - saldo;
+        }
+        return saldo * taxaMensal * (meses + 1) / 2;
+    }
+
+    /**
+     * Reposiciona a tabela em outro saldo, mantendo o sistema e o plano, e volta para antes do
+     * primeiro mês. Não cria objetos.
+     *
+     * @param saldoInicial O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração.
+     * @param meses A quantidade de parcelas do contrato.
+     * @throws IllegalArgumentException Se a quantidade de meses não for positiva.
+     */
+    public void redefinir(double saldoInicial, double taxaMensal, int meses) {
+        redefinir(saldoInicial, taxaMensal, meses, competenciaInicial);
+    }
+
+    /**
+     * Reposiciona a tabela em outro saldo e outra competência inicial, mantendo o sistema, o plano e
+     * a série, e volta para antes do primeiro mês. Não cria objetos.
+     *
+     * @param saldoInicial O valor financiado.
+     * @param taxaMensal A taxa de juros mensal, como fração.
+     * @param meses A quantidade de parcelas do contrato.
+     * @param competenciaInicial A competência da série usada no primeiro mês.
+     * @throws IllegalArgumentException Se a quantidade de meses não for positiva.
+     */
+    public void redefinir(double saldoInicial, double taxaMensal, int meses, int competenciaInicial) {
+        if (meses <= 0) {
+            throw new IllegalArgumentException("Quantidade de meses deve ser positiva: " + meses);
+        }
+        this.saldoInicial = saldoInicial;
+        this.taxaMensal = taxaMensal;
+        this.meses = meses;
+        this.competenciaInicial = competenciaInicial;
+        this.parcelaPrice = calcularParcelaPrice(saldoInicial, taxaMensal, meses);
+        this.amortizacaoSac = saldoInicial / meses;
+        reiniciar();
+    }
+
+    /**
+     * Volta a tabela para antes do primeiro mês.
+     */
+    public void reiniciar() {
+        mes = 0;
+        parcela = 0;
+        juros = 0;
+        amortizacao = 0;
+        amortizacaoExtra = 0;
+        amortizacaoExtraAcumulada = 0;
+        correcao = 0;
+        saldoDevedor = saldoInicial;
+        parcelaVigente = parcelaPrice;
+        amortizacaoVigente = amortizacaoSac;
+        proximoMesExtra = plano != null ? plano.proximoMes(0) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Calcula o próximo mês da tabela.
+     *
+     * @return {@code true} se o mês foi calculado, {@code false} se a tabela já terminou.
+     */
+    public boolean avancar() {
+        if (mes >= meses || (mes > 0 && saldoDevedor == 0)) {
+            return false;
+        }
+        mes++;
+        if (serie != null) {
+            double fator = 1 + serie.getVariacao(competenciaInicial + mes - 1);
+            double corrigido = saldoDevedor * fator;
+            correcao = corrigido - saldoDevedor;
+            saldoDevedor = corrigido;
+            parcelaVigente *= fator;
+            amortizacaoVigente *= fator;
+        }
+        juros = saldoDevedor * taxaMensal;
+        amortizacao = sistema == SistemaAmortizacao.PRICE ? parcelaVigente - juros : amortizacaoVigente;
+        if (mes == meses || amortizacao >= saldoDevedor - SALDO_RESIDUAL) {
+            // Última parcela quita o saldo restante, absorvendo erros de arredondamento
+            amortizacao = saldoDevedor;
+        }
+        parcela = amortizacao + juros;
+        saldoDevedor -= amortizacao;
+        amortizacaoExtra = 0;
+        if (mes == proximoMesExtra) {
+            if (mes < meses && saldoDevedor > 0) {
+                amortizarExtra(plano.valorNoMes(mes));
+            }
+            proximoMesExtra = plano.proximoMes(mes);
+        }
+        if (mes == meses || saldoDevedor < SALDO_RESIDUAL) {
+            saldoDevedor = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Calcula todos os meses restantes, até a quitação, sem entregar as linhas. Os meses sem
+     * amortização extraordinária e que não quitam o saldo são calculados em variáveis locais, sem
+     * ler e gravar os campos da tabela a cada mês; os demais passam por {@link #avancar()}. Os
+     * valores são idênticos aos de chamar {@link #avancar()} em todos os meses.
+     *
+     * @return A soma dos juros dos meses calculados.
+     */
+    public double avancarAteQuitar() {
+        double somaJuros = 0;
+        boolean price = sistema == SistemaAmortizacao.PRICE;
+        boolean indexada = serie != null;
+        while (true) {
+            int limite = Math.min(proximoMesExtra, meses) - 1;
+            if (mes < limite) {
+                int m = mes;
+                double saldo = saldoDevedor;
+                double parcelaMes = parcelaVigente;
+                double amortizacaoMes = amortizacaoVigente;
+                double ultimosJuros = juros;
+                double ultimaAmortizacao = amortizacao;
+                double ultimaCorrecao = correcao;
+                while (m < limite) {
+                    double corrigido = saldo;
+                    double parcelaCorrigida = parcelaMes;
+                    double amortizacaoCorrigida = amortizacaoMes;
+                    if (indexada) {
+                        double fator = 1 + serie.getVariacao(competenciaInicial + m);
+                        corrigido = saldo * fator;
+                        parcelaCorrigida = parcelaMes * fator;
+                        amortizacaoCorrigida = amortizacaoMes * fator;
+                    }
+                    double j = corrigido * taxaMensal;
+                    double a = price ? parcelaCorrigida - j : amortizacaoCorrigida;
+                    if (a >= corrigido - SALDO_RESIDUAL) {
+                        break; // Quitação: fica com avancar()
+                    }
+                    m++;
+                    ultimaCorrecao = corrigido - saldo;
+                    saldo = corrigido - a;
+                    parcelaMes = parcelaCorrigida;
+                    amortizacaoMes = amortizacaoCorrigida;
+                    somaJuros += j;
+                    ultimosJuros = j;
+                    ultimaAmortizacao = a;
+                }
+                if (m > mes) {
+                    mes = m;
+                    saldoDevedor = saldo;
+                    parcelaVigente = parcelaMes;
+                    amortizacaoVigente = amortizacaoMes;
+                    juros = ultimosJuros;
+                    amortizacao = ultimaAmortizacao;
+                    correcao = ultimaCorrecao;
+                    parcela = ultimaAmortizacao + ultimosJuros;
+                    amortizacaoExtra = 0;
+                }
+            }
+            if (!avancar()) {
+                return somaJuros;
+            }
+            somaJuros += juros;
+        }
+    }
+
+    /**
+     * Abate um pagamento extraordinário do saldo e, na redução de parcela, recalcula a parcela
+     * (Price) ou a amortização (SAC) dos meses restantes.
+     */
+    private void amortizarExtra(double valor) {
+        if (valor <= 0) {
+            return;
+        }
+        amortizacaoExtra = Math.min(valor, saldoDevedor);
+        if (amortizacaoExtra >= saldoDevedor - SALDO_RESIDUAL) {
+            amortizacaoExtra = saldoDevedor;
+        }
+        saldoDevedor -= amortizacaoExtra;
+        amortizacaoExtraAcumulada += amortizacaoExtra;
+        if (saldoDevedor > 0 && plano.getModalidade() == ModalidadeAmortizacao.REDUZIR_PARCELA) {
+            int restantes = meses - mes;
+            amortizacaoVigente = saldoDevedor / restantes;
+            if (taxaMensal == 0) {
+                parcelaVigente = amortizacaoVigente;
+            } else {
+                // Sem o cache compartilhado: cada saldo gera uma combinação nova de taxa e prazo
+                double fator = CacheFatorAnuidade.calcularFator(taxaMensal, restantes);
+                parcelaVigente = saldoDevedor * taxaMensal * fator / (fator - 1);
+            }
+        }
+    }
+
+    /**
+     * Percorre todos os meses restantes da tabela, entregando cada linha ao consumidor.
+     * A amortização entregue não inclui a extraordinária (veja {@link #getAmortizacaoExtra()}).
+     *
+     * @param consumidor O consumidor das linhas.
+     */
+    public void percorrer(LinhaAmortizacao consumidor) {
+        while (avancar()) {
+            consumidor.aceitar(mes, parcela, juros, amortizacao, saldoDevedor);
+        }
+    }
+
+    /**
+     * Escreve os meses restantes da tabela em CSV, um mês por linha, sem cabeçalho: mês, parcela,
+     * juros, amortização e saldo devedor. Com um {@link PlanoAmortizacao}, a amortização extraordinária
+     * é escrita antes do saldo devedor e, com uma {@link SerieIndice}, em seguida a correção monetária.
+     * Os valores são escritos com precisão completa e ponto decimal.
+     *
+     * @param destino O destino das linhas (de preferência com buffer).
+     * @throws IOException Se ocorrer erro na escrita.
+     */
+    public void escreverCsv(Appendable destino) throws IOException {
+        StringBuilder linha = new StringBuilder(96);
+        while (avancar()) {
+            linha.setLength(0);
+            linha.append(mes).append(',').append(parcela).append(',').append(juros).append(',')
+                    .append(amortizacao).append(',');
+            if (plano != null) {
+                linha.append(amortizacaoExtra).append(',');
+            }
+            if (serie != null) {
+                linha.append(correcao).append(',');
+            }
+            linha.append(saldoDevedor).append('\n');
+            destino.append(linha);
+        }
+    }
+
+    /**
+     * Retorna o valor financiado.
+     *
+     * @return O saldo devedor inicial.
+     */
+    public double getSaldoInicial() {
+        return saldoInicial;
+    }
+
+    /**
+     * Retorna a taxa de juros mensal.
+     *
+     * @return A taxa mensal como fração.
+     */
+    public double getTaxaMensal() {
+        return taxaMensal;
+    }
+
+    /**
+     * Retorna a quantidade de parcelas do contrato. Com amortizações extraordinárias, a tabela
+     * pode terminar antes; o último mês calculado é {@link #getMes()} quando {@link #avancar()}
+     * retorna {@code false}.
+     *
+     * @return A quantidade de meses.
+     */
+    public int getMeses() {
+        return meses;
+    }
+
+    /**
+     * Retorna o sistema de amortização da tabela.
+     *
+     * @return O sistema de amortização.
+     */
+    public SistemaAmortizacao getSistema() {
+        return sistema;
+    }
+
+    /**
+     * Retorna o plano de amortizações extraordinárias da tabela.
+     *
+     * @return O plano, ou {@code null} se não houver.
+     */
+    public PlanoAmortizacao getPlano() {
+        return plano;
+    }
+
+    /**
+     * Retorna o mês atual, ou {@code 0} antes da primeira chamada de {@link #avancar()}.
+     *
+     * @return O número do mês atual.
+     */
+    public int getMes() {
+        return mes;
+    }
+
+    /**
+     * Retorna o valor pago no mês atual.
+     *
+     * @return O valor da parcela.
+     */
+    public double getParcela() {
+        return parcela;
+    }
+
+    /**
+     * Retorna os juros pagos no mês atual.
+     *
+     * @return O valor dos juros.
+     */
+    public double getJuros() {
+        return juros;
+    }
+
+    /**
+     * Retorna a amortização do mês atual.
+     *
+     * @return O valor amortizado.
+     */
+    public double getAmortizacao() {
+        return amortizacao;
+    }
+
+    /**
+     * Retorna a amortização extraordinária paga no mês atual, depois da parcela.
+     *
+     * @return O valor amortizado além da parcela, ou {@code 0}.
+     */
+    public double getAmortizacaoExtra() {
+        return amortizacaoExtra;
+    }
+
+    /**
+     * Retorna a soma das amortizações extraordinárias pagas desde o primeiro mês até o mês atual.
+     *
+     * @return O total amortizado além das parcelas.
+     */
+    public double getAmortizacaoExtraAcumulada() {
+        return amortizacaoExtraAcumulada;
+    }
+
+    /**
+     * Retorna a correção monetária do mês atual, somada ao saldo devedor antes dos juros.
+     *
+     * @return O valor da correção, ou {@code 0} em contratos prefixados.
+     */
+    public double getCorrecao() {
+        return correcao;
+    }
+
+    /**
+     * Retorna a série do índice de correção da tabela.
+     *
+     * @return A série, ou {@code null} se o contrato for prefixado.
+     */
+    public SerieIndice getSerie() {
+        return serie;
+    }
+
+    /**
+     * Retorna o saldo devedor após o pagamento do mês atual.
+     *
+     * @return O saldo devedor.
+     */
+    public double getSaldoDevedor() {
+        return saldoDevedor;
+    }
+}
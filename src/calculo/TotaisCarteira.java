@@ -0,0 +1,125 @@
+package calculo;
+
+import modelo.TipoImovel;
+
+/**
+ * Acumulador dos totais de uma carteira de financiamentos: quantidade por tipo de imóvel,
+ * soma dos valores dos imóveis, soma dos valores financiados e menor, maior e média das parcelas.
+ * <p>Cada thread usa o seu próprio acumulador, e os acumuladores parciais são combinados com
+ * {@link #combinar(TotaisCarteira)}. A classe não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class TotaisCarteira {
+
+    private final long[] quantidadePorTipo = new long[TipoImovel.values().length];
+    private long quantidade;
+    private double valorTotalDeImoveis;
+    private double valorTotalDosFinanciamentos;
+    private double somaDasParcelas;
+    private double menorParcela = Double.POSITIVE_INFINITY;
+    private double maiorParcela = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Acumula um financiamento já calculado.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel.
+     * @param parcela O valor da parcela mensal.
+     * @param total O valor total a ser pago.
+     */
+    public void adicionar(TipoImovel tipo, double valorImovel, double parcela, double total) {
+        quantidadePorTipo[tipo.ordinal()]++;
+        quantidade++;
+        valorTotalDeImoveis += valorImovel;
+        valorTotalDosFinanciamentos += total;
+        somaDasParcelas += parcela;
+        if (parcela < menorParcela) {
+            menorParcela = parcela;
+        }
+        if (parcela > maiorParcela) {
+            maiorParcela = parcela;
+        }
+    }
+
+    /**
+     * Soma a este acumulador os totais de outro acumulador.
+     *
+     * @param outro O acumulador a ser combinado.
+     */
+    public void combinar(TotaisCarteira outro) {
+        for (int i = 0; i < quantidadePorTipo.length; i++) {
+            quantidadePorTipo[i] += outro.quantidadePorTipo[i];
+        }
+        quantidade += outro.quantidade;
+        valorTotalDeImoveis += outro.valorTotalDeImoveis;
+        valorTotalDosFinanciamentos += outro.valorTotalDosFinanciamentos;
+        somaDasParcelas += outro.somaDasParcelas;
+        menorParcela = Math.min(menorParcela, outro.menorParcela);
+        maiorParcela = Math.max(maiorParcela, outro.maiorParcela);
+    }
+
+    /**
+     * Retorna a quantidade total de financiamentos acumulados.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos de um tipo de imóvel.
+     *
+     * @param tipo O tipo de imóvel.
+     * @return A quantidade de financiamentos do tipo informado.
+     */
+    public long getQuantidade(TipoImovel tipo) {
+        return quantidadePorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Retorna a soma dos valores dos imóveis.
+     *
+     * @return O valor total dos imóveis.
+     */
+    public double getValorTotalDeImoveis() {
+        return valorTotalDeImoveis;
+    }
+
+    /**
+     * Retorna a soma dos valores totais a serem pagos.
+     *
+     * @return O valor total dos financiamentos.
+     */
+    public double getValorTotalDosFinanciamentos() {
+        return valorTotalDosFinanciamentos;
+    }
+
+    /**
+     * Retorna a menor parcela mensal.
+     *
+     * @return A menor parcela, ou {@code 0} se nada foi acumulado.
+     */
+    public double getMenorParcela() {
+        return quantidade == 0 ? 0 : menorParcela;
+    }
+
+    /**
+     * Retorna a maior parcela mensal.
+     *
+     * @return A maior parcela, ou {@code 0} se nada foi acumulado.
+     */
+    public double getMaiorParcela() {
+        return quantidade == 0 ? 0 : maiorParcela;
+    }
+
+    /**
+     * Retorna a média das parcelas mensais.
+     *
+     * @return A parcela média, ou {@code 0} se nada foi acumulado.
+     */
+    public double getParcelaMedia() {
+        return quantidade == 0 ? 0 : somaDasParcelas / quantidade;
+    }
+}
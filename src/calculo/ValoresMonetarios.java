@@ -0,0 +1,125 @@
+package calculo;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores de um financiamento em centavos: parcela mensal, total pago e, para casas,
+ * o acréscimo e o desconto de cada parcela. Calculados por um {@link ModoMonetario}.
+ *
+ * @version 1.0
+ */
+public final class ValoresMonetarios {
+
+    private final long parcela;
+    private final long total;
+    private final long acrescimo;
+    private final long desconto;
+
+    /**
+     * Construtor dos valores em centavos.
+     *
+     * @param parcela A parcela mensal.
+     * @param total O total pago ao longo do prazo.
+     * @param acrescimo O acréscimo por parcela, ou {@code 0}.
+     * @param desconto O desconto por parcela, ou {@code 0}.
+     */
+    public ValoresMonetarios(long parcela, long total, long acrescimo, long desconto) {
+        this.parcela = parcela;
+        this.total = total;
+        this.acrescimo = acrescimo;
+        this.desconto = desconto;
+    }
+
+    /**
+     * Retorna a parcela mensal em centavos.
+     *
+     * @return A parcela em centavos.
+     */
+    public long getParcelaCentavos() {
+        return parcela;
+    }
+
+    /**
+     * Retorna o total pago em centavos.
+     *
+     * @return O total em centavos.
+     */
+    public long getTotalCentavos() {
+        return total;
+    }
+
+    /**
+     * Retorna o acréscimo por parcela em centavos.
+     *
+     * @return O acréscimo em centavos.
+     */
+    public long getAcrescimoCentavos() {
+        return acrescimo;
+    }
+
+    /**
+     * Retorna o desconto por parcela em centavos.
+     *
+     * @return O desconto em centavos.
+     */
+    public long getDescontoCentavos() {
+        return desconto;
+    }
+
+    /**
+     * Retorna a parcela mensal em reais.
+     *
+     * @return A parcela com duas casas decimais.
+     */
+    public BigDecimal getParcela() {
+        return BigDecimal.valueOf(parcela, 2);
+    }
+
+    /**
+     * Retorna o total pago em reais.
+     *
+     * @return O total com duas casas decimais.
+     */
+    public BigDecimal getTotal() {
+        return BigDecimal.valueOf(total, 2);
+    }
+
+    /**
+     * Retorna o acréscimo por parcela em reais.
+     *
+     * @return O acréscimo com duas casas decimais.
+     */
+    public BigDecimal getAcrescimo() {
+        return BigDecimal.valueOf(acrescimo, 2);
+    }
+
+    /**
+     * Retorna o desconto por parcela em reais.
+     *
+     * @return O desconto com duas casas decimais.
+     */
+    public BigDecimal getDesconto() {
+        return BigDecimal.valueOf(desconto, 2);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (!(outro instanceof ValoresMonetarios)) {
+            return false;
+        }
+        ValoresMonetarios valores = (ValoresMonetarios) outro;
+        return parcela == valores.parcela && total == valores.total
+                && acrescimo == valores.acrescimo && desconto == valores.desconto;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(parcela) * 31 + Long.hashCode(total);
+    }
+
+    @Override
+    public String toString() {
+        return "parcela=" + getParcela() + ", total=" + getTotal()
+                + ", acrescimo=" + getAcrescimo() + ", desconto=" + getDesconto();
+    }
+}
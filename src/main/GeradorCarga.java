@@ -0,0 +1,188 @@
+package main;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+import util.FormatoRelatorio;
+
+/**
+ * Gerador de carga para o {@link ServicoCotacao}: envia requisições de vários clientes simultâneos,
+ * cada um em uma thread virtual que espera a resposta antes de enviar a próxima, e informa a vazão
+ * de cotações e os percentis de latência das requisições.
+ * <p>Com uma cotação por requisição, usa {@code POST /cotacao}; com mais, envia lotes em JSON Lines
+ * para {@code POST /cotacoes}. Os corpos são financiamentos aleatórios, gerados antes da medição com
+ * semente fixa. Se nenhuma URL for informada, um serviço é iniciado no próprio processo, em uma porta livre.
+ *
+ * @version 1.0
+ */
+public class GeradorCarga {
+
+    private static final int VARIEDADE_CORPOS = 1024;
+
+    private final URI destino;
+    private final int requisicoes;
+    private final int clientes;
+    private final int cotacoesPorRequisicao;
+    private final int aquecimento;
+
+    /**
+     * Cria o gerador de carga.
+     *
+     * @param servico A URL base do serviço, como {@code http://localhost:8080}.
+     * @param requisicoes A quantidade de requisições medidas.
+     * @param clientes A quantidade de clientes simultâneos.
+     * @param cotacoesPorRequisicao A quantidade de financiamentos em cada requisição.
+     */
+    public GeradorCarga(URI servico, int requisicoes, int clientes, int cotacoesPorRequisicao) {
+        this.destino = servico.resolve(cotacoesPorRequisicao > 1 ? "/cotacoes" : "/cotacao");
+        this.requisicoes = requisicoes;
+        this.clientes = clientes;
+        this.cotacoesPorRequisicao = cotacoesPorRequisicao;
+        this.aquecimento = Math.min(requisicoes, 20_000);
+    }
+
+    /**
+     * Executa o aquecimento e a medição e imprime o resultado na saída padrão.
+     *
+     * @throws InterruptedException Se a thread for interrompida.
+     */
+    public void executar() throws InterruptedException {
+        String[] corpos = gerarCorpos();
+        try (HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            enviar(cliente, corpos, new long[aquecimento]);
+
+            long[] latencias = new long[requisicoes];
+            long inicio = System.nanoTime();
+            long falhas = enviar(cliente, corpos, latencias);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            Arrays.sort(latencias);
+            System.out.printf("Requisições: %d a %s, %d cotação(ões) cada, clientes: %d, falhas: %d%n",
+                    requisicoes, destino, cotacoesPorRequisicao, clientes, falhas);
+            System.out.printf("Vazão: %.0f cotações/s (%.0f requisições/s) em %.2f s%n",
+                    (double) requisicoes * cotacoesPorRequisicao / segundos, requisicoes / segundos, segundos);
+            System.out.printf("Latência (ms): p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, máx %.3f%n",
+                    percentil(latencias, 0.50), percentil(latencias, 0.90), percentil(latencias, 0.99),
+                    percentil(latencias, 0.999), latencias[latencias.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Envia {@code latencias.length} requisições e registra a latência de cada uma, em nanossegundos.
+     *
+     * @return A quantidade de requisições que falharam ou não receberam status 200.
+     */
+    private long enviar(HttpClient cliente, String[] corpos, long[] latencias) throws InterruptedException {
+        AtomicInteger proxima = new AtomicInteger();
+        LongAdder falhas = new LongAdder();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                executor.execute(() -> {
+                    int i;
+                    while ((i = proxima.getAndIncrement()) < latencias.length) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(destino)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(corpos[i % corpos.length]))
+                                .build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                falhas.increment();
+                            }
+                        } catch (IOException e) {
+                            falhas.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencias[i] = System.nanoTime() - inicio;
+                    }
+                });
+            }
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return falhas.sum();
+    }
+
+    private static double percentil(long[] ordenadas, double fracao) {
+        int posicao = (int) Math.ceil(fracao * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, posicao))] / 1e6;
+    }
+
+    private String[] gerarCorpos() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        String[] corpos = new String[VARIEDADE_CORPOS];
+        StringBuilder sb = new StringBuilder(256 * cotacoesPorRequisicao);
+        for (int i = 0; i < corpos.length; i++) {
+            sb.setLength(0);
+            for (int j = 0; j < cotacoesPorRequisicao; j++) {
+                FormatoRelatorio.JSON_LINHAS.anexar(gerarFinanciamento(aleatorio, j), sb);
+            }
+            corpos[i] = cotacoesPorRequisicao > 1 ? sb.toString() : sb.toString().trim();
+        }
+        return corpos;
+    }
+
+    private static Financiamento gerarFinanciamento(SplittableRandom aleatorio, int i) {
+        double valor = 100_000 + aleatorio.nextInt(4_900_000);
+        int prazo = 5 + aleatorio.nextInt(31);
+        double taxa = 2 + aleatorio.nextInt(33) * 0.25;
+        switch (i % 3) {
+            case 0:
+                return new Apartamento(valor, prazo, taxa, aleatorio.nextInt(4), aleatorio.nextInt(30));
+            case 1:
+                return new Casa(valor, prazo, taxa, 21 + aleatorio.nextInt(400), 50 + aleatorio.nextInt(9950));
+            default:
+                return new Terreno(valor, prazo, taxa, aleatorio.nextBoolean() ? "Residencial" : "Comercial");
+        }
+    }
+
+    /**
+     * Executa o gerador de carga.
+     *
+     * @param args {@code [url do serviço] [requisições] [clientes] [cotações por requisição]}; sem URL
+     *             (ou com {@code -}), um {@link ServicoCotacao} é iniciado no próprio processo.
+     * @throws Exception Se o serviço embutido não puder ser iniciado ou a thread for interrompida.
+     */
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "-";
+        int requisicoes = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int clientes = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int cotacoesPorRequisicao = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        ServicoCotacao embutido = null;
+        if (url.equals("-")) {
+            embutido = new ServicoCotacao(0);
+            embutido.iniciar();
+            url = "http://127.0.0.1:" + embutido.getPorta();
+            System.out.println("Serviço embutido em " + url);
+        }
+        try {
+            new GeradorCarga(URI.create(url), requisicoes, clientes, cotacoesPorRequisicao).executar();
+        } finally {
+            if (embutido != null) {
+                embutido.close();
+            }
+        }
+    }
+}
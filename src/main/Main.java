@@ -1,15 +1,54 @@
 package main;
 
 import java.io.*;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 
+import calculo.AgregacaoCarteira;
+import calculo.AgregacaoCarteira.Medida;
+import calculo.CarteiraCorrigida;
+import calculo.CenarioRisco;
+import calculo.CarteiraIndexada;
+import calculo.ConsultaCarteira;
+import calculo.CustoEfetivoTotal;
+import calculo.EconomiaAmortizacao;
+import calculo.EstatisticaGrupo;
+import calculo.Indexador;
+import calculo.ModalidadeAmortizacao;
+import calculo.PlanoAmortizacao;
+import calculo.PrecificadorCarteira;
+import calculo.ResumoCet;
+import calculo.ResultadoMonteCarlo;
+import calculo.SerieIndice;
+import calculo.SimulacaoMonteCarlo;
+import calculo.SistemaAmortizacao;
+import calculo.TabelaAmortizacao;
+import calculo.TotaisCarteira;
+
+import modelo.CarteiraColunar;
 import modelo.Financiamento;
 import modelo.Casa;
 import modelo.Apartamento;
 import modelo.Terreno;
+import modelo.TipoImovel;
+
+import util.ArquivoCarteira;
 
+import util.DiarioSessao;
+import util.EscritorRelatorio;
+import util.FormatoRelatorio;
+import util.ImportadorCarteira;
 import util.InterfaceUsuario;
+import util.LeitorRelatorio;
+import util.Metricas;
 
 import java.util.Objects;
 import java.util.Scanner;
@@ -28,28 +67,103 @@ import java.util.Scanner;
 
 public class Main {
 
+    /**
+     * Quantidade de financiamentos exibidos por página na listagem.
+     */
+    private static final int TAMANHO_PAGINA = 10;
+
+    /**
+     * Arquivo do diário da sessão interativa, apagado depois que o relatório é gravado.
+     */
+    private static final String ARQUIVO_DIARIO = "Financiamentos.diario";
+
     /**
      * Metodo principal do sistema de financiamento de imóveis.
 
      * Executa o fluxo principal que inclui a solicitação de dados de financiamento,
      * o cálculo de valores totais e a escrita dos dados em um arquivo.
 
-     * @param args Argumentos da linha de comando (não utilizados neste sistema).
+     * <p>Quando chamado com {@code --lote <entrada> [saida]}, processa o arquivo de entrada
+     * sem interação com o usuário (veja {@link ProcessadorLote}). Com {@code --servidor [porta] [endereco=<host>]},
+     * atende cotações por HTTP, por padrão apenas no endereço de loopback (veja {@link ServicoCotacao}); com {@code --carga [url] [requisições] [clientes] [cotações]},
+     * mede a vazão e a latência do serviço (veja {@link GeradorCarga}). Com
+     * {@code --consulta <carteira> [filtros]}, filtra e totaliza uma carteira (veja {@link ConsultaCarteira});
+     * com {@code --agrupar <carteira> [largura da faixa]}, imprime as estatísticas agrupadas da
+     * carteira (veja {@link AgregacaoCarteira}); com {@code --importar <entrada> <saida>}, converte um
+     * CSV ou JSON Lines grande para o formato binário de {@link ArquivoCarteira} (veja {@link ImportadorCarteira});
+     * com {@code --amortizar <carteira> <prazo|parcela> [opções]}, simula amortizações extraordinárias
+     * em toda a carteira (veja {@link EconomiaAmortizacao}); com {@code --corrigir <carteira> <série> <índice>},
+     * corrige os contratos pela série mensal de TR ou IPCA (veja {@link CarteiraCorrigida}); com
+     * {@code --montecarlo <carteira> [opções]}, simula caminhos de taxa de juros, inadimplência e quitação
+     * antecipada e imprime os percentis do total recebido (veja {@link SimulacaoMonteCarlo}); com
+     * {@code --cet <carteira> [saida]}, calcula o Custo Efetivo Total de cada contrato (veja {@link CustoEfetivoTotal}).
+     * <p>Na execução interativa, cada financiamento incluído é acrescentado ao diário da sessão
+     * (veja {@link DiarioSessao}); se a execução anterior terminou antes de gravar o relatório,
+     * os financiamentos do diário são recuperados no início.
+     * <p>Com {@code -Dfinanciamentos.metricas=true}, as {@link Metricas} são impressas na saída
+     * de erro ao final da execução.
+
+     * @param args Argumentos da linha de comando (opcionalmente {@code --lote}, {@code --servidor},
+     *             {@code --carga}, {@code --consulta}, {@code --agrupar}, {@code --importar}, {@code --amortizar}, {@code --corrigir},
+     *             {@code --montecarlo} ou {@code --cet}).
      */
 
     public static void main(String[] args) {
+        if (Metricas.isHabilitado()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(Metricas.relatorio())));
+        }
+        if (args.length > 0 && args[0].equals("--lote")) {
+            executarLote(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            executarServidor(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--carga")) {
+            executarCarga(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--consulta")) {
+            executarConsulta(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--agrupar")) {
+            executarAgrupamento(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--importar")) {
+            executarImportacao(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--amortizar")) {
+            executarAmortizacao(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--corrigir")) {
+            executarCorrecao(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--montecarlo")) {
+            executarMonteCarlo(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--cet")) {
+            executarCet(args);
+            return;
+        }
+
         int parar;
-        int i;
         int contadorTerreno = 1; // Contador para terrenos
         int contadorCasa = 1; // Contador para casas
         int contadorApartamento = 1; // Contador para apartamentos
         List<Financiamento> listadeFinanciamentos = new ArrayList<>(); // Lista para armazenar os financiamentos
-        String[] totais = new String[2]; // Array para armazenar o total de imóveis e financiamentos
+        // Estatísticas atualizadas a cada financiamento incluído, com suporte a remoção
+        AgregacaoCarteira agregacao = new AgregacaoCarteira(AgregacaoCarteira.LARGURA_FAIXA_PADRAO, true);
         Scanner scanner = new Scanner(System.in);
         InterfaceUsuario interfaceUsuario1 = new InterfaceUsuario();
-
-        String stringTotalImoveis;
-        String stringTotalFinanciamentos;
+        DiarioSessao diario = abrirDiario(listadeFinanciamentos, agregacao); // Recupera a sessão interrompida
+        boolean diarioAtivo = diario != null;
 
         do {
             // Coleta os dados do tipo de imóvel e parâmetros de financiamento
@@ -59,83 +173,611 @@ public class Main {
             double valorImovel = interfaceUsuario1.pedirValorImovel();
 
             // Lógica para adicionar um Apartamento, Casa ou Terreno
+            Financiamento financiamento = null;
             if (Objects.equals(tipoImovel, "Apartamento")) {
                 int vagasGaragem = interfaceUsuario1.pedirGaragem();
                 int andar = interfaceUsuario1.pedirAndar();
-                Apartamento apartamento = new Apartamento(valorImovel, prazoFinanciamentoEmAnos, taxaJuros, vagasGaragem, andar);
-                listadeFinanciamentos.add(apartamento);
+                financiamento = new Apartamento(valorImovel, prazoFinanciamentoEmAnos, taxaJuros, vagasGaragem, andar);
                 contadorApartamento++;
             } else if (Objects.equals(tipoImovel, "Casa")) {
                 double areaConstruida = interfaceUsuario1.pedirAreaConstruida();
                 double areaTerreno = interfaceUsuario1.pedirAreaTerreno();
                 Casa casa = new Casa(valorImovel, prazoFinanciamentoEmAnos, taxaJuros, areaConstruida, areaTerreno);
-                listadeFinanciamentos.add(casa);
+                casa.getDiagnosticos().forEach(System.out::println); // Informa acréscimo/desconto rejeitados
+                financiamento = casa;
                 contadorCasa++;
             } else if (Objects.equals(tipoImovel, "Terreno")) {
                 String zona = interfaceUsuario1.pedirZona();
-                Terreno terreno = new Terreno(valorImovel, prazoFinanciamentoEmAnos, taxaJuros, zona);
-                listadeFinanciamentos.add(terreno);
+                financiamento = new Terreno(valorImovel, prazoFinanciamentoEmAnos, taxaJuros, zona);
                 contadorTerreno++;
             }
-
-            // Cálculo dos valores totais
-            double valorTotalDeImoveisLista = 0;
-            double valorTotalDosFinanciamentos = 0;
-            System.out.println("Lista de Financiamentos:");
-
-            // Itera pela lista de financiamentos e imprime os detalhes
-            for (i = 0; i < listadeFinanciamentos.size(); i++) {
-                Financiamento financiamento = listadeFinanciamentos.get(i);
-                valorTotalDeImoveisLista += financiamento.getValorImovel();
-                valorTotalDosFinanciamentos += financiamento.calcularTotalPagamento();
-                System.out.printf("Financiamento %d - Imóvel: %s Valor do imóvel: R$ %.2f, Valor do financiamento: R$ %.2f\n",
-                        i + 1, tipoImovel, financiamento.getValorImovel(), financiamento.calcularTotalPagamento());
+            if (financiamento != null) {
+                listadeFinanciamentos.add(financiamento);
+                agregacao.adicionar(financiamento); // Atualiza os totais sem percorrer a lista
+                diarioAtivo = diarioAtivo && registrarNoDiario(diario, financiamento);
             }
-            System.out.printf("Valor total de imóveis: R$ %.2f\n", valorTotalDeImoveisLista);
-            System.out.printf("Valor total de financiamentos: R$ %.2f\n", valorTotalDosFinanciamentos);
+
+            // Imprime apenas a última página da lista de financiamentos
+            int inicioPagina = Math.max(0, listadeFinanciamentos.size() - TAMANHO_PAGINA);
+            System.out.printf("Lista de Financiamentos (%d a %d de %d):\n",
+                    inicioPagina + 1, listadeFinanciamentos.size(), listadeFinanciamentos.size());
+            imprimirPagina(listadeFinanciamentos, inicioPagina, TAMANHO_PAGINA);
+            EstatisticaGrupo geral = agregacao.getGeral();
+            System.out.printf("Valor total de imóveis: R$ %.2f\n", geral.getSoma(Medida.VALOR_IMOVEL));
+            System.out.printf("Valor total de financiamentos: R$ %.2f\n", geral.getSoma(Medida.TOTAL));
 
             // Pergunta ao usuário se ele quer parar ou continuar
             System.out.println("Você quer parar o programa?\n 1 - SIM \n 2 - NÃO");
-            stringTotalImoveis = String.format("Valor total de imóveis: R$ %.2f\n", valorTotalDeImoveisLista);
-            stringTotalFinanciamentos = String.format("Valor total de financiamentos: R$ %.2f\n", valorTotalDosFinanciamentos);
             parar = scanner.nextInt();
         } while (parar == 2);
 
-        totais[0] = stringTotalImoveis;
-        totais[1] = stringTotalFinanciamentos;
         scanner.close();
+        System.out.print(agregacao.relatorio());
 
         // Escreve os dados no arquivo "Financiamentos.txt"
-        FileWriter escrever = null;
-        try {
-            escrever = new FileWriter("Financiamentos.txt");
+        try (EscritorRelatorio escritor = new EscritorRelatorio(Paths.get("Financiamentos.txt"), FormatoRelatorio.TEXTO)) {
             for (Financiamento financiamento : listadeFinanciamentos) {
-                escrever.write(financiamento.toString() + "\n");
+                escritor.escrever(financiamento);
             }
-            for (String titulo : totais) {
-                escrever.write(titulo);
-            }
-            escrever.close();
+            EstatisticaGrupo geral = agregacao.getGeral();
+            escritor.escreverTotais(geral.getSoma(Medida.VALOR_IMOVEL), geral.getSoma(Medida.TOTAL));
         } catch (IOException e) {
             e.printStackTrace();
+            fecharDiario(diario, false); // Mantém o diário para a próxima execução
+            diario = null;
         }
+        fecharDiario(diario, true); // Apaga o diário, mesmo desativado: o relatório já tem todos os financiamentos
 
         lerCaracteres();
     }
 
     /**
-     * Lê e exibe o conteúdo do arquivo "Financiamentos.txt". Este método lê o arquivo caractere por caractere
-     * e imprime o seu conteúdo na saída padrão.
+     * Abre o diário da sessão ({@value #ARQUIVO_DIARIO}) e inclui na lista os financiamentos de uma
+     * sessão anterior que terminou antes de gravar o relatório.
+     *
+     * @param financiamentos A lista de financiamentos da sessão.
+     * @param agregacao As estatísticas da sessão.
+     * @return O diário, ou {@code null} se não puder ser aberto (a sessão continua sem diário).
      */
-    public static void lerCaracteres() {
-        FileReader ler = null;
-        try (FileReader in = new FileReader("Financiamentos.txt")) {
-            int c;
-            while ((c = in.read()) != -1) {
-                System.out.print((char) c);
+    private static DiarioSessao abrirDiario(List<Financiamento> financiamentos, AgregacaoCarteira agregacao) {
+        DiarioSessao diario;
+        try {
+            diario = DiarioSessao.abrir(Paths.get(ARQUIVO_DIARIO));
+        } catch (IOException e) {
+            System.err.println("Diário da sessão indisponível: " + e.getMessage());
+            return null;
+        }
+        if (!diario.getRecuperados().isEmpty()) {
+            System.out.printf("Sessão anterior recuperada: %d financiamentos\n", diario.getRecuperados().size());
+            for (Financiamento financiamento : diario.getRecuperados()) {
+                financiamentos.add(financiamento);
+                agregacao.adicionar(financiamento);
+            }
+        }
+        if (diario.getBytesDescartados() > 0) {
+            System.err.printf("Diário da sessão: %d bytes de um registro incompleto descartados\n",
+                    diario.getBytesDescartados());
+        }
+        return diario;
+    }
+
+    /**
+     * Acrescenta um financiamento ao diário da sessão. Se a gravação falhar, o diário é fechado, mas
+     * o arquivo é mantido até o relatório ser gravado, quando {@link #fecharDiario} o apaga.
+     *
+     * @param diario O diário.
+     * @param financiamento O financiamento incluído.
+     * @return {@code false} se a gravação falhou (a sessão continua sem diário).
+     */
+    private static boolean registrarNoDiario(DiarioSessao diario, Financiamento financiamento) {
+        try {
+            diario.registrar(financiamento);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Diário da sessão desativado: " + e.getMessage());
+            fecharDiario(diario, false);
+            return false;
+        }
+    }
+
+    /**
+     * Fecha o diário da sessão e, se os financiamentos já foram gravados no relatório, apaga o arquivo,
+     * mesmo que o diário já tenha sido fechado por uma falha de gravação.
+     *
+     * @param diario O diário, ou {@code null} se indisponível.
+     * @param descartar {@code true} para apagar o arquivo.
+     */
+    private static void fecharDiario(DiarioSessao diario, boolean descartar) {
+        if (diario == null) {
+            return;
+        }
+        try {
+            if (descartar) {
+                diario.descartar();
+            } else {
+                diario.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar o diário da sessão: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imprime uma página da lista de financiamentos.
+     *
+     * @param financiamentos A lista de financiamentos.
+     * @param inicio A posição do primeiro financiamento da página (a partir de 0).
+     * @param quantidade A quantidade máxima de financiamentos na página.
+     */
+    public static void imprimirPagina(List<Financiamento> financiamentos, int inicio, int quantidade) {
+        int fim = Math.min(financiamentos.size(), inicio + quantidade);
+        for (int i = inicio; i < fim; i++) {
+            Financiamento financiamento = financiamentos.get(i);
+            System.out.printf("Financiamento %d - Imóvel: %s Valor do imóvel: R$ %.2f, Valor do financiamento: R$ %.2f\n",
+                    i + 1, financiamento.getTipoImovel().getDescricao(), financiamento.getValorImovel(),
+                    financiamento.calcularTotalPagamento());
+        }
+    }
+
+    /**
+     * Executa o modo em lote. O arquivo de saída padrão é "Financiamentos.csv".
+     *
+     * @param args Argumentos da linha de comando: {@code --lote <entrada> [saida]}.
+     */
+    private static void executarLote(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --lote <arquivo de entrada .csv|.jsonl> [arquivo de saída]");
+            return;
+        }
+        Path entrada = Paths.get(args[1]);
+        Path saida = Paths.get(args.length > 2 ? args[2] : "Financiamentos.csv");
+        ProcessadorLote processador = new ProcessadorLote();
+        try {
+            processador.processar(entrada, saida);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        System.out.printf("Financiamentos processados: %d (linhas rejeitadas: %d)\n",
+                processador.getFinanciamentosProcessados(), processador.getLinhasRejeitadas());
+        System.out.printf("Valor total de imóveis: R$ %.2f\n", processador.getValorTotalDeImoveis());
+        System.out.printf("Valor total de financiamentos: R$ %.2f\n", processador.getValorTotalDosFinanciamentos());
+        System.out.print(processador.getAgregacao().relatorio());
+    }
+
+    /**
+     * Executa o serviço HTTP de cotação. A porta padrão é 8080 e, sem {@code endereco=}, o serviço
+     * atende apenas no endereço de loopback.
+     *
+     * @param args Argumentos da linha de comando: {@code --servidor [porta] [endereco=<host>]}.
+     */
+    private static void executarServidor(String[] args) {
+        int porta = 8080;
+        String endereco = null;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].startsWith("endereco=")) {
+                    endereco = args[i].substring(9);
+                } else {
+                    porta = Integer.parseInt(args[i]);
+                }
             }
-        } catch (FileNotFoundException e) {
+        } catch (NumberFormatException e) {
+            porta = -1;
+        }
+        if (porta < 0 || porta > 65535) {
+            System.err.println("Uso: --servidor [porta entre 0 e 65535, padrão 8080] [endereco=<host>, padrão loopback]");
+            return;
+        }
+        try {
+            ServicoCotacao.executar(endereco == null ? InetAddress.getLoopbackAddress()
+                    : InetAddress.getByName(endereco), porta);
+        } catch (UnknownHostException e) {
+            System.err.println("Endereço desconhecido: " + e.getMessage());
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executa o gerador de carga contra o serviço de cotação.
+     *
+     * @param args Argumentos da linha de comando: {@code --carga [url] [requisições] [clientes] [cotações]}.
+     */
+    private static void executarCarga(String[] args) {
+        try {
+            GeradorCarga.main(Arrays.copyOfRange(args, 1, args.length));
+        } catch (Exception e) {
             e.printStackTrace();
+        }
+    }
+
+    /**
+     * Carrega uma carteira, indexa e imprime a quantidade, os totais por tipo e a primeira página
+     * dos financiamentos que satisfazem os filtros (veja {@link ConsultaCarteira#deTexto(String...)}).
+     *
+     * @param args Argumentos da linha de comando: {@code --consulta <carteira> [filtros]}, com a
+     *             carteira em CSV, JSON Lines ({@code .jsonl}) ou no formato de {@link ArquivoCarteira}.
+     */
+    private static void executarConsulta(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --consulta <carteira .csv|.jsonl|binária> [filtros, como zona=Comercial valor>1000000]");
+            return;
+        }
+        ConsultaCarteira consulta;
+        CarteiraColunar carteira;
+        try {
+            consulta = ConsultaCarteira.deTexto(Arrays.copyOfRange(args, 2, args.length));
+            carteira = carregarCarteira(Paths.get(args[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        CarteiraIndexada indexada = new CarteiraIndexada(carteira);
+        long indexacao = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        BitSet selecionados = indexada.selecionar(consulta);
+        long selecao = System.nanoTime() - inicio;
+
+        System.out.printf("Consulta: %s\n", consulta);
+        System.out.printf("Financiamentos: %d de %d (índices em %.1f ms, consulta em %.3f ms)\n",
+                selecionados.cardinality(), carteira.tamanho(), indexacao / 1e6, selecao / 1e6);
+        for (Map.Entry<TipoImovel, TotaisCarteira> grupo : indexada.totalizarPorTipo(consulta).entrySet()) {
+            TotaisCarteira totais = grupo.getValue();
+            System.out.printf("%s: %d, valor total de imóveis: R$ %.2f, valor total de financiamentos: R$ %.2f\n",
+                    grupo.getKey().getDescricao(), totais.getQuantidade(), totais.getValorTotalDeImoveis(),
+                    totais.getValorTotalDosFinanciamentos());
+        }
+        int exibidos = 0;
+        for (int i = selecionados.nextSetBit(0); i >= 0 && exibidos < TAMANHO_PAGINA; i = selecionados.nextSetBit(i + 1)) {
+            Financiamento financiamento = carteira.criarFinanciamento(i);
+            System.out.printf("Financiamento %d - Imóvel: %s Valor do imóvel: R$ %.2f, Valor do financiamento: R$ %.2f\n",
+                    i + 1, financiamento.getTipoImovel().getDescricao(), financiamento.getValorImovel(),
+                    financiamento.calcularTotalPagamento());
+            exibidos++;
+        }
+    }
+
+    /**
+     * Carrega uma carteira e imprime as estatísticas agrupadas por tipo, zona, prazo e faixa de taxa,
+     * calculadas em paralelo por um {@link PrecificadorCarteira}.
+     *
+     * @param args Argumentos da linha de comando: {@code --agrupar <carteira> [largura da faixa]}, com a
+     *             carteira como em {@link #executarConsulta(String[])} e a largura das faixas de taxa em
+     *             pontos percentuais (padrão {@value AgregacaoCarteira#LARGURA_FAIXA_PADRAO}).
+     */
+    private static void executarAgrupamento(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --agrupar <carteira .csv|.jsonl|binária> [largura da faixa de taxa]");
+            return;
+        }
+        CarteiraColunar carteira;
+        double largura;
+        try {
+            largura = args.length > 2 ? Double.parseDouble(args[2]) : AgregacaoCarteira.LARGURA_FAIXA_PADRAO;
+            carteira = carregarCarteira(Paths.get(args[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        AgregacaoCarteira agregacao;
+        try (PrecificadorCarteira precificador = new PrecificadorCarteira()) {
+            agregacao = precificador.agregar(carteira, largura);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        System.out.printf("Financiamentos: %d (agrupados em %.1f ms)\n", agregacao.getQuantidade(),
+                (System.nanoTime() - inicio) / 1e6);
+        System.out.print(agregacao.relatorio());
+    }
+
+    /**
+     * Importa um arquivo CSV ou JSON Lines e grava a carteira no formato binário de {@link ArquivoCarteira},
+     * que as opções {@code --consulta} e {@code --agrupar} carregam sem converter texto.
+     *
+     * @param args Argumentos da linha de comando: {@code --importar <entrada .csv|.jsonl> <saida>}.
+     */
+    private static void executarImportacao(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: --importar <arquivo de entrada .csv|.jsonl> <carteira binária de saída>");
+            return;
+        }
+        try {
+            long inicio = System.nanoTime();
+            CarteiraColunar carteira = carregarCarteira(Paths.get(args[1]));
+            long importacao = System.nanoTime() - inicio;
+            ArquivoCarteira.salvar(Paths.get(args[2]), carteira);
+            System.out.printf("Financiamentos importados: %d em %.1f s (gravação em %.1f s)\n", carteira.tamanho(),
+                    importacao / 1e9, (System.nanoTime() - inicio - importacao) / 1e9);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Simula amortizações extraordinárias em todos os financiamentos de uma carteira e imprime os juros
+     * economizados e os novos prazos e parcelas (veja {@link EconomiaAmortizacao}). Com {@code tabela=N},
+     * imprime também a nova tabela mês a mês do financiamento na posição N (a partir de 0), em CSV.
+     *
+     * @param args Argumentos da linha de comando: {@code --amortizar <carteira> <prazo|parcela>
+     *             [unica=mês:valor] [recorrente=início:intervalo:valor] [sistema=price|sac] [tabela=N]}.
+     */
+    private static void executarAmortizacao(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Uso: --amortizar <carteira .csv|.jsonl|binária> <prazo|parcela> [unica=mês:valor]"
+                    + " [recorrente=início:intervalo:valor] [sistema=price|sac] [tabela=posição]");
+            return;
+        }
+        CarteiraColunar carteira;
+        PlanoAmortizacao plano;
+        SistemaAmortizacao sistema = SistemaAmortizacao.PRICE;
+        int posicao = -1;
+        try {
+            ModalidadeAmortizacao modalidade;
+            if (args[2].equalsIgnoreCase("prazo")) {
+                modalidade = ModalidadeAmortizacao.REDUZIR_PRAZO;
+            } else if (args[2].equalsIgnoreCase("parcela")) {
+                modalidade = ModalidadeAmortizacao.REDUZIR_PARCELA;
+            } else {
+                throw new IllegalArgumentException("Modalidade deve ser prazo ou parcela: " + args[2]);
+            }
+            String[] unica = {"1", "0"};
+            String[] recorrente = {"1", "1", "0"};
+            for (int i = 3; i < args.length; i++) {
+                String opcao = args[i];
+                if (opcao.startsWith("unica=")) {
+                    unica = partes(opcao.substring(6), 2);
+                } else if (opcao.startsWith("recorrente=")) {
+                    recorrente = partes(opcao.substring(11), 3);
+                } else if (opcao.startsWith("sistema=")) {
+                    sistema = SistemaAmortizacao.valueOf(opcao.substring(8).toUpperCase());
+                } else if (opcao.startsWith("tabela=")) {
+                    posicao = Integer.parseInt(opcao.substring(7));
+                } else {
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+                }
+            }
+            plano = new PlanoAmortizacao(Integer.parseInt(unica[0]), Double.parseDouble(unica[1]),
+                    Integer.parseInt(recorrente[0]), Integer.parseInt(recorrente[1]),
+                    Double.parseDouble(recorrente[2]), modalidade);
+            carteira = carregarCarteira(Paths.get(args[1]));
+            if (posicao < -1 || posicao >= carteira.tamanho()) {
+                throw new IllegalArgumentException("Posição fora da carteira: " + posicao);
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        EconomiaAmortizacao economia;
+        try (PrecificadorCarteira precificador = new PrecificadorCarteira()) {
+            economia = precificador.simularAmortizacao(carteira, sistema, plano);
+        }
+        System.out.printf("Plano (%s): %s (simulado em %.1f ms)\n", sistema, plano, (System.nanoTime() - inicio) / 1e6);
+        System.out.print(economia.relatorio());
+
+        if (posicao >= 0) {
+            TabelaAmortizacao tabela = new TabelaAmortizacao(carteira.getValorImovel(posicao),
+                    TabelaAmortizacao.taxaMensal(carteira.getTaxaJurosAnual(posicao)),
+                    carteira.getPrazoFinanciamento(posicao) * 12, sistema, plano);
+            System.out.println("mes,parcela,juros,amortizacao,amortizacaoExtra,saldoDevedor");
+            try {
+                tabela.escreverCsv(System.out);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Corrige uma carteira de contratos indexados pela série de um índice, uma competência por vez,
+     * como na chegada mensal dos índices, e imprime os totais de cada competência (veja {@link CarteiraCorrigida}).
+     * Todos os contratos da carteira recebem o índice informado e começam na competência 0.
+     *
+     * @param args Argumentos da linha de comando: {@code --corrigir <carteira> <série> <TR|IPCA> [sistema=price|sac]}.
+     */
+    private static void executarCorrecao(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Uso: --corrigir <carteira .csv|.jsonl|binária> <série: um percentual por mês> <TR|IPCA>"
+                    + " [sistema=price|sac]");
+            return;
+        }
+        CarteiraColunar carteira;
+        SerieIndice serie;
+        SistemaAmortizacao sistema = SistemaAmortizacao.PRICE;
+        try {
+            Indexador indexador = Indexador.valueOf(args[3].toUpperCase());
+            if (args.length > 4) {
+                if (!args[4].startsWith("sistema=")) {
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[4]);
+                }
+                sistema = SistemaAmortizacao.valueOf(args[4].substring(8).toUpperCase());
+            }
+            serie = SerieIndice.carregar(Paths.get(args[2]), indexador);
+            carteira = carregarCarteira(Paths.get(args[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        CarteiraCorrigida corrigida = new CarteiraCorrigida(carteira, sistema, serie.getIndexador());
+        System.out.printf("Contratos: %d (%s, %s); saldo devedor inicial R$ %.2f\n", corrigida.tamanho(),
+                serie.getIndexador().getDescricao(), sistema, corrigida.getSaldoDevedorTotal());
+        try (PrecificadorCarteira precificador = new PrecificadorCarteira()) {
+            for (int c = 0; c < serie.tamanho(); c++) {
+                System.out.println(precificador.corrigir(corrigida, serie.getIndexador(), c, serie.getVariacao(c)));
+            }
+        }
+        System.out.printf("Saldo devedor final: R$ %.2f (%d competências em %.1f ms)\n", corrigida.getSaldoDevedorTotal(),
+                serie.tamanho(), (System.nanoTime() - inicio) / 1e6);
+    }
+
+    /**
+     * Simula caminhos de Monte Carlo de uma carteira e imprime os percentis do total recebido e do valor
+     * presente (veja {@link SimulacaoMonteCarlo}). Os parâmetros omitidos são os de {@link CenarioRisco#padrao()};
+     * com {@code inicio=N}, simula os caminhos a partir do número N, para dividir uma simulação grande em
+     * janelas com a mesma semente.
+     *
+     * @param args Argumentos da linha de comando: {@code --montecarlo <carteira> [caminhos=N] [inicio=N]
+     *             [semente=S] [taxa=%] [longoprazo=%] [reversao=R] [volatilidade=V] [inadimplencia=P]
+     *             [prepagamento=P] [sensibilidade=S] [recuperacao=R]}.
+     */
+    private static void executarMonteCarlo(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --montecarlo <carteira .csv|.jsonl|binária> [caminhos=1000] [inicio=0] [semente=1]"
+                    + " [taxa=%] [longoprazo=%] [reversao=R] [volatilidade=V] [inadimplencia=P] [prepagamento=P]"
+                    + " [sensibilidade=S] [recuperacao=R]");
+            return;
+        }
+        CarteiraColunar carteira;
+        CenarioRisco cenario;
+        int caminhos = 1000;
+        int primeiro = 0;
+        long semente = 1;
+        try {
+            CenarioRisco padrao = CenarioRisco.padrao();
+            double[] parametros = {padrao.getTaxaInicial(), padrao.getTaxaLongoPrazo(), padrao.getReversao(),
+                    padrao.getVolatilidade(), padrao.getInadimplenciaAnual(), padrao.getPrePagamentoAnual(),
+                    padrao.getSensibilidadePrePagamento(), padrao.getRecuperacao()};
+            List<String> nomes = Arrays.asList("taxa", "longoprazo", "reversao", "volatilidade", "inadimplencia",
+                    "prepagamento", "sensibilidade", "recuperacao");
+            for (int i = 2; i < args.length; i++) {
+                String opcao = args[i];
+                int igual = opcao.indexOf('=');
+                String chave = igual < 0 ? opcao : opcao.substring(0, igual);
+                String valor = opcao.substring(igual + 1);
+                if (igual < 0) {
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+                } else if (chave.equals("caminhos")) {
+                    caminhos = Integer.parseInt(valor);
+                } else if (chave.equals("inicio")) {
+                    primeiro = Integer.parseInt(valor);
+                } else if (chave.equals("semente")) {
+                    semente = Long.parseLong(valor);
+                } else if (nomes.contains(chave)) {
+                    parametros[nomes.indexOf(chave)] = Double.parseDouble(valor);
+                } else {
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+                }
+            }
+            cenario = new CenarioRisco(parametros[0], parametros[1], parametros[2], parametros[3], parametros[4],
+                    parametros[5], parametros[6], parametros[7]);
+            carteira = carregarCarteira(Paths.get(args[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoMonteCarlo resultado;
+        try (PrecificadorCarteira precificador = new PrecificadorCarteira()) {
+            SimulacaoMonteCarlo simulacao = new SimulacaoMonteCarlo(carteira, cenario, semente);
+            resultado = precificador.simularMonteCarlo(simulacao, primeiro, caminhos);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        System.out.printf("Cenário: %s\n", cenario);
+        System.out.printf("Contratos: %d; caminhos %d a %d, semente %d (simulados em %.1f ms)\n", carteira.tamanho(),
+                primeiro, primeiro + caminhos - 1, semente, (System.nanoTime() - inicio) / 1e6);
+        System.out.print(resultado.relatorio());
+    }
+
+    /**
+     * Calcula o Custo Efetivo Total de todos os contratos de uma carteira e imprime o resumo por tipo de
+     * imóvel (veja {@link ResumoCet}). Com um arquivo de saída, grava também o CET de cada contrato, em CSV.
+     *
+     * @param args Argumentos da linha de comando: {@code --cet <carteira> [arquivo .csv de saída]}.
+     */
+    private static void executarCet(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --cet <carteira .csv|.jsonl|binária> [arquivo .csv de saída]");
+            return;
+        }
+        CarteiraColunar carteira;
+        try {
+            carteira = carregarCarteira(Paths.get(args[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        double[] cet = new double[carteira.tamanho()];
+        ResumoCet resumo;
+        try (PrecificadorCarteira precificador = new PrecificadorCarteira()) {
+            resumo = precificador.calcularCet(carteira, cet);
+        }
+        System.out.printf("Contratos: %d (CET calculado em %.1f ms)\n", carteira.tamanho(),
+                (System.nanoTime() - inicio) / 1e6);
+        System.out.print(resumo.relatorio());
+
+        if (args.length > 2) {
+            try (BufferedWriter saida = Files.newBufferedWriter(Paths.get(args[2]))) {
+                saida.write("posicao,tipo,valor,prazo,taxa,cet\n");
+                StringBuilder linha = new StringBuilder(96);
+                for (int i = 0; i < cet.length; i++) {
+                    linha.setLength(0);
+                    linha.append(i).append(',').append(carteira.getTipo(i).getDescricao()).append(',')
+                            .append(carteira.getValorImovel(i)).append(',').append(carteira.getPrazoFinanciamento(i))
+                            .append(',').append(carteira.getTaxaJurosAnual(i)).append(',').append(cet[i]).append('\n');
+                    saida.append(linha);
+                }
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Separa uma opção no formato {@code a:b:c} em exatamente {@code quantidade} partes.
+     */
+    private static String[] partes(String valor, int quantidade) {
+        String[] partes = valor.split(":");
+        if (partes.length != quantidade) {
+            throw new IllegalArgumentException("Esperados " + quantidade + " valores separados por ':': " + valor);
+        }
+        return partes;
+    }
+
+    /**
+     * Carrega uma carteira de um arquivo CSV ou JSON Lines (pela extensão), com o {@link ImportadorCarteira},
+     * ou do formato binário de {@link ArquivoCarteira}. As linhas rejeitadas são relatadas na saída de erro.
+     */
+    private static CarteiraColunar carregarCarteira(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString().toLowerCase();
+        boolean texto = nome.endsWith(".jsonl") || nome.endsWith(".json") || nome.endsWith(".csv");
+        if (!texto) {
+            return ArquivoCarteira.carregar(arquivo);
+        }
+        ImportadorCarteira importador = new ImportadorCarteira();
+        CarteiraColunar carteira = importador.importar(arquivo);
+        for (ImportadorCarteira.Rejeicao rejeicao : importador.getRejeicoes()) {
+            System.err.println("Linha " + rejeicao.getLinha() + " ignorada: " + rejeicao.getMotivo());
+        }
+        if (importador.getLinhasRejeitadas() > importador.getRejeicoes().size()) {
+            System.err.printf("Linhas rejeitadas: %d (exibidas as primeiras %d)\n",
+                    importador.getLinhasRejeitadas(), importador.getRejeicoes().size());
+        }
+        return carteira;
+    }
+
+    /**
+     * Lê e exibe o conteúdo do arquivo "Financiamentos.txt". O arquivo é copiado em blocos
+     * para a saída padrão (veja {@link LeitorRelatorio#copiar(Path, java.io.OutputStream)}).
+     */
+    public static void lerCaracteres() {
+        try {
+            LeitorRelatorio.copiar(Paths.get("Financiamentos.txt"), System.out);
         } catch (IOException e) {
             e.printStackTrace();
         }
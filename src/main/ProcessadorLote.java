@@ -0,0 +1,131 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import calculo.AgregacaoCarteira;
+
+import modelo.Financiamento;
+
+import util.ConversorRegistro;
+import util.EscritorRelatorio;
+import util.FormatoRelatorio;
+import util.ValidadorFinanciamento;
+
+/**
+ * Processa financiamentos em lote, sem interação com o usuário.
+ * <p>Cada linha do arquivo de entrada (CSV ou JSON Lines, conforme {@link ConversorRegistro})
+ * é convertida em um {@link Financiamento}, calculada e escrita imediatamente no arquivo de saída.
+ * Nenhum financiamento é mantido em memória depois de escrito, de modo que o consumo de memória
+ * é constante independentemente do tamanho do arquivo.
+ * <p>Linhas inválidas, inclusive as que violam as regras de {@link ValidadorFinanciamento}, são
+ * ignoradas e relatadas na saída de erro com o número da linha.
+ * <p>Os totais são acumulados em uma {@link AgregacaoCarteira}, que também agrupa os
+ * financiamentos por tipo, zona, prazo e faixa de taxa.
+ *
+ * @version 1.0
+ */
+public class ProcessadorLote {
+
+    private long linhasLidas;
+    private long financiamentosProcessados;
+    private long linhasRejeitadas;
+    private final AgregacaoCarteira agregacao = new AgregacaoCarteira();
+
+    /**
+     * Processa o arquivo de entrada e escreve os resultados em CSV no arquivo de saída.
+     * Arquivos com extensão {@code .jsonl} ou {@code .json} são lidos como JSON Lines;
+     * os demais, como CSV (um cabeçalho iniciado por "tipo" é ignorado).
+     *
+     * @param entrada O arquivo com os parâmetros dos financiamentos.
+     * @param saida O arquivo onde os resultados serão escritos.
+     * @throws IOException Se ocorrer erro na leitura ou escrita dos arquivos.
+     */
+    public void processar(Path entrada, Path saida) throws IOException {
+        String nome = entrada.getFileName().toString().toLowerCase();
+        boolean json = nome.endsWith(".jsonl") || nome.endsWith(".json");
+
+        try (BufferedReader leitor = Files.newBufferedReader(entrada, StandardCharsets.UTF_8);
+             EscritorRelatorio escritor = new EscritorRelatorio(saida, FormatoRelatorio.CSV)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linhasLidas++;
+                if (linha.isBlank() || (!json && linhasLidas == 1 && linha.startsWith("tipo"))) {
+                    continue;
+                }
+                Financiamento financiamento;
+                try {
+                    financiamento = json ? ConversorRegistro.deJson(linha) : ConversorRegistro.deCsv(linha);
+                    String motivos = ValidadorFinanciamento.validar(financiamento);
+                    if (motivos != null) {
+                        throw new IllegalArgumentException(motivos);
+                    }
+                } catch (IllegalArgumentException e) {
+                    linhasRejeitadas++;
+                    System.err.println("Linha " + linhasLidas + " ignorada: " + e.getMessage());
+                    continue;
+                }
+                agregacao.adicionar(financiamento);
+                escritor.escrever(financiamento);
+                financiamentosProcessados++;
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade de linhas lidas do arquivo de entrada.
+     *
+     * @return O número de linhas lidas, incluindo cabeçalho e linhas em branco.
+     */
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos calculados e escritos na saída.
+     *
+     * @return O número de financiamentos processados.
+     */
+    public long getFinanciamentosProcessados() {
+        return financiamentosProcessados;
+    }
+
+    /**
+     * Retorna a quantidade de linhas que não puderam ser convertidas em financiamentos.
+     *
+     * @return O número de linhas rejeitadas.
+     */
+    public long getLinhasRejeitadas() {
+        return linhasRejeitadas;
+    }
+
+    /**
+     * Retorna a soma dos valores dos imóveis processados.
+     *
+     * @return O valor total dos imóveis.
+     */
+    public double getValorTotalDeImoveis() {
+        return agregacao.getGeral().getSoma(AgregacaoCarteira.Medida.VALOR_IMOVEL);
+    }
+
+    /**
+     * Retorna a soma dos valores totais dos financiamentos processados.
+     *
+     * @return O valor total dos financiamentos.
+     */
+    public double getValorTotalDosFinanciamentos() {
+        return agregacao.getGeral().getSoma(AgregacaoCarteira.Medida.TOTAL);
+    }
+
+    /**
+     * Retorna as estatísticas agrupadas dos financiamentos processados.
+     *
+     * @return A agregação por tipo, zona, prazo e faixa de taxa.
+     */
+    public AgregacaoCarteira getAgregacao() {
+        return agregacao;
+    }
+}
@@ -0,0 +1,230 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import modelo.Financiamento;
+
+import util.ConversorRegistro;
+import util.FormatoJsonLinhas;
+import util.FormatoRelatorio;
+import util.Metricas;
+import util.ValidadorFinanciamento;
+
+/**
+ * Serviço HTTP local que calcula financiamentos a partir de objetos JSON, no mesmo formato
+ * lido por {@link ConversorRegistro#deJson(String)} e escrito por {@link FormatoRelatorio#JSON_LINHAS}.
+ * <ul>
+ *     <li>{@code POST /cotacao}: o corpo é um objeto JSON; a resposta é o objeto com a parcela
+ *     e o total calculados, ou {@code 400} com {@code {"erro": ...}} se o objeto for inválido.</li>
+ *     <li>{@code POST /cotacoes}: o corpo tem um objeto por linha (JSON Lines); a resposta tem uma
+ *     linha por linha não vazia da entrada, na mesma ordem, com o resultado ou
+ *     {@code {"linha": n, "erro": ...}}.</li>
+ *     <li>{@code GET /saude}: responde {@code ok}.</li>
+ *     <li>{@code GET /metricas}: as {@link Metricas} em texto.</li>
+ * </ul>
+ * <p>Cada registro é verificado pelo {@link ValidadorFinanciamento}, com as mesmas regras da entrada
+ * interativa, e um registro fora delas é rejeitado com as regras violadas. Como as regras exigem
+ * parâmetros finitos e prazo de pelo menos 5 anos, nenhuma resposta contém {@code NaN} ou infinito.
+ * <p>O serviço não tem autenticação e, por padrão, atende apenas no endereço de loopback; outro
+ * endereço deve ser informado explicitamente em {@link #ServicoCotacao(InetAddress, int)}.
+ * <p>Cada requisição é atendida em uma thread virtual própria, de modo que requisições lentas
+ * (por exemplo, lotes grandes) não bloqueiam as demais. O cálculo não compartilha estado
+ * mutável entre requisições.
+ *
+ * @version 1.0
+ */
+public class ServicoCotacao implements AutoCloseable {
+
+    private static final int FILA_CONEXOES = 1024;
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final String TIPO_JSON_LINHAS = "application/x-ndjson; charset=utf-8";
+    private static final String TIPO_TEXTO = "text/plain; charset=utf-8";
+
+    static {
+        // Sem TCP_NODELAY, o corpo da resposta espera o ACK atrasado dos cabeçalhos (cerca de 40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+
+    /**
+     * Cria o serviço na porta informada do endereço de loopback, sem iniciá-lo.
+     *
+     * @param porta A porta TCP; {@code 0} escolhe uma porta livre.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public ServicoCotacao(int porta) throws IOException {
+        this(InetAddress.getLoopbackAddress(), porta);
+    }
+
+    /**
+     * Cria o serviço no endereço e na porta informados, sem iniciá-lo.
+     *
+     * @param endereco O endereço local em que o serviço atende; o endereço curinga
+     *                 ({@code 0.0.0.0}) atende em todas as interfaces.
+     * @param porta A porta TCP; {@code 0} escolhe uma porta livre.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public ServicoCotacao(InetAddress endereco, int porta) throws IOException {
+        this.servidor = HttpServer.create(new InetSocketAddress(endereco, porta), FILA_CONEXOES);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/cotacao", this::cotar);
+        servidor.createContext("/cotacoes", this::cotarLote);
+        servidor.createContext("/saude", troca -> responder(troca, 200, TIPO_TEXTO, "ok\n"));
+        servidor.createContext("/metricas", troca -> responder(troca, 200, TIPO_TEXTO, Metricas.relatorio()));
+    }
+
+    /**
+     * Começa a atender requisições.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Retorna a porta em que o serviço atende.
+     *
+     * @return A porta TCP.
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Para o serviço, aguardando no máximo um segundo pelas requisições em andamento.
+     */
+    @Override
+    public void close() {
+        servidor.stop(1);
+        executor.close();
+    }
+
+    private void cotar(HttpExchange troca) throws IOException {
+        if (!exigirPost(troca)) {
+            return;
+        }
+        String corpo;
+        try (InputStream entrada = troca.getRequestBody()) {
+            corpo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder resposta = new StringBuilder(256);
+        int status = 200;
+        try {
+            anexarCotacao(ConversorRegistro.deJson(corpo), resposta);
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            anexarErro(resposta, 0, e.getMessage());
+        }
+        responder(troca, status, TIPO_JSON, resposta);
+    }
+
+    private void cotarLote(HttpExchange troca) throws IOException {
+        if (!exigirPost(troca)) {
+            return;
+        }
+        StringBuilder resposta = new StringBuilder(4096);
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(troca.getRequestBody(), StandardCharsets.UTF_8))) {
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                try {
+                    anexarCotacao(ConversorRegistro.deJson(linha), resposta);
+                } catch (IllegalArgumentException e) {
+                    anexarErro(resposta, numeroLinha, e.getMessage());
+                }
+            }
+        }
+        responder(troca, 200, TIPO_JSON_LINHAS, resposta);
+    }
+
+    private static void anexarCotacao(Financiamento financiamento, StringBuilder destino) {
+        String motivos = ValidadorFinanciamento.validar(financiamento);
+        if (motivos != null) {
+            throw new IllegalArgumentException(motivos);
+        }
+        FormatoRelatorio.JSON_LINHAS.anexar(financiamento, destino);
+    }
+
+    private static void anexarErro(StringBuilder destino, int numeroLinha, String mensagem) {
+        destino.append('{');
+        if (numeroLinha > 0) {
+            destino.append("\"linha\":").append(numeroLinha).append(',');
+        }
+        FormatoJsonLinhas.anexarTexto(destino.append("\"erro\":"), String.valueOf(mensagem));
+        destino.append("}\n");
+    }
+
+    private static boolean exigirPost(HttpExchange troca) throws IOException {
+        if ("POST".equals(troca.getRequestMethod())) {
+            return true;
+        }
+        troca.getResponseHeaders().set("Allow", "POST");
+        responder(troca, 405, TIPO_JSON, "{\"erro\":\"Use POST\"}\n");
+        return false;
+    }
+
+    private static void responder(HttpExchange troca, int status, String tipo, CharSequence corpo) throws IOException {
+        byte[] bytes = corpo.toString().getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", tipo);
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    /**
+     * Inicia o serviço no endereço de loopback e o mantém em execução até o processo ser encerrado.
+     *
+     * @param porta A porta TCP.
+     * @throws IOException Se a porta não puder ser aberta.
+     * @throws InterruptedException Se a thread for interrompida.
+     */
+    public static void executar(int porta) throws IOException, InterruptedException {
+        executar(InetAddress.getLoopbackAddress(), porta);
+    }
+
+    /**
+     * Inicia o serviço e o mantém em execução até o processo ser encerrado. Com as métricas
+     * habilitadas, registra também o {@link util.MetricasMXBean} no JMX.
+     *
+     * @param endereco O endereço local em que o serviço atende.
+     * @param porta A porta TCP.
+     * @throws IOException Se a porta não puder ser aberta.
+     * @throws InterruptedException Se a thread for interrompida.
+     */
+    public static void executar(InetAddress endereco, int porta) throws IOException, InterruptedException {
+        ServicoCotacao servico = new ServicoCotacao(endereco, porta);
+        if (Metricas.isHabilitado()) {
+            Metricas.registrarJmx();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(servico::close));
+        servico.iniciar();
+        String host = endereco.isLoopbackAddress() ? "localhost"
+                : endereco instanceof Inet6Address ? "[" + endereco.getHostAddress() + "]" : endereco.getHostAddress();
+        System.out.printf("Serviço de cotação em http://%s:%d (POST /cotacao, POST /cotacoes)\n",
+                host, servico.getPorta());
+        Thread.currentThread().join();
+    }
+}
@@ -1,5 +1,7 @@
 package modelo;
 
+import util.FormatoTexto;
+
 /**
  * Classe que representa um Apartamento no contexto de um financiamento.
  *
@@ -53,6 +55,16 @@ public class Apartamento extends Financiamento {
         return andar;
     }
 
+    /**
+     * Retorna o tipo de imóvel deste financiamento.
+     *
+     * @return {@link TipoImovel#APARTAMENTO}.
+     */
+    @Override
+    public TipoImovel getTipoImovel() {
+        return TipoImovel.APARTAMENTO;
+    }
+
     /**
      * Calcula o valor da parcela mensal do financiamento para o apartamento.
      *
@@ -61,10 +73,24 @@ public class Apartamento extends Financiamento {
      * @return O valor mensal a ser pago pelo financiamento.
      */
     @Override
-    public double calcularValorPagamentoMensal() {
+    protected double calcularParcela() {
+        return calcularParcelaPrice(valorImovel, prazoFinanciamento, taxaJurosAnual);
+    }
+
+    /**
+     * Calcula a parcela mensal pela fórmula do valor presente (tabela Price), sem criar objetos.
+     * A potência {@code (1 + taxaMensal)^meses} vem de {@link CacheFatorAnuidade#compartilhado()}.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O valor mensal da parcela.
+     */
+    public static double calcularParcelaPrice(double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
         double taxaMensal = taxaJurosAnual / 12;
         int meses = prazoFinanciamento * 12;
-        return valorImovel * (taxaMensal * Math.pow(1 + taxaMensal, meses)) / (Math.pow(1 + taxaMensal, meses) - 1);
+        double fator = CacheFatorAnuidade.compartilhado().fator(taxaMensal, meses);
+        return valorImovel * (taxaMensal * fator) / (fator - 1);
     }
 
     /**
@@ -75,14 +101,6 @@ public class Apartamento extends Financiamento {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Valor do Imóvel: R$ %.2f%n", this.getValorImovel()));
-        sb.append(String.format("Prazo de financiamento: %d anos%n", this.getPrazoFinanciamento()));
-        sb.append(String.format("Taxa de juros anual: %.2f%%%n", this.getTaxaJurosAnual()));
-        sb.append(String.format("Pagamento mensal: R$ %.2f%n", this.calcularValorPagamentoMensal()));
-        sb.append(String.format("Valor do financiamento: R$ %.2f%n", this.calcularTotalPagamento()));
-        sb.append(String.format("Quantidade de vagas de garagem: %d%n", this.getVagasGaragem()));
-        sb.append(String.format("Andar: %d%n", this.getAndar()));
-        return sb.toString();
+        return FormatoTexto.anexarDetalhes(this, new StringBuilder(256)).toString();
     }
 }
@@ -0,0 +1,218 @@
+package modelo;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado e seguro para várias threads do fator de capitalização {@code (1 + taxaMensal)^meses}
+ * usado pela tabela Price.
+ * <p>As carteiras costumam repetir poucas combinações de taxa e prazo, e a potência é a parte cara
+ * da parcela. Com o fator em cache, a parcela se reduz a duas multiplicações e uma divisão, feitas
+ * na mesma ordem que antes, de modo que o resultado é idêntico ao do cálculo sem cache.
+ * <p>O cache é associativo em pares: o hash de cada combinação escolhe um par de posições, a primeira
+ * com a entrada mais recente e a segunda com a anterior. Uma combinação nova entra na primeira posição,
+ * empurra a anterior para a segunda e descarta a mais antiga. As entradas são imutáveis e publicadas
+ * sem bloqueio; uma thread que não veja a entrada mais recente apenas recalcula o fator.
+ * <p>O cache compartilhado por {@link Apartamento} e pela tabela de amortização pode ser desligado
+ * com a propriedade de sistema {@code financiamentos.cacheFatores=false} ou com
+ * {@link #setHabilitado(boolean)}.
+ *
+ * @version 1.0
+ */
+public final class CacheFatorAnuidade {
+
+    /**
+     * Quantidade padrão de posições do cache.
+     */
+    public static final int CAPACIDADE_PADRAO = 1024;
+
+    private static final CacheFatorAnuidade COMPARTILHADO = new CacheFatorAnuidade(CAPACIDADE_PADRAO,
+            Boolean.parseBoolean(System.getProperty("financiamentos.cacheFatores", "true")));
+
+    private final Entrada[] entradas;
+    private final int mascara;
+    private volatile boolean habilitado;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder substituicoes = new LongAdder();
+
+    /**
+     * Cria um cache habilitado com a capacidade informada, arredondada para a próxima potência de dois
+     * (no mínimo 2).
+     *
+     * @param capacidade A quantidade de posições do cache.
+     * @throws IllegalArgumentException Se a capacidade não estiver entre 1 e 2^20.
+     */
+    public CacheFatorAnuidade(int capacidade) {
+        this(capacidade, true);
+    }
+
+    private CacheFatorAnuidade(int capacidade, boolean habilitado) {
+        if (capacidade < 1 || capacidade > (1 << 20)) {
+            throw new IllegalArgumentException("Capacidade do cache inválida: " + capacidade);
+        }
+        int tamanho = Math.max(2, Integer.highestOneBit(capacidade));
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+        this.entradas = new Entrada[tamanho];
+        this.mascara = tamanho - 1;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Retorna o cache compartilhado pelas classes de {@code modelo}.
+     *
+     * @return O cache compartilhado.
+     */
+    public static CacheFatorAnuidade compartilhado() {
+        return COMPARTILHADO;
+    }
+
+    /**
+     * Calcula {@code (1 + taxaMensal)^meses} sem usar cache.
+     *
+     * @param taxaMensal A taxa de juros mensal.
+     * @param meses A quantidade de meses.
+     * @return O fator de capitalização.
+     */
+    public static double calcularFator(double taxaMensal, int meses) {
+        return Math.pow(1 + taxaMensal, meses);
+    }
+
+    /**
+     * Retorna {@code (1 + taxaMensal)^meses}, consultando o cache quando ele está habilitado.
+     *
+     * @param taxaMensal A taxa de juros mensal.
+     * @param meses A quantidade de meses.
+     * @return O fator de capitalização, idêntico ao de {@link #calcularFator(double, int)}.
+     */
+    public double fator(double taxaMensal, int meses) {
+        if (!habilitado) {
+            return calcularFator(taxaMensal, meses);
+        }
+        long bitsTaxa = Double.doubleToRawLongBits(taxaMensal);
+        int primeira = posicao(bitsTaxa, meses);
+        int segunda = primeira ^ 1;
+        Entrada recente = entradas[primeira];
+        if (recente != null && recente.bitsTaxa == bitsTaxa && recente.meses == meses) {
+            acertos.increment();
+            return recente.fator;
+        }
+        Entrada antiga = entradas[segunda];
+        if (antiga != null && antiga.bitsTaxa == bitsTaxa && antiga.meses == meses) {
+            acertos.increment();
+            return antiga.fator;
+        }
+        falhas.increment();
+        double fator = calcularFator(taxaMensal, meses);
+        if (recente != null) {
+            if (antiga != null) {
+                substituicoes.increment();
+            }
+            entradas[segunda] = recente;
+        }
+        entradas[primeira] = new Entrada(bitsTaxa, meses, fator);
+        return fator;
+    }
+
+    private int posicao(long bitsTaxa, int meses) {
+        long h = (bitsTaxa ^ (bitsTaxa >>> 32)) * 0x9E3779B97F4A7C15L + meses;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h >>> 32) & mascara & ~1;
+    }
+
+    /**
+     * Indica se o cache está sendo consultado.
+     *
+     * @return {@code true} se o cache estiver habilitado.
+     */
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Liga ou desliga o cache. Desligado, todo fator é recalculado e os contadores não mudam.
+     *
+     * @param habilitado {@code true} para consultar o cache.
+     */
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Remove todas as entradas e zera os contadores.
+     */
+    public void limpar() {
+        for (int i = 0; i < entradas.length; i++) {
+            entradas[i] = null;
+        }
+        acertos.reset();
+        falhas.reset();
+        substituicoes.reset();
+    }
+
+    /**
+     * Retorna a quantidade de posições do cache.
+     *
+     * @return A capacidade do cache.
+     */
+    public int getCapacidade() {
+        return entradas.length;
+    }
+
+    /**
+     * Retorna a quantidade de consultas atendidas pelo cache.
+     *
+     * @return O número de acertos.
+     */
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    /**
+     * Retorna a quantidade de consultas que precisaram calcular o fator.
+     *
+     * @return O número de falhas.
+     */
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * Retorna a quantidade de entradas descartadas para dar lugar a outra combinação.
+     *
+     * @return O número de substituições.
+     */
+    public long getSubstituicoes() {
+        return substituicoes.sum();
+    }
+
+    /**
+     * Retorna os contadores do cache em uma linha de texto.
+     *
+     * @return Uma string com capacidade, acertos, falhas e substituições.
+     */
+    @Override
+    public String toString() {
+        return "CacheFatorAnuidade[capacidade=" + getCapacidade() + ", habilitado=" + habilitado
+                + ", acertos=" + getAcertos() + ", falhas=" + getFalhas()
+                + ", substituicoes=" + getSubstituicoes() + "]";
+    }
+
+    /**
+     * Combinação de taxa e prazo com o fator já calculado.
+     */
+    private static final class Entrada {
+        final long bitsTaxa;
+        final int meses;
+        final double fator;
+
+        Entrada(long bitsTaxa, int meses, double fator) {
+            this.bitsTaxa = bitsTaxa;
+            this.meses = meses;
+            this.fator = fator;
+        }
+    }
+}
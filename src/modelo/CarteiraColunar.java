@@ -0,0 +1,542 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carteira de financiamentos armazenada em colunas de tipos primitivos, em vez de uma lista
+ * de objetos {@link Financiamento}.
+ * <p>Cada financiamento ocupa uma posição em todas as colunas: tipo de imóvel ({@code byte}),
+ * valor do imóvel e taxa ({@code double}), prazo ({@code int}) e os atributos específicos de
+ * cada tipo (vagas e andar do apartamento, áreas da casa e zona do terreno). As zonas são
+ * guardadas como códigos de um dicionário. Cada financiamento ocupa cerca de 46 bytes,
+ * sem cabeçalhos de objeto nem ponteiros, e os cálculos em lote percorrem arrays contíguos.
+ * <p>A classe não é sincronizada; leituras concorrentes são seguras depois que a carteira
+ * deixa de receber financiamentos.
+ *
+ * @version 1.0
+ */
+public class CarteiraColunar {
+
+    private static final TipoImovel[] TIPOS = TipoImovel.values();
+
+    private int tamanho;
+    private byte[] tipos;
+    private double[] valoresImovel;
+    private double[] taxasJurosAnual;
+    private int[] prazosFinanciamento;
+    private int[] vagasGaragem;
+    private int[] andares;
+    private double[] areasConstruidas;
+    private double[] areasTerreno;
+    private byte[] zonas;
+
+    private final List<String> dicionarioZonas = new ArrayList<>();
+    private final Map<String, Byte> codigosZonas = new HashMap<>();
+
+    /**
+     * Cria uma carteira vazia com capacidade inicial padrão.
+     */
+    public CarteiraColunar() {
+        this(1024);
+    }
+
+    /**
+     * Cria uma carteira vazia.
+     *
+     * @param capacidadeInicial A quantidade de financiamentos que cabem antes de aumentar as colunas.
+     */
+    public CarteiraColunar(int capacidadeInicial) {
+        int capacidade = Math.max(capacidadeInicial, 16);
+        tipos = new byte[capacidade];
+        valoresImovel = new double[capacidade];
+        taxasJurosAnual = new double[capacidade];
+        prazosFinanciamento = new int[capacidade];
+        vagasGaragem = new int[capacidade];
+        andares = new int[capacidade];
+        areasConstruidas = new double[capacidade];
+        areasTerreno = new double[capacidade];
+        zonas = new byte[capacidade];
+    }
+
+    /**
+     * Cria uma carteira a partir de colunas já preenchidas, sem copiá-las. Usado para carregar
+     * carteiras gravadas em arquivo; as colunas passam a pertencer à carteira.
+     *
+     * @param tamanho A quantidade de financiamentos preenchidos nas colunas.
+     * @param tipos Os códigos de tipo de imóvel ({@link TipoImovel#ordinal()}).
+     * @param valoresImovel Os valores dos imóveis.
+     * @param taxasJurosAnual As taxas de juros anuais.
+     * @param prazosFinanciamento Os prazos em anos.
+     * @param vagasGaragem As vagas de garagem dos apartamentos.
+     * @param andares Os andares dos apartamentos.
+     * @param areasConstruidas As áreas construídas das casas.
+     * @param areasTerreno As áreas dos terrenos das casas.
+     * @param zonas Os códigos de zona dos terrenos, posições em {@code dicionarioZonas}.
+     * @param dicionarioZonas As zonas distintas.
+     * @return A carteira com as colunas informadas.
+     * @throws IllegalArgumentException Se alguma coluna tiver menos de {@code tamanho} posições.
+     */
+    public static CarteiraColunar deColunas(int tamanho, byte[] tipos, double[] valoresImovel, double[] taxasJurosAnual,
+                                            int[] prazosFinanciamento, int[] vagasGaragem, int[] andares,
+                                            double[] areasConstruidas, double[] areasTerreno, byte[] zonas,
+                                            List<String> dicionarioZonas) {
+        int menor = Math.min(Math.min(Math.min(tipos.length, valoresImovel.length), Math.min(taxasJurosAnual.length,
+                prazosFinanciamento.length)), Math.min(Math.min(vagasGaragem.length, andares.length),
+                Math.min(Math.min(areasConstruidas.length, areasTerreno.length), zonas.length)));
+        if (menor < tamanho) {
+            throw new IllegalArgumentException("Colunas menores que o tamanho da carteira: " + menor + " < " + tamanho);
+        }
+        CarteiraColunar carteira = new CarteiraColunar(0);
+        carteira.tamanho = tamanho;
+        carteira.tipos = tipos;
+        carteira.valoresImovel = valoresImovel;
+        carteira.taxasJurosAnual = taxasJurosAnual;
+        carteira.prazosFinanciamento = prazosFinanciamento;
+        carteira.vagasGaragem = vagasGaragem;
+        carteira.andares = andares;
+        carteira.areasConstruidas = areasConstruidas;
+        carteira.areasTerreno = areasTerreno;
+        carteira.zonas = zonas;
+        for (String zona : dicionarioZonas) {
+            carteira.codigoZona(zona);
+        }
+        return carteira;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos na carteira.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Adiciona um financiamento, copiando os seus atributos para as colunas.
+     *
+     * @param financiamento O financiamento a ser adicionado.
+     * @return A posição do financiamento na carteira.
+     */
+    public int adicionar(Financiamento financiamento) {
+        if (financiamento instanceof Apartamento) {
+            Apartamento apartamento = (Apartamento) financiamento;
+            return adicionarApartamento(apartamento.getValorImovel(), apartamento.getPrazoFinanciamento(),
+                    apartamento.getTaxaJurosAnual(), apartamento.getVagasGaragem(), apartamento.getAndar());
+        }
+        if (financiamento instanceof Casa) {
+            Casa casa = (Casa) financiamento;
+            return adicionarCasa(casa.getValorImovel(), casa.getPrazoFinanciamento(), casa.getTaxaJurosAnual(),
+                    casa.getAreaConstruida(), casa.getAreaTerreno());
+        }
+        Terreno terreno = (Terreno) financiamento;
+        return adicionarTerreno(terreno.getValorImovel(), terreno.getPrazoFinanciamento(),
+                terreno.getTaxaJurosAnual(), terreno.getZona());
+    }
+
+    /**
+     * Adiciona o financiamento de um apartamento.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param vagas O número de vagas de garagem.
+     * @param andar O andar do apartamento.
+     * @return A posição do financiamento na carteira.
+     */
+    public int adicionarApartamento(double valorImovel, int prazoFinanciamento, double taxaJurosAnual,
+                                    int vagas, int andar) {
+        int i = adicionarComum(TipoImovel.APARTAMENTO, valorImovel, prazoFinanciamento, taxaJurosAnual);
+        vagasGaragem[i] = vagas;
+        andares[i] = andar;
+        return i;
+    }
+
+    /**
+     * Adiciona o financiamento de uma casa.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param areaConstruida A área construída em metros quadrados.
+     * @param areaTerreno A área do terreno em metros quadrados.
+     * @return A posição do financiamento na carteira.
+     */
+    public int adicionarCasa(double valorImovel, int prazoFinanciamento, double taxaJurosAnual,
+                             double areaConstruida, double areaTerreno) {
+        int i = adicionarComum(TipoImovel.CASA, valorImovel, prazoFinanciamento, taxaJurosAnual);
+        areasConstruidas[i] = areaConstruida;
+        areasTerreno[i] = areaTerreno;
+        return i;
+    }
+
+    /**
+     * Adiciona o financiamento de um terreno.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param zona A zona do terreno.
+     * @return A posição do financiamento na carteira.
+     */
+    public int adicionarTerreno(double valorImovel, int prazoFinanciamento, double taxaJurosAnual, String zona) {
+        int i = adicionarComum(TipoImovel.TERRENO, valorImovel, prazoFinanciamento, taxaJurosAnual);
+        zonas[i] = codigoZona(zona);
+        return i;
+    }
+
+    /**
+     * Adiciona o financiamento de um terreno cuja zona já foi registrada com {@link #registrarZona(String)},
+     * sem consultar o dicionário de zonas.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param codigoZona O código da zona.
+     * @return A posição do financiamento na carteira.
+     * @throws IllegalArgumentException Se o código não corresponder a uma zona registrada.
+     */
+    public int adicionarTerreno(double valorImovel, int prazoFinanciamento, double taxaJurosAnual, byte codigoZona) {
+        if (codigoZona < 0 || codigoZona >= dicionarioZonas.size()) {
+            throw new IllegalArgumentException("Código de zona não registrado: " + codigoZona);
+        }
+        int i = adicionarComum(TipoImovel.TERRENO, valorImovel, prazoFinanciamento, taxaJurosAnual);
+        zonas[i] = codigoZona;
+        return i;
+    }
+
+    /**
+     * Registra uma zona no dicionário, se ainda não estiver registrada.
+     *
+     * @param zona A zona.
+     * @return O código da zona, a sua posição em {@link #getDicionarioZonas()}.
+     * @throws IllegalStateException Se o limite de zonas distintas for excedido.
+     */
+    public byte registrarZona(String zona) {
+        return codigoZona(zona);
+    }
+
+    /**
+     * Adiciona ao final desta carteira todos os financiamentos de outra, copiando as colunas
+     * de uma vez. As zonas são convertidas para os códigos do dicionário desta carteira.
+     *
+     * @param outra A carteira cujos financiamentos serão copiados; não é alterada.
+     * @throws IllegalStateException Se o total de zonas distintas exceder o limite do dicionário.
+     */
+    public void anexar(CarteiraColunar outra) {
+        int n = outra.tamanho;
+        if (tipos.length - tamanho < n) {
+            redimensionar(Math.max(tamanho + n, tipos.length + (tipos.length >> 1)));
+        }
+        System.arraycopy(outra.tipos, 0, tipos, tamanho, n);
+        System.arraycopy(outra.valoresImovel, 0, valoresImovel, tamanho, n);
+        System.arraycopy(outra.taxasJurosAnual, 0, taxasJurosAnual, tamanho, n);
+        System.arraycopy(outra.prazosFinanciamento, 0, prazosFinanciamento, tamanho, n);
+        System.arraycopy(outra.vagasGaragem, 0, vagasGaragem, tamanho, n);
+        System.arraycopy(outra.andares, 0, andares, tamanho, n);
+        System.arraycopy(outra.areasConstruidas, 0, areasConstruidas, tamanho, n);
+        System.arraycopy(outra.areasTerreno, 0, areasTerreno, tamanho, n);
+        System.arraycopy(outra.zonas, 0, zonas, tamanho, n);
+
+        byte[] codigos = new byte[outra.dicionarioZonas.size()];
+        boolean mesmosCodigos = true;
+        for (int z = 0; z < codigos.length; z++) {
+            codigos[z] = codigoZona(outra.dicionarioZonas.get(z));
+            mesmosCodigos &= codigos[z] == z;
+        }
+        if (!mesmosCodigos) {
+            byte terreno = (byte) TipoImovel.TERRENO.ordinal();
+            for (int i = tamanho; i < tamanho + n; i++) {
+                if (tipos[i] == terreno) {
+                    zonas[i] = codigos[zonas[i]];
+                }
+            }
+        }
+        tamanho += n;
+    }
+
+    /**
+     * Cria o objeto {@link Financiamento} correspondente a uma posição da carteira.
+     *
+     * @param i A posição do financiamento.
+     * @return Um novo financiamento com os atributos da posição.
+     */
+    public Financiamento criarFinanciamento(int i) {
+        switch (getTipo(i)) {
+            case APARTAMENTO:
+                return new Apartamento(valoresImovel[i], prazosFinanciamento[i], taxasJurosAnual[i],
+                        vagasGaragem[i], andares[i]);
+            case CASA:
+                return new Casa(valoresImovel[i], prazosFinanciamento[i], taxasJurosAnual[i],
+                        areasConstruidas[i], areasTerreno[i]);
+            default:
+                return new Terreno(valoresImovel[i], prazosFinanciamento[i], taxasJurosAnual[i], getZona(i));
+        }
+    }
+
+    /**
+     * Calcula a parcela mensal dos financiamentos de um intervalo de posições.
+     *
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     * @param destino O array que recebe as parcelas, nas mesmas posições da carteira.
+     */
+    public void calcularParcelas(int inicio, int fim, double[] destino) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = TIPOS[tipos[i]].calcularParcela(valoresImovel[i], prazosFinanciamento[i], taxasJurosAnual[i]);
+        }
+    }
+
+    /**
+     * Calcula a parcela mensal de todos os financiamentos da carteira.
+     *
+     * @return Um array com a parcela de cada posição.
+     */
+    public double[] calcularParcelas() {
+        double[] parcelas = new double[tamanho];
+        calcularParcelas(0, tamanho, parcelas);
+        return parcelas;
+    }
+
+    /**
+     * Soma os valores dos imóveis de um intervalo de posições.
+     *
+     * @param inicio A primeira posição (inclusiva).
+     * @param fim A última posição (exclusiva).
+     * @return A soma dos valores dos imóveis.
+     */
+    public double somarValoresImovel(int inicio, int fim) {
+        double soma = 0;
+        for (int i = inicio; i < fim; i++) {
+            soma += valoresImovel[i];
+        }
+        return soma;
+    }
+
+    /**
+     * Retorna o tipo de imóvel de uma posição.
+     *
+     * @param i A posição do financiamento.
+     * @return O tipo de imóvel.
+     */
+    public TipoImovel getTipo(int i) {
+        return TIPOS[tipos[i]];
+    }
+
+    /**
+     * Retorna o valor do imóvel de uma posição.
+     *
+     * @param i A posição do financiamento.
+     * @return O valor do imóvel.
+     */
+    public double getValorImovel(int i) {
+        return valoresImovel[i];
+    }
+
+    /**
+     * Retorna o prazo do financiamento de uma posição.
+     *
+     * @param i A posição do financiamento.
+     * @return O prazo em anos.
+     */
+    public int getPrazoFinanciamento(int i) {
+        return prazosFinanciamento[i];
+    }
+
+    /**
+     * Retorna a taxa de juros anual de uma posição.
+     *
+     * @param i A posição do financiamento.
+     * @return A taxa de juros anual.
+     */
+    public double getTaxaJurosAnual(int i) {
+        return taxasJurosAnual[i];
+    }
+
+    /**
+     * Retorna o número de vagas de garagem de um apartamento.
+     *
+     * @param i A posição do financiamento.
+     * @return O número de vagas, ou {@code 0} se a posição não for um apartamento.
+     */
+    public int getVagasGaragem(int i) {
+        return vagasGaragem[i];
+    }
+
+    /**
+     * Retorna o andar de um apartamento.
+     *
+     * @param i A posição do financiamento.
+     * @return O andar, ou {@code 0} se a posição não for um apartamento.
+     */
+    public int getAndar(int i) {
+        return andares[i];
+    }
+
+    /**
+     * Retorna a área construída de uma casa.
+     *
+     * @param i A posição do financiamento.
+     * @return A área construída, ou {@code 0} se a posição não for uma casa.
+     */
+    public double getAreaConstruida(int i) {
+        return areasConstruidas[i];
+    }
+
+    /**
+     * Retorna a área do terreno de uma casa.
+     *
+     * @param i A posição do financiamento.
+     * @return A área do terreno, ou {@code 0} se a posição não for uma casa.
+     */
+    public double getAreaTerreno(int i) {
+        return areasTerreno[i];
+    }
+
+    /**
+     * Retorna a zona de um terreno.
+     *
+     * @param i A posição do financiamento.
+     * @return A zona, ou {@code null} se a posição não for um terreno.
+     */
+    public String getZona(int i) {
+        return tipos[i] == TipoImovel.TERRENO.ordinal() ? dicionarioZonas.get(zonas[i]) : null;
+    }
+
+    /**
+     * Retorna a coluna de códigos de tipo. O array é o usado internamente e pode ter mais
+     * posições que {@link #tamanho()}; não deve ser alterado.
+     *
+     * @return A coluna de tipos.
+     */
+    public byte[] colunaTipos() {
+        return tipos;
+    }
+
+    /**
+     * Retorna a coluna de valores dos imóveis (array interno, somente leitura).
+     *
+     * @return A coluna de valores.
+     */
+    public double[] colunaValoresImovel() {
+        return valoresImovel;
+    }
+
+    /**
+     * Retorna a coluna de taxas de juros anuais (array interno, somente leitura).
+     *
+     * @return A coluna de taxas.
+     */
+    public double[] colunaTaxasJurosAnual() {
+        return taxasJurosAnual;
+    }
+
+    /**
+     * Retorna a coluna de prazos em anos (array interno, somente leitura).
+     *
+     * @return A coluna de prazos.
+     */
+    public int[] colunaPrazosFinanciamento() {
+        return prazosFinanciamento;
+    }
+
+    /**
+     * Retorna a coluna de vagas de garagem (array interno, somente leitura).
+     *
+     * @return A coluna de vagas.
+     */
+    public int[] colunaVagasGaragem() {
+        return vagasGaragem;
+    }
+
+    /**
+     * Retorna a coluna de andares (array interno, somente leitura).
+     *
+     * @return A coluna de andares.
+     */
+    public int[] colunaAndares() {
+        return andares;
+    }
+
+    /**
+     * Retorna a coluna de áreas construídas (array interno, somente leitura).
+     *
+     * @return A coluna de áreas construídas.
+     */
+    public double[] colunaAreasConstruidas() {
+        return areasConstruidas;
+    }
+
+    /**
+     * Retorna a coluna de áreas de terreno (array interno, somente leitura).
+     *
+     * @return A coluna de áreas de terreno.
+     */
+    public double[] colunaAreasTerreno() {
+        return areasTerreno;
+    }
+
+    /**
+     * Retorna a coluna de códigos de zona (array interno, somente leitura).
+     *
+     * @return A coluna de zonas.
+     */
+    public byte[] colunaZonas() {
+        return zonas;
+    }
+
+    /**
+     * Retorna as zonas distintas, na ordem dos seus códigos.
+     *
+     * @return A lista de zonas, não modificável.
+     */
+    public List<String> getDicionarioZonas() {
+        return Collections.unmodifiableList(dicionarioZonas);
+    }
+
+    private int adicionarComum(TipoImovel tipo, double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        if (tamanho == tipos.length) {
+            crescer();
+        }
+        int i = tamanho++;
+        tipos[i] = (byte) tipo.ordinal();
+        valoresImovel[i] = valorImovel;
+        prazosFinanciamento[i] = prazoFinanciamento;
+        taxasJurosAnual[i] = taxaJurosAnual;
+        return i;
+    }
+
+    private byte codigoZona(String zona) {
+        Byte codigo = codigosZonas.get(zona);
+        if (codigo == null) {
+            if (dicionarioZonas.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Limite de zonas distintas excedido: " + zona);
+            }
+            codigo = (byte) dicionarioZonas.size();
+            dicionarioZonas.add(zona);
+            codigosZonas.put(zona, codigo);
+        }
+        return codigo;
+    }
+
+    private void crescer() {
+        redimensionar(Math.max(16, tipos.length + (tipos.length >> 1)));
+    }
+
+    private void redimensionar(int capacidade) {
+        tipos = Arrays.copyOf(tipos, capacidade);
+        valoresImovel = Arrays.copyOf(valoresImovel, capacidade);
+        taxasJurosAnual = Arrays.copyOf(taxasJurosAnual, capacidade);
+        prazosFinanciamento = Arrays.copyOf(prazosFinanciamento, capacidade);
+        vagasGaragem = Arrays.copyOf(vagasGaragem, capacidade);
+        andares = Arrays.copyOf(andares, capacidade);
+        areasConstruidas = Arrays.copyOf(areasConstruidas, capacidade);
+        areasTerreno = Arrays.copyOf(areasTerreno, capacidade);
+        zonas = Arrays.copyOf(zonas, capacidade);
+    }
+}
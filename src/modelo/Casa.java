@@ -1,22 +1,36 @@
 package modelo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import util.AcrescimoMaiorDoQueJurosException;
 import util.DescontoMaiorDoQueJurosException;
+import util.FormatoTexto;
 
 /**
  * A classe {@code Casa} representa um imóvel do tipo casa no contexto de um financiamento.
  * Além dos atributos comuns de um financiamento, ela armazena informações sobre a
  * área construída e a área do terreno. Também permite acréscimos e descontos no
  * valor do financiamento, respeitando algumas regras de validação.
+ * <p>O cálculo da parcela não altera o estado do objeto nem escreve no console, podendo ser
+ * feito por várias threads; as validações rejeitadas ficam registradas no {@link ResultadoPagamento}.
  *
  * @version 1.0
  */
 public class Casa extends Financiamento {
 
+    /**
+     * Fração do valor do imóvel, dividida pelo prazo em anos, acrescida a cada parcela.
+     */
+    public static final double PERCENTUAL_ACRESCIMO = 0.02;
+
+    /**
+     * Fração do valor do imóvel, dividida pelo prazo em anos, descontada de cada parcela.
+     */
+    public static final double PERCENTUAL_DESCONTO = 0.01;
+
     private final double areaConstruida;
     private final double areaTerreno;
-    private double valorAcrescimo;
-    private double valorDesconto;
 
     /**
      * Construtor para a classe {@code Casa}.
@@ -31,8 +45,6 @@ public class Casa extends Financiamento {
         super(valorDesejadoImovel, prazoFinanciamento, taxaJurosAnual);
         this.areaConstruida = areaConstruida;
         this.areaTerreno = areaTerreno;
-        this.valorAcrescimo = 0;
-        this.valorDesconto = 0;
     }
 
     /**
@@ -54,18 +66,39 @@ public class Casa extends Financiamento {
      *
      * @return O valor do acréscimo.
      */
-    public double getValorAcrescimo() { return valorAcrescimo; }
+    public double getValorAcrescimo() { return getResultado().getValorAcrescimo(); }
 
     /**
      * Retorna o valor do desconto aplicado no financiamento.
      *
      * @return O valor do desconto.
      */
-    public double getValorDesconto() { return valorDesconto; }
+    public double getValorDesconto() { return getResultado().getValorDesconto(); }
+
+    /**
+     * Retorna as mensagens das validações de acréscimo e desconto que foram rejeitadas
+     * no cálculo da parcela.
+     *
+     * @return A lista de mensagens, vazia se o acréscimo e o desconto forem válidos.
+     */
+    public List<String> getDiagnosticos() {
+        List<String> diagnosticos = new ArrayList<>(2);
+        anexarDiagnosticos(getResultado(), getValorImovel(), getPrazoFinanciamento(), getTaxaJurosAnual(), diagnosticos);
+        return diagnosticos;
+    }
+
+    /**
+     * Retorna o tipo de imóvel deste financiamento.
+     *
+     * @return {@link TipoImovel#CASA}.
+     */
+    @Override
+    public TipoImovel getTipoImovel() { return TipoImovel.CASA; }
 
     /**
      * Valida se o acréscimo no financiamento não é maior do que o valor dos juros mensais.
      * Caso o acréscimo seja maior que os juros, uma exceção é lançada.
+     * O cálculo da parcela não usa este método; veja {@link ResultadoPagamento#isAcrescimoRejeitado()}.
      *
      * @param valorJuros O valor dos juros mensais do financiamento.
      * @param valorAcrescimo O valor do acréscimo a ser validado.
@@ -87,6 +120,7 @@ public class Casa extends Financiamento {
     /**
      * Valida se o desconto no financiamento não é maior do que o valor dos juros mensais.
      * Caso o desconto seja maior que os juros, uma exceção é lançada.
+     * O cálculo da parcela não usa este método; veja {@link ResultadoPagamento#isDescontoRejeitado()}.
      *
      * @param valorJuros O valor dos juros mensais do financiamento.
      * @param valorDesconto O valor do desconto a ser validado.
@@ -105,6 +139,16 @@ public class Casa extends Financiamento {
         }
     }
 
+    /**
+     * Calcula o resultado do financiamento da casa, com acréscimo e desconto.
+     *
+     * @return O resultado com a parcela, o total, o acréscimo e o desconto.
+     */
+    @Override
+    protected ResultadoPagamento calcularResultado() {
+        return calcularResultado(getValorImovel(), getPrazoFinanciamento(), getTaxaJurosAnual(), null);
+    }
+
     /**
      * Calcula o valor do pagamento mensal considerando os acréscimos e descontos
      * aplicados ao financiamento. Se o acréscimo ou desconto forem inválidos,
@@ -113,27 +157,75 @@ public class Casa extends Financiamento {
      * @return O valor do pagamento mensal ajustado com acréscimos e descontos.
      */
     @Override
-    public double calcularValorPagamentoMensal() {
-        double valorMensalTotal = super.calcularValorPagamentoMensal();
-        double taxaMensal = getTaxaJurosAnual() / 12 / 100;
-        double saldoDevedor = getValorImovel();
-        double jurosMensais = saldoDevedor * taxaMensal;
-
-        // Definindo valores de acréscimo e desconto
-        this.valorAcrescimo = 0.02 * saldoDevedor / getPrazoFinanciamento();
-        this.valorDesconto = 0.01 * saldoDevedor / getPrazoFinanciamento();
-
-        // Validação de acréscimo
-        if (!validarJuros(jurosMensais, this.valorAcrescimo)) {
-            this.valorAcrescimo = 0;
-        }
+    protected double calcularParcela() {
+        return calcularParcelaCasa(getValorImovel(), getPrazoFinanciamento(), getTaxaJurosAnual());
+    }
 
-        // Validação de desconto
-        if (!validarDesconto(jurosMensais, this.valorDesconto)) {
-            this.valorDesconto = jurosMensais;
+    /**
+     * Calcula o resultado do financiamento de uma casa sem alterar nenhum estado, podendo ser
+     * chamado por várias threads ao mesmo tempo. Acréscimo maior que os juros mensais é zerado e
+     * desconto maior que os juros é limitado a eles; essas rejeições são informadas no resultado
+     * e, se {@code diagnosticos} não for {@code null}, descritas nessa lista.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @param diagnosticos Lista que recebe as mensagens de validação, ou {@code null}.
+     * @return O resultado com a parcela, o total, o acréscimo e o desconto.
+     */
+    public static ResultadoPagamento calcularResultado(double valorImovel, int prazoFinanciamento, double taxaJurosAnual,
+                                                       List<String> diagnosticos) {
+        double jurosMensais = calcularJurosMensais(valorImovel, taxaJurosAnual);
+        double acrescimoCalculado = PERCENTUAL_ACRESCIMO * valorImovel / prazoFinanciamento;
+        double descontoCalculado = PERCENTUAL_DESCONTO * valorImovel / prazoFinanciamento;
+
+        // Acréscimo maior que os juros é zerado; desconto maior que os juros é limitado a eles
+        boolean acrescimoRejeitado = acrescimoCalculado > jurosMensais;
+        boolean descontoRejeitado = descontoCalculado > jurosMensais;
+        double valorAcrescimo = acrescimoRejeitado ? 0 : acrescimoCalculado;
+        double valorDesconto = descontoRejeitado ? jurosMensais : descontoCalculado;
+
+        double parcela = calcularParcelaBase(valorImovel, prazoFinanciamento, taxaJurosAnual) + valorAcrescimo - valorDesconto;
+        ResultadoPagamento resultado = new ResultadoPagamento(parcela, parcela * prazoFinanciamento * 12,
+                valorAcrescimo, valorDesconto, acrescimoRejeitado, descontoRejeitado);
+        if (diagnosticos != null) {
+            anexarDiagnosticos(resultado, valorImovel, prazoFinanciamento, taxaJurosAnual, diagnosticos);
         }
+        return resultado;
+    }
 
-        return valorMensalTotal + this.valorAcrescimo - this.valorDesconto;
+    /**
+     * Calcula apenas a parcela mensal de uma casa, com as regras de
+     * {@link #calcularResultado(double, int, double, List)}. O resultado intermediário não escapa
+     * do método e é eliminado pelo compilador JIT.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O valor mensal da parcela com acréscimo e desconto.
+     */
+    public static double calcularParcelaCasa(double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        return calcularResultado(valorImovel, prazoFinanciamento, taxaJurosAnual, null).getValorParcela();
+    }
+
+    private static double calcularJurosMensais(double valorImovel, double taxaJurosAnual) {
+        return valorImovel * (taxaJurosAnual / 12 / 100);
+    }
+
+    /**
+     * Descreve as validações rejeitadas indicadas no resultado, com o acréscimo e o desconto antes do ajuste.
+     */
+    private static void anexarDiagnosticos(ResultadoPagamento resultado, double valorImovel, int prazoFinanciamento,
+                                           double taxaJurosAnual, List<String> diagnosticos) {
+        double jurosMensais = calcularJurosMensais(valorImovel, taxaJurosAnual);
+        if (resultado.isAcrescimoRejeitado()) {
+            diagnosticos.add(String.format("Acréscimo de R$%.2f é maior que o valor dos juros de R$%.2f",
+                    PERCENTUAL_ACRESCIMO * valorImovel / prazoFinanciamento, jurosMensais));
+        }
+        if (resultado.isDescontoRejeitado()) {
+            diagnosticos.add(String.format("Desconto de R$%.2f é maior que o valor dos juros de R$%.2f",
+                    PERCENTUAL_DESCONTO * valorImovel / prazoFinanciamento, jurosMensais));
+        }
     }
 
     /**
@@ -144,16 +236,6 @@ public class Casa extends Financiamento {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Valor do Imóvel: R$ %.2f%n", this.getValorImovel()));
-        sb.append(String.format("Prazo de financiamento: %d anos%n", this.getPrazoFinanciamento()));
-        sb.append(String.format("Taxa de juros anual: %.2f%%%n", this.getTaxaJurosAnual()));
-        sb.append(String.format("Pagamento mensal: R$ %.2f%n", this.calcularValorPagamentoMensal()));
-        sb.append(String.format("Valor do financiamento: R$ %.2f%n", this.calcularTotalPagamento()));
-        sb.append(String.format("Valor do acréscimo por parcela: R$ %.2f%n", this.getValorAcrescimo()));
-        sb.append(String.format("Valor do desconto por parcela: R$ %.2f%n", this.getValorDesconto()));
-        sb.append(String.format("Área construída: %.2f m²%n", this.getAreaConstruida()));
-        sb.append(String.format("Tamanho de terreno: %.2f m²%n", this.getAreaTerreno()));
-        return sb.toString();
+        return FormatoTexto.anexarDetalhes(this, new StringBuilder(256)).toString();
     }
 }
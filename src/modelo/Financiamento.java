@@ -1,5 +1,8 @@
 package modelo;
 
+import util.FormatoTexto;
+import util.Metricas;
+
 /**
  * Classe abstrata que representa um financiamento de imóvel.
  *
@@ -14,17 +17,24 @@ public abstract class Financiamento {
     /**
      * Valor do imóvel a ser financiado.
      */
-    protected double valorImovel;
+    protected final double valorImovel;
 
     /**
      * Prazo do financiamento em anos.
      */
-    protected int prazoFinanciamento;
+    protected final int prazoFinanciamento;
 
     /**
      * Taxa de juros anual aplicada ao financiamento.
      */
-    protected double taxaJurosAnual;
+    protected final double taxaJurosAnual;
+
+    /**
+     * Resultado do cálculo da parcela e do total, calculado na primeira consulta.
+     * Como os parâmetros do financiamento são imutáveis e {@link ResultadoPagamento} só tem
+     * campos finais, uma corrida entre threads no máximo repete o cálculo, com o mesmo resultado.
+     */
+    private ResultadoPagamento resultado;
 
     /**
      * Construtor da classe Financiamento.
@@ -66,27 +76,95 @@ public abstract class Financiamento {
         return this.taxaJurosAnual;
     }
 
+    /**
+     * Retorna o tipo de imóvel deste financiamento.
+     *
+     * @return O tipo de imóvel.
+     */
+    public abstract TipoImovel getTipoImovel();
+
+    /**
+     * Retorna o resultado do cálculo do financiamento (parcela mensal e total a pagar).
+     *
+     * O cálculo é feito apenas na primeira chamada; as seguintes retornam o mesmo objeto.
+     * O cálculo é contado em {@link Metricas}, quando habilitadas.
+     *
+     * @return O resultado do cálculo do financiamento.
+     */
+    public ResultadoPagamento getResultado() {
+        ResultadoPagamento calculado = this.resultado;
+        if (calculado == null) {
+            long inicio = Metricas.iniciarAmostra();
+            calculado = calcularResultado();
+            Metricas.registrarPrecificacao(getTipoImovel(), calculado, inicio);
+            this.resultado = calculado;
+        }
+        return calculado;
+    }
+
+    /**
+     * Calcula o resultado do financiamento a partir da parcela mensal.
+     *
+     * @return O resultado com a parcela mensal e o total a pagar.
+     */
+    protected ResultadoPagamento calcularResultado() {
+        double parcela = calcularParcela();
+        return new ResultadoPagamento(parcela, calcularTotal(parcela));
+    }
+
     /**
      * Calcula o valor mensal da parcela do financiamento.
      *
      * O cálculo considera o valor do imóvel dividido pelo número de meses,
-     * aplicando a taxa de juros mensal.
+     * aplicando a taxa de juros mensal. As subclasses sobrescrevem este método
+     * para aplicar as regras de cada tipo de imóvel.
      *
      * @return O valor mensal da parcela.
      */
-    public double calcularValorPagamentoMensal() {
-        return (this.getValorImovel() / (this.getPrazoFinanciamento() * 12)) * (1 + (this.getTaxaJurosAnual() / 12));
+    protected double calcularParcela() {
+        return calcularParcelaBase(this.getValorImovel(), this.getPrazoFinanciamento(), this.getTaxaJurosAnual());
     }
 
     /**
      * Calcula o valor total a ser pago ao longo do financiamento.
      *
-     * Multiplica o valor mensal calculado pelo número de meses do prazo total.
+     * Multiplica o valor mensal pelo número de meses do prazo total.
+     *
+     * @param parcela O valor mensal da parcela.
+     * @return O valor total a ser pago pelo financiamento.
+     */
+    protected double calcularTotal(double parcela) {
+        return parcela * this.getPrazoFinanciamento() * 12;
+    }
+
+    /**
+     * Calcula a parcela mensal pela fórmula base do financiamento, sem criar objetos.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O valor mensal da parcela.
+     */
+    public static double calcularParcelaBase(double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        return (valorImovel / (prazoFinanciamento * 12)) * (1 + (taxaJurosAnual / 12));
+    }
+
+    /**
+     * Retorna o valor mensal da parcela do financiamento.
+     *
+     * @return O valor mensal da parcela.
+     */
+    public final double calcularValorPagamentoMensal() {
+        return getResultado().getValorParcela();
+    }
+
+    /**
+     * Retorna o valor total a ser pago ao longo do financiamento.
      *
      * @return O valor total a ser pago pelo financiamento.
      */
-    public double calcularTotalPagamento() {
-        return calcularValorPagamentoMensal() * this.getPrazoFinanciamento() * 12;
+    public final double calcularTotalPagamento() {
+        return getResultado().getValorTotal();
     }
 
     /**
@@ -97,9 +175,6 @@ public abstract class Financiamento {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Valor do Imóvel: R$ %.2f%n", this.getValorImovel()));
-        sb.append(String.format("Total de Pagamento: R$ %.2f%n", this.calcularTotalPagamento()));
-        return sb.toString();
+        return FormatoTexto.anexarDetalhes(this, new StringBuilder(256)).toString();
     }
 }
\ No newline at end of file
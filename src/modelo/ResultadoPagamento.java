@@ -0,0 +1,104 @@
+package modelo;
+
+/**
+ * Resultado imutável do cálculo de um financiamento: o valor da parcela mensal,
+ * o valor total a ser pago ao longo do prazo e, para casas, o acréscimo e o desconto
+ * aplicados em cada parcela, com o resultado das suas validações.
+ * <p>É calculado uma única vez por financiamento (veja {@link Financiamento#getResultado()})
+ * e pode ser compartilhado livremente entre threads.
+ *
+ * @version 1.0
+ */
+public final class ResultadoPagamento {
+
+    private final double valorParcela;
+    private final double valorTotal;
+    private final double valorAcrescimo;
+    private final double valorDesconto;
+    private final boolean acrescimoRejeitado;
+    private final boolean descontoRejeitado;
+
+    /**
+     * Construtor para financiamentos sem acréscimo nem desconto.
+     *
+     * @param valorParcela O valor da parcela mensal.
+     * @param valorTotal O valor total a ser pago pelo financiamento.
+     */
+    public ResultadoPagamento(double valorParcela, double valorTotal) {
+        this(valorParcela, valorTotal, 0, 0, false, false);
+    }
+
+    /**
+     * Construtor para financiamentos com acréscimo e desconto por parcela.
+     *
+     * @param valorParcela O valor da parcela mensal, já com acréscimo e desconto.
+     * @param valorTotal O valor total a ser pago pelo financiamento.
+     * @param valorAcrescimo O acréscimo aplicado em cada parcela.
+     * @param valorDesconto O desconto aplicado em cada parcela.
+     * @param acrescimoRejeitado {@code true} se o acréscimo calculado foi maior que os juros e foi zerado.
+     * @param descontoRejeitado {@code true} se o desconto calculado foi maior que os juros e foi limitado a eles.
+     */
+    public ResultadoPagamento(double valorParcela, double valorTotal, double valorAcrescimo, double valorDesconto,
+                              boolean acrescimoRejeitado, boolean descontoRejeitado) {
+        this.valorParcela = valorParcela;
+        this.valorTotal = valorTotal;
+        this.valorAcrescimo = valorAcrescimo;
+        this.valorDesconto = valorDesconto;
+        this.acrescimoRejeitado = acrescimoRejeitado;
+        this.descontoRejeitado = descontoRejeitado;
+    }
+
+    /**
+     * Retorna o valor da parcela mensal.
+     *
+     * @return O valor da parcela mensal.
+     */
+    public double getValorParcela() {
+        return valorParcela;
+    }
+
+    /**
+     * Retorna o valor total a ser pago pelo financiamento.
+     *
+     * @return O valor total do financiamento.
+     */
+    public double getValorTotal() {
+        return valorTotal;
+    }
+
+    /**
+     * Retorna o acréscimo aplicado em cada parcela.
+     *
+     * @return O valor do acréscimo, ou {@code 0} se não houver.
+     */
+    public double getValorAcrescimo() {
+        return valorAcrescimo;
+    }
+
+    /**
+     * Retorna o desconto aplicado em cada parcela.
+     *
+     * @return O valor do desconto, ou {@code 0} se não houver.
+     */
+    public double getValorDesconto() {
+        return valorDesconto;
+    }
+
+    /**
+     * Indica se o acréscimo calculado foi rejeitado por ser maior que os juros mensais.
+     *
+     * @return {@code true} se o acréscimo foi rejeitado.
+     */
+    public boolean isAcrescimoRejeitado() {
+        return acrescimoRejeitado;
+    }
+
+    /**
+     * Indica se o desconto calculado foi rejeitado por ser maior que os juros mensais.
+     *
+     * @return {@code true} se o desconto foi rejeitado.
+     */
+    public boolean isDescontoRejeitado() {
+        return descontoRejeitado;
+    }
+}
@@ -1,5 +1,7 @@
 package modelo;
 
+import util.FormatoTexto;
+
 public class Terreno extends Financiamento {
     private final String zona;
 
@@ -12,29 +14,33 @@ public class Terreno extends Financiamento {
         return zona;
     }
 
+    @Override
+    public TipoImovel getTipoImovel() {
+        return TipoImovel.TERRENO;
+    }
+
     @Override
     // Metodo para calcular o valor total a ser pago ao final do financiamento.
 
-    public double calcularTotalPagamento() {
+    protected double calcularTotal(double parcela) {
         int meses = getPrazoFinanciamento() * 12;
-        return calcularValorPagamentoMensal() * meses;
+        return parcela * meses;
+    }
+
+    @Override
+    protected double calcularParcela() {
+        return calcularParcelaTerreno(getValorImovel(), getPrazoFinanciamento(), getTaxaJurosAnual());
     }
 
-    public double calcularValorPagamentoMensal() {
+    // Calcula a parcela do terreno sem criar objetos.
+    public static double calcularParcelaTerreno(double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
         // Aplica um aumento de 2% sobre o cálculo.
-        return super.calcularValorPagamentoMensal() * 1.02;
+        return calcularParcelaBase(valorImovel, prazoFinanciamento, taxaJurosAnual) * 1.02;
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Valor do Imóvel: R$ %.2f%n", this.getValorImovel()));
-        sb.append(String.format("Prazo de financiamento: %d anos%n", this.getPrazoFinanciamento()));
-        sb.append(String.format("Taxa de juros anual: %.2f%%%n", this.getTaxaJurosAnual()));
-        sb.append(String.format("Pagamento mensal: R$ %.2f%n", this.calcularValorPagamentoMensal()));
-        sb.append(String.format("Valor do financiamento: R$ %.2f%n", this.calcularTotalPagamento()));
-        sb.append(String.format("Tipo de zona: %s%n", this.getZona()));
-        return sb.toString();
+        return FormatoTexto.anexarDetalhes(this, new StringBuilder(256)).toString();
     }
 
 }
@@ -0,0 +1,59 @@
+package modelo;
+
+/**
+ * Enumeração dos tipos de imóvel que podem ser financiados.
+ *
+ * @version 1.0
+ */
+public enum TipoImovel {
+    APARTAMENTO("Apartamento"),
+    CASA("Casa"),
+    TERRENO("Terreno");
+
+    private final String descricao;
+
+    TipoImovel(String descricao) {
+        this.descricao = descricao;
+    }
+
+    /**
+     * Retorna a descrição do tipo de imóvel, como exibida ao usuário.
+     *
+     * @return A descrição do tipo: "Apartamento", "Casa" ou "Terreno".
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Calcula a parcela mensal de um financiamento deste tipo sem criar objetos,
+     * com as mesmas regras da subclasse correspondente de {@link Financiamento}.
+     *
+     * @param valorImovel O valor do imóvel.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @param taxaJurosAnual A taxa de juros anual.
+     * @return O valor mensal da parcela.
+     */
+    public double calcularParcela(double valorImovel, int prazoFinanciamento, double taxaJurosAnual) {
+        switch (this) {
+            case APARTAMENTO:
+                return Apartamento.calcularParcelaPrice(valorImovel, prazoFinanciamento, taxaJurosAnual);
+            case CASA:
+                return Casa.calcularParcelaCasa(valorImovel, prazoFinanciamento, taxaJurosAnual);
+            default:
+                return Terreno.calcularParcelaTerreno(valorImovel, prazoFinanciamento, taxaJurosAnual);
+        }
+    }
+
+    /**
+     * Calcula o valor total a ser pago por um financiamento deste tipo a partir da parcela mensal.
+     *
+     * @param parcela O valor mensal da parcela.
+     * @param prazoFinanciamento O prazo do financiamento em anos.
+     * @return O valor total a ser pago.
+     */
+    public double calcularTotal(double parcela, int prazoFinanciamento) {
+        // Mesma ordem de operações de Terreno.calcularTotal e Financiamento.calcularTotal
+        return this == TERRENO ? parcela * (prazoFinanciamento * 12) : parcela * prazoFinanciamento * 12;
+    }
+}
@@ -0,0 +1,262 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import modelo.CarteiraColunar;
+import modelo.Financiamento;
+import modelo.TipoImovel;
+
+/**
+ * Grava e carrega carteiras de financiamentos em um formato binário compacto e versionado.
+ * <p>O arquivo guarda as colunas da {@link CarteiraColunar} uma após a outra, em little-endian:
+ * <pre>
+ * cabeçalho   int magico "FINC", short versão, short reservado, int quantidade, int quantidade de zonas
+ * zonas       para cada zona: short tamanho + bytes UTF-8; completado com zeros até múltiplo de 8
+ * colunas     byte tipos[n], byte zonas[n], zeros até múltiplo de 8,
+ *             double valores[n], double taxas[n], double áreas construídas[n], double áreas de terreno[n],
+ *             int prazos[n], int vagas[n], int andares[n]
+ * </pre>
+ * <p>A gravação é feita por um {@link FileChannel} em blocos de 1 MB. A leitura mapeia cada coluna
+ * em memória e a copia de uma vez para o array correspondente, sem converter registro a registro.
+ *
+ * @version 1.0
+ */
+public final class ArquivoCarteira {
+
+    /**
+     * Identificador do formato, "FINC" em ASCII.
+     */
+    public static final int MAGICO = 0x434E4946;
+
+    /**
+     * Versão do formato gravada por esta classe.
+     */
+    public static final short VERSAO = 1;
+
+    private static final int TAMANHO_CABECALHO = 16;
+    private static final int TAMANHO_BLOCO = 1 << 20;
+
+    private ArquivoCarteira() {
+    }
+
+    /**
+     * Grava uma lista de financiamentos.
+     *
+     * @param arquivo O arquivo de destino, criado ou substituído.
+     * @param financiamentos Os financiamentos.
+     * @throws IOException Se ocorrer erro na gravação.
+     */
+    public static void salvar(Path arquivo, Collection<? extends Financiamento> financiamentos) throws IOException {
+        CarteiraColunar carteira = new CarteiraColunar(financiamentos.size());
+        for (Financiamento financiamento : financiamentos) {
+            carteira.adicionar(financiamento);
+        }
+        salvar(arquivo, carteira);
+    }
+
+    /**
+     * Grava uma carteira colunar.
+     *
+     * @param arquivo O arquivo de destino, criado ou substituído.
+     * @param carteira A carteira.
+     * @throws IOException Se ocorrer erro na gravação.
+     */
+    public static void salvar(Path arquivo, CarteiraColunar carteira) throws IOException {
+        int n = carteira.tamanho();
+        List<String> zonas = carteira.getDicionarioZonas();
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bloco = ByteBuffer.allocateDirect(TAMANHO_BLOCO).order(ByteOrder.LITTLE_ENDIAN);
+
+            bloco.putInt(MAGICO).putShort(VERSAO).putShort((short) 0).putInt(n).putInt(zonas.size());
+            for (String zona : zonas) {
+                byte[] bytes = zona.getBytes(StandardCharsets.UTF_8);
+                if (bloco.remaining() < 2 + bytes.length) {
+                    esvaziar(canal, bloco);
+                }
+                bloco.putShort((short) bytes.length).put(bytes);
+            }
+            completar(canal, bloco);
+
+            escreverBytes(canal, bloco, carteira.colunaTipos(), n);
+            escreverBytes(canal, bloco, carteira.colunaZonas(), n);
+            completar(canal, bloco);
+            escreverDoubles(canal, bloco, carteira.colunaValoresImovel(), n);
+            escreverDoubles(canal, bloco, carteira.colunaTaxasJurosAnual(), n);
+            escreverDoubles(canal, bloco, carteira.colunaAreasConstruidas(), n);
+            escreverDoubles(canal, bloco, carteira.colunaAreasTerreno(), n);
+            escreverInts(canal, bloco, carteira.colunaPrazosFinanciamento(), n);
+            escreverInts(canal, bloco, carteira.colunaVagasGaragem(), n);
+            escreverInts(canal, bloco, carteira.colunaAndares(), n);
+            esvaziar(canal, bloco);
+        }
+    }
+
+    /**
+     * Carrega uma carteira gravada por {@link #salvar(Path, CarteiraColunar)}.
+     *
+     * @param arquivo O arquivo da carteira.
+     * @return A carteira carregada.
+     * @throws IOException Se o arquivo não puder ser lido, não estiver no formato esperado
+     *                     ou tiver uma versão não suportada.
+     */
+    public static CarteiraColunar carregar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            lerCompleto(canal, cabecalho, 0);
+            cabecalho.flip();
+            if (cabecalho.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é uma carteira de financiamentos: " + arquivo);
+            }
+            short versao = cabecalho.getShort();
+            if (versao != VERSAO) {
+                throw new IOException("Versão de carteira não suportada: " + versao);
+            }
+            cabecalho.getShort();
+            int n = cabecalho.getInt();
+            int quantidadeZonas = cabecalho.getInt();
+            if (n < 0 || quantidadeZonas < 0) {
+                throw new IOException("Cabeçalho de carteira inválido: " + arquivo);
+            }
+
+            long posicao = TAMANHO_CABECALHO;
+            List<String> zonas = new ArrayList<>(quantidadeZonas);
+            ByteBuffer tamanhoZona = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < quantidadeZonas; i++) {
+                tamanhoZona.clear();
+                lerCompleto(canal, tamanhoZona, posicao);
+                ByteBuffer bytes = ByteBuffer.allocate(tamanhoZona.getShort(0) & 0xFFFF);
+                lerCompleto(canal, bytes, posicao + 2);
+                zonas.add(new String(bytes.array(), StandardCharsets.UTF_8));
+                posicao += 2 + bytes.capacity();
+            }
+            posicao = alinhar(posicao);
+
+            long esperado = alinhar(posicao + 2L * n) + 32L * n + 12L * n;
+            if (canal.size() < esperado) {
+                throw new IOException("Carteira truncada: " + canal.size() + " bytes, esperados " + esperado);
+            }
+
+            byte[] tipos = new byte[n];
+            mapear(canal, posicao, n).get(tipos);
+            posicao += n;
+            byte[] codigosZonas = new byte[n];
+            mapear(canal, posicao, n).get(codigosZonas);
+            posicao = alinhar(posicao + n);
+
+            double[] valores = new double[n];
+            double[] taxas = new double[n];
+            double[] areasConstruidas = new double[n];
+            double[] areasTerreno = new double[n];
+            for (double[] coluna : new double[][]{valores, taxas, areasConstruidas, areasTerreno}) {
+                mapear(canal, posicao, 8L * n).asDoubleBuffer().get(coluna);
+                posicao += 8L * n;
+            }
+            int[] prazos = new int[n];
+            int[] vagas = new int[n];
+            int[] andares = new int[n];
+            for (int[] coluna : new int[][]{prazos, vagas, andares}) {
+                mapear(canal, posicao, 4L * n).asIntBuffer().get(coluna);
+                posicao += 4L * n;
+            }
+
+            int quantidadeTipos = TipoImovel.values().length;
+            for (int i = 0; i < n; i++) {
+                if (tipos[i] < 0 || tipos[i] >= quantidadeTipos) {
+                    throw new IOException("Tipo de imóvel inválido na posição " + i + ": " + tipos[i]);
+                }
+                if (tipos[i] == TipoImovel.TERRENO.ordinal() && (codigosZonas[i] < 0 || codigosZonas[i] >= quantidadeZonas)) {
+                    throw new IOException("Zona inválida na posição " + i + ": " + codigosZonas[i]);
+                }
+            }
+            return CarteiraColunar.deColunas(n, tipos, valores, taxas, prazos, vagas, andares,
+                    areasConstruidas, areasTerreno, codigosZonas, zonas);
+        }
+    }
+
+    private static ByteBuffer mapear(FileChannel canal, long posicao, long tamanho) throws IOException {
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, posicao, tamanho);
+        return mapa.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void lerCompleto(FileChannel canal, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = canal.read(destino, posicao);
+            if (lidos < 0) {
+                throw new IOException("Fim inesperado do arquivo da carteira");
+            }
+            posicao += lidos;
+        }
+    }
+
+    private static long alinhar(long posicao) {
+        return (posicao + 7) & ~7L;
+    }
+
+    private static void completar(FileChannel canal, ByteBuffer bloco) throws IOException {
+        long escrito = canal.position() + bloco.position();
+        int faltam = (int) (alinhar(escrito) - escrito);
+        if (bloco.remaining() < faltam) {
+            esvaziar(canal, bloco);
+        }
+        for (int i = 0; i < faltam; i++) {
+            bloco.put((byte) 0);
+        }
+    }
+
+    private static void escreverBytes(FileChannel canal, ByteBuffer bloco, byte[] coluna, int n) throws IOException {
+        int i = 0;
+        while (i < n) {
+            if (!bloco.hasRemaining()) {
+                esvaziar(canal, bloco);
+            }
+            int quantidade = Math.min(n - i, bloco.remaining());
+            bloco.put(coluna, i, quantidade);
+            i += quantidade;
+        }
+    }
+
+    private static void escreverDoubles(FileChannel canal, ByteBuffer bloco, double[] coluna, int n) throws IOException {
+        int i = 0;
+        while (i < n) {
+            if (bloco.remaining() < 8) {
+                esvaziar(canal, bloco);
+            }
+            int quantidade = Math.min(n - i, bloco.remaining() / 8);
+            bloco.asDoubleBuffer().put(coluna, i, quantidade);
+            bloco.position(bloco.position() + 8 * quantidade);
+            i += quantidade;
+        }
+    }
+
+    private static void escreverInts(FileChannel canal, ByteBuffer bloco, int[] coluna, int n) throws IOException {
+        int i = 0;
+        while (i < n) {
+            if (bloco.remaining() < 4) {
+                esvaziar(canal, bloco);
+            }
+            int quantidade = Math.min(n - i, bloco.remaining() / 4);
+            bloco.asIntBuffer().put(coluna, i, quantidade);
+            bloco.position(bloco.position() + 4 * quantidade);
+            i += quantidade;
+        }
+    }
+
+    private static void esvaziar(FileChannel canal, ByteBuffer bloco) throws IOException {
+        bloco.flip();
+        while (bloco.hasRemaining()) {
+            canal.write(bloco);
+        }
+        bloco.clear();
+    }
+}
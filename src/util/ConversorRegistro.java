@@ -0,0 +1,181 @@
+package util;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * A classe {@code ConversorRegistro} converte linhas de arquivos de entrada (CSV ou JSON Lines)
+ * em objetos {@link Financiamento} e formata o resultado de cada financiamento como uma linha CSV.
+ *
+ * <p>Formato CSV esperado (separado por vírgula, decimais com ponto):
+ * <pre>
+ * tipo,valorImovel,prazoFinanciamento,taxaJurosAnual,atributo1,atributo2
+ * Apartamento,500000,20,5.5,2,10      (vagas de garagem, andar)
+ * Casa,350000,15,6,120,300            (área construída, área do terreno)
+ * Terreno,200000,10,7,Comercial       (zona)
+ * </pre>
+ *
+ * <p>Formato JSON Lines: um objeto por linha com as chaves {@code tipo}, {@code valorImovel},
+ * {@code prazoFinanciamento}, {@code taxaJurosAnual} e os atributos específicos de cada tipo
+ * ({@code vagasGaragem}, {@code andar}, {@code areaConstruida}, {@code areaTerreno}, {@code zona}).
+ *
+ * @version 1.0
+ */
+public class ConversorRegistro {
+
+    /**
+     * Cabeçalho das linhas produzidas por {@link #paraCsv(Financiamento)}.
+     */
+    public static final String CABECALHO_SAIDA = FormatoCsv.CABECALHO;
+
+    private ConversorRegistro() {
+    }
+
+    /**
+     * Converte uma linha CSV em um financiamento.
+     *
+     * @param linha A linha a ser convertida.
+     * @return O financiamento correspondente à linha.
+     * @throws IllegalArgumentException Se a linha estiver incompleta ou contiver valores inválidos.
+     */
+    public static Financiamento deCsv(String linha) {
+        String[] campos = linha.split(",", -1);
+        if (campos.length < 5) {
+            throw new IllegalArgumentException("Quantidade de campos insuficiente: " + campos.length);
+        }
+        String tipo = normalizarTipo(campos[0].trim());
+        double valorImovel = lerDouble(campos[1], "valorImovel");
+        int prazo = lerInt(campos[2], "prazoFinanciamento");
+        double taxa = lerDouble(campos[3], "taxaJurosAnual");
+
+        switch (tipo) {
+            case "Apartamento":
+                exigirCampos(campos, 6, tipo);
+                return new Apartamento(valorImovel, prazo, taxa,
+                        lerInt(campos[4], "vagasGaragem"), lerInt(campos[5], "andar"));
+            case "Casa":
+                exigirCampos(campos, 6, tipo);
+                return new Casa(valorImovel, prazo, taxa,
+                        lerDouble(campos[4], "areaConstruida"), lerDouble(campos[5], "areaTerreno"));
+            default:
+                return new Terreno(valorImovel, prazo, taxa, campos[4].trim());
+        }
+    }
+
+    /**
+     * Converte uma linha JSON (um objeto plano por linha) em um financiamento.
+     *
+     * @param linha A linha a ser convertida.
+     * @return O financiamento correspondente à linha.
+     * @throws IllegalArgumentException Se o objeto estiver malformado ou faltar algum campo obrigatório.
+     */
+    public static Financiamento deJson(String linha) {
+        String tipo = normalizarTipo(valorJson(linha, "tipo"));
+        double valorImovel = lerDouble(valorJson(linha, "valorImovel"), "valorImovel");
+        int prazo = lerInt(valorJson(linha, "prazoFinanciamento"), "prazoFinanciamento");
+        double taxa = lerDouble(valorJson(linha, "taxaJurosAnual"), "taxaJurosAnual");
+
+        switch (tipo) {
+            case "Apartamento":
+                return new Apartamento(valorImovel, prazo, taxa,
+                        lerInt(valorJson(linha, "vagasGaragem"), "vagasGaragem"),
+                        lerInt(valorJson(linha, "andar"), "andar"));
+            case "Casa":
+                return new Casa(valorImovel, prazo, taxa,
+                        lerDouble(valorJson(linha, "areaConstruida"), "areaConstruida"),
+                        lerDouble(valorJson(linha, "areaTerreno"), "areaTerreno"));
+            default:
+                return new Terreno(valorImovel, prazo, taxa, valorJson(linha, "zona"));
+        }
+    }
+
+    /**
+     * Formata o resultado de um financiamento como uma linha CSV (sem quebra de linha).
+     *
+     * @param financiamento O financiamento a ser formatado.
+     * @return A linha CSV com tipo, parâmetros, pagamento mensal e total do financiamento.
+     */
+    public static String paraCsv(Financiamento financiamento) {
+        return FormatoCsv.anexarLinha(financiamento, new StringBuilder(96)).toString();
+    }
+
+    /**
+     * Converte o tipo informado (nome ou código 1, 2, 3 como no menu interativo) no nome do tipo.
+     */
+    private static String normalizarTipo(String tipo) {
+        switch (tipo) {
+            case "1":
+                return "Apartamento";
+            case "2":
+                return "Casa";
+            case "3":
+                return "Terreno";
+            default:
+                if (tipo.equalsIgnoreCase("Apartamento")) {
+                    return "Apartamento";
+                }
+                if (tipo.equalsIgnoreCase("Casa")) {
+                    return "Casa";
+                }
+                if (tipo.equalsIgnoreCase("Terreno")) {
+                    return "Terreno";
+                }
+                throw new IllegalArgumentException("Tipo de imóvel desconhecido: " + tipo);
+        }
+    }
+
+    private static void exigirCampos(String[] campos, int quantidade, String tipo) {
+        if (campos.length < quantidade) {
+            throw new IllegalArgumentException(tipo + " exige " + quantidade + " campos, recebidos " + campos.length);
+        }
+    }
+
+    private static double lerDouble(String texto, String campo) {
+        try {
+            return Double.parseDouble(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + texto);
+        }
+    }
+
+    private static int lerInt(String texto, String campo) {
+        try {
+            return Integer.parseInt(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + texto);
+        }
+    }
+
+    /**
+     * Extrai o valor (texto ou número) de uma chave de um objeto JSON plano.
+     */
+    private static String valorJson(String linha, String chave) {
+        String procurada = "\"" + chave + "\"";
+        int posicao = linha.indexOf(procurada);
+        if (posicao < 0) {
+            throw new IllegalArgumentException("Campo ausente: " + chave);
+        }
+        int i = linha.indexOf(':', posicao + procurada.length());
+        if (i < 0) {
+            throw new IllegalArgumentException("Objeto JSON malformado perto de " + chave);
+        }
+        i++;
+        while (i < linha.length() && Character.isWhitespace(linha.charAt(i))) {
+            i++;
+        }
+        if (i < linha.length() && linha.charAt(i) == '"') {
+            int fim = linha.indexOf('"', i + 1);
+            if (fim < 0) {
+                throw new IllegalArgumentException("Texto não terminado no campo " + chave);
+            }
+            return linha.substring(i + 1, fim);
+        }
+        int fim = i;
+        while (fim < linha.length() && linha.charAt(fim) != ',' && linha.charAt(fim) != '}') {
+            fim++;
+        }
+        return linha.substring(i, fim).trim();
+    }
+}
@@ -0,0 +1,494 @@
+package util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+import modelo.TipoImovel;
+
+/**
+ * Diário (write-ahead log) dos financiamentos incluídos em uma sessão interativa, para que eles
+ * possam ser recuperados se o programa terminar antes de gravar o relatório.
+ * <p>O arquivo só recebe registros no final, em little-endian:
+ * <pre>
+ * cabeçalho   int magico "FDIA", short versão, short reservado
+ * registros   int tamanho dos dados, int CRC-32C dos dados, dados
+ * dados       byte tipo, double valor, int prazo, double taxa, e então
+ *             int vagas + int andar (apartamento), double área construída + double área do terreno (casa)
+ *             ou short tamanho + bytes UTF-8 da zona (terreno)
+ * </pre>
+ * <p>{@link #registrar(Financiamento)} apenas copia o registro para um buffer em memória; uma
+ * thread de gravação troca esse buffer por outro e grava de uma vez todos os registros acumulados
+ * (gravação em grupo). A sincronização com o disco segue a {@link PoliticaSincronizacao}, escolhida
+ * na abertura ou pela propriedade {@code financiamentos.diario.sincronizacao}; o intervalo da
+ * política {@link PoliticaSincronizacao#INTERVALO} é lido de {@code financiamentos.diario.intervalo},
+ * em milissegundos (padrão 200).
+ * <p>{@link #abrir(Path)} lê os registros já existentes, mapeando o arquivo em memória, e para no
+ * primeiro registro incompleto ou com CRC diferente (uma gravação interrompida); o restante do
+ * arquivo é descartado e os novos registros são gravados a partir daí. O diário deve ser fechado
+ * com {@link #close()}, ou com {@link #descartar()} depois que os financiamentos forem gravados em
+ * outro lugar. A classe é segura para uso por várias threads.
+ *
+ * @version 1.0
+ */
+public final class DiarioSessao implements AutoCloseable {
+
+    /**
+     * Quando os registros gravados são sincronizados com o disco ({@link FileChannel#force(boolean)}).
+     */
+    public enum PoliticaSincronizacao {
+        /**
+         * A cada lote gravado; {@link #registrar(Financiamento)} só retorna depois que o registro
+         * estiver no disco.
+         */
+        SEMPRE,
+
+        /**
+         * No máximo uma vez a cada intervalo; uma queda do sistema operacional perde no máximo os
+         * registros do último intervalo.
+         */
+        INTERVALO,
+
+        /**
+         * Apenas no fechamento; os registros ficam a cargo do sistema operacional, o que protege
+         * contra o término do programa, mas não contra uma queda do sistema.
+         */
+        NUNCA
+    }
+
+    /**
+     * Identificador do formato, "FDIA" em ASCII.
+     */
+    public static final int MAGICO = 0x41494446;
+
+    /**
+     * Versão do formato gravada por esta classe.
+     */
+    public static final short VERSAO = 1;
+
+    private static final int TAMANHO_CABECALHO = 8;
+    private static final int TAMANHO_CABECALHO_REGISTRO = 8;
+    private static final int TAMANHO_COMUM = 1 + 8 + 4 + 8;
+    private static final int TAMANHO_BUFFER = 1 << 17;
+    private static final TipoImovel[] TIPOS = TipoImovel.values();
+
+    private final Path arquivo;
+    private final FileChannel canal;
+    private final PoliticaSincronizacao politica;
+    private final long intervaloNanos;
+    private final List<Financiamento> recuperados;
+    private final long bytesDescartados;
+    private final Thread gravador;
+
+    private final Object trava = new Object();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer ativo = ByteBuffer.allocate(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+    private ByteBuffer reserva = ByteBuffer.allocate(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+    private long registrados;
+    private long gravados;
+    private long sincronizados;
+    private boolean fechando;
+    private boolean fechado;
+    private IOException falha;
+
+    private DiarioSessao(Path arquivo, FileChannel canal, PoliticaSincronizacao politica,
+                         List<Financiamento> recuperados, long bytesDescartados) {
+        this.arquivo = arquivo;
+        this.canal = canal;
+        this.politica = politica;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Long.getLong("financiamentos.diario.intervalo", 200)));
+        this.recuperados = Collections.unmodifiableList(recuperados);
+        this.bytesDescartados = bytesDescartados;
+        gravador = new Thread(this::gravarContinuamente, "diario-" + arquivo.getFileName());
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    /**
+     * Abre o diário com a política da propriedade {@code financiamentos.diario.sincronizacao}
+     * (padrão {@link PoliticaSincronizacao#INTERVALO}).
+     *
+     * @param arquivo O arquivo do diário, criado se não existir.
+     * @return O diário, com os financiamentos recuperados do arquivo existente.
+     * @throws IOException Se o arquivo não puder ser aberto ou não for um diário.
+     */
+    public static DiarioSessao abrir(Path arquivo) throws IOException {
+        String politica = System.getProperty("financiamentos.diario.sincronizacao", "INTERVALO");
+        try {
+            return abrir(arquivo, PoliticaSincronizacao.valueOf(politica.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Política de sincronização do diário inválida: " + politica);
+        }
+    }
+
+    /**
+     * Abre o diário, recupera os registros existentes e descarta um final incompleto.
+     *
+     * @param arquivo O arquivo do diário, criado se não existir.
+     * @param politica A política de sincronização com o disco.
+     * @return O diário, com os financiamentos recuperados do arquivo existente.
+     * @throws IOException Se o arquivo não puder ser aberto ou não for um diário.
+     */
+    public static DiarioSessao abrir(Path arquivo, PoliticaSincronizacao politica) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long tamanho = canal.size();
+            List<Financiamento> recuperados = new ArrayList<>();
+            long fim;
+            if (tamanho < TAMANHO_CABECALHO) {
+                // Arquivo novo, ou interrompido antes de o cabeçalho ser gravado
+                ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+                cabecalho.putInt(MAGICO).putShort(VERSAO).putShort((short) 0).flip();
+                canal.truncate(0);
+                while (cabecalho.hasRemaining()) {
+                    canal.write(cabecalho, cabecalho.position());
+                }
+                canal.force(true);
+                fim = TAMANHO_CABECALHO;
+            } else {
+                fim = recuperar(arquivo, canal, tamanho, recuperados);
+                if (fim < tamanho) {
+                    canal.truncate(fim);
+                    canal.force(true);
+                }
+            }
+            canal.position(fim);
+            return new DiarioSessao(arquivo, canal, politica, recuperados, tamanho < TAMANHO_CABECALHO ? 0 : tamanho - fim);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lê os registros válidos do arquivo mapeado em memória.
+     *
+     * @return A posição seguinte ao último registro válido.
+     */
+    private static long recuperar(Path arquivo, FileChannel canal, long tamanho, List<Financiamento> recuperados)
+            throws IOException {
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Diário grande demais para ser recuperado: " + arquivo);
+        }
+        long inicio = Metricas.iniciar();
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapa.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo não é um diário de financiamentos: " + arquivo);
+        }
+        short versao = mapa.getShort(4);
+        if (versao != VERSAO) {
+            throw new IOException("Versão de diário não suportada: " + versao);
+        }
+
+        CRC32C crc = new CRC32C();
+        int limite = (int) tamanho;
+        int posicao = TAMANHO_CABECALHO;
+        while (limite - posicao >= TAMANHO_CABECALHO_REGISTRO) {
+            int dados = mapa.getInt(posicao);
+            int inicioDados = posicao + TAMANHO_CABECALHO_REGISTRO;
+            if (dados < TAMANHO_COMUM || dados > limite - inicioDados) {
+                break; // Registro incompleto
+            }
+            int fimDados = inicioDados + dados;
+            crc.reset();
+            mapa.limit(fimDados).position(inicioDados);
+            crc.update(mapa);
+            mapa.limit(limite);
+            if ((int) crc.getValue() != mapa.getInt(posicao + 4)) {
+                break; // Registro corrompido
+            }
+            Financiamento financiamento = decodificar(mapa, inicioDados, dados);
+            if (financiamento == null) {
+                break;
+            }
+            recuperados.add(financiamento);
+            posicao = fimDados;
+        }
+        Metricas.registrarLeitura(recuperados.size(), posicao, inicio);
+        return posicao;
+    }
+
+    /**
+     * Reconstrói o financiamento de um registro, ou retorna {@code null} se os dados forem inconsistentes.
+     */
+    private static Financiamento decodificar(ByteBuffer mapa, int posicao, int dados) {
+        int codigo = mapa.get(posicao);
+        if (codigo < 0 || codigo >= TIPOS.length) {
+            return null;
+        }
+        double valor = mapa.getDouble(posicao + 1);
+        int prazo = mapa.getInt(posicao + 9);
+        double taxa = mapa.getDouble(posicao + 13);
+        int extra = posicao + TAMANHO_COMUM;
+        switch (TIPOS[codigo]) {
+            case APARTAMENTO:
+                return dados != TAMANHO_COMUM + 8 ? null
+                        : new Apartamento(valor, prazo, taxa, mapa.getInt(extra), mapa.getInt(extra + 4));
+            case CASA:
+                return dados != TAMANHO_COMUM + 16 ? null
+                        : new Casa(valor, prazo, taxa, mapa.getDouble(extra), mapa.getDouble(extra + 8));
+            default:
+                if (dados < TAMANHO_COMUM + 2 || dados != TAMANHO_COMUM + 2 + (mapa.getShort(extra) & 0xFFFF)) {
+                    return null;
+                }
+                byte[] zona = new byte[dados - TAMANHO_COMUM - 2];
+                mapa.get(extra + 2, zona);
+                return new Terreno(valor, prazo, taxa, new String(zona, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Acrescenta um financiamento ao diário. Com a política {@link PoliticaSincronizacao#SEMPRE},
+     * aguarda a sincronização do registro com o disco; com as demais, retorna assim que o registro
+     * é copiado para o buffer, a menos que o buffer esteja cheio.
+     *
+     * @param financiamento O financiamento incluído.
+     * @throws IOException Se o diário estiver fechado ou uma gravação anterior tiver falhado.
+     */
+    public void registrar(Financiamento financiamento) throws IOException {
+        byte[] zona = financiamento instanceof Terreno
+                ? ((Terreno) financiamento).getZona().getBytes(StandardCharsets.UTF_8) : null;
+        if (zona != null && zona.length > 0xFFFF) {
+            throw new IllegalArgumentException("Zona grande demais para o diário: " + zona.length + " bytes");
+        }
+        int dados = TAMANHO_COMUM + (financiamento instanceof Apartamento ? 8
+                : financiamento instanceof Casa ? 16 : 2 + zona.length);
+        long sequencia;
+        synchronized (trava) {
+            verificar();
+            while (ativo.remaining() < TAMANHO_CABECALHO_REGISTRO + dados) {
+                aguardar(); // Buffer cheio: espera a thread de gravação trocá-lo
+                verificar();
+            }
+            int posicao = ativo.position();
+            ativo.putInt(dados).putInt(0)
+                    .put((byte) financiamento.getTipoImovel().ordinal())
+                    .putDouble(financiamento.getValorImovel())
+                    .putInt(financiamento.getPrazoFinanciamento())
+                    .putDouble(financiamento.getTaxaJurosAnual());
+            if (financiamento instanceof Apartamento) {
+                Apartamento apartamento = (Apartamento) financiamento;
+                ativo.putInt(apartamento.getVagasGaragem()).putInt(apartamento.getAndar());
+            } else if (financiamento instanceof Casa) {
+                Casa casa = (Casa) financiamento;
+                ativo.putDouble(casa.getAreaConstruida()).putDouble(casa.getAreaTerreno());
+            } else {
+                ativo.putShort((short) zona.length).put(zona);
+            }
+            crc.reset();
+            crc.update(ativo.array(), posicao + TAMANHO_CABECALHO_REGISTRO, dados);
+            ativo.putInt(posicao + 4, (int) crc.getValue());
+            sequencia = ++registrados;
+            trava.notifyAll();
+            if (politica == PoliticaSincronizacao.SEMPRE) {
+                while (sincronizados < sequencia) {
+                    aguardar();
+                }
+            }
+        }
+    }
+
+    private void verificar() throws IOException {
+        if (falha != null) {
+            throw new IOException("Falha na gravação do diário " + arquivo, falha);
+        }
+        if (fechando) {
+            throw new IOException("Diário fechado: " + arquivo);
+        }
+    }
+
+    private void aguardar() throws IOException {
+        try {
+            trava.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando o diário " + arquivo);
+        }
+        if (falha != null) {
+            throw new IOException("Falha na gravação do diário " + arquivo, falha);
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: grava os lotes acumulados e sincroniza conforme a política.
+     */
+    private void gravarContinuamente() {
+        long ultimaSincronizacao = System.nanoTime();
+        try {
+            while (true) {
+                ByteBuffer lote;
+                long ate;
+                boolean encerrar;
+                synchronized (trava) {
+                    while (ativo.position() == 0 && !fechando) {
+                        if (politica != PoliticaSincronizacao.INTERVALO || sincronizados == gravados) {
+                            trava.wait();
+                            continue;
+                        }
+                        long restante = intervaloNanos - (System.nanoTime() - ultimaSincronizacao);
+                        if (restante <= 0) {
+                            break; // Sincroniza o que foi gravado no intervalo
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(trava, restante);
+                    }
+                    lote = ativo;
+                    ativo = reserva;
+                    reserva = lote;
+                    ate = registrados;
+                    encerrar = fechando;
+                    trava.notifyAll();
+                }
+
+                // Apenas esta thread altera gravados e sincronizados
+                long inicio = Metricas.iniciar();
+                lote.flip();
+                while (lote.hasRemaining()) {
+                    canal.write(lote);
+                }
+                lote.clear();
+                boolean sincronizar = ate > sincronizados && (encerrar || politica == PoliticaSincronizacao.SEMPRE
+                        || politica == PoliticaSincronizacao.INTERVALO
+                        && System.nanoTime() - ultimaSincronizacao >= intervaloNanos);
+                if (sincronizar) {
+                    canal.force(false);
+                    ultimaSincronizacao = System.nanoTime();
+                }
+                Metricas.registrarLoteDiario(ate - gravados, inicio);
+                synchronized (trava) {
+                    gravados = ate;
+                    if (sincronizar) {
+                        sincronizados = ate;
+                    }
+                    trava.notifyAll();
+                    if (encerrar) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            synchronized (trava) {
+                falha = e;
+                trava.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            synchronized (trava) {
+                falha = new InterruptedIOException("Gravação do diário interrompida");
+                trava.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Retorna os financiamentos lidos do diário na abertura, na ordem em que foram registrados.
+     *
+     * @return Os financiamentos recuperados (lista não modificável).
+     */
+    public List<Financiamento> getRecuperados() {
+        return recuperados;
+    }
+
+    /**
+     * Retorna a quantidade de bytes descartados no final do arquivo na abertura, de um registro
+     * cuja gravação foi interrompida.
+     *
+     * @return Os bytes descartados, ou {@code 0} se o arquivo estava íntegro.
+     */
+    public long getBytesDescartados() {
+        return bytesDescartados;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos registrados desde a abertura.
+     *
+     * @return Os registros desta sessão, gravados ou ainda no buffer.
+     */
+    public long getRegistrados() {
+        synchronized (trava) {
+            return registrados;
+        }
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos já sincronizados com o disco desde a abertura.
+     *
+     * @return Os registros sincronizados.
+     */
+    public long getSincronizados() {
+        synchronized (trava) {
+            return sincronizados;
+        }
+    }
+
+    /**
+     * Retorna a política de sincronização do diário.
+     *
+     * @return A política.
+     */
+    public PoliticaSincronizacao getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Grava e sincroniza os registros pendentes e fecha o arquivo. O arquivo é mantido, para ser
+     * recuperado na próxima abertura.
+     *
+     * @throws IOException Se ocorrer erro na gravação pendente ou no fechamento.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (trava) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            fechando = true;
+            trava.notifyAll();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido fechando o diário " + arquivo);
+        } finally {
+            canal.close();
+        }
+        synchronized (trava) {
+            if (falha != null) {
+                throw new IOException("Falha na gravação do diário " + arquivo, falha);
+            }
+        }
+    }
+
+    /**
+     * Fecha o diário e apaga o arquivo, depois que os financiamentos da sessão foram gravados no relatório.
+     * O arquivo é apagado mesmo que o diário já esteja fechado ou que uma gravação tenha falhado: mantido,
+     * seria recuperado na próxima abertura e duplicaria financiamentos que já estão no relatório.
+     *
+     * @throws IOException Se ocorrer erro no fechamento ou na remoção do arquivo.
+     */
+    public void descartar() throws IOException {
+        try {
+            close();
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+}
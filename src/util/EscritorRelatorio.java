@@ -0,0 +1,125 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import modelo.Financiamento;
+
+/**
+ * Escreve relatórios de financiamentos em arquivo, um financiamento por vez, no
+ * {@link FormatoRelatorio} escolhido.
+ * <p>O texto de cada financiamento é montado em um único {@link StringBuilder} reaproveitado
+ * e enviado a um {@link BufferedWriter} sobre um {@link FileChannel}, de modo que a escrita
+ * acontece em blocos grandes. O escritor deve ser usado em um bloco try-with-resources,
+ * que garante o fechamento do arquivo mesmo em caso de erro.
+ * <p>Com as {@link Metricas} habilitadas, registra a escrita de cada financiamento e o tempo
+ * total do relatório, da criação do escritor ao fechamento.
+ *
+ * @version 1.0
+ */
+public class EscritorRelatorio implements AutoCloseable {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private final FormatoRelatorio formato;
+    private final Writer saida;
+    private final StringBuilder texto = new StringBuilder(512);
+    private char[] caracteres = new char[512];
+    private long quantidade;
+    private final long inicio = Metricas.iniciar();
+
+    /**
+     * Cria (ou substitui) o arquivo do relatório e escreve o cabeçalho do formato.
+     *
+     * @param arquivo O arquivo de saída.
+     * @param formato O formato do relatório.
+     * @throws IOException Se o arquivo não puder ser criado.
+     */
+    public EscritorRelatorio(Path arquivo, FormatoRelatorio formato) throws IOException {
+        this(new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)),
+                StandardCharsets.UTF_8), TAMANHO_BUFFER), formato);
+    }
+
+    /**
+     * Cria um escritor sobre um destino já aberto e escreve o cabeçalho do formato.
+     * O destino é fechado junto com o escritor.
+     *
+     * @param saida O destino do relatório.
+     * @param formato O formato do relatório.
+     * @throws IOException Se ocorrer erro na escrita do cabeçalho.
+     */
+    public EscritorRelatorio(Writer saida, FormatoRelatorio formato) throws IOException {
+        this.saida = saida;
+        this.formato = formato;
+        formato.anexarCabecalho(texto);
+        descarregar();
+    }
+
+    /**
+     * Escreve um financiamento no relatório.
+     *
+     * @param financiamento O financiamento.
+     * @throws IOException Se ocorrer erro na escrita.
+     */
+    public void escrever(Financiamento financiamento) throws IOException {
+        long inicioEscrita = Metricas.iniciarAmostra();
+        formato.anexar(financiamento, texto);
+        quantidade++;
+        descarregar();
+        Metricas.registrarEscrita(inicioEscrita);
+    }
+
+    /**
+     * Escreve os totais do relatório, se o formato os exibir.
+     *
+     * @param valorTotalDeImoveis A soma dos valores dos imóveis.
+     * @param valorTotalDosFinanciamentos A soma dos valores totais dos financiamentos.
+     * @throws IOException Se ocorrer erro na escrita.
+     */
+    public void escreverTotais(double valorTotalDeImoveis, double valorTotalDosFinanciamentos) throws IOException {
+        formato.anexarTotais(valorTotalDeImoveis, valorTotalDosFinanciamentos, texto);
+        descarregar();
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos escritos.
+     *
+     * @return A quantidade de financiamentos.
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Grava o conteúdo pendente e fecha o arquivo.
+     *
+     * @throws IOException Se ocorrer erro ao gravar ou fechar o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        saida.close();
+        Metricas.registrarExportacao(inicio);
+    }
+
+    private void descarregar() throws IOException {
+        int tamanho = texto.length();
+        if (tamanho == 0) {
+            return;
+        }
+        if (tamanho > caracteres.length) {
+            caracteres = new char[Math.max(tamanho, caracteres.length * 2)];
+        }
+        // Copia para um array reaproveitado: Writer.append(CharSequence) criaria uma String a cada chamada
+        texto.getChars(0, tamanho, caracteres, 0);
+        saida.write(caracteres, 0, tamanho);
+        texto.setLength(0);
+    }
+}
@@ -0,0 +1,75 @@
+package util;
+
+import java.util.Locale;
+
+/**
+ * Formata números com duas casas decimais diretamente em um {@link StringBuilder},
+ * sem usar {@link String#format(String, Object...)}.
+ * <p>O resultado é igual ao de {@code String.format("%.2f", valor)} com o separador decimal
+ * informado: o arredondamento é feito em centavos inteiros, com o produto {@code valor * 100}
+ * calculado sem erro de arredondamento (por {@link Math#fma}). O {@code String.format} arredonda a
+ * representação decimal do {@code double}, que pode diferir do seu valor binário em até meio
+ * {@link Math#ulp(double)}; assim, nos raros valores que ficam a menos de um ulp da metade de um
+ * centavo, a formatação é delegada ao {@code String.format}.
+ *
+ * @version 1.0
+ */
+public final class FormatadorNumero {
+
+    /**
+     * Maior valor absoluto formatado pelo caminho rápido; acima dele os centavos não cabem
+     * com folga na precisão do {@code double}.
+     */
+    private static final double LIMITE_CAMINHO_RAPIDO = 1e13;
+
+    /**
+     * Menor distância, em centavos, da metade de um centavo para usar o caminho rápido.
+     */
+    private static final double MARGEM_MINIMA = 1e-6;
+
+    private FormatadorNumero() {
+    }
+
+    /**
+     * Anexa o valor com duas casas decimais e ponto como separador decimal.
+     *
+     * @param destino O destino do texto.
+     * @param valor O valor a ser formatado.
+     * @return O próprio destino.
+     */
+    public static StringBuilder anexarDuasCasas(StringBuilder destino, double valor) {
+        return anexarDuasCasas(destino, valor, '.');
+    }
+
+    /**
+     * Anexa o valor com duas casas decimais e o separador decimal informado, sem agrupamento de milhares.
+     *
+     * @param destino O destino do texto.
+     * @param valor O valor a ser formatado.
+     * @param separadorDecimal O separador decimal (por exemplo, {@code ','} para pt-BR).
+     * @return O próprio destino.
+     */
+    public static StringBuilder anexarDuasCasas(StringBuilder destino, double valor, char separadorDecimal) {
+        double absoluto = Math.abs(valor);
+        double centavos = absoluto * 100;
+        double piso = Math.floor(centavos);
+        // absoluto * 100 == centavos + erro, exatamente; a fração é a do produto exato
+        double fracao = (centavos - piso) + Math.fma(absoluto, 100, -centavos);
+        double margem = Math.max(MARGEM_MINIMA, 100 * Math.ulp(absoluto));
+        if (!(absoluto < LIMITE_CAMINHO_RAPIDO) || Math.abs(fracao - 0.5) < margem) {
+            String texto = String.format(Locale.ROOT, "%.2f", valor);
+            return destino.append(separadorDecimal == '.' ? texto : texto.replace('.', separadorDecimal));
+        }
+
+        long arredondado = (long) piso + (fracao > 0.5 ? 1 : 0);
+        if (Double.doubleToRawLongBits(valor) < 0) {
+            destino.append('-');
+        }
+        long centavosParte = arredondado % 100;
+        destino.append(arredondado / 100).append(separadorDecimal);
+        if (centavosParte < 10) {
+            destino.append('0');
+        }
+        return destino.append(centavosParte);
+    }
+}
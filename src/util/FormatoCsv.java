@@ -0,0 +1,44 @@
+package util;
+
+import modelo.Financiamento;
+
+/**
+ * Formato CSV: uma linha por financiamento com tipo, parâmetros, pagamento mensal e total,
+ * separados por vírgula e com ponto decimal. O mesmo formato é produzido pelo modo em lote.
+ *
+ * @version 1.0
+ */
+public class FormatoCsv implements FormatoRelatorio {
+
+    /**
+     * Cabeçalho das linhas produzidas por este formato.
+     */
+    public static final String CABECALHO =
+            "tipo,valorImovel,prazoFinanciamento,taxaJurosAnual,valorPagamentoMensal,valorTotalPagamento";
+
+    @Override
+    public void anexarCabecalho(StringBuilder destino) {
+        destino.append(CABECALHO).append('\n');
+    }
+
+    @Override
+    public void anexar(Financiamento financiamento, StringBuilder destino) {
+        anexarLinha(financiamento, destino).append('\n');
+    }
+
+    /**
+     * Anexa a linha CSV de um financiamento, sem a quebra de linha.
+     *
+     * @param financiamento O financiamento.
+     * @param destino O destino do texto.
+     * @return O próprio destino.
+     */
+    public static StringBuilder anexarLinha(Financiamento financiamento, StringBuilder destino) {
+        destino.append(financiamento.getTipoImovel().getDescricao()).append(',');
+        FormatadorNumero.anexarDuasCasas(destino, financiamento.getValorImovel()).append(',');
+        destino.append(financiamento.getPrazoFinanciamento()).append(',');
+        FormatadorNumero.anexarDuasCasas(destino, financiamento.getTaxaJurosAnual()).append(',');
+        FormatadorNumero.anexarDuasCasas(destino, financiamento.calcularValorPagamentoMensal()).append(',');
+        return FormatadorNumero.anexarDuasCasas(destino, financiamento.calcularTotalPagamento());
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * Formato JSON Lines: um objeto por financiamento, com os parâmetros, os atributos do tipo
+ * de imóvel, o pagamento mensal e o total. Os objetos podem ser lidos de volta por
+ * {@link ConversorRegistro#deJson(String)}.
+ *
+ * @version 1.0
+ */
+public class FormatoJsonLinhas implements FormatoRelatorio {
+
+    @Override
+    public void anexar(Financiamento financiamento, StringBuilder destino) {
+        destino.append("{\"tipo\":\"").append(financiamento.getTipoImovel().getDescricao()).append('"');
+        FormatadorNumero.anexarDuasCasas(destino.append(",\"valorImovel\":"), financiamento.getValorImovel());
+        destino.append(",\"prazoFinanciamento\":").append(financiamento.getPrazoFinanciamento());
+        FormatadorNumero.anexarDuasCasas(destino.append(",\"taxaJurosAnual\":"), financiamento.getTaxaJurosAnual());
+
+        if (financiamento instanceof Apartamento) {
+            Apartamento apartamento = (Apartamento) financiamento;
+            destino.append(",\"vagasGaragem\":").append(apartamento.getVagasGaragem());
+            destino.append(",\"andar\":").append(apartamento.getAndar());
+        } else if (financiamento instanceof Casa) {
+            Casa casa = (Casa) financiamento;
+            FormatadorNumero.anexarDuasCasas(destino.append(",\"areaConstruida\":"), casa.getAreaConstruida());
+            FormatadorNumero.anexarDuasCasas(destino.append(",\"areaTerreno\":"), casa.getAreaTerreno());
+            FormatadorNumero.anexarDuasCasas(destino.append(",\"valorAcrescimo\":"), casa.getValorAcrescimo());
+            FormatadorNumero.anexarDuasCasas(destino.append(",\"valorDesconto\":"), casa.getValorDesconto());
+        } else if (financiamento instanceof Terreno) {
+            anexarTexto(destino.append(",\"zona\":"), ((Terreno) financiamento).getZona());
+        }
+
+        FormatadorNumero.anexarDuasCasas(destino.append(",\"valorPagamentoMensal\":"),
+                financiamento.calcularValorPagamentoMensal());
+        FormatadorNumero.anexarDuasCasas(destino.append(",\"valorTotalPagamento\":"),
+                financiamento.calcularTotalPagamento());
+        destino.append("}\n");
+    }
+
+    /**
+     * Anexa um texto como string JSON, entre aspas, escapando aspas, barras invertidas e caracteres de controle.
+     *
+     * @param destino O {@link StringBuilder} que recebe o texto.
+     * @param texto O texto a ser anexado.
+     */
+    public static void anexarTexto(StringBuilder destino, String texto) {
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                destino.append('\\').append(c);
+            } else if (c < ' ') {
+                destino.append(String.format("\\u%04x", (int) c));
+            } else {
+                destino.append(c);
+            }
+        }
+        destino.append('"');
+    }
+}
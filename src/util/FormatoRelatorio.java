@@ -0,0 +1,54 @@
+package util;
+
+import modelo.Financiamento;
+
+/**
+ * Formato de saída de um relatório de financiamentos, usado pelo {@link EscritorRelatorio}.
+ * <p>Cada método anexa o texto a um {@link StringBuilder} reaproveitado pelo escritor,
+ * de modo que nenhum texto intermediário é criado por financiamento.
+ *
+ * @version 1.0
+ */
+public interface FormatoRelatorio {
+
+    /**
+     * Layout de texto do arquivo "Financiamentos.txt", igual ao {@code toString()} dos financiamentos.
+     */
+    FormatoRelatorio TEXTO = new FormatoTexto();
+
+    /**
+     * Uma linha CSV por financiamento, com cabeçalho, ponto decimal e sem totais.
+     */
+    FormatoRelatorio CSV = new FormatoCsv();
+
+    /**
+     * Um objeto JSON por linha, com os atributos de cada tipo de imóvel, sem totais.
+     */
+    FormatoRelatorio JSON_LINHAS = new FormatoJsonLinhas();
+
+    /**
+     * Anexa o cabeçalho do relatório, se o formato tiver um.
+     *
+     * @param destino O destino do texto.
+     */
+    default void anexarCabecalho(StringBuilder destino) {
+    }
+
+    /**
+     * Anexa a representação de um financiamento, incluindo a quebra de linha final.
+     *
+     * @param financiamento O financiamento.
+     * @param destino O destino do texto.
+     */
+    void anexar(Financiamento financiamento, StringBuilder destino);
+
+    /**
+     * Anexa os totais do relatório, se o formato os exibir.
+     *
+     * @param valorTotalDeImoveis A soma dos valores dos imóveis.
+     * @param valorTotalDosFinanciamentos A soma dos valores totais dos financiamentos.
+     * @param destino O destino do texto.
+     */
+    default void anexarTotais(double valorTotalDeImoveis, double valorTotalDosFinanciamentos, StringBuilder destino) {
+    }
+}
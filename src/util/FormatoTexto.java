@@ -0,0 +1,89 @@
+package util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * Layout de texto do arquivo "Financiamentos.txt": um bloco de linhas "rótulo: valor" por
+ * financiamento, separado do próximo por uma linha em branco, seguido pelos totais.
+ * <p>Os números usam o separador decimal da localidade padrão, como o {@code String.format}
+ * usado originalmente no {@code toString()} dos financiamentos, que agora delega a esta classe.
+ *
+ * @version 1.0
+ */
+public class FormatoTexto implements FormatoRelatorio {
+
+    private static final String QUEBRA = System.lineSeparator();
+    private static final char SEPARADOR_DECIMAL =
+            DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+
+    /**
+     * Anexa o bloco de um financiamento seguido de uma linha em branco.
+     *
+     * @param financiamento O financiamento.
+     * @param destino O destino do texto.
+     */
+    @Override
+    public void anexar(Financiamento financiamento, StringBuilder destino) {
+        anexarDetalhes(financiamento, destino);
+        destino.append('\n');
+    }
+
+    /**
+     * Anexa as linhas de total de imóveis e de financiamentos.
+     *
+     * @param valorTotalDeImoveis A soma dos valores dos imóveis.
+     * @param valorTotalDosFinanciamentos A soma dos valores totais dos financiamentos.
+     * @param destino O destino do texto.
+     */
+    @Override
+    public void anexarTotais(double valorTotalDeImoveis, double valorTotalDosFinanciamentos, StringBuilder destino) {
+        numero(destino.append("Valor total de imóveis: R$ "), valorTotalDeImoveis).append('\n');
+        numero(destino.append("Valor total de financiamentos: R$ "), valorTotalDosFinanciamentos).append('\n');
+    }
+
+    /**
+     * Anexa as linhas que descrevem um financiamento, sem a linha em branco final.
+     *
+     * @param financiamento O financiamento.
+     * @param destino O destino do texto.
+     * @return O próprio destino.
+     */
+    public static StringBuilder anexarDetalhes(Financiamento financiamento, StringBuilder destino) {
+        numero(destino.append("Valor do Imóvel: R$ "), financiamento.getValorImovel()).append(QUEBRA);
+        if (!(financiamento instanceof Apartamento || financiamento instanceof Casa
+                || financiamento instanceof Terreno)) {
+            numero(destino.append("Total de Pagamento: R$ "), financiamento.calcularTotalPagamento()).append(QUEBRA);
+            return destino;
+        }
+
+        destino.append("Prazo de financiamento: ").append(financiamento.getPrazoFinanciamento()).append(" anos").append(QUEBRA);
+        numero(destino.append("Taxa de juros anual: "), financiamento.getTaxaJurosAnual()).append('%').append(QUEBRA);
+        numero(destino.append("Pagamento mensal: R$ "), financiamento.calcularValorPagamentoMensal()).append(QUEBRA);
+        numero(destino.append("Valor do financiamento: R$ "), financiamento.calcularTotalPagamento()).append(QUEBRA);
+
+        if (financiamento instanceof Apartamento) {
+            Apartamento apartamento = (Apartamento) financiamento;
+            destino.append("Quantidade de vagas de garagem: ").append(apartamento.getVagasGaragem()).append(QUEBRA);
+            destino.append("Andar: ").append(apartamento.getAndar()).append(QUEBRA);
+        } else if (financiamento instanceof Casa) {
+            Casa casa = (Casa) financiamento;
+            numero(destino.append("Valor do acréscimo por parcela: R$ "), casa.getValorAcrescimo()).append(QUEBRA);
+            numero(destino.append("Valor do desconto por parcela: R$ "), casa.getValorDesconto()).append(QUEBRA);
+            numero(destino.append("Área construída: "), casa.getAreaConstruida()).append(" m²").append(QUEBRA);
+            numero(destino.append("Tamanho de terreno: "), casa.getAreaTerreno()).append(" m²").append(QUEBRA);
+        } else {
+            destino.append("Tipo de zona: ").append(((Terreno) financiamento).getZona()).append(QUEBRA);
+        }
+        return destino;
+    }
+
+    private static StringBuilder numero(StringBuilder destino, double valor) {
+        return FormatadorNumero.anexarDuasCasas(destino, valor, SEPARADOR_DECIMAL);
+    }
+}
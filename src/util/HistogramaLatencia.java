@@ -0,0 +1,208 @@
+package util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências, em nanossegundos, seguro para várias threads e sem bloqueio.
+ * <p>As faixas são logarítmicas com 16 subdivisões por potência de dois, como no HdrHistogram:
+ * valores até 15 ns têm faixa própria e, acima disso, cada faixa cobre no máximo 1/16 do seu
+ * limite inferior, de modo que os percentis têm erro relativo de até 6,25%. São 960 faixas para
+ * todo o intervalo de {@code long}, sem configuração de valor máximo.
+ * <p>Para que threads diferentes não disputem as mesmas posições de memória, as contagens ficam
+ * em várias listras (uma por processador, até 16), escolhidas pelo identificador da thread, e são
+ * somadas apenas na leitura. Leituras feitas durante registros concorrentes podem não incluir os
+ * registros em andamento.
+ *
+ * @version 1.0
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 4;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int FAIXAS = (63 - BITS_SUBFAIXA + 1) * SUBFAIXAS;
+    private static final int LISTRAS = Math.min(16, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    private final String nome;
+    private final AtomicLongArray contagens = new AtomicLongArray(LISTRAS * FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Cria um histograma vazio.
+     *
+     * @param nome O nome exibido no relatório.
+     */
+    public HistogramaLatencia(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Retorna o nome do histograma.
+     *
+     * @return O nome exibido no relatório.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Registra uma latência. Valores negativos são registrados como zero.
+     *
+     * @param nanos A latência em nanossegundos.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        int listra = (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 60) & (LISTRAS - 1);
+        contagens.getAndIncrement(listra * FAIXAS + faixa(valor));
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * Retorna a faixa de um valor não negativo.
+     */
+    static int faixa(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+    }
+
+    /**
+     * Retorna o maior valor que cai na faixa informada.
+     */
+    static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        long inferior = (long) (SUBFAIXAS + faixa % SUBFAIXAS) << (expoente - BITS_SUBFAIXA);
+        long largura = 1L << (expoente - BITS_SUBFAIXA);
+        return inferior + (largura - 1);
+    }
+
+    /**
+     * Retorna a quantidade de latências registradas.
+     *
+     * @return A quantidade de registros.
+     */
+    public long getQuantidade() {
+        long quantidade = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            quantidade += contagens.get(i);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Retorna a soma das latências registradas.
+     *
+     * @return A soma em nanossegundos.
+     */
+    public long getSoma() {
+        return soma.sum();
+    }
+
+    /**
+     * Retorna a maior latência registrada.
+     *
+     * @return A maior latência em nanossegundos, ou zero se não houver registros.
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Retorna a média das latências registradas.
+     *
+     * @return A média em nanossegundos, ou zero se não houver registros.
+     */
+    public double getMedia() {
+        long quantidade = getQuantidade();
+        return quantidade == 0 ? 0 : (double) getSoma() / quantidade;
+    }
+
+    /**
+     * Retorna o percentil informado: o limite superior da faixa que contém a latência de
+     * posição {@code ceil(fracao * quantidade)}, limitado à maior latência registrada.
+     *
+     * @param fracao A fração, entre 0 e 1 (por exemplo, {@code 0.99}).
+     * @return O percentil em nanossegundos, ou zero se não houver registros.
+     * @throws IllegalArgumentException Se a fração não estiver entre 0 e 1.
+     */
+    public long percentil(double fracao) {
+        if (!(fracao >= 0 && fracao <= 1)) {
+            throw new IllegalArgumentException("Fração de percentil inválida: " + fracao);
+        }
+        long[] porFaixa = somarListras();
+        long quantidade = 0;
+        for (long contagem : porFaixa) {
+            quantidade += contagem;
+        }
+        if (quantidade == 0) {
+            return 0;
+        }
+        long posicao = Math.max(1, (long) Math.ceil(fracao * quantidade));
+        long acumulado = 0;
+        for (int f = 0; f < FAIXAS; f++) {
+            acumulado += porFaixa[f];
+            if (acumulado >= posicao) {
+                return Math.min(limiteSuperior(f), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    private long[] somarListras() {
+        long[] porFaixa = new long[FAIXAS];
+        for (int listra = 0; listra < LISTRAS; listra++) {
+            int base = listra * FAIXAS;
+            for (int f = 0; f < FAIXAS; f++) {
+                porFaixa[f] += contagens.get(base + f);
+            }
+        }
+        return porFaixa;
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void limpar() {
+        for (int i = 0; i < contagens.length(); i++) {
+            contagens.set(i, 0);
+        }
+        soma.reset();
+        maximo.reset();
+    }
+
+    /**
+     * Anexa ao texto uma linha com a quantidade, a média, os percentis 50, 90, 99 e 99,9
+     * e o máximo, em microssegundos.
+     *
+     * @param destino O texto de destino.
+     * @return O próprio {@code destino}.
+     */
+    public StringBuilder anexarResumo(StringBuilder destino) {
+        destino.append(nome).append(": n=").append(getQuantidade());
+        destino.append(String.format(Locale.ROOT, ", média=%.3f, p50=%.3f, p90=%.3f, p99=%.3f, p99.9=%.3f, máx=%.3f µs",
+                getMedia() / 1e3, percentil(0.50) / 1e3, percentil(0.90) / 1e3, percentil(0.99) / 1e3,
+                percentil(0.999) / 1e3, getMaximo() / 1e3));
+        return destino;
+    }
+
+    /**
+     * Retorna o resumo do histograma em uma linha de texto.
+     *
+     * @return O resumo, como em {@link #anexarResumo(StringBuilder)}.
+     */
+    @Override
+    public String toString() {
+        return anexarResumo(new StringBuilder(160)).toString();
+    }
+}
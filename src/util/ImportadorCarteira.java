@@ -0,0 +1,763 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import modelo.CarteiraColunar;
+import modelo.TipoImovel;
+
+/**
+ * Importa arquivos CSV ou JSON Lines grandes para uma {@link CarteiraColunar}, convertendo e
+ * validando os registros em paralelo.
+ * <p>O arquivo é lido em blocos de {@link #TAMANHO_BLOCO} bytes, cortados na última quebra de
+ * linha; cada bloco é convertido por uma thread em uma carteira parcial, com as colunas do tamanho
+ * exato do bloco, e ao final as parciais são copiadas, na ordem do arquivo, para uma carteira do
+ * tamanho exato do resultado. No máximo {@code paralelismo + 1} blocos de texto ficam em memória
+ * ao mesmo tempo; as carteiras parciais ocupam tanto quanto a final. Os campos são lidos diretamente dos bytes, sem {@code Scanner}, expressões
+ * regulares ou {@code String.split}: números decimais simples (até 15 dígitos) são convertidos sem
+ * criar objetos, com o mesmo resultado de {@link Double#parseDouble(String)}, e os demais são
+ * delegados a ele.
+ * <p>Os formatos são os de {@link ConversorRegistro}. Cada registro é verificado com as regras de
+ * {@link ValidadorFinanciamento}; linhas que não puderem ser convertidas ou que violarem alguma regra
+ * são rejeitadas, e as primeiras (até o limite configurado) ficam disponíveis com o número da linha e
+ * o motivo em {@link #getRejeicoes()}. Linhas em branco e o cabeçalho CSV (primeira linha iniciada
+ * por "tipo") são ignorados.
+ * <p>Cada instância acumula os contadores da última importação e não é sincronizada.
+ *
+ * @version 1.0
+ */
+public class ImportadorCarteira {
+
+    /**
+     * Tamanho de cada bloco lido do arquivo, em bytes. Linhas maiores que o bloco aumentam o bloco.
+     */
+    public static final int TAMANHO_BLOCO = 4 << 20;
+
+    /**
+     * Quantidade padrão de rejeições guardadas com o motivo.
+     */
+    public static final int LIMITE_REJEICOES_PADRAO = 1000;
+
+    private static final TipoImovel[] TIPOS = TipoImovel.values();
+    private static final byte[][] NOMES_TIPOS = {bytes("apartamento"), bytes("casa"), bytes("terreno")};
+    private static final byte[][] ZONAS = ValidadorFinanciamento.ZONAS.stream()
+            .map(ImportadorCarteira::bytes).toArray(byte[][]::new);
+
+    /**
+     * Chaves dos objetos JSON, na ordem dos índices usados na conversão.
+     */
+    private static final String[] CHAVES_JSON = {"tipo", "valorImovel", "prazoFinanciamento", "taxaJurosAnual",
+        "vagasGaragem", "andar", "areaConstruida", "areaTerreno", "zona"};
+    private static final byte[][] CHAVES_JSON_BYTES = Arrays.stream(CHAVES_JSON)
+            .map(ImportadorCarteira::bytes).toArray(byte[][]::new);
+
+    private static final double[] POTENCIAS_DE_DEZ = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private final int paralelismo;
+    private final int limiteRejeicoes;
+
+    private long linhasLidas;
+    private long financiamentosImportados;
+    private long linhasRejeitadas;
+    private final List<Rejeicao> rejeicoes = new ArrayList<>();
+
+    /**
+     * Cria um importador que usa todos os processadores disponíveis e guarda até
+     * {@link #LIMITE_REJEICOES_PADRAO} rejeições.
+     */
+    public ImportadorCarteira() {
+        this(Runtime.getRuntime().availableProcessors(), LIMITE_REJEICOES_PADRAO);
+    }
+
+    /**
+     * Cria um importador.
+     *
+     * @param paralelismo A quantidade de threads de conversão; {@code 1} converte na própria thread chamadora.
+     * @param limiteRejeicoes A quantidade máxima de rejeições guardadas com o motivo; as demais são apenas contadas.
+     * @throws IllegalArgumentException Se o paralelismo for menor que 1 ou o limite for negativo.
+     */
+    public ImportadorCarteira(int paralelismo, int limiteRejeicoes) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("Paralelismo deve ser maior que zero: " + paralelismo);
+        }
+        if (limiteRejeicoes < 0) {
+            throw new IllegalArgumentException("Limite de rejeições negativo: " + limiteRejeicoes);
+        }
+        this.paralelismo = paralelismo;
+        this.limiteRejeicoes = limiteRejeicoes;
+    }
+
+    /**
+     * Importa um arquivo. Arquivos com extensão {@code .jsonl} ou {@code .json} são lidos como
+     * JSON Lines; os demais, como CSV.
+     *
+     * @param arquivo O arquivo de entrada, em UTF-8.
+     * @return A carteira com os financiamentos válidos, na ordem do arquivo.
+     * @throws IOException Se ocorrer erro na leitura do arquivo.
+     */
+    public CarteiraColunar importar(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString().toLowerCase();
+        boolean json = nome.endsWith(".jsonl") || nome.endsWith(".json");
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            return importar(entrada, json);
+        }
+    }
+
+    /**
+     * Importa os registros de um fluxo de bytes até o seu fim. O fluxo não é fechado.
+     *
+     * @param entrada O fluxo com os registros, em UTF-8.
+     * @param json {@code true} para JSON Lines, {@code false} para CSV.
+     * @return A carteira com os financiamentos válidos, na ordem do fluxo.
+     * @throws IOException Se ocorrer erro na leitura do fluxo.
+     */
+    public CarteiraColunar importar(InputStream entrada, boolean json) throws IOException {
+        linhasLidas = 0;
+        financiamentosImportados = 0;
+        linhasRejeitadas = 0;
+        rejeicoes.clear();
+        long inicio = Metricas.iniciar();
+        long bytesLidos = 0;
+
+        List<CarteiraColunar> parciais = new ArrayList<>();
+        ExecutorService executor = paralelismo > 1 ? Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "importador-carteira");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        ArrayDeque<Future<ResultadoBloco>> pendentes = new ArrayDeque<>();
+        try {
+            byte[] bloco = new byte[TAMANHO_BLOCO];
+            int ocupados = 0;
+            boolean primeiro = true;
+            boolean fim = false;
+            while (!fim) {
+                int lidos = entrada.readNBytes(bloco, ocupados, bloco.length - ocupados);
+                bytesLidos += lidos;
+                fim = ocupados + lidos < bloco.length;
+                int limite = ocupados + lidos;
+                int corte = fim ? limite : ultimaQuebra(bloco, limite) + 1;
+                if (limite == 0) {
+                    break;
+                }
+                if (corte == 0) {
+                    bloco = Arrays.copyOf(bloco, bloco.length * 2); // Linha maior que o bloco
+                    ocupados = limite;
+                    continue;
+                }
+                byte[] proximo = new byte[bloco.length];
+                ocupados = limite - corte;
+                System.arraycopy(bloco, corte, proximo, 0, ocupados);
+
+                BlocoImportacao tarefa = new BlocoImportacao(bloco, corte, json, primeiro, limiteRejeicoes);
+                if (executor == null) {
+                    juntar(parciais, tarefa.call());
+                } else {
+                    pendentes.add(executor.submit(tarefa));
+                    if (pendentes.size() > paralelismo) {
+                        juntar(parciais, aguardar(pendentes.poll()));
+                    }
+                }
+                bloco = proximo;
+                primeiro = false;
+            }
+            while (!pendentes.isEmpty()) {
+                juntar(parciais, aguardar(pendentes.poll()));
+            }
+        } finally {
+            if (executor != null) {
+                pendentes.forEach(pendente -> pendente.cancel(true));
+                executor.shutdownNow();
+            }
+        }
+
+        // As colunas são copiadas uma única vez, para uma carteira do tamanho exato
+        CarteiraColunar carteira = new CarteiraColunar((int) financiamentosImportados);
+        for (int i = 0; i < parciais.size(); i++) {
+            carteira.anexar(parciais.get(i));
+            parciais.set(i, null);
+        }
+        Metricas.registrarLeitura(financiamentosImportados, bytesLidos, inicio);
+        return carteira;
+    }
+
+    private static ResultadoBloco aguardar(Future<ResultadoBloco> pendente) throws IOException {
+        try {
+            return pendente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Falha ao converter bloco do arquivo", e.getCause());
+        }
+    }
+
+    private void juntar(List<CarteiraColunar> parciais, ResultadoBloco resultado) {
+        if (financiamentosImportados + resultado.carteira.tamanho() > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Arquivo com mais financiamentos do que cabem em uma carteira");
+        }
+        parciais.add(resultado.carteira);
+        for (Rejeicao rejeicao : resultado.rejeicoes) {
+            if (rejeicoes.size() >= limiteRejeicoes) {
+                break;
+            }
+            rejeicoes.add(new Rejeicao(linhasLidas + rejeicao.getLinha(), rejeicao.getMotivo()));
+        }
+        linhasLidas += resultado.linhas;
+        financiamentosImportados += resultado.carteira.tamanho();
+        linhasRejeitadas += resultado.rejeitadas;
+    }
+
+    private static int ultimaQuebra(byte[] dados, int limite) {
+        for (int i = limite - 1; i >= 0; i--) {
+            if (dados[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retorna a quantidade de linhas lidas na última importação.
+     *
+     * @return O número de linhas lidas, incluindo cabeçalho e linhas em branco.
+     */
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos importados na última importação.
+     *
+     * @return O número de financiamentos válidos.
+     */
+    public long getFinanciamentosImportados() {
+        return financiamentosImportados;
+    }
+
+    /**
+     * Retorna a quantidade de linhas rejeitadas na última importação.
+     *
+     * @return O número de linhas inválidas, inclusive as que não couberam no limite de rejeições guardadas.
+     */
+    public long getLinhasRejeitadas() {
+        return linhasRejeitadas;
+    }
+
+    /**
+     * Retorna as primeiras linhas rejeitadas na última importação, na ordem do arquivo.
+     *
+     * @return As rejeições guardadas (no máximo o limite configurado), não modificáveis.
+     */
+    public List<Rejeicao> getRejeicoes() {
+        return Collections.unmodifiableList(rejeicoes);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Uma linha rejeitada e o motivo.
+     */
+    public static final class Rejeicao {
+        private final long linha;
+        private final String motivo;
+
+        Rejeicao(long linha, String motivo) {
+            this.linha = linha;
+            this.motivo = motivo;
+        }
+
+        /**
+         * Retorna o número da linha no arquivo.
+         *
+         * @return O número da linha, a partir de 1.
+         */
+        public long getLinha() {
+            return linha;
+        }
+
+        /**
+         * Retorna o motivo da rejeição.
+         *
+         * @return A descrição do erro de conversão ou das regras violadas.
+         */
+        public String getMotivo() {
+            return motivo;
+        }
+
+        /**
+         * Retorna a rejeição no formato "Linha N: motivo".
+         *
+         * @return O texto da rejeição.
+         */
+        @Override
+        public String toString() {
+            return "Linha " + linha + ": " + motivo;
+        }
+    }
+
+    /**
+     * Carteira parcial e rejeições de um bloco, com números de linha relativos ao início do bloco.
+     */
+    private static final class ResultadoBloco {
+        private final CarteiraColunar carteira;
+        private final List<Rejeicao> rejeicoes;
+        private final int linhas;
+        private final int rejeitadas;
+
+        ResultadoBloco(CarteiraColunar carteira, List<Rejeicao> rejeicoes, int linhas, int rejeitadas) {
+            this.carteira = carteira;
+            this.rejeicoes = rejeicoes;
+            this.linhas = linhas;
+            this.rejeitadas = rejeitadas;
+        }
+    }
+
+    /**
+     * Erro de conversão ou validação de uma linha. Não registra a pilha de chamadas, que seria
+     * o custo dominante em arquivos com muitas linhas rejeitadas.
+     */
+    private static final class RegistroInvalido extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        RegistroInvalido(String motivo) {
+            super(motivo);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Converte as linhas de um bloco em uma carteira parcial.
+     */
+    private static final class BlocoImportacao implements Callable<ResultadoBloco> {
+        private final byte[] dados;
+        private final int tamanho;
+        private final boolean json;
+        private final boolean primeiro;
+        private final int limiteRejeicoes;
+
+        /**
+         * Início e fim dos campos da linha atual (CSV) ou dos valores de cada chave (JSON).
+         */
+        private final int[] inicios = new int[CHAVES_JSON.length];
+        private final int[] fins = new int[CHAVES_JSON.length];
+        private final boolean[] entreAspas = new boolean[CHAVES_JSON.length];
+        private int campos;
+
+        BlocoImportacao(byte[] dados, int tamanho, boolean json, boolean primeiro, int limiteRejeicoes) {
+            this.dados = dados;
+            this.tamanho = tamanho;
+            this.json = json;
+            this.primeiro = primeiro;
+            this.limiteRejeicoes = limiteRejeicoes;
+        }
+
+        @Override
+        public ResultadoBloco call() {
+            CarteiraColunar carteira = new CarteiraColunar(contarLinhas());
+            for (String zona : ValidadorFinanciamento.ZONAS) {
+                carteira.registrarZona(zona); // Códigos iguais às posições em ZONAS, em todas as parciais
+            }
+            List<Rejeicao> rejeicoes = new ArrayList<>();
+            int linhas = 0;
+            int rejeitadas = 0;
+            int inicio = 0;
+            while (inicio < tamanho) {
+                int fim = inicio;
+                while (fim < tamanho && dados[fim] != '\n') {
+                    fim++;
+                }
+                int proximo = fim + 1;
+                if (fim > inicio && dados[fim - 1] == '\r') {
+                    fim--;
+                }
+                linhas++;
+                boolean ignorar = emBranco(inicio, fim)
+                        || (!json && primeiro && linhas == 1 && comecaCom(inicio, fim, "tipo"));
+                if (!ignorar) {
+                    try {
+                        if (json) {
+                            converterJson(inicio, fim, carteira);
+                        } else {
+                            converterCsv(inicio, fim, carteira);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        rejeitadas++;
+                        if (rejeicoes.size() < limiteRejeicoes) {
+                            rejeicoes.add(new Rejeicao(linhas, e.getMessage()));
+                        }
+                    }
+                }
+                inicio = proximo;
+            }
+            return new ResultadoBloco(carteira, rejeicoes, linhas, rejeitadas);
+        }
+
+        private int contarLinhas() {
+            int linhas = 1;
+            for (int i = 0; i < tamanho; i++) {
+                if (dados[i] == '\n') {
+                    linhas++;
+                }
+            }
+            return linhas;
+        }
+
+        private boolean emBranco(int inicio, int fim) {
+            for (int i = inicio; i < fim; i++) {
+                if ((dados[i] & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean comecaCom(int inicio, int fim, String prefixo) {
+            if (fim - inicio < prefixo.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefixo.length(); i++) {
+                if (dados[inicio + i] != prefixo.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Separa os campos da linha nas vírgulas, como {@code linha.split(",", -1)}, guardando
+         * os seis primeiros, e adiciona o financiamento.
+         */
+        private void converterCsv(int inicio, int fim, CarteiraColunar carteira) {
+            campos = 0;
+            int campo = inicio;
+            for (int i = inicio; i <= fim; i++) {
+                if (i == fim || dados[i] == ',') {
+                    if (campos < inicios.length) {
+                        inicios[campos] = campo;
+                        fins[campos] = i;
+                    }
+                    campos++;
+                    campo = i + 1;
+                }
+            }
+            if (campos < 5) {
+                throw new RegistroInvalido("Quantidade de campos insuficiente: " + campos);
+            }
+            TipoImovel tipo = lerTipo(0);
+            if (tipo != TipoImovel.TERRENO && campos < 6) {
+                throw new RegistroInvalido(tipo.getDescricao() + " exige 6 campos, recebidos " + campos);
+            }
+            adicionar(carteira, tipo, 1, 2, 3, 4, 5, 4, 5, 4);
+        }
+
+        /**
+         * Lê os pares chave-valor de um objeto JSON plano e adiciona o financiamento. Valores
+         * entre aspas são usados sem interpretar sequências de escape, como em {@link ConversorRegistro}.
+         */
+        private void converterJson(int inicio, int fim, CarteiraColunar carteira) {
+            Arrays.fill(inicios, -1);
+            Arrays.fill(entreAspas, false);
+            int i = pularEspacos(inicio, fim);
+            if (i >= fim || dados[i] != '{') {
+                throw new RegistroInvalido("Objeto JSON malformado: esperado '{'");
+            }
+            i++;
+            while (true) {
+                i = pularEspacos(i, fim);
+                if (i < fim && dados[i] == '}') {
+                    break;
+                }
+                if (i >= fim || dados[i] != '"') {
+                    throw new RegistroInvalido("Objeto JSON malformado na posição " + (i - inicio));
+                }
+                int inicioChave = i + 1;
+                int fimChave = indiceDe('"', inicioChave, fim);
+                i = pularEspacos(fimChave + 1, fim);
+                if (i >= fim || dados[i] != ':') {
+                    throw new RegistroInvalido("Objeto JSON malformado perto de "
+                            + texto(inicioChave, fimChave));
+                }
+                i = pularEspacos(i + 1, fim);
+                int inicioValor;
+                int fimValor;
+                boolean aspas = i < fim && dados[i] == '"';
+                if (aspas) {
+                    inicioValor = i + 1;
+                    fimValor = indiceDe('"', inicioValor, fim);
+                    i = fimValor + 1;
+                } else {
+                    inicioValor = i;
+                    while (i < fim && dados[i] != ',' && dados[i] != '}') {
+                        i++;
+                    }
+                    fimValor = i;
+                }
+                int chave = chaveJson(inicioChave, fimChave);
+                if (chave >= 0) {
+                    inicios[chave] = inicioValor;
+                    fins[chave] = fimValor;
+                    entreAspas[chave] = aspas;
+                }
+                i = pularEspacos(i, fim);
+                if (i < fim && dados[i] == ',') {
+                    i++;
+                }
+            }
+            exigirChave(0);
+            TipoImovel tipo = lerTipo(0);
+            exigirChave(1);
+            exigirChave(2);
+            exigirChave(3);
+            if (tipo == TipoImovel.APARTAMENTO) {
+                exigirChave(4);
+                exigirChave(5);
+            } else if (tipo == TipoImovel.CASA) {
+                exigirChave(6);
+                exigirChave(7);
+            } else {
+                exigirChave(8);
+            }
+            adicionar(carteira, tipo, 1, 2, 3, 4, 5, 6, 7, 8);
+        }
+
+        /**
+         * Converte, valida e adiciona o financiamento, com os campos nas posições informadas.
+         */
+        private void adicionar(CarteiraColunar carteira, TipoImovel tipo, int valor, int prazo, int taxa,
+                               int vagas, int andar, int areaConstruida, int areaTerreno, int zona) {
+            double valorImovel = lerDouble(valor, "valorImovel");
+            int prazoFinanciamento = lerInt(prazo, "prazoFinanciamento");
+            double taxaJuros = lerDouble(taxa, "taxaJurosAnual");
+            switch (tipo) {
+                case APARTAMENTO: {
+                    int vagasGaragem = lerInt(vagas, "vagasGaragem");
+                    int andarApartamento = lerInt(andar, "andar");
+                    validar(tipo, valorImovel, prazoFinanciamento, taxaJuros, 0, 0, null);
+                    carteira.adicionarApartamento(valorImovel, prazoFinanciamento, taxaJuros, vagasGaragem,
+                            andarApartamento);
+                    break;
+                }
+                case CASA: {
+                    double construida = lerDouble(areaConstruida, "areaConstruida");
+                    double terreno = lerDouble(areaTerreno, "areaTerreno");
+                    validar(tipo, valorImovel, prazoFinanciamento, taxaJuros, construida, terreno, null);
+                    carteira.adicionarCasa(valorImovel, prazoFinanciamento, taxaJuros, construida, terreno);
+                    break;
+                }
+                default: {
+                    int codigoZona = codigoZona(zona);
+                    String nomeZona = codigoZona >= 0 ? ValidadorFinanciamento.ZONAS.get(codigoZona) : textoZona(zona);
+                    validar(tipo, valorImovel, prazoFinanciamento, taxaJuros, 0, 0, nomeZona);
+                    carteira.adicionarTerreno(valorImovel, prazoFinanciamento, taxaJuros, (byte) codigoZona);
+                }
+            }
+        }
+
+        private static void validar(TipoImovel tipo, double valorImovel, int prazo, double taxa,
+                                    double areaConstruida, double areaTerreno, String zona) {
+            String motivos = ValidadorFinanciamento.validar(tipo, valorImovel, prazo, taxa,
+                    areaConstruida, areaTerreno, zona);
+            if (motivos != null) {
+                throw new RegistroInvalido(motivos);
+            }
+        }
+
+        private void exigirChave(int chave) {
+            if (inicios[chave] < 0) {
+                throw new RegistroInvalido("Campo ausente: " + CHAVES_JSON[chave]);
+            }
+        }
+
+        private int chaveJson(int inicio, int fim) {
+            for (int chave = 0; chave < CHAVES_JSON_BYTES.length; chave++) {
+                if (iguais(inicio, fim, CHAVES_JSON_BYTES[chave], false)) {
+                    return chave;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Lê o tipo de imóvel pelo nome (sem diferenciar maiúsculas) ou pelo código 1, 2 ou 3.
+         */
+        private TipoImovel lerTipo(int campo) {
+            int inicio = entreAspas[campo] ? inicios[campo] : inicioAparado(campo);
+            int fim = entreAspas[campo] ? fins[campo] : fimAparado(campo, inicio);
+            if (fim - inicio == 1 && dados[inicio] >= '1' && dados[inicio] <= '3') {
+                return TIPOS[dados[inicio] - '1'];
+            }
+            for (int t = 0; t < NOMES_TIPOS.length; t++) {
+                if (iguais(inicio, fim, NOMES_TIPOS[t], true)) {
+                    return TIPOS[t];
+                }
+            }
+            throw new RegistroInvalido("Tipo de imóvel desconhecido: " + texto(inicio, fim));
+        }
+
+        /**
+         * Retorna a posição da zona em {@link ValidadorFinanciamento#ZONAS}, ou {@code -1} se a zona
+         * não for válida. Como em {@link ConversorRegistro}, os espaços são removidos dos campos CSV,
+         * mas não dos textos JSON entre aspas.
+         */
+        private int codigoZona(int campo) {
+            int inicio = entreAspas[campo] ? inicios[campo] : inicioAparado(campo);
+            int fim = entreAspas[campo] ? fins[campo] : fimAparado(campo, inicio);
+            for (int z = 0; z < ZONAS.length; z++) {
+                if (iguais(inicio, fim, ZONAS[z], false)) {
+                    return z;
+                }
+            }
+            return -1;
+        }
+
+        private String textoZona(int campo) {
+            int inicio = entreAspas[campo] ? inicios[campo] : inicioAparado(campo);
+            return texto(inicio, entreAspas[campo] ? fins[campo] : fimAparado(campo, inicio));
+        }
+
+        /**
+         * Lê um número decimal. Sinal, dígitos e ponto com até 15 dígitos significativos são
+         * convertidos diretamente: a mantissa e a potência de dez são exatas em {@code double}, e a
+         * divisão arredondada corretamente dá o mesmo valor de {@link Double#parseDouble(String)}.
+         * Outras formas (expoente, mais dígitos, {@code NaN}) são delegadas a ele.
+         */
+        private double lerDouble(int campo, String nome) {
+            int inicio = inicioAparado(campo);
+            int fim = fimAparado(campo, inicio);
+            int i = inicio;
+            boolean negativo = false;
+            if (i < fim && (dados[i] == '-' || dados[i] == '+')) {
+                negativo = dados[i] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digitos = 0;
+            int decimais = -1;
+            for (; i < fim; i++) {
+                int c = dados[i];
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digitos++;
+                    if (decimais >= 0) {
+                        decimais++;
+                    }
+                } else if (c == '.' && decimais < 0) {
+                    decimais = 0;
+                } else {
+                    break;
+                }
+            }
+            if (i == fim && digitos > 0 && digitos <= 15) {
+                double valor = decimais > 0 ? mantissa / POTENCIAS_DE_DEZ[decimais] : mantissa;
+                return negativo ? -valor : valor;
+            }
+            try {
+                return Double.parseDouble(texto(inicio, fim));
+            } catch (NumberFormatException e) {
+                throw new RegistroInvalido("Valor inválido para " + nome + ": " + texto(inicio, fim));
+            }
+        }
+
+        /**
+         * Lê um inteiro; números com mais de nove dígitos são delegados a {@link Integer#parseInt(String)}.
+         */
+        private int lerInt(int campo, String nome) {
+            int inicio = inicioAparado(campo);
+            int fim = fimAparado(campo, inicio);
+            int i = inicio;
+            boolean negativo = false;
+            if (i < fim && (dados[i] == '-' || dados[i] == '+')) {
+                negativo = dados[i] == '-';
+                i++;
+            }
+            int valor = 0;
+            int digitos = 0;
+            while (i < fim && dados[i] >= '0' && dados[i] <= '9' && digitos < 9) {
+                valor = valor * 10 + (dados[i] - '0');
+                digitos++;
+                i++;
+            }
+            if (i == fim && digitos > 0) {
+                return negativo ? -valor : valor;
+            }
+            try {
+                return Integer.parseInt(texto(inicio, fim));
+            } catch (NumberFormatException e) {
+                throw new RegistroInvalido("Valor inválido para " + nome + ": " + texto(inicio, fim));
+            }
+        }
+
+        private int inicioAparado(int campo) {
+            int i = inicios[campo];
+            while (i < fins[campo] && (dados[i] & 0xFF) <= ' ') {
+                i++;
+            }
+            return i;
+        }
+
+        private int fimAparado(int campo, int inicio) {
+            int fim = fins[campo];
+            while (fim > inicio && (dados[fim - 1] & 0xFF) <= ' ') {
+                fim--;
+            }
+            return fim;
+        }
+
+        private int pularEspacos(int i, int fim) {
+            while (i < fim && (dados[i] & 0xFF) <= ' ') {
+                i++;
+            }
+            return i;
+        }
+
+        private int indiceDe(char procurado, int inicio, int fim) {
+            for (int i = inicio; i < fim; i++) {
+                if (dados[i] == procurado) {
+                    return i;
+                }
+            }
+            throw new RegistroInvalido("Texto não terminado no objeto JSON");
+        }
+
+        private boolean iguais(int inicio, int fim, byte[] esperado, boolean ignorarCaixa) {
+            if (fim - inicio != esperado.length) {
+                return false;
+            }
+            for (int i = 0; i < esperado.length; i++) {
+                int c = dados[inicio + i];
+                if (ignorarCaixa && c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if (c != esperado[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String texto(int inicio, int fim) {
+            return new String(dados, inicio, fim - inicio, StandardCharsets.UTF_8);
+        }
+    }
+}
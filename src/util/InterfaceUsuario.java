@@ -4,8 +4,9 @@ import java.util.Scanner;
 
 /**
  * A classe {@code InterfaceUsuario} gerencia a interação com o usuário para coletar
- * informações sobre financiamento imobiliário. Ela faz a validação das entradas
- * e retorna os dados necessários para a criação de um financiamento.
+ * informações sobre financiamento imobiliário. Ela faz a validação das entradas, com as
+ * regras de {@link ValidadorFinanciamento}, e retorna os dados necessários para a criação
+ * de um financiamento.
  *
  * @version 1.0
  */
@@ -25,7 +26,7 @@ public class InterfaceUsuario {
         do {
             try {
                 tipo = scanner.nextInt();
-                if (tipo >= 1 && tipo <= 3) {
+                if (ValidadorFinanciamento.isCodigoTipoValido(tipo)) {
                     if (tipo == 1) {
                         imovel = "Apartamento";
                     }
@@ -60,7 +61,7 @@ public class InterfaceUsuario {
             try {
                 valorImovel = scanner.nextDouble();
 
-                if (valorImovel >= 100000.00) {
+                if (ValidadorFinanciamento.isValorImovelValido(valorImovel)) {
                     valorInvalido = false;
                 } else {
                     System.out.print("Valor do imóvel inválido. Digite um valor mínimo de R$ 100.000: ");
@@ -85,7 +86,7 @@ public class InterfaceUsuario {
         do {
             try {
                 prazo = scanner.nextInt();
-                if (prazo >= 5 && prazo <= 35) {
+                if (ValidadorFinanciamento.isPrazoValido(prazo)) {
                     valorInvalido = false;
                 } else {
                     System.out.print("Digite prazo entre 5-35 anos: ");
@@ -112,7 +113,7 @@ public class InterfaceUsuario {
         do {
             try {
                 taxa = scanner.nextDouble();
-                if (taxa >= 2 && taxa <= 10) {
+                if (ValidadorFinanciamento.isTaxaJurosValida(taxa)) {
                     valorInvalido = false;
                 } else {
                     System.out.print("Valor de taxa inválida. A taxa deve estar entre 2% e 10% ao ano: ");
@@ -139,7 +140,7 @@ public class InterfaceUsuario {
         do {
             try {
                 areaTerreno = scanner.nextDouble();
-                if (areaTerreno >= 50.00 && areaTerreno <= 10000.00) {
+                if (ValidadorFinanciamento.isAreaTerrenoValida(areaTerreno)) {
                     valorInvalido = false;
                 } else {
                     System.out.print("Digite uma área entre 50 e 10.000 m²: ");
@@ -166,7 +167,7 @@ public class InterfaceUsuario {
         do {
             try {
                 areaConstruida = scanner.nextDouble();
-                if (areaConstruida > 20) {
+                if (ValidadorFinanciamento.isAreaConstruidaValida(areaConstruida)) {
                     valorInvalido = false;
                 } else {
                     System.out.print("Digite área construída maior que 20 metros quadrados: ");
@@ -194,11 +195,8 @@ public class InterfaceUsuario {
             try {
                 System.out.print("Zona: 1 - Residencial \n2 - Comercial\nEscolha a zona: ");
                 zona = scanner.nextInt();
-                if (zona == 1) {
-                    zonaString = "Residencial";
-                    valorValido = true;
-                } else if (zona == 2) {
-                    zonaString = "Comercial";
+                if (zona >= 1 && zona <= ValidadorFinanciamento.ZONAS.size()) {
+                    zonaString = ValidadorFinanciamento.ZONAS.get(zona - 1);
                     valorValido = true;
                 } else {
                     System.out.print("Opção inválida. Escolha 1 para Residencial ou 2 para Comercial: ");
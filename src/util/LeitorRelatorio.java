@@ -0,0 +1,220 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+
+/**
+ * Lê relatórios de texto gravados com {@link FormatoRelatorio#TEXTO}.
+ * <p>{@link #copiar(Path, OutputStream)} envia o arquivo para uma saída em blocos de 64 KB,
+ * sem decodificar caracteres. {@link #lerFinanciamentos(Path, Consumer)} converte o relatório
+ * de volta em objetos {@link Financiamento}, um bloco por vez, sem carregar o arquivo inteiro.
+ * <p>Os números do relatório têm duas casas decimais, então o valor do imóvel e a taxa dos
+ * financiamentos lidos ficam arredondados para duas casas. Vírgula e ponto são aceitos como
+ * separador decimal, já que o relatório não usa separador de milhares.
+ * <p>Com as {@link Metricas} habilitadas, o tempo de cada leitura completa é registrado em
+ * {@code relatorio.leitura}.
+ *
+ * @version 1.0
+ */
+public final class LeitorRelatorio {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private LeitorRelatorio() {
+    }
+
+    /**
+     * Copia o conteúdo do arquivo para a saída informada, em blocos.
+     *
+     * @param arquivo O arquivo do relatório.
+     * @param destino A saída (por exemplo, {@code System.out}); não é fechada.
+     * @throws IOException Se ocorrer erro na leitura ou escrita.
+     */
+    public static void copiar(Path arquivo, OutputStream destino) throws IOException {
+        long inicio = Metricas.iniciar();
+        long bytes = 0;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+            while (canal.read(buffer) != -1) {
+                destino.write(buffer.array(), 0, buffer.position());
+                bytes += buffer.position();
+                buffer.clear();
+            }
+        }
+        destino.flush();
+        Metricas.registrarLeitura(0, bytes, inicio);
+    }
+
+    /**
+     * Lê todos os financiamentos do relatório para uma lista.
+     *
+     * @param arquivo O arquivo do relatório.
+     * @return Os financiamentos, na ordem do arquivo.
+     * @throws IOException Se ocorrer erro na leitura ou o relatório estiver malformado.
+     */
+    public static List<Financiamento> lerFinanciamentos(Path arquivo) throws IOException {
+        List<Financiamento> financiamentos = new ArrayList<>();
+        lerFinanciamentos(arquivo, financiamentos::add);
+        return financiamentos;
+    }
+
+    /**
+     * Lê os financiamentos do relatório, entregando cada um ao consumidor assim que o seu bloco termina.
+     * As linhas de totais são ignoradas.
+     *
+     * @param arquivo O arquivo do relatório.
+     * @param consumidor O consumidor dos financiamentos.
+     * @return A quantidade de financiamentos lidos.
+     * @throws IOException Se ocorrer erro na leitura ou o relatório estiver malformado.
+     */
+    public static long lerFinanciamentos(Path arquivo, Consumer<? super Financiamento> consumidor) throws IOException {
+        long inicio = Metricas.iniciar();
+        long quantidade = 0;
+        long numeroLinha = 0;
+        Bloco bloco = new Bloco();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(FileChannel.open(arquivo, StandardOpenOption.READ)), StandardCharsets.UTF_8),
+                TAMANHO_BUFFER)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isEmpty()) {
+                    if (bloco.iniciado) {
+                        quantidade += entregar(bloco.criar(numeroLinha), consumidor);
+                        bloco = new Bloco();
+                    }
+                    continue;
+                }
+                int separador = linha.indexOf(": ");
+                if (separador < 0) {
+                    throw new IOException("Linha " + numeroLinha + " malformada: " + linha);
+                }
+                bloco.ler(linha.substring(0, separador), linha.substring(separador + 2), numeroLinha);
+            }
+            if (bloco.iniciado) {
+                quantidade += entregar(bloco.criar(numeroLinha), consumidor);
+            }
+        }
+        Metricas.registrarLeitura(quantidade, 0, inicio);
+        return quantidade;
+    }
+
+    private static int entregar(Financiamento financiamento, Consumer<? super Financiamento> consumidor) {
+        if (financiamento == null) {
+            return 0;
+        }
+        consumidor.accept(financiamento);
+        return 1;
+    }
+
+    /**
+     * Converte um número do relatório, ignorando o prefixo "R$ " e sufixos como "%", " anos" e " m²".
+     */
+    static double lerNumero(String texto) {
+        int inicio = 0;
+        int fim = texto.length();
+        while (inicio < fim && !ehParteDeNumero(texto.charAt(inicio))) {
+            inicio++;
+        }
+        while (fim > inicio && !Character.isDigit(texto.charAt(fim - 1))) {
+            fim--;
+        }
+        if (inicio == fim) {
+            throw new NumberFormatException("Número ausente em: " + texto);
+        }
+        return Double.parseDouble(texto.substring(inicio, fim).replace(',', '.'));
+    }
+
+    private static boolean ehParteDeNumero(char c) {
+        return Character.isDigit(c) || c == '-';
+    }
+
+    /**
+     * Atributos de um bloco do relatório, preenchidos linha a linha.
+     */
+    private static final class Bloco {
+        boolean iniciado;
+        boolean totais;
+        double valorImovel;
+        int prazo;
+        double taxa;
+        Integer vagas;
+        Integer andar;
+        Double areaConstruida;
+        Double areaTerreno;
+        String zona;
+
+        void ler(String rotulo, String valor, long numeroLinha) throws IOException {
+            iniciado = true;
+            try {
+                switch (rotulo) {
+                    case "Valor do Imóvel":
+                        valorImovel = lerNumero(valor);
+                        break;
+                    case "Prazo de financiamento":
+                        prazo = (int) lerNumero(valor);
+                        break;
+                    case "Taxa de juros anual":
+                        taxa = lerNumero(valor);
+                        break;
+                    case "Quantidade de vagas de garagem":
+                        vagas = (int) lerNumero(valor);
+                        break;
+                    case "Andar":
+                        andar = (int) lerNumero(valor);
+                        break;
+                    case "Área construída":
+                        areaConstruida = lerNumero(valor);
+                        break;
+                    case "Tamanho de terreno":
+                        areaTerreno = lerNumero(valor);
+                        break;
+                    case "Tipo de zona":
+                        zona = valor;
+                        break;
+                    case "Valor total de imóveis":
+                    case "Valor total de financiamentos":
+                        totais = true;
+                        break;
+                    default:
+                        // Valores calculados (parcela, total, acréscimo, desconto) são recalculados
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Linha " + numeroLinha + ": " + e.getMessage());
+            }
+        }
+
+        Financiamento criar(long numeroLinha) throws IOException {
+            if (vagas != null && andar != null) {
+                return new Apartamento(valorImovel, prazo, taxa, vagas, andar);
+            }
+            if (areaConstruida != null && areaTerreno != null) {
+                return new Casa(valorImovel, prazo, taxa, areaConstruida, areaTerreno);
+            }
+            if (zona != null) {
+                return new Terreno(valorImovel, prazo, taxa, zona);
+            }
+            if (totais) {
+                return null; // Bloco de totais do final do relatório
+            }
+            throw new IOException("Bloco terminado na linha " + numeroLinha + " sem tipo de imóvel reconhecível");
+        }
+    }
+}
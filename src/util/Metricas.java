@@ -0,0 +1,333 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import modelo.ResultadoPagamento;
+import modelo.TipoImovel;
+
+/**
+ * Contadores e histogramas de latência do cálculo e da gravação/leitura de relatórios.
+ * <p>As métricas ficam desligadas até que a propriedade de sistema {@code financiamentos.metricas=true}
+ * seja informada ou {@link #setHabilitado(boolean)} seja chamado; desligadas, cada ponto de medição
+ * custa a leitura de um campo. O texto de todas as métricas é obtido com {@link #relatorio()}; por JMX,
+ * elas ficam disponíveis ({@link MetricasMXBean}, em {@code financiamentos:type=Metricas}) depois de
+ * {@link #registrarJmx()} ou com a propriedade {@code financiamentos.metricas.jmx=true}. O registro
+ * não é automático porque iniciar o servidor de MBeans custa algumas centenas de milissegundos,
+ * o que pesa em execuções curtas.
+ * <p>Os contadores são exatos. As latências de eventos muito curtos (o cálculo de um financiamento
+ * e a escrita de um registro) são amostradas: apenas um evento em cada
+ * {@code financiamentos.metricas.amostragem} (padrão 64, arredondado para potência de dois) tem o
+ * tempo medido, pois ler o relógio custa tanto quanto o próprio cálculo. Blocos da carteira e
+ * arquivos inteiros são sempre medidos.
+ *
+ * @version 1.0
+ */
+public final class Metricas {
+
+    private static volatile boolean habilitado;
+    private static final int MASCARA_AMOSTRAGEM = mascara(Integer.getInteger("financiamentos.metricas.amostragem", 64));
+
+    private static final Map<String, LongAdder> CONTADORES = new LinkedHashMap<>();
+    private static final Map<String, HistogramaLatencia> HISTOGRAMAS = new LinkedHashMap<>();
+
+    private static final LongAdder[] PRECIFICACOES = new LongAdder[TipoImovel.values().length];
+    private static final HistogramaLatencia[] LATENCIA_PRECIFICACAO = new HistogramaLatencia[TipoImovel.values().length];
+
+    static {
+        for (TipoImovel tipo : TipoImovel.values()) {
+            String nome = tipo.name().toLowerCase();
+            PRECIFICACOES[tipo.ordinal()] = contador("precificacoes." + nome);
+            LATENCIA_PRECIFICACAO[tipo.ordinal()] = histograma("precificacao." + nome);
+        }
+    }
+
+    private static final LongAdder ACRESCIMOS_REJEITADOS = contador("casa.acrescimosRejeitados");
+    private static final LongAdder DESCONTOS_REJEITADOS = contador("casa.descontosRejeitados");
+    private static final LongAdder FINANCIAMENTOS_CARTEIRA = contador("carteira.financiamentos");
+    private static final LongAdder REGISTROS_ESCRITOS = contador("relatorio.registrosEscritos");
+    private static final LongAdder REGISTROS_LIDOS = contador("relatorio.registrosLidos");
+    private static final LongAdder BYTES_LIDOS = contador("relatorio.bytesLidos");
+    private static final LongAdder REGISTROS_DIARIO = contador("diario.registrosGravados");
+
+    private static final HistogramaLatencia LATENCIA_BLOCO_CARTEIRA = histograma("carteira.bloco");
+    private static final HistogramaLatencia LATENCIA_ESCRITA = histograma("relatorio.escritaRegistro");
+    private static final HistogramaLatencia LATENCIA_EXPORTACAO = histograma("relatorio.exportacao");
+    private static final HistogramaLatencia LATENCIA_LEITURA = histograma("relatorio.leitura");
+    private static final HistogramaLatencia LATENCIA_DIARIO = histograma("diario.gravacaoLote");
+
+    private static boolean registradoJmx;
+
+    static {
+        if (Boolean.getBoolean("financiamentos.metricas")) {
+            setHabilitado(true);
+        }
+        if (Boolean.getBoolean("financiamentos.metricas.jmx")) {
+            registrarJmx();
+        }
+    }
+
+    private Metricas() {
+    }
+
+    private static LongAdder contador(String nome) {
+        LongAdder contador = new LongAdder();
+        CONTADORES.put(nome, contador);
+        return contador;
+    }
+
+    private static HistogramaLatencia histograma(String nome) {
+        HistogramaLatencia histograma = new HistogramaLatencia(nome);
+        HISTOGRAMAS.put(nome, histograma);
+        return histograma;
+    }
+
+    private static int mascara(int amostragem) {
+        int potencia = Integer.highestOneBit(Math.max(1, amostragem));
+        return (potencia < amostragem ? potencia << 1 : potencia) - 1;
+    }
+
+    /**
+     * Indica se as métricas estão sendo coletadas.
+     *
+     * @return {@code true} se as métricas estiverem habilitadas.
+     */
+    public static boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Liga ou desliga a coleta das métricas.
+     *
+     * @param habilitado {@code true} para coletar.
+     */
+    public static void setHabilitado(boolean habilitado) {
+        Metricas.habilitado = habilitado;
+    }
+
+    /**
+     * Registra o {@link MetricasMXBean} no servidor de MBeans da plataforma, se ainda não estiver
+     * registrado. O registro não liga a coleta.
+     */
+    public static synchronized void registrarJmx() {
+        if (registradoJmx) {
+            return;
+        }
+        registradoJmx = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Gerenciamento(),
+                    new ObjectName("financiamentos:type=Metricas"));
+        } catch (JMException e) {
+            System.err.println("Métricas não registradas no JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marca o início de um evento curto cuja latência é amostrada.
+     *
+     * @return O instante atual em nanossegundos, se o evento for amostrado; zero caso contrário
+     *         ou se as métricas estiverem desligadas.
+     */
+    public static long iniciarAmostra() {
+        if (!habilitado || (ThreadLocalRandom.current().nextInt() & MASCARA_AMOSTRAGEM) != 0) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marca o início de um evento longo, sempre medido.
+     *
+     * @return O instante atual em nanossegundos, ou zero se as métricas estiverem desligadas.
+     */
+    public static long iniciar() {
+        return habilitado ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registra o cálculo de um financiamento e, para casas, as validações rejeitadas.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param resultado O resultado calculado.
+     * @param inicio O valor retornado por {@link #iniciarAmostra()}.
+     */
+    public static void registrarPrecificacao(TipoImovel tipo, ResultadoPagamento resultado, long inicio) {
+        if (!habilitado) {
+            return;
+        }
+        PRECIFICACOES[tipo.ordinal()].increment();
+        if (resultado.isAcrescimoRejeitado()) {
+            ACRESCIMOS_REJEITADOS.increment();
+        }
+        if (resultado.isDescontoRejeitado()) {
+            DESCONTOS_REJEITADOS.increment();
+        }
+        if (inicio != 0) {
+            LATENCIA_PRECIFICACAO[tipo.ordinal()].registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra o cálculo de um bloco de uma carteira.
+     *
+     * @param quantidade A quantidade de financiamentos do bloco.
+     * @param inicio O valor retornado por {@link #iniciar()}.
+     */
+    public static void registrarBlocoCarteira(int quantidade, long inicio) {
+        if (!habilitado) {
+            return;
+        }
+        FINANCIAMENTOS_CARTEIRA.add(quantidade);
+        if (inicio != 0) {
+            LATENCIA_BLOCO_CARTEIRA.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra a escrita de um financiamento em um relatório.
+     *
+     * @param inicio O valor retornado por {@link #iniciarAmostra()}.
+     */
+    public static void registrarEscrita(long inicio) {
+        if (!habilitado) {
+            return;
+        }
+        REGISTROS_ESCRITOS.increment();
+        if (inicio != 0) {
+            LATENCIA_ESCRITA.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra a gravação completa de um relatório, da abertura ao fechamento do arquivo.
+     *
+     * @param inicio O valor retornado por {@link #iniciar()}.
+     */
+    public static void registrarExportacao(long inicio) {
+        if (habilitado && inicio != 0) {
+            LATENCIA_EXPORTACAO.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra a leitura completa de um relatório.
+     *
+     * @param registros A quantidade de financiamentos lidos (zero para cópias sem conversão).
+     * @param bytes A quantidade de bytes lidos, se conhecida; caso contrário, zero.
+     * @param inicio O valor retornado por {@link #iniciar()}.
+     */
+    public static void registrarLeitura(long registros, long bytes, long inicio) {
+        if (!habilitado) {
+            return;
+        }
+        REGISTROS_LIDOS.add(registros);
+        BYTES_LIDOS.add(bytes);
+        if (inicio != 0) {
+            LATENCIA_LEITURA.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra a gravação de um lote do diário da sessão, incluindo a sincronização com o disco, se houver.
+     *
+     * @param registros A quantidade de financiamentos do lote.
+     * @param inicio O valor retornado por {@link #iniciar()}.
+     */
+    public static void registrarLoteDiario(long registros, long inicio) {
+        if (!habilitado) {
+            return;
+        }
+        REGISTROS_DIARIO.add(registros);
+        if (inicio != 0) {
+            LATENCIA_DIARIO.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Retorna o valor de cada contador, pelo nome, na ordem do relatório.
+     *
+     * @return Os contadores.
+     */
+    public static Map<String, Long> contadores() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        CONTADORES.forEach((nome, contador) -> valores.put(nome, contador.sum()));
+        return valores;
+    }
+
+    /**
+     * Retorna o histograma de latência com o nome informado.
+     *
+     * @param nome O nome do histograma, como {@code precificacao.casa}.
+     * @return O histograma, ou {@code null} se não existir.
+     */
+    public static HistogramaLatencia histogramaPorNome(String nome) {
+        return HISTOGRAMAS.get(nome);
+    }
+
+    /**
+     * Retorna todas as métricas em texto: um contador ou histograma por linha.
+     *
+     * @return O relatório das métricas.
+     */
+    public static String relatorio() {
+        StringBuilder texto = new StringBuilder(2048);
+        texto.append("Métricas (").append(habilitado ? "habilitadas" : "desabilitadas")
+                .append(", latências curtas amostradas 1/").append(MASCARA_AMOSTRAGEM + 1).append(")\n");
+        CONTADORES.forEach((nome, contador) -> texto.append(nome).append(": ").append(contador.sum()).append('\n'));
+        for (HistogramaLatencia histograma : HISTOGRAMAS.values()) {
+            histograma.anexarResumo(texto).append('\n');
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Zera todos os contadores e histogramas.
+     */
+    public static void limpar() {
+        CONTADORES.values().forEach(LongAdder::reset);
+        HISTOGRAMAS.values().forEach(HistogramaLatencia::limpar);
+    }
+
+    /**
+     * Implementação do {@link MetricasMXBean} que delega aos métodos estáticos.
+     */
+    private static final class Gerenciamento implements MetricasMXBean {
+        @Override
+        public boolean isHabilitado() {
+            return Metricas.isHabilitado();
+        }
+
+        @Override
+        public void setHabilitado(boolean habilitado) {
+            Metricas.setHabilitado(habilitado);
+        }
+
+        @Override
+        public Map<String, Long> getContadores() {
+            return contadores();
+        }
+
+        @Override
+        public Map<String, String> getLatencias() {
+            Map<String, String> resumos = new LinkedHashMap<>();
+            HISTOGRAMAS.forEach((nome, histograma) -> resumos.put(nome, histograma.toString()));
+            return resumos;
+        }
+
+        @Override
+        public String getRelatorio() {
+            return relatorio();
+        }
+
+        @Override
+        public void limpar() {
+            Metricas.limpar();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * Interface de gerenciamento (JMX) das {@link Metricas}, registrada como
+ * {@code financiamentos:type=Metricas} quando as métricas são habilitadas.
+ *
+ * @version 1.0
+ */
+public interface MetricasMXBean {
+
+    /**
+     * Indica se as métricas estão sendo coletadas.
+     *
+     * @return {@code true} se as métricas estiverem habilitadas.
+     */
+    boolean isHabilitado();
+
+    /**
+     * Liga ou desliga a coleta das métricas.
+     *
+     * @param habilitado {@code true} para coletar.
+     */
+    void setHabilitado(boolean habilitado);
+
+    /**
+     * Retorna o valor de cada contador, pelo nome.
+     *
+     * @return Os contadores.
+     */
+    Map<String, Long> getContadores();
+
+    /**
+     * Retorna o resumo de cada histograma de latência, pelo nome.
+     *
+     * @return Os resumos, como em {@link HistogramaLatencia#anexarResumo(StringBuilder)}.
+     */
+    Map<String, String> getLatencias();
+
+    /**
+     * Retorna todas as métricas em texto.
+     *
+     * @return O relatório, como em {@link Metricas#relatorio()}.
+     */
+    String getRelatorio();
+
+    /**
+     * Zera todos os contadores e histogramas.
+     */
+    void limpar();
+}
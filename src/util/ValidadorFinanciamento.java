@@ -0,0 +1,219 @@
+package util;
+
+import java.util.List;
+
+import modelo.Apartamento;
+import modelo.Casa;
+import modelo.Financiamento;
+import modelo.Terreno;
+import modelo.TipoImovel;
+
+/**
+ * Regras de validação dos parâmetros de um financiamento, as mesmas aplicadas pela
+ * {@link InterfaceUsuario} na entrada interativa: valor do imóvel de no mínimo R$ 100.000,
+ * prazo entre 5 e 35 anos, taxa de juros entre 2% e 10% ao ano, área do terreno da casa entre
+ * 50 m² e 10.000 m², área construída maior que 20 m² e zona Residencial ou Comercial. Valores
+ * não finitos ({@code NaN} e infinitos) nunca são válidos: um imóvel de valor infinito levaria
+ * parcelas e totais infinitos aos relatórios e às somas da carteira.
+ * <p>Cada regra tem um método que indica se o valor é válido, sem criar objetos, usado no laço de
+ * leitura de cada fonte de dados. Os métodos {@code validar} verificam um registro inteiro e
+ * descrevem todas as regras violadas, para os relatórios de linhas rejeitadas.
+ *
+ * @version 1.0
+ */
+public final class ValidadorFinanciamento {
+
+    /**
+     * Menor valor de imóvel aceito, em reais.
+     */
+    public static final double VALOR_MINIMO = 100000.00;
+
+    /**
+     * Menor prazo aceito, em anos.
+     */
+    public static final int PRAZO_MINIMO = 5;
+
+    /**
+     * Maior prazo aceito, em anos.
+     */
+    public static final int PRAZO_MAXIMO = 35;
+
+    /**
+     * Menor taxa de juros anual aceita, em porcentagem.
+     */
+    public static final double TAXA_MINIMA = 2;
+
+    /**
+     * Maior taxa de juros anual aceita, em porcentagem.
+     */
+    public static final double TAXA_MAXIMA = 10;
+
+    /**
+     * Menor área do terreno de uma casa, em metros quadrados.
+     */
+    public static final double AREA_TERRENO_MINIMA = 50.00;
+
+    /**
+     * Maior área do terreno de uma casa, em metros quadrados.
+     */
+    public static final double AREA_TERRENO_MAXIMA = 10000.00;
+
+    /**
+     * Área construída de uma casa, em metros quadrados, que deve ser ultrapassada.
+     */
+    public static final double AREA_CONSTRUIDA_MINIMA = 20;
+
+    /**
+     * Zonas aceitas para terrenos, na ordem das opções do menu interativo (1 e 2).
+     */
+    public static final List<String> ZONAS = List.of("Residencial", "Comercial");
+
+    private ValidadorFinanciamento() {
+    }
+
+    /**
+     * Indica se o código de tipo de imóvel do menu interativo é válido.
+     *
+     * @param codigo O código informado: 1 (Apartamento), 2 (Casa) ou 3 (Terreno).
+     * @return {@code true} se o código estiver entre 1 e 3.
+     */
+    public static boolean isCodigoTipoValido(int codigo) {
+        return codigo >= 1 && codigo <= TipoImovel.values().length;
+    }
+
+    /**
+     * Indica se o valor do imóvel é válido.
+     *
+     * @param valorImovel O valor do imóvel em reais.
+     * @return {@code true} se o valor for finito e de no mínimo {@link #VALOR_MINIMO}.
+     */
+    public static boolean isValorImovelValido(double valorImovel) {
+        return Double.isFinite(valorImovel) && valorImovel >= VALOR_MINIMO;
+    }
+
+    /**
+     * Indica se o prazo do financiamento é válido.
+     *
+     * @param prazo O prazo em anos.
+     * @return {@code true} se o prazo estiver entre {@link #PRAZO_MINIMO} e {@link #PRAZO_MAXIMO}.
+     */
+    public static boolean isPrazoValido(int prazo) {
+        return prazo >= PRAZO_MINIMO && prazo <= PRAZO_MAXIMO;
+    }
+
+    /**
+     * Indica se a taxa de juros anual é válida.
+     *
+     * @param taxa A taxa em porcentagem ao ano.
+     * @return {@code true} se a taxa estiver entre {@link #TAXA_MINIMA} e {@link #TAXA_MAXIMA}.
+     */
+    public static boolean isTaxaJurosValida(double taxa) {
+        return Double.isFinite(taxa) && taxa >= TAXA_MINIMA && taxa <= TAXA_MAXIMA;
+    }
+
+    /**
+     * Indica se a área do terreno de uma casa é válida.
+     *
+     * @param areaTerreno A área em metros quadrados.
+     * @return {@code true} se a área estiver entre {@link #AREA_TERRENO_MINIMA} e {@link #AREA_TERRENO_MAXIMA}.
+     */
+    public static boolean isAreaTerrenoValida(double areaTerreno) {
+        return Double.isFinite(areaTerreno) && areaTerreno >= AREA_TERRENO_MINIMA && areaTerreno <= AREA_TERRENO_MAXIMA;
+    }
+
+    /**
+     * Indica se a área construída de uma casa é válida.
+     *
+     * @param areaConstruida A área em metros quadrados.
+     * @return {@code true} se a área for finita e maior que {@link #AREA_CONSTRUIDA_MINIMA}.
+     */
+    public static boolean isAreaConstruidaValida(double areaConstruida) {
+        return Double.isFinite(areaConstruida) && areaConstruida > AREA_CONSTRUIDA_MINIMA;
+    }
+
+    /**
+     * Indica se a zona de um terreno é válida.
+     *
+     * @param zona A zona.
+     * @return {@code true} se a zona for uma das {@link #ZONAS}.
+     */
+    public static boolean isZonaValida(String zona) {
+        return ZONAS.contains(zona);
+    }
+
+    /**
+     * Verifica todas as regras aplicáveis a um financiamento.
+     *
+     * @param financiamento O financiamento.
+     * @return As regras violadas, separadas por "; ", ou {@code null} se o financiamento for válido.
+     */
+    public static String validar(Financiamento financiamento) {
+        double areaConstruida = 0;
+        double areaTerreno = 0;
+        String zona = null;
+        if (financiamento instanceof Casa) {
+            areaConstruida = ((Casa) financiamento).getAreaConstruida();
+            areaTerreno = ((Casa) financiamento).getAreaTerreno();
+        } else if (financiamento instanceof Terreno) {
+            zona = ((Terreno) financiamento).getZona();
+        }
+        return validar(financiamento.getTipoImovel(), financiamento.getValorImovel(),
+                financiamento.getPrazoFinanciamento(), financiamento.getTaxaJurosAnual(),
+                areaConstruida, areaTerreno, zona);
+    }
+
+    /**
+     * Verifica todas as regras aplicáveis aos parâmetros de um financiamento. Os atributos que não
+     * pertencem ao tipo informado (as áreas, para apartamentos e terrenos; a zona, para apartamentos
+     * e casas) são ignorados. Vagas de garagem e andar de {@link Apartamento} não têm restrição.
+     *
+     * @param tipo O tipo de imóvel.
+     * @param valorImovel O valor do imóvel.
+     * @param prazo O prazo em anos.
+     * @param taxa A taxa de juros anual.
+     * @param areaConstruida A área construída da casa.
+     * @param areaTerreno A área do terreno da casa.
+     * @param zona A zona do terreno.
+     * @return As regras violadas, separadas por "; ", ou {@code null} se os parâmetros forem válidos.
+     */
+    public static String validar(TipoImovel tipo, double valorImovel, int prazo, double taxa,
+                                 double areaConstruida, double areaTerreno, String zona) {
+        boolean casa = tipo == TipoImovel.CASA;
+        boolean terreno = tipo == TipoImovel.TERRENO;
+        if (isValorImovelValido(valorImovel) && isPrazoValido(prazo) && isTaxaJurosValida(taxa)
+                && (!casa || (isAreaConstruidaValida(areaConstruida) && isAreaTerrenoValida(areaTerreno)))
+                && (!terreno || isZonaValida(zona))) {
+            return null;
+        }
+
+        StringBuilder motivos = new StringBuilder(96);
+        if (!isValorImovelValido(valorImovel)) {
+            anexarMotivo(motivos, Double.isFinite(valorImovel) ? "valor do imóvel abaixo de R$ 100.000: " + valorImovel
+                    : "valor do imóvel não finito: " + valorImovel);
+        }
+        if (!isPrazoValido(prazo)) {
+            anexarMotivo(motivos, "prazo fora de 5-35 anos: " + prazo);
+        }
+        if (!isTaxaJurosValida(taxa)) {
+            anexarMotivo(motivos, "taxa fora de 2%-10% ao ano: " + taxa);
+        }
+        if (casa && !isAreaConstruidaValida(areaConstruida)) {
+            anexarMotivo(motivos, Double.isFinite(areaConstruida) ? "área construída de até 20 m²: " + areaConstruida
+                    : "área construída não finita: " + areaConstruida);
+        }
+        if (casa && !isAreaTerrenoValida(areaTerreno)) {
+            anexarMotivo(motivos, "área do terreno fora de 50-10.000 m²: " + areaTerreno);
+        }
+        if (terreno && !isZonaValida(zona)) {
+            anexarMotivo(motivos, "zona diferente de Residencial e Comercial: " + zona);
+        }
+        return motivos.toString();
+    }
+
+    private static void anexarMotivo(StringBuilder motivos, String motivo) {
+        if (motivos.length() > 0) {
+            motivos.append("; ");
+        }
+        motivos.append(motivo);
+    }
+}